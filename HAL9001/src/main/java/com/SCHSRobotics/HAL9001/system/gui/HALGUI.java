@@ -9,6 +9,8 @@ import com.SCHSRobotics.HAL9001.util.control.CustomizableGamepad;
 import com.SCHSRobotics.HAL9001.util.control.Toggle;
 import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
 import com.SCHSRobotics.HAL9001.util.exceptions.HALGUIException;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
 
 import org.firstinspires.ftc.robotcore.external.Telemetry;
 import org.jetbrains.annotations.Contract;
@@ -191,11 +193,11 @@ public final class HALGUI {
             boolean forceCursorUpdate = currentMenu.updateListeners();
 
             //Runs if either a cursor update is forced or it is time for the cursor to blink.
-            if (System.currentTimeMillis() - lastRenderTime >= currentMenu.getCursorBlinkSpeedMs() || forceCursorUpdate) {
+            if ((long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS) - lastRenderTime >= currentMenu.getCursorBlinkSpeedMs() || forceCursorUpdate) {
                 currentMenu.notifyForceCursorUpdate(forceCursorUpdate);
                 currentMenu.render();
                 robot.telemetry.update();
-                lastRenderTime = System.currentTimeMillis();
+                lastRenderTime = (long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS);
             }
 
             //Cycles to the next menu tree.
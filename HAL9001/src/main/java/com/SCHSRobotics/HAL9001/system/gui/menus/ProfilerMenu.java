@@ -0,0 +1,50 @@
+package com.SCHSRobotics.HAL9001.system.gui.menus;
+
+import com.SCHSRobotics.HAL9001.system.gui.HALMenu;
+import com.SCHSRobotics.HAL9001.system.gui.Payload;
+import com.SCHSRobotics.HAL9001.system.gui.SelectionZone;
+import com.SCHSRobotics.HAL9001.system.gui.viewelement.DynamicTextElement;
+import com.SCHSRobotics.HAL9001.system.gui.viewelement.TextElement;
+import com.SCHSRobotics.HAL9001.system.robot.SubSystemProfiler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A telemetry-style HAL Menu that displays live subsystem handle() latencies recorded by the subsystem profiler.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see HALMenu
+ * @see TelemetryMenu
+ * @see SubSystemProfiler
+ * @see DynamicTextElement
+ * @since 1.1.8
+ */
+public class ProfilerMenu extends HALMenu {
+    //The profiler whose data is displayed.
+    private final SubSystemProfiler profiler;
+
+    /**
+     * Constructor for ProfilerMenu, sets selection zone to 0 to disable cursor.
+     *
+     * @param profiler The profiler whose data will be displayed.
+     * @see SubSystemProfiler
+     * @see SelectionZone
+     */
+    public ProfilerMenu(@NotNull SubSystemProfiler profiler) {
+        this.profiler = profiler;
+        selectionZone = new SelectionZone(0, 0);
+        enforceMaxLines = false;
+    }
+
+    @Override
+    protected void init(Payload payload) {
+        addItem(new TextElement("handle() ms p50/p95/p99/max"));
+        for (int i = 0; i < profiler.getNumSubSystems(); i++) {
+            final int subSystemIdx = i;
+            addItem(new DynamicTextElement(() -> profiler.getSummary(subSystemIdx, SubSystemProfiler.Phase.HANDLE)));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.SCHSRobotics.HAL9001.system.gui.menus;
+
+import com.SCHSRobotics.HAL9001.system.gui.HALMenu;
+import com.SCHSRobotics.HAL9001.system.gui.Payload;
+import com.SCHSRobotics.HAL9001.system.gui.SelectionZone;
+import com.SCHSRobotics.HAL9001.system.gui.viewelement.DynamicTextElement;
+import com.SCHSRobotics.HAL9001.system.gui.viewelement.TextElement;
+import com.SCHSRobotics.HAL9001.system.robot.VisionStats;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A telemetry-style HAL Menu that displays live vision stats for every camera and pipeline.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see HALMenu
+ * @see TelemetryMenu
+ * @see VisionStats
+ * @see DynamicTextElement
+ * @since 1.1.8
+ */
+public class VisionStatsMenu extends HALMenu {
+    //The stats of each camera, keyed by camera id.
+    private final Map<String, VisionStats> cameraStats;
+
+    /**
+     * Constructor for VisionStatsMenu, sets selection zone to 0 to disable cursor.
+     *
+     * @param cameraStats The stats of each camera, keyed by camera id.
+     * @see VisionStats
+     * @see SelectionZone
+     */
+    public VisionStatsMenu(@NotNull Map<String, VisionStats> cameraStats) {
+        this.cameraStats = cameraStats;
+        selectionZone = new SelectionZone(0, 0);
+        enforceMaxLines = false;
+    }
+
+    @Override
+    protected void init(Payload payload) {
+        addItem(new TextElement("ms p50/p95/max lat p50/p95"));
+        addItem(new DynamicTextElement(() -> String.format(Locale.US, "native heap %.1f MB", VisionStats.getNativeHeapAllocated() / 1048576.0)));
+        for (Map.Entry<String, VisionStats> entry : cameraStats.entrySet()) {
+            final VisionStats stats = entry.getValue();
+            addItem(new TextElement("#" + entry.getKey()));
+            addItem(new DynamicTextElement(stats::getSummary));
+            addItem(new DynamicTextElement(() -> stats.getFrameStats().getSummary()));
+            int numPipelines = stats.getAllPipelineStats().length;
+            for (int i = 0; i < numPipelines; i++) {
+                final int pipelineIdx = i;
+                addItem(new DynamicTextElement(() -> getPipelineSummary(stats, pipelineIdx)));
+            }
+        }
+    }
+
+    /**
+     * Gets the summary of one of a camera's pipelines, or an empty string if the pipeline has since been removed.
+     * Pipelines can be removed at any time, so this reads from a snapshot of the camera's pipelines instead of checking the count first.
+     *
+     * @param stats       The camera's stats.
+     * @param pipelineIdx The index of the pipeline.
+     * @return The pipeline's summary, or an empty string if there is no longer a pipeline at that index.
+     */
+    private static String getPipelineSummary(@NotNull VisionStats stats, int pipelineIdx) {
+        VisionStats.PipelineStats[] pipelineStats = stats.getAllPipelineStats();
+        return pipelineIdx < pipelineStats.length ? pipelineStats[pipelineIdx].getSummary() : "";
+    }
+}
@@ -0,0 +1,42 @@
+package com.SCHSRobotics.HAL9001.system.gui.viewelement;
+
+import org.firstinspires.ftc.robotcore.external.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A non-interactive text element whose text is recomputed every time the menu is rendered. Used for displaying live data in HAL Menus.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see ViewElement
+ * @see TextElement
+ * @see com.SCHSRobotics.HAL9001.system.gui.HALMenu
+ * @since 1.1.8
+ */
+public class DynamicTextElement implements ViewElement {
+    //The function used to get the text that the element will display on the menu.
+    private Supplier<String> textSupplier;
+
+    /**
+     * The constructor for DynamicTextElement.
+     *
+     * @param textSupplier The function used to get the text that will be displayed on the menu.
+     * @see Supplier
+     */
+    public DynamicTextElement(@NotNull Supplier<String> textSupplier) {
+        this.textSupplier = textSupplier;
+    }
+
+    @Override
+    public String getText() {
+        String text = textSupplier.get();
+        return text == null ? "" : text;
+    }
+
+    @Override
+    public void setText(String text) {
+        textSupplier = () -> text;
+    }
+}
@@ -43,5 +43,8 @@ public abstract class BaseAutonomous extends HALProgram {
         catch (Throwable ex) {
             errorLoop(ex);
         }
+        finally {
+            if (robot != null) robot.shutdownWorkers();
+        }
     }
 }
\ No newline at end of file
@@ -63,5 +63,8 @@ public abstract class BaseTeleop extends HALProgram {
         catch (Throwable ex) {
             errorLoop(ex);
         }
+        finally {
+            if (robot != null) robot.shutdownWorkers();
+        }
     }
 }
\ No newline at end of file
@@ -35,6 +35,24 @@ public @interface Camera {
      */
     String id();
 
+    /**
+     * The target rate at which the attached HAL Pipeline processes frames from the camera, in frames per second. A value less than or equal to 0 means every frame is processed.
+     *
+     * @return The target processing rate of the attached HAL Pipeline in frames per second.
+     *
+     * @see HALPipeline#setProcessingRate(double)
+     */
+    double maxFps() default 0;
+
+    /**
+     * The attached HAL Pipeline only processes one out of every this many frames from the camera. A value of 1 means every frame is processed.
+     *
+     * @return The number of frames per processed frame.
+     *
+     * @see HALPipeline#setFrameInterval(int)
+     */
+    int everyNthFrame() default 1;
+
     /**
      * An internal collector class used to allow the @Camera annotation to be repeated.
      *
@@ -2,14 +2,22 @@ package com.SCHSRobotics.HAL9001.system.robot;
 
 import android.util.Log;
 
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+import com.SCHSRobotics.HAL9001.util.misc.WaitSignal;
+
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.opencv.core.Size;
 import org.openftc.easyopencv.OpenCvCamera;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A static class used for managing internal and external cameras.
@@ -38,6 +46,18 @@ public final class CameraManager {
     private static final Map<String, Boolean> isStartedMap = new HashMap<>();
     //A map relating camera ids to the HALPipeline trackers associated with each camera.
     private static final Map<String, HALTrackerAPI> trackerAPIMap = new HashMap<>();
+    //A map relating camera ids to the frame mailboxes used by those cameras. Cameras without a mailbox process frames on their callback threads.
+    private static final Map<String, FrameMailbox> mailboxMap = new HashMap<>();
+    //A map from camera ids to the recorders that record the camera's frames.
+    private static final Map<String, FrameRecorder> recorderMap = new HashMap<>();
+    //The ids of the cameras that have finished opening and started streaming. Written from the cameras' callback threads.
+    private static final Set<String> streamingCameras = Collections.synchronizedSet(new HashSet<>());
+    //The signal used to wake up threads waiting for cameras to start streaming.
+    private static final WaitSignal streamingSignal = new WaitSignal();
+    //The worker pool shared by all cameras to run pipelines in parallel. Null if parallel pipeline processing is disabled.
+    private static ForkJoinPool pipelineWorkers;
+    //The clock used to stamp frames with the time they arrived.
+    private static HALClock frameClock = HALClock.SYSTEM;
     //The internal camera, if present.
     private static OpenCvCamera internalCamera;
     //The internal camera id, if present.
@@ -63,7 +83,10 @@ public final class CameraManager {
     protected static void addCamera(String id, OpenCvCamera camera, @NotNull CameraType cameraType, Size resolution) {
         resolutionMap.put(id, resolution);
         isStartedMap.put(id, false);
-        trackerAPIMap.put(id, new HALTrackerAPI());
+        HALTrackerAPI trackerAPI = new HALTrackerAPI();
+        trackerAPI.setWorkerPool(pipelineWorkers);
+        trackerAPI.setClock(frameClock);
+        trackerAPIMap.put(id, trackerAPI);
 
         switch (cameraType) {
             case INTERNAL:
@@ -76,6 +99,174 @@ public final class CameraManager {
         }
     }
 
+    /**
+     * Sets the clock used to stamp every camera's frames with the time they arrived.
+     *
+     * @param clock The clock used to stamp frames.
+     * @see HALTrackerAPI
+     */
+    protected static void setFrameClock(@NotNull HALClock clock) {
+        frameClock = clock;
+        for (HALTrackerAPI trackerAPI : trackerAPIMap.values()) trackerAPI.setClock(clock);
+    }
+
+    /**
+     * Sets the estimated time between a camera capturing a frame and delivering it, so the frame's capture time can be recovered from the time it arrived.
+     *
+     * @param cameraId            The id of the camera.
+     * @param captureLatencyNanos The capture latency in nanoseconds.
+     * @see HALTrackerAPI
+     */
+    protected static void setCaptureLatency(String cameraId, long captureLatencyNanos) {
+        HALTrackerAPI trackerAPI = trackerAPIMap.get(cameraId);
+        if (trackerAPI == null) {
+            Log.e(LOGGING_TAG, "Camera " + cameraId + " does not exist.");
+            return;
+        }
+        trackerAPI.setCaptureLatency(captureLatencyNanos);
+    }
+
+    /**
+     * Sets the estimated time between every camera capturing a frame and delivering it.
+     *
+     * @param captureLatencyNanos The capture latency in nanoseconds.
+     * @see HALTrackerAPI
+     */
+    protected static void setCaptureLatencyForAll(long captureLatencyNanos) {
+        for (HALTrackerAPI trackerAPI : trackerAPIMap.values()) trackerAPI.setCaptureLatency(captureLatencyNanos);
+    }
+
+    /**
+     * Enables parallel pipeline processing on every camera. Pipelines that are not shown on the viewport are run on a fork-join pool shared by all cameras,
+     * while the viewport pipeline keeps running on the camera's callback thread.
+     *
+     * @param numThreads The number of worker threads in the shared pool.
+     * @see HALTrackerAPI
+     */
+    protected static void enableParallelPipelines(int numThreads) {
+        if (pipelineWorkers == null && numThreads > 0) {
+            pipelineWorkers = new ForkJoinPool(numThreads);
+            for (HALTrackerAPI trackerAPI : trackerAPIMap.values()) trackerAPI.setWorkerPool(pipelineWorkers);
+        }
+    }
+
+    /**
+     * Makes a camera hand its frames to a latest-frame mailbox instead of running its pipelines on the camera's callback thread.
+     * A dedicated thread runs the camera's pipelines on the latest frame, and frames that arrive while the pipelines are busy are dropped.
+     *
+     * @param cameraId The id of the camera.
+     * @see FrameMailbox
+     */
+    protected static void enableFrameMailbox(String cameraId) {
+        if (!cameraExists(cameraId)) {
+            Log.e(LOGGING_TAG, "Camera " + cameraId + " does not exist.");
+            return;
+        }
+        if (mailboxMap.containsKey(cameraId)) return;
+
+        HALTrackerAPI trackerAPI = Objects.requireNonNull(trackerAPIMap.get(cameraId));
+        FrameMailbox mailbox = new FrameMailbox(cameraId, trackerAPI);
+        mailboxMap.put(cameraId, mailbox);
+        trackerAPI.setMailbox(mailbox);
+        mailbox.start();
+    }
+
+    /**
+     * Makes every camera hand its frames to a latest-frame mailbox.
+     *
+     * @see FrameMailbox
+     */
+    protected static void enableFrameMailboxForAll() {
+        for (String cameraId : trackerAPIMap.keySet()) enableFrameMailbox(cameraId);
+    }
+
+    /**
+     * Gets the number of frames from a camera that were dropped because a newer frame arrived while the camera's pipelines were busy.
+     *
+     * @param cameraId The id of the camera.
+     * @return The number of dropped frames. Always 0 if the camera does not use a frame mailbox.
+     * @see FrameMailbox
+     */
+    protected static long getFramesDropped(String cameraId) {
+        FrameMailbox mailbox = mailboxMap.get(cameraId);
+        return mailbox == null ? 0 : mailbox.getNumDropped();
+    }
+
+    /**
+     * Starts recording a camera's frames to disk. Chosen frames are copied into a bounded queue and saved by a background thread,
+     * so recording only adds a memcpy to the camera's frame latency.
+     *
+     * @param cameraId            The id of the camera.
+     * @param recordingsDirectory The directory recordings are saved in. Each camera's sessions are saved in a subdirectory named after the camera.
+     * @param source              Which frames are recorded.
+     * @param format              The format frames are saved in.
+     * @param frameInterval       The number of frames between recorded frames. 1 records every frame.
+     * @see FrameRecorder
+     */
+    protected static void enableFrameRecording(String cameraId, @NotNull String recordingsDirectory, @NotNull FrameRecorder.Source source, @NotNull FrameRecorder.Format format, int frameInterval) {
+        if (!cameraExists(cameraId)) {
+            Log.e(LOGGING_TAG, "Camera " + cameraId + " does not exist.");
+            return;
+        }
+        if (recorderMap.containsKey(cameraId)) return;
+
+        String cameraDirectory = recordingsDirectory + '/' + cameraId.replaceAll("[^A-Za-z0-9_\\-]", "_");
+        FrameRecorder recorder = new FrameRecorder(cameraId, cameraDirectory, source, format, frameInterval);
+        recorderMap.put(cameraId, recorder);
+        Objects.requireNonNull(trackerAPIMap.get(cameraId)).setRecorder(recorder);
+        recorder.start();
+    }
+
+    /**
+     * Starts recording every camera's frames to disk.
+     *
+     * @param recordingsDirectory The directory recordings are saved in. Each camera's sessions are saved in a subdirectory named after the camera.
+     * @param source              Which frames are recorded.
+     * @param format              The format frames are saved in.
+     * @param frameInterval       The number of frames between recorded frames. 1 records every frame.
+     * @see FrameRecorder
+     */
+    protected static void enableFrameRecordingForAll(@NotNull String recordingsDirectory, @NotNull FrameRecorder.Source source, @NotNull FrameRecorder.Format format, int frameInterval) {
+        for (String cameraId : trackerAPIMap.keySet()) enableFrameRecording(cameraId, recordingsDirectory, source, format, frameInterval);
+    }
+
+    /**
+     * Gets the recorder that records a camera's frames.
+     *
+     * @param cameraId The id of the camera.
+     * @return The camera's frame recorder, or null if the camera is not being recorded.
+     * @see FrameRecorder
+     */
+    @Nullable
+    protected static FrameRecorder getFrameRecorder(String cameraId) {
+        return recorderMap.get(cameraId);
+    }
+
+    /**
+     * Gets the processing stats of a camera and its pipelines.
+     *
+     * @param cameraId The id of the camera.
+     * @return The camera's processing stats, or null if the camera does not exist.
+     * @see VisionStats
+     */
+    @Nullable
+    protected static VisionStats getVisionStats(String cameraId) {
+        HALTrackerAPI trackerAPI = trackerAPIMap.get(cameraId);
+        return trackerAPI == null ? null : trackerAPI.getStats();
+    }
+
+    /**
+     * Gets the processing stats of every camera, sorted by camera id.
+     *
+     * @return A map from each camera's id to its processing stats.
+     * @see VisionStats
+     */
+    protected static Map<String, VisionStats> getAllVisionStats() {
+        Map<String, VisionStats> allStats = new TreeMap<>();
+        for (Map.Entry<String, HALTrackerAPI> entry : trackerAPIMap.entrySet()) allStats.put(entry.getKey(), entry.getValue().getStats());
+        return allStats;
+    }
+
     /**
      * Adds the pipeline to all cameras.
      *
@@ -165,11 +356,42 @@ public final class CameraManager {
             camera.setPipeline(halTrackerAPI);
             Size resolution = Objects.requireNonNull(resolutionMap.get(cameraId));
 
-            camera.openCameraDeviceAsync(() -> camera.startStreaming((int) resolution.width, (int) resolution.height));
+            camera.openCameraDeviceAsync(() -> {
+                camera.startStreaming((int) resolution.width, (int) resolution.height);
+                streamingCameras.add(cameraId);
+                streamingSignal.signal();
+            });
             isStartedMap.put(cameraId, true);
         }
     }
 
+    /**
+     * Gets the number of cameras registered with the camera manager.
+     *
+     * @return The number of registered cameras.
+     */
+    protected static int getNumCameras() {
+        return trackerAPIMap.size();
+    }
+
+    /**
+     * Gets the number of cameras that have finished opening and started streaming.
+     *
+     * @return The number of streaming cameras.
+     */
+    protected static int getNumCamerasStreaming() {
+        return streamingCameras.size();
+    }
+
+    /**
+     * Gets the signal that is signalled every time a camera starts streaming.
+     *
+     * @return The camera streaming signal.
+     */
+    protected static WaitSignal getStreamingSignal() {
+        return streamingSignal;
+    }
+
     /**
      * Reset the camera manager.
      */
@@ -177,7 +399,18 @@ public final class CameraManager {
         externalCameras.clear();
         resolutionMap.clear();
         isStartedMap.clear();
+        for (FrameMailbox mailbox : mailboxMap.values()) mailbox.stop();
+        mailboxMap.clear();
+        for (HALTrackerAPI trackerAPI : trackerAPIMap.values()) trackerAPI.release();
         trackerAPIMap.clear();
+        for (FrameRecorder recorder : recorderMap.values()) recorder.stop();
+        recorderMap.clear();
+        streamingCameras.clear();
+        if (pipelineWorkers != null) {
+            pipelineWorkers.shutdownNow();
+            pipelineWorkers = null;
+        }
+        frameClock = HALClock.SYSTEM;
         internalCamera = null;
         internalCameraId = null;
     }
@@ -205,6 +438,7 @@ public final class CameraManager {
         if (internalCamera != null) {
             internalCamera = newInternalCamera;
             isStartedMap.put(internalCameraId, false);
+            streamingCameras.remove(internalCameraId);
             runHALTrackerAPI(internalCameraId, trackerAPIMap.get(internalCameraId));
         } else {
             Log.e(LOGGING_TAG, "Tried to override internal camera, but there is no defined internal camera.");
@@ -0,0 +1,41 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation used to declare the shared state a subsystem reads and writes in its handle() method. Used to annotate subsystem fields in the robot class.
+ * When parallel updates are enabled, subsystems whose dependencies do not conflict are allowed to run at the same time.
+ * Two subsystems conflict if either one writes to a resource the other reads or writes. Subsystems without this annotation conflict with every other subsystem.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SubSystem
+ * @see SubSystemScheduler
+ * @see Robot
+ * @since 1.1.8
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Dependencies {
+
+    /**
+     * The names of the resources the attached subsystem reads from.
+     *
+     * @return The names of the resources the attached subsystem reads from.
+     */
+    String[] reads() default {};
+
+    /**
+     * The names of the resources the attached subsystem writes to.
+     *
+     * @return The names of the resources the attached subsystem writes to.
+     */
+    String[] writes() default {};
+}
@@ -0,0 +1,253 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import android.util.Log;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.opencv.core.Mat;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A single-slot mailbox used to decouple a camera's frame delivery from its pipelines.
+ * <p>
+ * The camera's callback thread copies each frame into the mailbox and returns immediately, while a dedicated processing thread runs the camera's pipelines
+ * on the latest frame in the mailbox. If a new frame arrives before the last one was picked up, the old frame is dropped and counted,
+ * so the pipelines always see the freshest frame instead of a queued one. The image shown on the viewport is handed back the same way.
+ * Frames and viewport images are swapped through atomic slots and recycled, so neither thread ever takes a lock or blocks on the other.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see CameraManager
+ * @see HALTrackerAPI
+ * @since 1.1.8
+ */
+final class FrameMailbox {
+    //The logging tag for this class. Used to print non-crash-worthy errors using Log.e.
+    private static final String LOGGING_TAG = "HAL Frame Mailbox";
+    //How long stopping the mailbox waits for the pipelines to finish the frame they are processing, in milliseconds.
+    private static final long STOP_TIMEOUT_MS = 1000;
+    //The tracker whose pipelines process the frames.
+    private final HALTrackerAPI trackerAPI;
+    //The latest frame that has not been picked up by the processing thread. Null if there is none.
+    private final AtomicReference<StampedFrame> latestFrame = new AtomicReference<>();
+    //The latest viewport image that has not been picked up by the callback thread. Null if there is none.
+    private final AtomicReference<Mat> latestDisplay = new AtomicReference<>();
+    //Frame buffers that are free to be reused.
+    private final Queue<StampedFrame> freeFrames = new ConcurrentLinkedQueue<>();
+    //Viewport image buffers that are free to be reused.
+    private final Queue<Mat> freeDisplays = new ConcurrentLinkedQueue<>();
+    //The number of frames published, dropped before being processed, and processed.
+    private final AtomicLong numPublished = new AtomicLong(), numDropped = new AtomicLong(), numProcessed = new AtomicLong();
+    //The number of frame and viewport image buffers the mailbox has allocated.
+    private final AtomicInteger numBuffers = new AtomicInteger();
+    //The thread that runs the pipelines.
+    private final Thread processingThread;
+    //The exception thrown by a pipeline on the processing thread, rethrown on the callback thread. Null if no pipeline has failed.
+    private volatile RuntimeException failure;
+    //Whether the mailbox has been stopped. Frames published after this are passed straight back to the camera.
+    private volatile boolean stopped = false;
+    //The image currently shown on the viewport. Only used by the callback thread.
+    private Mat shownDisplay;
+
+    /**
+     * The constructor for FrameMailbox.
+     *
+     * @param cameraId   The id of the camera the mailbox belongs to. Used to name the processing thread.
+     * @param trackerAPI The tracker whose pipelines process the frames.
+     */
+    FrameMailbox(@NotNull String cameraId, @NotNull HALTrackerAPI trackerAPI) {
+        this.trackerAPI = trackerAPI;
+        processingThread = new Thread(this::processFrames, "HAL Vision " + cameraId);
+        processingThread.setDaemon(true);
+    }
+
+    /**
+     * Starts the processing thread.
+     */
+    void start() {
+        processingThread.start();
+    }
+
+    /**
+     * Stops the processing thread and releases every buffer the mailbox owns. Frames published after this are never processed.
+     */
+    void stop() {
+        stopped = true;
+        processingThread.interrupt();
+        try {
+            processingThread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        //If a pipeline is still running, the processing thread releases the frame buffers itself once it is done.
+        if (!processingThread.isAlive()) releaseBuffers();
+        if (shownDisplay != null) {
+            shownDisplay.release();
+            shownDisplay = null;
+            numBuffers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Publishes a frame to the mailbox, replacing any frame that has not been picked up yet. Called on the camera's callback thread.
+     *
+     * @param input            The frame delivered by the camera. Copied, so the camera can reuse it as soon as this returns.
+     * @param sequence         The sequence number of the frame.
+     * @param captureTimeNanos The time at which the frame was captured, in nanoseconds.
+     * @return The latest image produced for the viewport, or the input frame if no image has been produced yet.
+     */
+    Mat publish(@NotNull Mat input, long sequence, long captureTimeNanos) {
+        if (stopped) return input;
+        RuntimeException failure = this.failure;
+        if (failure != null) throw failure;
+
+        StampedFrame frame = freeFrames.poll();
+        if (frame == null) {
+            frame = new StampedFrame();
+            numBuffers.incrementAndGet();
+        }
+        input.copyTo(frame.image);
+        frame.sequence = sequence;
+        frame.captureTimeNanos = captureTimeNanos;
+
+        StampedFrame unprocessed = latestFrame.getAndSet(frame);
+        numPublished.incrementAndGet();
+        if (unprocessed != null) {
+            numDropped.incrementAndGet();
+            freeFrames.offer(unprocessed);
+        }
+        LockSupport.unpark(processingThread);
+
+        Mat display = latestDisplay.getAndSet(null);
+        if (display != null) {
+            if (shownDisplay != null) freeDisplays.offer(shownDisplay);
+            shownDisplay = display;
+        }
+        return shownDisplay == null ? input : shownDisplay;
+    }
+
+    /**
+     * Gets the number of frames published to the mailbox.
+     *
+     * @return The number of frames published.
+     */
+    @Contract(pure = true)
+    long getNumPublished() {
+        return numPublished.get();
+    }
+
+    /**
+     * Gets the number of frames that were replaced by a newer frame before the processing thread picked them up.
+     *
+     * @return The number of dropped frames.
+     */
+    @Contract(pure = true)
+    long getNumDropped() {
+        return numDropped.get();
+    }
+
+    /**
+     * Gets the number of frames the pipelines have finished processing.
+     *
+     * @return The number of processed frames.
+     */
+    @Contract(pure = true)
+    long getNumProcessed() {
+        return numProcessed.get();
+    }
+
+    /**
+     * Gets the number of frame and viewport image buffers the mailbox has allocated.
+     *
+     * @return The number of live buffers.
+     */
+    @Contract(pure = true)
+    int getNumBuffers() {
+        return numBuffers.get();
+    }
+
+    /**
+     * Runs the pipelines on the latest frame whenever one is published, then releases the mailbox's buffers if it was stopped.
+     */
+    private void processFrames() {
+        try {
+            processFramesUntilInterrupted();
+        } finally {
+            if (stopped) releaseBuffers();
+        }
+    }
+
+    /**
+     * Runs the pipelines on the latest frame whenever one is published, until the processing thread is interrupted or a pipeline throws an exception.
+     */
+    private void processFramesUntilInterrupted() {
+        while (!Thread.currentThread().isInterrupted()) {
+            StampedFrame frame = latestFrame.getAndSet(null);
+            if (frame == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                Mat output = trackerAPI.runPipelines(frame.image, frame.sequence, frame.captureTimeNanos);
+
+                Mat display = freeDisplays.poll();
+                if (display == null) {
+                    display = new Mat();
+                    numBuffers.incrementAndGet();
+                }
+                output.copyTo(display);
+
+                Mat undisplayed = latestDisplay.getAndSet(display);
+                if (undisplayed != null) freeDisplays.offer(undisplayed);
+                numProcessed.incrementAndGet();
+            } catch (RuntimeException e) {
+                Log.e(LOGGING_TAG, "A pipeline threw an exception while processing a frame.", e);
+                failure = e;
+                return;
+            } finally {
+                freeFrames.offer(frame);
+            }
+        }
+    }
+
+    /**
+     * Releases every frame and viewport image buffer that is waiting or free. Safe to call more than once.
+     */
+    private void releaseBuffers() {
+        StampedFrame unprocessed = latestFrame.getAndSet(null);
+        if (unprocessed != null) freeFrames.offer(unprocessed);
+        Mat undisplayed = latestDisplay.getAndSet(null);
+        if (undisplayed != null) freeDisplays.offer(undisplayed);
+
+        for (StampedFrame frame = freeFrames.poll(); frame != null; frame = freeFrames.poll()) {
+            frame.image.release();
+            numBuffers.decrementAndGet();
+        }
+        for (Mat display = freeDisplays.poll(); display != null; display = freeDisplays.poll()) {
+            display.release();
+            numBuffers.decrementAndGet();
+        }
+    }
+
+    /**
+     * A frame buffer along with the sequence number and capture time of the frame it holds.
+     */
+    private static final class StampedFrame {
+        //The frame's image.
+        private final Mat image = new Mat();
+        //The sequence number of the frame.
+        private long sequence;
+        //The time at which the frame was captured, in nanoseconds.
+        private long captureTimeNanos;
+    }
+}
@@ -0,0 +1,424 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import android.util.Log;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfInt;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A recorder that saves a camera's frames to disk on a background thread.
+ * <p>
+ * Recording a frame only copies it into a free buffer and adds it to a bounded queue, so it never adds more than a memcpy to the camera's frame latency.
+ * If the queue is full, the oldest queued frame is dropped to make room. A dedicated encoder thread writes the queued frames as JPEG images
+ * or into raw chunk files, and appends a line for every frame to an index file.
+ * <p>
+ * Every recording session gets its own directory, named after the time the session started, and only the newest sessions are kept.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see CameraManager
+ * @see HALTrackerAPI
+ * @since 1.1.8
+ */
+public final class FrameRecorder {
+    //The logging tag for this class. Used to print non-crash-worthy errors using Log.e.
+    private static final String LOGGING_TAG = "HAL Frame Recorder";
+    //The name of the index file in each session directory.
+    private static final String INDEX_FILE_NAME = "index.csv";
+    //The header line of the index file.
+    private static final String INDEX_HEADER = "sequence,capture_time_ns,tag,file,offset,length,rows,cols,type";
+    //The number of frames the queue can hold.
+    private static final int QUEUE_CAPACITY = 8;
+    //The number of session directories kept for each camera, including the current one.
+    private static final int MAX_SESSIONS = 10;
+    //The largest size of a raw chunk file before a new one is started, in bytes.
+    private static final long MAX_CHUNK_BYTES = 64L * 1024 * 1024;
+    //The JPEG quality used when encoding frames, from 0 to 100.
+    private static final int JPEG_QUALITY = 90;
+    //How long the encoder thread waits for a frame before checking whether it should stop, in milliseconds.
+    private static final long POLL_PERIOD_MS = 100;
+    //How long stopping the recorder waits for the queued frames to be saved before giving up on them, in milliseconds.
+    private static final long STOP_TIMEOUT_MS = 2000;
+    //Which frames are recorded.
+    private final Source source;
+    //The format frames are saved in.
+    private final Format format;
+    //The number of frames between recorded frames.
+    private final int frameInterval;
+    //The directory the current session is saved to.
+    private final File sessionDirectory;
+    //Frames waiting to be encoded, oldest first.
+    private final BlockingQueue<RecordedFrame> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    //Frame buffers that are free to be reused.
+    private final Queue<RecordedFrame> freeFrames = new ConcurrentLinkedQueue<>();
+    //The number of frames offered to the recorder, dropped because the queue was full, and saved.
+    private final AtomicLong numOffered = new AtomicLong(), numDropped = new AtomicLong(), numSaved = new AtomicLong();
+    //The thread that encodes and saves frames.
+    private final Thread encoderThread;
+    //Whether the recorder has been asked to stop.
+    private volatile boolean stopping = false;
+    //Whether an image was skipped because RAW recordings can't store its depth. Used to only log the error once.
+    private volatile boolean loggedUnsupportedDepth = false;
+
+    /**
+     * An enum representing which frames a recorder records.
+     * INPUT records the frames delivered by the camera, VIEWPORT records the images shown on the viewport,
+     * and PIPELINES only records the images pipelines pass to HALPipeline.recordFrame().
+     */
+    public enum Source {
+        INPUT, VIEWPORT, PIPELINES
+    }
+
+    /**
+     * An enum representing the format a recorder saves frames in.
+     * JPEG saves every frame as its own compressed image. RAW appends the uncompressed pixels of every frame to chunk files, which is faster to encode but much larger.
+     * RAW only stores 8-bit images, and images of any other depth are skipped instead of being silently truncated.
+     */
+    public enum Format {
+        JPEG, RAW
+    }
+
+    /**
+     * The constructor for FrameRecorder.
+     *
+     * @param cameraId        The id of the camera being recorded. Used to name the encoder thread.
+     * @param cameraDirectory The directory the camera's recording sessions are saved in.
+     * @param source          Which frames are recorded.
+     * @param format          The format frames are saved in.
+     * @param frameInterval   The number of frames between recorded frames. 1 records every frame.
+     */
+    FrameRecorder(@NotNull String cameraId, @NotNull String cameraDirectory, @NotNull Source source, @NotNull Format format, int frameInterval) {
+        this.source = source;
+        this.format = format;
+        this.frameInterval = frameInterval;
+
+        File cameraDir = new File(cameraDirectory);
+        if (!cameraDir.exists() && !cameraDir.mkdirs()) Log.e(LOGGING_TAG, "Couldn't create recording directory at " + cameraDirectory);
+        deleteOldSessions(cameraDir);
+        sessionDirectory = new File(cameraDir, new SimpleDateFormat("yyyyMMdd_HHmmss_SSS", Locale.US).format(new Date()));
+        if (!sessionDirectory.mkdirs()) Log.e(LOGGING_TAG, "Couldn't create recording directory at " + sessionDirectory.getPath());
+
+        encoderThread = new Thread(this::encodeFrames, "HAL Recorder " + cameraId);
+        encoderThread.setDaemon(true);
+        encoderThread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Starts the encoder thread.
+     */
+    void start() {
+        encoderThread.start();
+    }
+
+    /**
+     * Stops the recorder and releases its frame buffers. Frames that are already queued are still saved if the encoder thread finishes them in time,
+     * but no new frames are accepted.
+     */
+    void stop() {
+        stopping = true;
+        try {
+            encoderThread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        //If the encoder thread is still busy, it releases the buffers itself once it is done.
+        if (encoderThread.isAlive()) encoderThread.interrupt();
+        else releaseFrames();
+    }
+
+    /**
+     * Gets which frames the recorder records.
+     *
+     * @return Which frames are recorded.
+     */
+    @Contract(pure = true)
+    Source getSource() {
+        return source;
+    }
+
+    /**
+     * Gets whether a frame should be recorded, based on the recorder's frame interval.
+     *
+     * @param sequence The sequence number of the frame.
+     * @return Whether the frame should be recorded.
+     */
+    @Contract(pure = true)
+    boolean wants(long sequence) {
+        return !stopping && sequence % frameInterval == 0;
+    }
+
+    /**
+     * Copies an image into the queue to be saved. If the queue is full, the oldest queued frame is dropped. Never blocks.
+     *
+     * @param image            The image to record. Copied, so it can be reused as soon as this returns.
+     * @param sequence         The sequence number of the frame the image came from.
+     * @param captureTimeNanos The time at which the frame was captured, in nanoseconds.
+     * @param tag              A short label saved with the frame in the index, such as the name of the pipeline that recorded it.
+     */
+    void record(@NotNull Mat image, long sequence, long captureTimeNanos, @NotNull String tag) {
+        if (stopping || image.empty()) return;
+        if (format == Format.RAW && image.depth() != CvType.CV_8U) {
+            if (!loggedUnsupportedDepth) {
+                loggedUnsupportedDepth = true;
+                Log.e(LOGGING_TAG, "RAW recordings only store 8-bit images. Skipping images of type " + CvType.typeToString(image.type()) + '.');
+            }
+            return;
+        }
+        numOffered.incrementAndGet();
+
+        RecordedFrame frame = freeFrames.poll();
+        if (frame == null) frame = new RecordedFrame();
+        image.copyTo(frame.image);
+        frame.sequence = sequence;
+        frame.captureTimeNanos = captureTimeNanos;
+        frame.tag = tag;
+
+        while (!pending.offer(frame)) {
+            RecordedFrame oldest = pending.poll();
+            if (oldest != null) {
+                numDropped.incrementAndGet();
+                freeFrames.offer(oldest);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of frames offered to the recorder.
+     *
+     * @return The number of frames offered.
+     */
+    @Contract(pure = true)
+    public long getNumOffered() {
+        return numOffered.get();
+    }
+
+    /**
+     * Gets the number of frames dropped because the encoder could not keep up.
+     *
+     * @return The number of dropped frames.
+     */
+    @Contract(pure = true)
+    public long getNumDropped() {
+        return numDropped.get();
+    }
+
+    /**
+     * Gets the number of frames saved to disk.
+     *
+     * @return The number of saved frames.
+     */
+    @Contract(pure = true)
+    public long getNumSaved() {
+        return numSaved.get();
+    }
+
+    /**
+     * Gets the path of the directory the current session is saved to.
+     *
+     * @return The session directory's path.
+     */
+    @Contract(pure = true)
+    public String getSessionDirectory() {
+        return sessionDirectory.getPath();
+    }
+
+    /**
+     * Saves queued frames until the recorder is stopped and the queue is empty.
+     */
+    private void encodeFrames() {
+        Mat bgr = new Mat();
+        Mat raw = new Mat();
+        MatOfInt jpegParams = new MatOfInt(Imgcodecs.IMWRITE_JPEG_QUALITY, JPEG_QUALITY);
+        byte[] rawBytes = new byte[0];
+        OutputStream chunk = null;
+        int chunkIdx = -1;
+        long fileIdx = 0;
+        long chunkBytes = MAX_CHUNK_BYTES;
+
+        try (BufferedWriter index = new BufferedWriter(new FileWriter(new File(sessionDirectory, INDEX_FILE_NAME)))) {
+            index.write(INDEX_HEADER);
+            index.newLine();
+
+            while (true) {
+                RecordedFrame frame;
+                try {
+                    frame = pending.poll(POLL_PERIOD_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (frame == null) {
+                    if (stopping) break;
+                    continue;
+                }
+
+                try {
+                    String fileName;
+                    long offset = 0, length;
+                    if (format == Format.JPEG) {
+                        //Several images can be recorded from the same frame, so every file also gets a unique index and the tag of the image.
+                        fileName = String.format(Locale.US, "frame_%08d_%06d_%s.jpg", frame.sequence, fileIdx++, toFileName(frame.tag));
+                        toBgr(frame.image, bgr);
+                        Imgcodecs.imwrite(new File(sessionDirectory, fileName).getPath(), bgr, jpegParams);
+                        length = new File(sessionDirectory, fileName).length();
+                    } else {
+                        //Only 8-bit images are accepted in RAW mode, so the pixels only need to be copied if they aren't continuous.
+                        Mat pixels = frame.image;
+                        if (!pixels.isContinuous()) {
+                            pixels.copyTo(raw);
+                            pixels = raw;
+                        }
+
+                        length = pixels.total() * pixels.elemSize();
+                        if (rawBytes.length < length) rawBytes = new byte[(int) length];
+                        pixels.get(0, 0, rawBytes);
+
+                        if (chunk == null || chunkBytes + length > MAX_CHUNK_BYTES) {
+                            if (chunk != null) chunk.close();
+                            chunkIdx++;
+                            chunk = new FileOutputStream(new File(sessionDirectory, chunkName(chunkIdx)));
+                            chunkBytes = 0;
+                        }
+                        fileName = chunkName(chunkIdx);
+                        offset = chunkBytes;
+                        chunk.write(rawBytes, 0, (int) length);
+                        chunkBytes += length;
+                    }
+
+                    index.write(String.format(Locale.US, "%d,%d,%s,%s,%d,%d,%d,%d,%d",
+                            frame.sequence, frame.captureTimeNanos, frame.tag, fileName, offset, length, frame.image.rows(), frame.image.cols(), frame.image.type()));
+                    index.newLine();
+                    index.flush();
+                    numSaved.incrementAndGet();
+                } finally {
+                    freeFrames.offer(frame);
+                }
+            }
+        } catch (IOException e) {
+            Log.e(LOGGING_TAG, "Error while saving recorded frames to " + sessionDirectory.getPath(), e);
+        } finally {
+            if (chunk != null) {
+                try {
+                    chunk.close();
+                } catch (IOException e) {
+                    Log.e(LOGGING_TAG, "Error while closing raw chunk file.", e);
+                }
+            }
+            bgr.release();
+            raw.release();
+            jpegParams.release();
+            if (stopping) releaseFrames();
+        }
+    }
+
+    /**
+     * Releases every frame buffer that is queued or free. Safe to call more than once.
+     */
+    private void releaseFrames() {
+        for (RecordedFrame frame = pending.poll(); frame != null; frame = pending.poll()) frame.image.release();
+        for (RecordedFrame frame = freeFrames.poll(); frame != null; frame = freeFrames.poll()) frame.image.release();
+    }
+
+    /**
+     * Replaces every character of a tag that is not safe to use in a file name.
+     *
+     * @param tag The tag.
+     * @return The tag, with every character other than letters, digits, dashes and underscores replaced with an underscore.
+     */
+    @Contract(pure = true)
+    private static String toFileName(@NotNull String tag) {
+        return tag.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    /**
+     * Converts an image to the BGR channel order expected by OpenCV's image encoders.
+     *
+     * @param image The image to convert. Images from cameras and pipelines are RGBA, RGB or grayscale.
+     * @param dst   The image to write the converted image to.
+     */
+    private static void toBgr(@NotNull Mat image, @NotNull Mat dst) {
+        switch (image.channels()) {
+            case 4:
+                Imgproc.cvtColor(image, dst, Imgproc.COLOR_RGBA2BGR);
+                break;
+            case 3:
+                Imgproc.cvtColor(image, dst, Imgproc.COLOR_RGB2BGR);
+                break;
+            default:
+                image.copyTo(dst);
+                break;
+        }
+    }
+
+    /**
+     * Gets the name of a raw chunk file.
+     *
+     * @param chunkIdx The index of the chunk.
+     * @return The chunk file's name.
+     */
+    @Contract(pure = true)
+    private static String chunkName(int chunkIdx) {
+        return String.format(Locale.US, "chunk_%04d.raw", chunkIdx);
+    }
+
+    /**
+     * Deletes the oldest session directories of a camera so that, including the session about to start, only the newest sessions are kept.
+     *
+     * @param cameraDir The directory the camera's sessions are saved in.
+     */
+    private static void deleteOldSessions(@NotNull File cameraDir) {
+        File[] sessions = cameraDir.listFiles(File::isDirectory);
+        if (sessions == null || sessions.length < MAX_SESSIONS) return;
+
+        //Session names are timestamps, so sorting them by name sorts them from oldest to newest.
+        Arrays.sort(sessions);
+        for (int i = 0; i <= sessions.length - MAX_SESSIONS; i++) {
+            File[] files = sessions[i].listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (!file.delete()) Log.e(LOGGING_TAG, "Couldn't delete old recording " + file.getPath());
+                }
+            }
+            if (!sessions[i].delete()) Log.e(LOGGING_TAG, "Couldn't delete old recording directory " + sessions[i].getPath());
+        }
+    }
+
+    /**
+     * A frame buffer along with the information saved in the index.
+     */
+    private static final class RecordedFrame {
+        //The recorded image.
+        private final Mat image = new Mat();
+        //The sequence number of the frame the image came from.
+        private long sequence;
+        //The time at which the frame was captured, in nanoseconds.
+        private long captureTimeNanos;
+        //The label saved with the frame in the index.
+        private String tag;
+    }
+}
@@ -1,5 +1,9 @@
 package com.SCHSRobotics.HAL9001.system.robot;
 
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+
 import org.jetbrains.annotations.NotNull;
 import org.opencv.core.Mat;
 import org.openftc.easyopencv.OpenCvTracker;
@@ -7,6 +11,19 @@ import org.openftc.easyopencv.OpenCvTracker;
 /**
  * An abstract class used to store HAL computer vision pipelines. Almost a complete copy of OpenCvTracker from EasyOpenCV.
  * <p>
+ * By default, every pipeline gets its own copy of each frame. Pipelines that only read the frame can override mutatesFrame() to return false,
+ * in which case they are passed the camera's frame directly without copying it. Such pipelines must not write to or release the frame,
+ * and should call getWritableFrame() to get a private copy if they need to draw on it.
+ * <p>
+ * Pipelines can be throttled to a target processing rate or to every Nth frame, or paused entirely, and these can be changed at any time.
+ * The pipeline shown on the viewport ignores its rate and frame interval, so the viewport does not stutter, but can still be paused.
+ * <p>
+ * Pipelines that need the frame in another colorspace or at a lower resolution should get it from getVisionFrame(), which computes each derived image once per frame
+ * and shares it with every other pipeline on the same camera. Scratch buffers acquired from the VisionFrame are pooled and returned automatically at the end of the frame,
+ * so pipelines should use them instead of allocating new Mats every frame. Pipelines made entirely of standard operations can instead extend StagePipeline and declare a graph of ImageStages.
+ * <p>
+ * Pipelines pass results to subsystems through result channels. Results published with publishResult() are tagged with the sequence number and capture time of the current frame.
+ * <p>
  * Creation Date: 9/24/20
  *
  * @author Cole Savage, Level Up
@@ -14,15 +31,28 @@ import org.openftc.easyopencv.OpenCvTracker;
  * @see OpenCvTracker
  * @see HALTrackerAPI
  * @see VisionSubSystem
+ * @see ResultChannel
+ * @see VisionFrame
  * @see Mat
  * @since 1.1.0
  */
 //todo add stop functionality
 public abstract class HALPipeline {
-    //The local copy of the input image.
-    private Mat mat = new Mat();
+    //The frame being processed by each thread. A pipeline linked to several cameras is processed by each camera's thread at the same time.
+    private final ThreadLocal<FrameState> frameState = new ThreadLocal<FrameState>() {
+        @Override
+        protected FrameState initialValue() {
+            return new FrameState();
+        }
+    };
     //Whether this pipeline has been stopped.
     boolean markedAsStopped = false;
+    //The target period between processed frames, in nanoseconds. 0 if every frame is processed.
+    private volatile long processingPeriodNanos = 0;
+    //The pipeline only processes one out of every this many frames.
+    private volatile int frameInterval = 1;
+    //Whether the pipeline is paused and processes no frames.
+    private volatile boolean paused = false;
 
     /**
      * Whether the HALPipeline uses the viewport. This can change mid-program if needed.
@@ -41,16 +71,161 @@ public abstract class HALPipeline {
     public abstract Mat processFrame(Mat input);
 
     /**
-     * An internal, non-abstract version of the processFrame function that copies the input image to the local mat object and runs process frame on that object.
-     * Used so that the input image is not accidentally changed by the computer vision pipeline.
+     * Whether the HALPipeline writes to or releases its input image. Pipelines that do not can override this to return false,
+     * so they are passed the camera's frame directly instead of a copy. This can change mid-program if needed.
      *
-     * @param input The input image.
-     * @return The image to display on the viewport.
+     * @return Whether the HALPipeline writes to or releases its input image.
+     */
+    public boolean mutatesFrame() {
+        return true;
+    }
+
+    /**
+     * Sets the target rate at which this pipeline processes frames. Frames that arrive before the pipeline is due are skipped. Can be changed mid-program.
+     *
+     * @param fps The target processing rate in frames per second. A value less than or equal to 0 means every frame is processed.
+     * @see Camera#maxFps()
+     */
+    public final void setProcessingRate(double fps) {
+        processingPeriodNanos = fps <= 0 ? 0 : (long) HALTimeUnit.convert(1 / fps, HALTimeUnit.SECONDS, HALTimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the target rate at which this pipeline processes frames.
+     *
+     * @return The target processing rate in frames per second, or 0 if every frame is processed.
+     * @see Camera#maxFps()
+     */
+    public final double getProcessingRate() {
+        long period = processingPeriodNanos;
+        return period == 0 ? 0 : 1 / HALTimeUnit.convert(period, HALTimeUnit.NANOSECONDS, HALTimeUnit.SECONDS);
+    }
+
+    /**
+     * Makes this pipeline only process one out of every N frames. Can be changed mid-program.
+     *
+     * @param frameInterval The number of frames per processed frame. A value of 1 means every frame is processed.
+     * @see Camera#everyNthFrame()
+     */
+    public final void setFrameInterval(int frameInterval) {
+        ExceptionChecker.assertTrue(frameInterval >= 1, new DumpsterFireException("Frame interval must be at least 1."));
+        this.frameInterval = frameInterval;
+    }
+
+    /**
+     * Gets the number of frames per frame this pipeline processes.
+     *
+     * @return The number of frames per processed frame.
+     * @see Camera#everyNthFrame()
+     */
+    public final int getFrameInterval() {
+        return frameInterval;
+    }
+
+    /**
+     * Sets whether this pipeline is paused. Paused pipelines process no frames until they are unpaused. Can be changed mid-program.
+     *
+     * @param paused Whether the pipeline is paused.
+     */
+    public final void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Gets whether this pipeline is paused.
+     *
+     * @return Whether the pipeline is paused.
+     */
+    public final boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Gets the target period between processed frames.
+     *
+     * @return The target period between processed frames in nanoseconds, or 0 if every frame is processed.
+     */
+    final long getProcessingPeriodNanos() {
+        return processingPeriodNanos;
+    }
+
+    /**
+     * Gets a private copy of the current frame that can be written to, such as for drawing annotations on a read-only pipeline's output.
+     * The frame is only copied the first time this is called for each frame. Pipelines that mutate their frame already get a copy, which is returned instead.
+     * Can only be called from inside processFrame().
+     *
+     * @return A private, writable copy of the current frame.
      * @see Mat
      */
-    protected final Mat processFrameInternal(@NotNull Mat input) {
-        input.copyTo(mat);
-        return processFrame(mat);
+    protected final Mat getWritableFrame() {
+        FrameState state = frameState.get();
+        ExceptionChecker.assertNonNull(state.frame, new DumpsterFireException("getWritableFrame() can only be called from inside processFrame()."));
+        if (state.writableFrame == null) {
+            Mat image = state.frame.getImage();
+            state.writableFrame = state.frame.acquireLike(image);
+            image.copyTo(state.writableFrame);
+        }
+        return state.writableFrame;
+    }
+
+    /**
+     * Publishes a result computed from the current frame, tagging it with the frame's sequence number and capture time. Can only be called from inside processFrame().
+     *
+     * @param channel The channel to publish the result to.
+     * @param value   The result. Must not be changed after it is published.
+     * @param <T>     The type of the result.
+     * @see ResultChannel
+     */
+    protected final <T> void publishResult(@NotNull ResultChannel<T> channel, T value) {
+        VisionFrame frame = frameState.get().frame;
+        ExceptionChecker.assertNonNull(frame, new DumpsterFireException("publishResult() can only be called from inside processFrame()."));
+        channel.publish(new PipelineResult<>(value, frame.getSequence(), frame.getCaptureTimeNanos()));
+    }
+
+    /**
+     * Records an image, such as an annotated copy of the frame, if the camera is recording pipeline images. Can only be called from inside processFrame().
+     * The image is copied into the camera's recording queue and saved on a background thread, so it can be reused as soon as this returns.
+     *
+     * @param image The image to record.
+     * @see FrameRecorder
+     */
+    protected final void recordFrame(@NotNull Mat image) {
+        VisionFrame frame = frameState.get().frame;
+        ExceptionChecker.assertNonNull(frame, new DumpsterFireException("recordFrame() can only be called from inside processFrame()."));
+        frame.record(image, getClass().getSimpleName(), FrameRecorder.Source.PIPELINES);
+    }
+
+    /**
+     * Gets the frame currently being processed, which holds the shared cache of images derived from it. Can only be called from inside processFrame().
+     *
+     * @return The frame currently being processed.
+     * @see VisionFrame
+     */
+    protected final VisionFrame getVisionFrame() {
+        VisionFrame frame = frameState.get().frame;
+        ExceptionChecker.assertNonNull(frame, new DumpsterFireException("getVisionFrame() can only be called from inside processFrame()."));
+        return frame;
+    }
+
+    /**
+     * An internal, non-abstract version of the processFrame function. If the pipeline mutates its frame, this copies the input image to a buffer from the frame's pool
+     * and runs process frame on that buffer, so the input image is not accidentally changed by the computer vision pipeline.
+     * Otherwise, process frame is run directly on the input image. The frame is tracked per thread, so the same pipeline can process several cameras' frames at once.
+     *
+     * @param frame The frame to process.
+     * @return The image to display on the viewport.
+     * @see VisionFrame
+     */
+    protected final Mat processFrameInternal(@NotNull VisionFrame frame) {
+        FrameState state = frameState.get();
+        state.frame = frame;
+        state.writableFrame = null;
+        try {
+            return processFrame(mutatesFrame() ? getWritableFrame() : frame.getImage());
+        } finally {
+            state.frame = null;
+            state.writableFrame = null;
+        }
     }
 
     /**
@@ -59,4 +234,14 @@ public abstract class HALPipeline {
     protected final void stop() {
         markedAsStopped = true;
     }
-}
\ No newline at end of file
+
+    /**
+     * A class storing the frame a thread is processing and its writable copy.
+     */
+    private static final class FrameState {
+        //The frame being processed. Null outside of processFrame().
+        private VisionFrame frame;
+        //The writable copy of the frame, acquired from the frame's pool. Null if no copy has been made this frame.
+        private Mat writableFrame;
+    }
+}
@@ -2,18 +2,15 @@ package com.SCHSRobotics.HAL9001.system.robot;
 
 import android.util.Log;
 
+import com.SCHSRobotics.HAL9001.system.robot.commands.Command;
+import com.SCHSRobotics.HAL9001.system.robot.commands.CommandScheduler;
 import com.SCHSRobotics.HAL9001.util.control.AutoTransitioner;
-import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
-import com.SCHSRobotics.HAL9001.util.misc.Timer;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
-import com.qualcomm.robotcore.eventloop.opmode.OpMode;
 
 import org.firstinspires.ftc.robotcore.external.Supplier;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.Objects;
 
 /**
@@ -64,38 +61,9 @@ public abstract class HALProgram extends LinearOpMode {
 
     @Override
     public void runOpMode() {
-        //Finds if the buildRobot function is present.
-        boolean buildRobotPresent;
+        //Builds the robot, using generated registration code if present and reflection otherwise.
         try {
-            Method m = this.getClass().getDeclaredMethod("buildRobot");
-            buildRobotPresent = true;
-        } catch (NoSuchMethodException e) {
-            buildRobotPresent = false;
-        }
-
-        //If buildRobot is present, build the robot, otherwise, build the robot from main robot.
-        try {
-            if (buildRobotPresent) robot = buildRobot();
-            else {
-                Field[] fields = this.getClass().getDeclaredFields();
-                for (Field field : fields) {
-                    if (field.isAnnotationPresent(MainRobot.class) && Robot.class.isAssignableFrom(field.getType())) {
-                        try {
-                            robot = (Robot) field.getType().getConstructor(OpMode.class).newInstance(this);
-                        } catch (NoSuchMethodException ex) {
-                            throw new NoSuchMethodException("Your robot does not have a constructor only taking an opmode as input, use buildRobot instead.");
-                        } catch (IllegalAccessException ex) {
-                            throw new IllegalAccessException("Your robot's constructor is not public, :(");
-                        }
-                        try {
-                            //TODO field.setAccessible(true);
-                            field.set(this, robot);
-                        } catch (IllegalAccessException e) {
-                            throw new IllegalAccessException("Your robot isn't accessible, and so @MainRobot won't work. The program can't access it. SHARE!!!!");
-                        }
-                    }
-                }
-            }
+            robot = RegistrationLoader.forProgram(this.getClass()).buildRobot(this);
 
             //Set up link to next program
             if (this.getClass().isAnnotationPresent(LinkTo.class)) {
@@ -140,12 +108,10 @@ public abstract class HALProgram extends LinearOpMode {
      *
      * @param millis The number of milliseconds to wait.
      *
-     * @see Timer
+     * @see Waiter
      */
     protected final void waitTime(long millis) {
-        Timer timer = new Timer();
-        timer.start(millis, HALTimeUnit.MILLISECONDS);
-        while (robot.opModeIsActive() && !timer.requiredTimeElapsed()) sleep(1);
+        Waiter.waitTime(robot, millis, null, Waiter.DEFAULT_TICK_PERIOD_NANOS);
     }
 
     /**
@@ -154,27 +120,37 @@ public abstract class HALProgram extends LinearOpMode {
      * @param millis The number of milliseconds to wait.
      * @param runner The code to run each loop while waiting.
      *
-     * @see Timer
+     * @see Waiter
      * @see Runnable
      */
     protected final void waitTime(long millis, @NotNull Runnable runner) {
-        Timer timer = new Timer();
-        timer.start(millis, HALTimeUnit.MILLISECONDS);
-        while (robot.opModeIsActive() && !timer.requiredTimeElapsed()) {
-            runner.run();
-            sleep(1);
-        }
+        Waiter.waitTime(robot, millis, runner, Waiter.DEFAULT_TICK_PERIOD_NANOS);
+    }
+
+    /**
+     * Waits for a specified number of milliseconds, running a function at a fixed rate while its waiting.
+     *
+     * @param millis The number of milliseconds to wait.
+     * @param runner The code to run while waiting.
+     * @param tickHz The rate, in hertz, at which to run the runner.
+     *
+     * @see Waiter
+     * @see Runnable
+     */
+    protected final void waitTime(long millis, @NotNull Runnable runner, double tickHz) {
+        Waiter.waitTime(robot, millis, runner, Waiter.toTickPeriod(tickHz));
     }
 
     /**
-     * Waits until a condition returns true.
+     * Waits until a condition returns true. The condition is checked whenever the robot signals a state change. It is checked at least once every millisecond when nothing else is signalling, and at least once every 10 milliseconds otherwise.
      *
      * @param condition The boolean condition that must be true in order for the program to stop waiting.
      *
      * @see Supplier
+     * @see Robot#signalStateChange()
      */
     protected final void waitUntil(@NotNull Supplier<Boolean> condition) {
-        while (robot.opModeIsActive() && !condition.get()) sleep(1);
+        Waiter.waitOn(robot, condition, true, null, Waiter.DEFAULT_TICK_PERIOD_NANOS);
     }
 
     /**
@@ -187,21 +163,33 @@ public abstract class HALProgram extends LinearOpMode {
      * @see Runnable
      */
     protected final void waitUntil(@NotNull Supplier<Boolean> condition, @NotNull Runnable runner) {
-        while (robot.opModeIsActive() && !condition.get()) {
-            runner.run();
-            sleep(1);
-        }
+        Waiter.waitOn(robot, condition, true, runner, Waiter.DEFAULT_TICK_PERIOD_NANOS);
+    }
+
+    /**
+     * Waits until a condition returns true, running a function at a fixed rate while its waiting.
+     *
+     * @param condition The boolean condition that must be true in order for the program to stop waiting.
+     * @param runner The code to run while waiting.
+     * @param tickHz The rate, in hertz, at which to run the runner.
+     *
+     * @see Supplier
+     * @see Runnable
+     */
+    protected final void waitUntil(@NotNull Supplier<Boolean> condition, @NotNull Runnable runner, double tickHz) {
+        Waiter.waitOn(robot, condition, true, runner, Waiter.toTickPeriod(tickHz));
     }
 
     /**
-     * Waits while a condition is true.
+     * Waits while a condition is true. The condition is checked whenever the robot signals a state change. It is checked at least once every millisecond when nothing else is signalling, and at least once every 10 milliseconds otherwise.
      *
      * @param condition The boolean condition that must become false for the program to stop waiting.
      *
      * @see Supplier
+     * @see Robot#signalStateChange()
      */
     protected final void waitWhile(@NotNull Supplier<Boolean> condition) {
-        while (robot.opModeIsActive() && condition.get()) sleep(1);
+        Waiter.waitOn(robot, condition, false, null, Waiter.DEFAULT_TICK_PERIOD_NANOS);
     }
 
     /**
@@ -214,10 +202,42 @@ public abstract class HALProgram extends LinearOpMode {
      * @see Runnable
      */
     protected final void waitWhile(@NotNull Supplier<Boolean> condition, @NotNull Runnable runner) {
-        while (robot.opModeIsActive() && condition.get()) {
-            runner.run();
-            sleep(1);
-        }
+        Waiter.waitOn(robot, condition, false, runner, Waiter.DEFAULT_TICK_PERIOD_NANOS);
+    }
+
+    /**
+     * Waits while a condition is true, running a function at a fixed rate while its waiting.
+     *
+     * @param condition The boolean condition that must become false for the program to stop waiting.
+     * @param runner The code to run while waiting.
+     * @param tickHz The rate, in hertz, at which to run the runner.
+     *
+     * @see Supplier
+     * @see Runnable
+     */
+    protected final void waitWhile(@NotNull Supplier<Boolean> condition, @NotNull Runnable runner, double tickHz) {
+        Waiter.waitOn(robot, condition, false, runner, Waiter.toTickPeriod(tickHz));
+    }
+
+    /**
+     * Schedules commands and runs the robot's command scheduler in a loop until every scheduled command has finished or the opmode stops.
+     * The scheduler is run once per millisecond, and the hardware snapshot is refreshed before every run.
+     * Commands still running when the opmode stops are interrupted.
+     *
+     * @param commands The commands to run.
+     *
+     * @see Command
+     * @see CommandScheduler
+     */
+    protected final void runCommands(@NotNull Command... commands) {
+        final CommandScheduler commandScheduler = robot.getCommandScheduler();
+        commandScheduler.schedule(commands);
+        //The scheduler is ticked at the default wait rate, and the thread parks between ticks instead of spinning.
+        Waiter.waitOn(robot, commandScheduler::isIdle, true, () -> {
+            commandScheduler.run();
+            robot.signalStateChange();
+        }, Waiter.DEFAULT_TICK_PERIOD_NANOS);
+        commandScheduler.cancelAll();
     }
 
     /**
@@ -1,17 +1,41 @@
 package com.SCHSRobotics.HAL9001.system.robot;
 
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+
 import org.jetbrains.annotations.NotNull;
 import org.opencv.core.Mat;
 import org.openftc.easyopencv.OpenCvPipeline;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * A modified version of EasyOpenCV's TrackerAPI used to manage HALPipelines.
  * <p>
+ * By default, every pipeline runs one after another on the camera's callback thread. If parallel processing is enabled, every pipeline except the one
+ * shown on the viewport is run on a shared worker pool while the viewport pipeline runs on the callback thread, and all of them are joined before the frame is returned.
+ * Pipelines never write to the input frame (they either work on their own copy or only read it), so they can share it safely.
+ * <p>
+ * Pipelines with a target processing rate or frame interval are skipped on frames they are not due for, and paused pipelines are skipped entirely.
+ * Each camera keeps its own schedule for each pipeline.
+ * <p>
+ * Every frame is stamped with a sequence number and an estimate of the time it was captured, which pipelines use to tag their published results.
+ * The capture time is the time the frame arrived, read from the tracker's clock, minus the camera's capture latency (the time between exposure and delivery),
+ * so results can be matched to the robot's pose at the moment the frame was taken. Every camera shares the same clock, so frames from different cameras can be aligned by time.
+ * Images derived from the frame, such as grayscale or downscaled versions, are cached for the duration of the frame and shared between all pipelines.
+ * The processing time, latency and rate of every pipeline are recorded in the camera's VisionStats.
+ * <p>
+ * If the camera is being recorded, the chosen frames are copied to the camera's frame recorder and saved on a background thread.
+ * <p>
+ * If the camera uses a frame mailbox, the callback thread only hands each frame to the mailbox, and the pipelines are run on the mailbox's processing thread instead.
+ * <p>
  * Creation Date: 9/24/20
  *
  * @author Cole Savage, Level Up
@@ -19,6 +43,8 @@ import java.util.concurrent.LinkedBlockingQueue;
  * @see org.openftc.easyopencv.OpenCvTracker
  * @see HALPipeline
  * @see CameraManager
+ * @see FrameMailbox
+ * @see VisionStats
  * @see Robot
  * @since 1.1.0
  */
@@ -27,6 +53,30 @@ public final class HALTrackerAPI extends OpenCvPipeline {
     private final List<HALPipeline> nonDisplayablePipelines = new ArrayList<>(), allPipelines = new ArrayList<>();
     //A queue of HALPipelines that do use the viewport. Only the one at the front of the queue is displayed.
     private final Queue<HALPipeline> displayablePipelines = new LinkedBlockingQueue<>();
+    //The frame currently being processed, which holds the images derived from it. Reused every frame.
+    private final VisionFrame frame = new VisionFrame();
+    //The processing schedule of each pipeline on this camera.
+    private final Map<HALPipeline, PipelineSchedule> schedules = new HashMap<>();
+    //The processing stats of this camera.
+    private final VisionStats stats = new VisionStats(this);
+    //The processing stats of each pipeline on this camera.
+    private final Map<HALPipeline, VisionStats.PipelineStats> pipelineStats = new HashMap<>();
+    //The pipelines that are not shown on the viewport and are due this frame. Reused every frame.
+    private final List<HALPipeline> offViewportPipelines = new ArrayList<>();
+    //The pending results of the pipelines running on the worker pool. Reused every frame.
+    private final List<Future<?>> pending = new ArrayList<>();
+    //The worker pool used to run pipelines in parallel. Null if parallel processing is disabled.
+    private ExecutorService workers;
+    //The clock used to stamp frames with the time they arrived.
+    private volatile HALClock clock = HALClock.SYSTEM;
+    //The estimated time between a frame being captured and being delivered to the tracker, in nanoseconds.
+    private volatile long captureLatencyNanos = 0;
+    //The sequence number of the last frame delivered by the camera. Only written by the camera's callback thread.
+    private volatile long lastSequence = 0;
+    //The mailbox frames are handed to instead of being processed on the callback thread. Null if the camera does not use a frame mailbox.
+    private volatile FrameMailbox mailbox;
+    //The recorder the camera's frames are recorded with. Null if the camera is not being recorded.
+    private volatile FrameRecorder recorder;
 
     /**
      * Adds a pipeline to the tracker.
@@ -35,6 +85,14 @@ public final class HALTrackerAPI extends OpenCvPipeline {
      * @see HALPipeline
      */
     public final synchronized void addPipeline(@NotNull HALPipeline pipeline) {
+        allPipelines.add(pipeline);
+        schedules.put(pipeline, new PipelineSchedule());
+
+        String name = pipeline.getClass().getSimpleName();
+        VisionStats.PipelineStats stats = new VisionStats.PipelineStats(name.isEmpty() ? pipeline.getClass().getName() : name);
+        pipelineStats.put(pipeline, stats);
+        this.stats.addPipeline(stats);
+
         if (pipeline.useViewport()) displayablePipelines.add(pipeline);
         else nonDisplayablePipelines.add(pipeline);
     }
@@ -50,15 +108,139 @@ public final class HALTrackerAPI extends OpenCvPipeline {
         nonDisplayablePipelines.remove(tracker);
         displayablePipelines.remove(tracker);
         allPipelines.remove(tracker);
+        schedules.remove(tracker);
+
+        VisionStats.PipelineStats stats = pipelineStats.remove(tracker);
+        if (stats != null) this.stats.removePipeline(stats);
+    }
+
+    /**
+     * Sets the clock used to stamp frames with the time they arrived.
+     *
+     * @param clock The clock used to stamp frames.
+     * @see CameraManager
+     */
+    final void setClock(@NotNull HALClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the estimated time between a frame being captured and being delivered to the tracker, which is subtracted from every frame's arrival time.
+     *
+     * @param captureLatencyNanos The capture latency in nanoseconds.
+     * @see CameraManager
+     */
+    final void setCaptureLatency(long captureLatencyNanos) {
+        this.captureLatencyNanos = captureLatencyNanos;
+    }
+
+    /**
+     * Releases every derived image and pooled buffer held by the tracker's frame. Waits for the pipelines to finish the frame they are processing, if any.
+     * The tracker can still process frames afterwards, in which case the buffers are allocated again.
+     *
+     * @see CameraManager
+     * @see VisionFrame
+     */
+    final synchronized void release() {
+        frame.release();
+    }
+
+    /**
+     * Sets the mailbox frames are handed to instead of being processed on the camera's callback thread.
+     *
+     * @param mailbox The frame mailbox, or null to process frames on the camera's callback thread.
+     * @see CameraManager
+     */
+    final void setMailbox(FrameMailbox mailbox) {
+        this.mailbox = mailbox;
+    }
+
+    /**
+     * Sets the recorder the camera's frames are recorded with.
+     *
+     * @param recorder The frame recorder, or null to stop recording.
+     * @see CameraManager
+     */
+    final void setRecorder(FrameRecorder recorder) {
+        this.recorder = recorder;
+        frame.setRecorder(recorder);
+    }
+
+    /**
+     * Sets the worker pool used to run pipelines that are not shown on the viewport in parallel.
+     *
+     * @param workers The worker pool, or null to run every pipeline on the camera's callback thread.
+     * @see CameraManager
+     */
+    final synchronized void setWorkerPool(ExecutorService workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Gets the processing stats of this camera and its pipelines.
+     *
+     * @return The camera's processing stats.
+     * @see VisionStats
+     */
+    public final VisionStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Gets the number of frames the camera has delivered.
+     *
+     * @return The number of frames delivered.
+     */
+    final long getNumFramesDelivered() {
+        return lastSequence;
+    }
+
+    /**
+     * Gets the number of frames that were dropped because a newer frame arrived while the pipelines were busy.
+     *
+     * @return The number of dropped frames. Always 0 if the camera does not use a frame mailbox.
+     */
+    final long getNumFramesDropped() {
+        FrameMailbox mailbox = this.mailbox;
+        return mailbox == null ? 0 : mailbox.getNumDropped();
+    }
+
+    /**
+     * Gets the number of native Mat buffers held by the tracker's frame and mailbox.
+     *
+     * @return The number of live Mat buffers.
+     */
+    final int getNumLiveMats() {
+        FrameMailbox mailbox = this.mailbox;
+        return frame.getNumBuffers() + (mailbox == null ? 0 : mailbox.getNumBuffers());
     }
 
     @Override
-    public final synchronized Mat processFrame(Mat input) {
+    public final Mat processFrame(Mat input) {
+        long captureTimeNanos = clock.nanoTime() - captureLatencyNanos;
+        long sequence = ++lastSequence;
+
+        FrameRecorder recorder = this.recorder;
+        if (recorder != null && recorder.getSource() == FrameRecorder.Source.INPUT && recorder.wants(sequence)) recorder.record(input, sequence, captureTimeNanos, "input");
+
+        FrameMailbox mailbox = this.mailbox;
+        return mailbox == null ? runPipelines(input, sequence, captureTimeNanos) : mailbox.publish(input, sequence, captureTimeNanos);
+    }
+
+    /**
+     * Runs every pipeline on a frame.
+     *
+     * @param input            The frame to process.
+     * @param sequence         The sequence number of the frame.
+     * @param captureTimeNanos The time at which the frame was captured, in nanoseconds.
+     * @return The image to display on the viewport.
+     */
+    final synchronized Mat runPipelines(@NotNull Mat input, long sequence, long captureTimeNanos) {
         //If no non-displayable or displayable pipelines are present, just return the input image.
         if (nonDisplayablePipelines.size() == 0 && displayablePipelines.size() == 0) return input;
 
         //Remove all pipelines that have been stopped.
-        for (HALPipeline pipeline : allPipelines) {
+        for (HALPipeline pipeline : new ArrayList<>(allPipelines)) {
             if (pipeline.markedAsStopped) removePipeline(pipeline);
         }
 
@@ -78,28 +260,149 @@ public final class HALTrackerAPI extends OpenCvPipeline {
             }
         }
 
-        //If there are no displayable pipelines, run all non-displayable pipelines then return the input image.
-        if (displayablePipelines.size() == 0) {
-            for (HALPipeline pipeline : nonDisplayablePipelines)
-                pipeline.processFrameInternal(input);
-            return input;
+        //Collect every due pipeline that is not shown on the viewport: all other displayable pipelines, then the non-displayable pipelines.
+        HALPipeline currentPipeline = displayablePipelines.peek();
+        offViewportPipelines.clear();
+        for (HALPipeline pipeline : displayablePipelines)
+            if (!pipeline.equals(currentPipeline) && isDue(pipeline, captureTimeNanos))
+                offViewportPipelines.add(pipeline);
+        for (HALPipeline pipeline : nonDisplayablePipelines)
+            if (isDue(pipeline, captureTimeNanos))
+                offViewportPipelines.add(pipeline);
+
+        //The viewport pipeline runs every frame unless it is paused, so the viewport does not stutter.
+        if (currentPipeline != null && currentPipeline.isPaused()) currentPipeline = null;
+
+        long startTime = System.nanoTime();
+        frame.begin(input, sequence, captureTimeNanos);
+        try {
+            Mat returnMat;
+            if (workers == null) {
+                //Run the current pipeline first and get the return image, then run all other pipelines.
+                returnMat = currentPipeline == null ? input : runPipeline(currentPipeline, captureTimeNanos);
+                for (HALPipeline pipeline : offViewportPipelines) runPipeline(pipeline, captureTimeNanos);
+            } else {
+                returnMat = processFrameParallel(input, captureTimeNanos, currentPipeline);
+            }
+
+            long endTime = System.nanoTime();
+            stats.getFrameStats().record(endTime - startTime, clock.nanoTime() - captureTimeNanos, endTime);
+
+            frame.record(returnMat, "viewport", FrameRecorder.Source.VIEWPORT);
+            return returnMat;
+        } finally {
+            frame.end();
         }
+    }
 
-        //Run the current pipeline first and get the return image.
-        HALPipeline currentPipeline = displayablePipelines.peek();
-        Mat returnMat = currentPipeline.processFrameInternal(input);
+    /**
+     * Runs the viewport pipeline (or, if there is none, the first other pipeline) on the callback thread and every other pipeline on the worker pool,
+     * joining all of them before returning.
+     *
+     * @param input            The input image, which is only read by the pipelines.
+     * @param captureTimeNanos The time at which the frame was captured, in nanoseconds.
+     * @param currentPipeline  The pipeline shown on the viewport, or null if no pipeline uses the viewport.
+     * @return The image to display on the viewport.
+     */
+    private Mat processFrameParallel(@NotNull Mat input, long captureTimeNanos, HALPipeline currentPipeline) {
+        //If no pipeline uses the viewport, the callback thread runs the first other pipeline itself instead of sitting idle.
+        int firstSubmitted = currentPipeline == null ? 1 : 0;
+        for (int i = firstSubmitted; i < offViewportPipelines.size(); i++) {
+            final HALPipeline pipeline = offViewportPipelines.get(i);
+            pending.add(workers.submit(() -> {
+                runPipeline(pipeline, captureTimeNanos);
+            }));
+        }
 
-        //Run all other displayable pipelines, then run the non-displayable pipelines.
-        for (HALPipeline pipeline : displayablePipelines)
-            if (!pipeline.equals(currentPipeline))
-                pipeline.processFrameInternal(input);
-        for (HALPipeline pipeline : nonDisplayablePipelines) pipeline.processFrameInternal(input);
+        Mat returnMat = input;
+        RuntimeException failure = null;
+        try {
+            if (currentPipeline != null) returnMat = runPipeline(currentPipeline, captureTimeNanos);
+            else if (!offViewportPipelines.isEmpty()) runPipeline(offViewportPipelines.get(0), captureTimeNanos);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
 
+        //Joins every pipeline before the frame is returned, so the camera does not reuse the input image while it is still being read.
+        for (Future<?> result : pending) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause();
+                    failure = cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new RuntimeException(e);
+            }
+        }
+        pending.clear();
+
+        if (failure != null) throw failure;
         return returnMat;
     }
 
+    /**
+     * Runs a single pipeline on the current frame and records its processing time and latency.
+     *
+     * @param pipeline         The pipeline to run.
+     * @param captureTimeNanos The time at which the frame was captured, in nanoseconds.
+     * @return The pipeline's output image.
+     */
+    private Mat runPipeline(@NotNull HALPipeline pipeline, long captureTimeNanos) {
+        long startTime = System.nanoTime();
+        Mat output = pipeline.processFrameInternal(frame);
+        long endTime = System.nanoTime();
+
+        VisionStats.PipelineStats stats = pipelineStats.get(pipeline);
+        if (stats != null) stats.record(endTime - startTime, clock.nanoTime() - captureTimeNanos, endTime);
+        return output;
+    }
+
+    /**
+     * Gets whether a pipeline is due to process the current frame, and if so, schedules its next frame.
+     *
+     * @param pipeline         The pipeline.
+     * @param captureTimeNanos The time at which the current frame was captured, in nanoseconds.
+     * @return Whether the pipeline should process the current frame.
+     */
+    private boolean isDue(@NotNull HALPipeline pipeline, long captureTimeNanos) {
+        if (pipeline.isPaused()) return false;
+
+        PipelineSchedule schedule = schedules.get(pipeline);
+        if (schedule == null) return true;
+
+        schedule.framesSinceRun++;
+        if (schedule.framesSinceRun < pipeline.getFrameInterval()) return false;
+
+        long period = pipeline.getProcessingPeriodNanos();
+        if (period > 0) {
+            if (schedule.hasRun && captureTimeNanos - schedule.nextDueNanos < 0) return false;
+            //Keeps a fixed rate when slightly late, but skips missed frames instead of catching up.
+            schedule.nextDueNanos = schedule.hasRun ? schedule.nextDueNanos + period : captureTimeNanos + period;
+            if (schedule.nextDueNanos - captureTimeNanos <= 0) schedule.nextDueNanos = captureTimeNanos + period;
+        }
+
+        schedule.framesSinceRun = 0;
+        schedule.hasRun = true;
+        return true;
+    }
+
     @Override
     public final synchronized void onViewportTapped() {
         if (displayablePipelines.size() > 0) displayablePipelines.add(displayablePipelines.poll());
     }
-}
\ No newline at end of file
+
+    /**
+     * A class storing when a pipeline is next due to process a frame from this camera.
+     */
+    private static final class PipelineSchedule {
+        //The number of frames since the pipeline last processed a frame.
+        private int framesSinceRun = 0;
+        //Whether the pipeline has processed a frame yet.
+        private boolean hasRun = false;
+        //The capture time, in nanoseconds, at which the pipeline is next due. Only used if the pipeline has a target processing rate.
+        private long nextDueNanos;
+    }
+}
@@ -0,0 +1,216 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALAngleUnit;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.LoopClock;
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A per-loop view of the robot's motor encoders, shared by every subsystem.
+ * <p>
+ * When manual bulk caching is enabled with Robot.enableManualBulkCaching(), every Lynx module is switched to MANUAL bulk caching mode and its cache is cleared exactly once per loop by the robot,
+ * so each hub is only read once per loop no matter how many subsystems read from it. Otherwise, every Lynx module is switched to AUTO bulk caching mode,
+ * so reads of different motors on the same hub still share a bulk read.
+ * Readings are also cached per motor, so every subsystem sees the same encoder positions and velocities within a loop, all tagged with the same timestamp.
+ * <p>
+ * The robot refreshes the snapshot at the start of every init_loop() and driverControlledUpdate(), and on every iteration of waitTime(), waitUntil() and waitWhile().
+ * Outside of those loops, reads will refresh the snapshot if it is older than the max age.
+ * Custom loops that read hardware directly instead of through the snapshot should call Robot.refreshHardwareSnapshot() once per iteration.
+ * <p>
+ * Every refresh also latches the robot's loop clock, so code that wants the timestamp of the encoder readings can read it with getTimestamp() or LoopClock.getLatchedTime().
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Robot
+ * @see LynxModule.BulkCachingMode
+ * @see SimulationStepper
+ * @see LoopClock
+ * @since 1.1.8
+ */
+public final class HardwareSnapshot {
+    //The default max age of a snapshot, in nanoseconds, before a read refreshes it when the robot is not running the loop.
+    private static final long DEFAULT_MAX_AGE_NANOS = 10_000_000;
+    //The hardwaremap containing the Lynx modules.
+    private final HardwareMap hardwareMap;
+    //The robot's loop clock, latched every refresh.
+    private final LoopClock clock;
+    //The cached readings of each motor that has been read.
+    private final Map<DcMotorEx, MotorReading> readings = new HashMap<>();
+    //The Lynx modules using manual bulk caching. Null if manual bulk caching is not enabled.
+    private List<LynxModule> modules;
+    //The number of times the snapshot has been refreshed.
+    private long generation = 0;
+    //The loop clock timestamp of the last refresh.
+    private long timestamp;
+    //The System.nanoTime() timestamp of the last refresh. Used to tell when the snapshot is too old, even if the loop clock is simulated.
+    private long realTimestamp = System.nanoTime();
+    //Whether the robot is currently refreshing the snapshot every loop.
+    private boolean loopDriven = false;
+    //The max age of a snapshot, in nanoseconds, before a read refreshes it when the robot is not running the loop.
+    private long maxAgeNanos = DEFAULT_MAX_AGE_NANOS;
+
+    /**
+     * The constructor for HardwareSnapshot.
+     *
+     * @param hardwareMap The hardwaremap containing the Lynx modules.
+     * @param clock       The robot's loop clock, latched every refresh.
+     */
+    HardwareSnapshot(@NotNull HardwareMap hardwareMap, @NotNull LoopClock clock) {
+        this.hardwareMap = hardwareMap;
+        this.clock = clock;
+        clock.latch();
+        timestamp = clock.getLatchedTime();
+    }
+
+    /**
+     * Switches every Lynx module to MANUAL or AUTO bulk caching mode.
+     *
+     * @param manual Whether to use MANUAL bulk caching, where the snapshot clears the bulk caches on every refresh.
+     */
+    synchronized void initBulkCaching(boolean manual) {
+        List<LynxModule> allModules = hardwareMap.getAll(LynxModule.class);
+        LynxModule.BulkCachingMode mode = manual ? LynxModule.BulkCachingMode.MANUAL : LynxModule.BulkCachingMode.AUTO;
+        for (LynxModule module : allModules) module.setBulkCachingMode(mode);
+        modules = manual ? allModules : null;
+    }
+
+    /**
+     * Refreshes the snapshot as the start of a new robot loop.
+     */
+    synchronized void refreshForLoop() {
+        loopDriven = true;
+        refresh();
+    }
+
+    /**
+     * Marks the robot as no longer running the loop, so reads refresh the snapshot once it becomes older than the max age.
+     */
+    synchronized void endLoops() {
+        loopDriven = false;
+    }
+
+    /**
+     * Clears the bulk cache of every Lynx module, discards all cached readings and latches the loop clock. When running in the simulator, this also advances the simulation.
+     */
+    public synchronized void refresh() {
+        if (hardwareMap instanceof SimulationStepper) ((SimulationStepper) hardwareMap).onHardwareRefresh();
+        if (modules != null) {
+            for (LynxModule module : modules) module.clearBulkCache();
+        }
+        generation++;
+        clock.latch();
+        timestamp = clock.getLatchedTime();
+        realTimestamp = System.nanoTime();
+    }
+
+    /**
+     * Sets the max age of a snapshot before a read refreshes it. Only used when the robot is not refreshing the snapshot every loop.
+     *
+     * @param maxAge   The max age of a snapshot.
+     * @param timeUnit The unit of the max age.
+     */
+    public synchronized void setMaxAge(double maxAge, @NotNull HALTimeUnit timeUnit) {
+        maxAgeNanos = (long) HALTimeUnit.convert(maxAge, timeUnit, HALTimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the encoder position of a motor at the time of the snapshot.
+     *
+     * @param motor The motor to read.
+     * @return The motor's encoder position in ticks.
+     */
+    public synchronized int getEncoderPosition(@NotNull DcMotorEx motor) {
+        MotorReading reading = getReading(motor);
+        if (reading.positionGeneration != generation) {
+            reading.position = motor.getCurrentPosition();
+            reading.positionGeneration = generation;
+        }
+        return reading.position;
+    }
+
+    /**
+     * Gets the velocity of a motor at the time of the snapshot.
+     *
+     * @param motor The motor to read.
+     * @return The motor's velocity in ticks per second.
+     */
+    public synchronized double getVelocity(@NotNull DcMotorEx motor) {
+        MotorReading reading = getReading(motor);
+        if (reading.velocityGeneration != generation) {
+            reading.velocity = motor.getVelocity();
+            reading.velocityGeneration = generation;
+        }
+        return reading.velocity;
+    }
+
+    /**
+     * Gets the angular velocity of a motor at the time of the snapshot.
+     *
+     * @param motor     The motor to read.
+     * @param angleUnit The angle unit of the returned velocity.
+     * @return The motor's angular velocity in angle units per second.
+     */
+    public double getVelocity(@NotNull DcMotorEx motor, @NotNull HALAngleUnit angleUnit) {
+        double revolutionsPerSecond = getVelocity(motor) / motor.getMotorType().getTicksPerRev();
+        return HALAngleUnit.RADIANS.convertTo(angleUnit).apply(2 * Math.PI * revolutionsPerSecond);
+    }
+
+    /**
+     * Gets the time at which the snapshot was taken.
+     *
+     * @param timeUnit The unit of the returned timestamp.
+     * @return The loop clock timestamp of the snapshot, converted to the given unit.
+     */
+    public synchronized double getTimestamp(@NotNull HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(timestamp, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Gets the number of times the snapshot has been refreshed.
+     *
+     * @return The number of times the snapshot has been refreshed.
+     */
+    @Contract(pure = true)
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the cached readings of a motor, refreshing the snapshot first if it is too old and the robot is not running the loop.
+     *
+     * @param motor The motor to read.
+     * @return The motor's cached readings.
+     */
+    private MotorReading getReading(@NotNull DcMotorEx motor) {
+        if (!loopDriven && System.nanoTime() - realTimestamp > maxAgeNanos) refresh();
+        MotorReading reading = readings.get(motor);
+        if (reading == null) {
+            reading = new MotorReading();
+            readings.put(motor, reading);
+        }
+        return reading;
+    }
+
+    /**
+     * A class storing the cached readings of a motor.
+     */
+    private static final class MotorReading {
+        //The generations the position and velocity were last read in. -1 if never read.
+        private long positionGeneration = -1, velocityGeneration = -1;
+        //The cached position in ticks.
+        private int position;
+        //The cached velocity in ticks per second.
+        private double velocity;
+    }
+}
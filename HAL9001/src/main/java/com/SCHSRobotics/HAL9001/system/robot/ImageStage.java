@@ -0,0 +1,509 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.exceptions.ChannelDoesNotExistException;
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.opencv.core.Core;
+import org.opencv.core.CvException;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+import java.util.Arrays;
+
+/**
+ * A stage in a declarative image processing graph. Each stage is an operation applied to the output of its parent stage, starting from the camera's frame.
+ * <p>
+ * Stages are immutable, and each call such as blur() or inRange() returns a new child stage, so pipelines can branch off of shared stages to build a DAG.
+ * Stages are evaluated through a VisionFrame, which caches the output of every stage for the current frame. Stages are compared by what they compute,
+ * not by identity, so identical chains declared separately by different pipelines on the same camera are only computed once per frame,
+ * and every stage's output buffer is reused from frame to frame.
+ * <p>
+ * Consecutive per-pixel stages (threshold(), invert() and scale()) on 8-bit images are fused into a single lookup table pass, so chaining them
+ * costs no more than one of them and their intermediate images are never stored.
+ * <p>
+ * Stages hold no native memory. Kernels and lookup tables are created and released by the VisionFrame along with the stage's output buffer,
+ * so stages can be built once when the pipeline is created or rebuilt inside processFrame() without leaking.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see VisionFrame
+ * @see StagePipeline
+ * @since 1.1.8
+ */
+public final class ImageStage {
+    //The stage representing the camera's frame, which every graph starts from.
+    private static final ImageStage INPUT = new ImageStage(null, null);
+    //The stage this stage's operation is applied to. Null for the input stage.
+    private final ImageStage parent;
+    //The operation this stage applies. Null for the input stage.
+    private final Operation operation;
+    //The stage whose output is actually computed from. Differs from the parent if this stage was fused with its parent.
+    private final ImageStage base;
+    //The operation actually computed from the base stage's output, which includes every operation fused into this stage.
+    private final Operation plannedOperation;
+
+    /**
+     * The constructor for ImageStage.
+     *
+     * @param parent    The stage this stage's operation is applied to, or null for the input stage.
+     * @param operation The operation this stage applies, or null for the input stage.
+     */
+    private ImageStage(ImageStage parent, Operation operation) {
+        this.parent = parent;
+        this.operation = operation;
+
+        if (parent != null && operation instanceof LookupTable && parent.plannedOperation instanceof LookupTable) {
+            base = parent.base;
+            plannedOperation = ((LookupTable) parent.plannedOperation).then((LookupTable) operation);
+        } else {
+            base = parent;
+            plannedOperation = operation;
+        }
+    }
+
+    /**
+     * Gets the stage representing the camera's frame, which every graph starts from. Frames are RGBA.
+     *
+     * @return The input stage.
+     */
+    @Contract(pure = true)
+    public static ImageStage input() {
+        return INPUT;
+    }
+
+    /**
+     * Converts the image to another colorspace.
+     *
+     * @param colorConversionCode The OpenCV color conversion code, such as Imgproc.COLOR_RGB2HSV.
+     * @return The new stage.
+     * @see Imgproc#cvtColor(Mat, Mat, int)
+     */
+    public ImageStage convertColor(int colorConversionCode) {
+        return new ImageStage(this, new ConvertColor(colorConversionCode));
+    }
+
+    /**
+     * Extracts a single channel from the image.
+     *
+     * @param channel The index of the channel.
+     * @return The new stage.
+     * @see Core#extractChannel(Mat, Mat, int)
+     */
+    public ImageStage extractChannel(int channel) {
+        return new ImageStage(this, new ExtractChannel(channel));
+    }
+
+    /**
+     * Downscales the image to half its width and height.
+     *
+     * @return The new stage.
+     */
+    public ImageStage downscale() {
+        return new ImageStage(this, Downscale.INSTANCE);
+    }
+
+    /**
+     * Blurs the image with a Gaussian kernel.
+     *
+     * @param kernelSize The width and height of the kernel. Must be positive and odd.
+     * @return The new stage.
+     * @see Imgproc#GaussianBlur(Mat, Mat, Size, double)
+     */
+    public ImageStage blur(int kernelSize) {
+        ExceptionChecker.assertTrue(kernelSize > 0 && kernelSize % 2 == 1, new DumpsterFireException("Blur kernel size must be positive and odd."));
+        return new ImageStage(this, new GaussianBlur(kernelSize));
+    }
+
+    /**
+     * Creates a binary mask of the pixels whose channels all lie within the given bounds.
+     *
+     * @param lowerBound The inclusive lower bound of each channel.
+     * @param upperBound The inclusive upper bound of each channel.
+     * @return The new stage.
+     * @see Core#inRange(Mat, Scalar, Scalar, Mat)
+     */
+    public ImageStage inRange(@NotNull Scalar lowerBound, @NotNull Scalar upperBound) {
+        return new ImageStage(this, new InRange(lowerBound, upperBound));
+    }
+
+    /**
+     * Applies a morphological operation with a rectangular kernel.
+     *
+     * @param morphOperation The morphological operation, such as Imgproc.MORPH_OPEN.
+     * @param kernelSize     The width and height of the kernel.
+     * @return The new stage.
+     * @see Imgproc#morphologyEx(Mat, Mat, int, Mat)
+     */
+    public ImageStage morphology(int morphOperation, int kernelSize) {
+        ExceptionChecker.assertTrue(kernelSize > 0, new DumpsterFireException("Morphology kernel size must be positive."));
+        return new ImageStage(this, new Morphology(morphOperation, kernelSize));
+    }
+
+    /**
+     * Applies a binary threshold to every channel of an 8-bit image. Pixels above the threshold are set to 255, and the rest are set to 0.
+     * Fused with neighboring per-pixel stages.
+     *
+     * @param threshold The threshold.
+     * @return The new stage.
+     */
+    public ImageStage threshold(int threshold) {
+        byte[] table = new byte[256];
+        for (int i = 0; i < table.length; i++) table[i] = (byte) (i > threshold ? 255 : 0);
+        return new ImageStage(this, new LookupTable(table));
+    }
+
+    /**
+     * Inverts every channel of an 8-bit image. Fused with neighboring per-pixel stages.
+     *
+     * @return The new stage.
+     */
+    public ImageStage invert() {
+        byte[] table = new byte[256];
+        for (int i = 0; i < table.length; i++) table[i] = (byte) (255 - i);
+        return new ImageStage(this, new LookupTable(table));
+    }
+
+    /**
+     * Scales and offsets every channel of an 8-bit image, saturating the result to the 0-255 range. Fused with neighboring per-pixel stages.
+     *
+     * @param alpha The factor every value is multiplied by.
+     * @param beta  The offset added to every value after scaling.
+     * @return The new stage.
+     */
+    public ImageStage scale(double alpha, double beta) {
+        byte[] table = new byte[256];
+        for (int i = 0; i < table.length; i++) table[i] = (byte) Math.max(0, Math.min(255, Math.round(alpha * i + beta)));
+        return new ImageStage(this, new LookupTable(table));
+    }
+
+    /**
+     * Gets whether this stage is the input stage.
+     *
+     * @return Whether this is the input stage.
+     */
+    @Contract(pure = true)
+    boolean isInput() {
+        return parent == null;
+    }
+
+    /**
+     * Gets the stage whose output this stage is computed from, after fusion.
+     *
+     * @return The base stage.
+     */
+    @Contract(pure = true)
+    ImageStage getBase() {
+        return base;
+    }
+
+    /**
+     * Gets the operation used to compute this stage from its base stage, after fusion.
+     *
+     * @return The planned operation.
+     */
+    @Contract(pure = true)
+    Operation getPlannedOperation() {
+        return plannedOperation;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ImageStage)) return false;
+        ImageStage other = (ImageStage) obj;
+        return parent != null && other.parent != null && operation.equals(other.operation) && parent.equals(other.parent);
+    }
+
+    @Override
+    public int hashCode() {
+        return parent == null ? 0 : 31 * parent.hashCode() + operation.hashCode();
+    }
+
+    /**
+     * An operation that computes one image from another. Operations are compared by what they compute, so equal operations on the same image can share their output.
+     * Operations never hold native memory themselves. Any constant image they need, such as a kernel or a lookup table, is created by the frame cache
+     * with createConstant() and kept and released along with the operation's output buffer.
+     */
+    abstract static class Operation {
+        /**
+         * Creates the constant image the operation needs every time it is applied.
+         *
+         * @return The constant image, or null if the operation does not need one.
+         */
+        Mat createConstant() {
+            return null;
+        }
+
+        /**
+         * Applies the operation.
+         *
+         * @param src      The image to apply the operation to.
+         * @param dst      The image to write the result to.
+         * @param constant The image created by createConstant(), or null if the operation does not need one.
+         */
+        abstract void apply(@NotNull Mat src, @NotNull Mat dst, Mat constant);
+    }
+
+    /**
+     * Converts an image to another colorspace.
+     */
+    static final class ConvertColor extends Operation {
+        //The OpenCV color conversion code.
+        private final int code;
+
+        /**
+         * The constructor for ConvertColor.
+         *
+         * @param code The OpenCV color conversion code.
+         */
+        ConvertColor(int code) {
+            this.code = code;
+        }
+
+        @Override
+        void apply(@NotNull Mat src, @NotNull Mat dst, Mat constant) {
+            Imgproc.cvtColor(src, dst, code);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ConvertColor && ((ConvertColor) obj).code == code;
+        }
+
+        @Override
+        public int hashCode() {
+            return code;
+        }
+    }
+
+    /**
+     * Extracts a single channel from an image.
+     */
+    static final class ExtractChannel extends Operation {
+        //The index of the channel.
+        private final int channel;
+
+        /**
+         * The constructor for ExtractChannel.
+         *
+         * @param channel The index of the channel.
+         */
+        ExtractChannel(int channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        void apply(@NotNull Mat src, @NotNull Mat dst, Mat constant) {
+            try {
+                Core.extractChannel(src, dst, channel);
+            } catch (CvException e) {
+                if (channel < 0 || channel > src.channels() - 1) {
+                    throw new ChannelDoesNotExistException("Error: Your channel index does not refer to an actual channel in the image.", e);
+                } else {
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ExtractChannel && ((ExtractChannel) obj).channel == channel;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 + channel;
+        }
+    }
+
+    /**
+     * Downscales an image to half its width and height.
+     */
+    static final class Downscale extends Operation {
+        //The only instance of Downscale.
+        static final Downscale INSTANCE = new Downscale();
+
+        /**
+         * The constructor for Downscale.
+         */
+        private Downscale() {
+        }
+
+        @Override
+        void apply(@NotNull Mat src, @NotNull Mat dst, Mat constant) {
+            Imgproc.resize(src, dst, new Size(src.cols() / 2, src.rows() / 2), 0, 0, Imgproc.INTER_AREA);
+        }
+    }
+
+    /**
+     * Blurs an image with a Gaussian kernel.
+     */
+    static final class GaussianBlur extends Operation {
+        //The size of the kernel.
+        private final Size kernelSize;
+
+        /**
+         * The constructor for GaussianBlur.
+         *
+         * @param kernelSize The width and height of the kernel.
+         */
+        GaussianBlur(int kernelSize) {
+            this.kernelSize = new Size(kernelSize, kernelSize);
+        }
+
+        @Override
+        void apply(@NotNull Mat src, @NotNull Mat dst, Mat constant) {
+            Imgproc.GaussianBlur(src, dst, kernelSize, 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof GaussianBlur && ((GaussianBlur) obj).kernelSize.equals(kernelSize);
+        }
+
+        @Override
+        public int hashCode() {
+            return 37 + (int) kernelSize.width;
+        }
+    }
+
+    /**
+     * Creates a binary mask of the pixels whose channels all lie within a range.
+     */
+    static final class InRange extends Operation {
+        //The inclusive lower and upper bounds of each channel.
+        private final Scalar lowerBound, upperBound;
+
+        /**
+         * The constructor for InRange.
+         *
+         * @param lowerBound The inclusive lower bound of each channel.
+         * @param upperBound The inclusive upper bound of each channel.
+         */
+        InRange(@NotNull Scalar lowerBound, @NotNull Scalar upperBound) {
+            this.lowerBound = lowerBound.clone();
+            this.upperBound = upperBound.clone();
+        }
+
+        @Override
+        void apply(@NotNull Mat src, @NotNull Mat dst, Mat constant) {
+            Core.inRange(src, lowerBound, upperBound, dst);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof InRange)) return false;
+            InRange other = (InRange) obj;
+            return Arrays.equals(other.lowerBound.val, lowerBound.val) && Arrays.equals(other.upperBound.val, upperBound.val);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(lowerBound.val) + Arrays.hashCode(upperBound.val);
+        }
+    }
+
+    /**
+     * Applies a morphological operation with a rectangular kernel.
+     */
+    static final class Morphology extends Operation {
+        //The morphological operation.
+        private final int morphOperation;
+        //The width and height of the kernel.
+        private final int kernelSize;
+
+        /**
+         * The constructor for Morphology.
+         *
+         * @param morphOperation The morphological operation.
+         * @param kernelSize     The width and height of the kernel.
+         */
+        Morphology(int morphOperation, int kernelSize) {
+            this.morphOperation = morphOperation;
+            this.kernelSize = kernelSize;
+        }
+
+        @Override
+        Mat createConstant() {
+            return Imgproc.getStructuringElement(Imgproc.MORPH_RECT, new Size(kernelSize, kernelSize));
+        }
+
+        @Override
+        void apply(@NotNull Mat src, @NotNull Mat dst, Mat constant) {
+            Imgproc.morphologyEx(src, dst, morphOperation, constant);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Morphology)) return false;
+            Morphology other = (Morphology) obj;
+            return other.morphOperation == morphOperation && other.kernelSize == kernelSize;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * morphOperation + kernelSize;
+        }
+    }
+
+    /**
+     * Maps every 8-bit value through a lookup table. Every per-pixel stage is a lookup table, so consecutive per-pixel stages fuse into one.
+     */
+    static final class LookupTable extends Operation {
+        //The value each input value is mapped to.
+        private final byte[] table;
+
+        /**
+         * The constructor for LookupTable.
+         *
+         * @param table The value each of the 256 input values is mapped to.
+         */
+        LookupTable(@NotNull byte[] table) {
+            this.table = table;
+        }
+
+        /**
+         * Composes this table with another table that is applied after it.
+         *
+         * @param next The table applied after this one.
+         * @return A table equivalent to applying this table and then the next table.
+         */
+        LookupTable then(@NotNull LookupTable next) {
+            byte[] composed = new byte[256];
+            for (int i = 0; i < composed.length; i++) composed[i] = next.table[table[i] & 0xFF];
+            return new LookupTable(composed);
+        }
+
+        @Override
+        Mat createConstant() {
+            //Only created for tables that are actually applied, since tables that get fused into a longer chain never are.
+            Mat lut = new Mat(1, 256, CvType.CV_8UC1);
+            lut.put(0, 0, table);
+            return lut;
+        }
+
+        @Override
+        void apply(@NotNull Mat src, @NotNull Mat dst, Mat constant) {
+            ExceptionChecker.assertTrue(src.depth() == CvType.CV_8U, new DumpsterFireException("Per-pixel stages can only be applied to 8-bit images."));
+            Core.LUT(src, constant, dst);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof LookupTable && Arrays.equals(((LookupTable) obj).table, table);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(table);
+        }
+    }
+}
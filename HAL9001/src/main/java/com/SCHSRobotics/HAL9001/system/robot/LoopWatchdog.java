@@ -0,0 +1,195 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A watchdog that measures every robot loop against a time budget and sheds cosmetic work when the loop overruns it.
+ * <p>
+ * Each loop that takes longer than the budget moves the watchdog up one degradation tier. Each tier keeps the effects of the tiers below it:
+ * first the GUI stops rendering, then non-critical subsystems are slowed down to their degraded update rates, then telemetry transmission is throttled.
+ * Once enough consecutive loops finish comfortably within the budget, the watchdog moves back down one tier at a time until the robot is running normally again.
+ * Critical subsystems and driver control are never slowed down by the watchdog.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Robot
+ * @see NonCritical
+ * @since 1.1.8
+ */
+public final class LoopWatchdog {
+    //The default number of consecutive healthy loops needed to move down one tier.
+    private static final int DEFAULT_RECOVERY_LOOPS = 25;
+    //The fraction of the budget a loop must finish within to count as healthy.
+    private static final double HEALTHY_BUDGET_FRACTION = 0.8;
+    //The number of times each tier has been entered. Indices match the tier ordinals.
+    private final long[] tierCounts = new long[Tier.values().length];
+    //The loop time budget, in nanoseconds.
+    private long budgetNanos;
+    //The number of consecutive healthy loops needed to move down one tier.
+    private int recoveryLoops = DEFAULT_RECOVERY_LOOPS;
+    //The current degradation tier.
+    private Tier tier = Tier.NOMINAL;
+    //The loop clock timestamp at which the last loop started. -1 if no loop has started since the last reset.
+    private long lastLoopStart = -1;
+    //The number of consecutive healthy loops since the last tier change or overrun.
+    private int healthyLoops = 0;
+    //The total number of loops that overran the budget.
+    private long overrunCount = 0;
+    //The longest loop time seen, in nanoseconds.
+    private long worstLoopNanos = 0;
+
+    /**
+     * An enum representing the degradation tiers of the watchdog, in order of severity. Each tier keeps the effects of the tiers below it.
+     */
+    public enum Tier {
+        NOMINAL, SKIP_GUI, THROTTLE_NON_CRITICAL, THROTTLE_TELEMETRY;
+
+        /**
+         * Gets whether this tier includes the effects of another tier.
+         *
+         * @param other The other tier.
+         * @return Whether this tier is at least as severe as the other tier.
+         */
+        @Contract(pure = true)
+        public boolean includes(@NotNull Tier other) {
+            return ordinal() >= other.ordinal();
+        }
+    }
+
+    /**
+     * The constructor for LoopWatchdog.
+     *
+     * @param budget   The loop time budget.
+     * @param timeUnit The unit of the budget.
+     */
+    LoopWatchdog(double budget, @NotNull HALTimeUnit timeUnit) {
+        setBudget(budget, timeUnit);
+    }
+
+    /**
+     * Marks the start of a new loop, measuring the previous loop against the budget and updating the degradation tier.
+     *
+     * @param now The loop clock timestamp, in nanoseconds, at which the loop started.
+     * @return The degradation tier to run this loop at.
+     */
+    synchronized Tier beginLoop(long now) {
+        if (lastLoopStart >= 0) {
+            long loopNanos = now - lastLoopStart;
+            worstLoopNanos = Math.max(worstLoopNanos, loopNanos);
+
+            if (loopNanos > budgetNanos) {
+                overrunCount++;
+                healthyLoops = 0;
+                if (tier != Tier.THROTTLE_TELEMETRY) setTier(Tier.values()[tier.ordinal() + 1]);
+            }
+            else if (loopNanos <= budgetNanos * HEALTHY_BUDGET_FRACTION) {
+                healthyLoops++;
+                if (healthyLoops >= recoveryLoops && tier != Tier.NOMINAL) {
+                    healthyLoops = 0;
+                    setTier(Tier.values()[tier.ordinal() - 1]);
+                }
+            }
+            else healthyLoops = 0;
+        }
+        lastLoopStart = now;
+        return tier;
+    }
+
+    /**
+     * Forgets the last loop's start time and goes back to the nominal tier. Used when switching between phases of the program, so the time spent switching is not counted as a loop.
+     */
+    synchronized void reset() {
+        lastLoopStart = -1;
+        healthyLoops = 0;
+        tier = Tier.NOMINAL;
+    }
+
+    /**
+     * Sets the loop time budget.
+     *
+     * @param budget   The loop time budget.
+     * @param timeUnit The unit of the budget.
+     */
+    public synchronized void setBudget(double budget, @NotNull HALTimeUnit timeUnit) {
+        ExceptionChecker.assertTrue(budget > 0, new DumpsterFireException("Loop time budget must be positive."));
+        budgetNanos = (long) HALTimeUnit.convert(budget, timeUnit, HALTimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the loop time budget.
+     *
+     * @param timeUnit The unit of the returned budget.
+     * @return The loop time budget.
+     */
+    public synchronized double getBudget(@NotNull HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(budgetNanos, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Sets the number of consecutive loops that must finish within 80% of the budget before the watchdog moves down one tier.
+     *
+     * @param recoveryLoops The number of consecutive healthy loops needed to move down one tier.
+     */
+    public synchronized void setRecoveryLoops(int recoveryLoops) {
+        ExceptionChecker.assertTrue(recoveryLoops > 0, new DumpsterFireException("Number of recovery loops must be positive."));
+        this.recoveryLoops = recoveryLoops;
+    }
+
+    /**
+     * Gets the current degradation tier.
+     *
+     * @return The current degradation tier.
+     */
+    @Contract(pure = true)
+    public synchronized Tier getTier() {
+        return tier;
+    }
+
+    /**
+     * Gets the number of times the watchdog has moved up into a tier.
+     *
+     * @param tier The tier.
+     * @return The number of times the tier has been entered from the tier below it. Always 0 for the nominal tier.
+     */
+    @Contract(pure = true)
+    public synchronized long getTierCount(@NotNull Tier tier) {
+        return tierCounts[tier.ordinal()];
+    }
+
+    /**
+     * Gets the total number of loops that overran the budget.
+     *
+     * @return The total number of loops that overran the budget.
+     */
+    @Contract(pure = true)
+    public synchronized long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * Gets the longest loop time seen.
+     *
+     * @param timeUnit The unit of the returned time.
+     * @return The longest loop time seen.
+     */
+    public synchronized double getWorstLoopTime(@NotNull HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(worstLoopNanos, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Changes the current tier, counting the tier if it is more severe than the last one.
+     *
+     * @param newTier The new tier.
+     */
+    private void setTier(@NotNull Tier newTier) {
+        if (newTier.ordinal() > tier.ordinal()) tierCounts[newTier.ordinal()]++;
+        tier = newTier;
+    }
+}
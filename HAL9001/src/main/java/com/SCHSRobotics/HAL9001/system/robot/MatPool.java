@@ -0,0 +1,147 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import org.jetbrains.annotations.NotNull;
+import org.opencv.core.Mat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pool of reusable Mat buffers, keyed by their size and type.
+ * <p>
+ * Acquiring a buffer reuses a free buffer of the same size and type if there is one, and only allocates a new one otherwise,
+ * so code that acquires the same buffers every frame stops allocating native memory once the pool has warmed up.
+ * Buffers of a size and type that has not been acquired for a while are released, so the pool does not hold on to memory after a resolution change.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see VisionFrame
+ * @since 1.1.8
+ */
+final class MatPool {
+    //The number of frames a size and type can go without being acquired before its free buffers are released.
+    private static final int MAX_IDLE_FRAMES = 300;
+    //The buckets of buffers, one for each size and type. There are only ever a few of them, so they are searched linearly.
+    private final List<Bucket> buckets = new ArrayList<>();
+    //The number of frames that have ended since the pool was created.
+    private long frameCount = 0;
+    //The number of buffers allocated by the pool that have not been released, whether they are free or acquired.
+    private int numBuffers = 0;
+
+    /**
+     * Acquires a buffer of the given size and type. The contents of the buffer are undefined.
+     *
+     * @param rows The number of rows in the buffer.
+     * @param cols The number of columns in the buffer.
+     * @param type The OpenCV type of the buffer, such as CvType.CV_8UC3.
+     * @return The buffer.
+     */
+    synchronized Mat acquire(int rows, int cols, int type) {
+        Bucket bucket = getBucket(rows, cols, type);
+        bucket.lastAcquiredFrame = frameCount;
+
+        Mat mat = bucket.free.poll();
+        if (mat == null) {
+            mat = new Mat(rows, cols, type);
+            numBuffers++;
+        }
+        return mat;
+    }
+
+    /**
+     * Returns a buffer to the pool so it can be acquired again. The buffer is filed under its current size and type,
+     * so buffers that were resized by an OpenCV function are still reused correctly.
+     *
+     * @param mat The buffer to return. Must not be used after it is returned.
+     */
+    synchronized void recycle(@NotNull Mat mat) {
+        if (mat.empty()) {
+            mat.release();
+            numBuffers--;
+            return;
+        }
+        getBucket(mat.rows(), mat.cols(), mat.type()).free.offer(mat);
+    }
+
+    /**
+     * Marks the end of a frame, releasing the free buffers of every size and type that has been idle for too long.
+     */
+    synchronized void endFrame() {
+        frameCount++;
+        for (int i = buckets.size() - 1; i >= 0; i--) {
+            Bucket bucket = buckets.get(i);
+            if (frameCount - bucket.lastAcquiredFrame > MAX_IDLE_FRAMES) {
+                for (Mat mat : bucket.free) mat.release();
+                numBuffers -= bucket.free.size();
+                buckets.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Releases every free buffer in the pool.
+     */
+    synchronized void releaseAll() {
+        for (Bucket bucket : buckets) {
+            for (Mat mat : bucket.free) mat.release();
+            numBuffers -= bucket.free.size();
+        }
+        buckets.clear();
+    }
+
+    /**
+     * Gets the number of buffers allocated by the pool that have not been released, whether they are free or acquired.
+     *
+     * @return The number of live buffers.
+     */
+    synchronized int getNumBuffers() {
+        return numBuffers;
+    }
+
+    /**
+     * Finds or creates the bucket for a size and type.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     * @param type The OpenCV type.
+     * @return The bucket for the size and type.
+     */
+    private Bucket getBucket(int rows, int cols, int type) {
+        for (Bucket bucket : buckets) {
+            if (bucket.rows == rows && bucket.cols == cols && bucket.type == type) return bucket;
+        }
+
+        Bucket bucket = new Bucket(rows, cols, type);
+        bucket.lastAcquiredFrame = frameCount;
+        buckets.add(bucket);
+        return bucket;
+    }
+
+    /**
+     * A class storing the free buffers of a single size and type.
+     */
+    private static final class Bucket {
+        //The size and type of the buffers in the bucket.
+        private final int rows, cols, type;
+        //The buffers that are free to be acquired.
+        private final ArrayDeque<Mat> free = new ArrayDeque<>();
+        //The frame during which a buffer was last acquired from the bucket.
+        private long lastAcquiredFrame;
+
+        /**
+         * The constructor for Bucket.
+         *
+         * @param rows The number of rows in the buffers.
+         * @param cols The number of columns in the buffers.
+         * @param type The OpenCV type of the buffers.
+         */
+        private Bucket(int rows, int cols, int type) {
+            this.rows = rows;
+            this.cols = cols;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A write stage for motor power, runmode and PIDF coefficients that drops writes which would not change anything.
+ * <p>
+ * Every value sent to a motor is remembered, and writes within an epsilon of the last sent power (or equal to the last sent mode or coefficients) are dropped,
+ * since each write is a blocking Lynx transaction.
+ * While the robot is running its subsystems' loop methods (during init_loop() and driverControlledUpdate()), writes are also coalesced: only the last value written to each motor
+ * during the pass is kept, and all of them are flushed once at the end of the pass. Outside of that pass, such as in onUpdate() or in autonomous, writes are sent immediately.
+ * Blocking drivetrain calls made from inside the pass, such as turnPID() or followTrajectory(), flush on every iteration of their loops so their powers are still sent.
+ * STOP_AND_RESET_ENCODER is never coalesced or dropped: it is sent immediately, after the motor's pending writes, so the encoder is always reset
+ * even if another runmode is written later in the same pass.
+ * <p>
+ * The buffer only knows about writes that go through it. Code that writes to a motor directly must call invalidate() on that motor afterwards,
+ * otherwise a later buffered write with the same value as the last buffered one would be dropped even though the motor is in a different state.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Robot
+ * @since 1.1.8
+ */
+public final class MotorWriteBuffer {
+    //The default smallest change in power that will be sent to a motor.
+    private static final double DEFAULT_POWER_EPSILON = 1e-3;
+    //The write state of each motor that has been written to.
+    private final Map<DcMotorEx, MotorState> states = new HashMap<>();
+    //The motors with pending writes, in the order they were first written to this loop.
+    private final List<MotorState> dirty = new ArrayList<>();
+    //Whether writes are currently being held until the end of the loop.
+    private boolean buffering = false;
+    //The smallest change in power that will be sent to a motor.
+    private double powerEpsilon = DEFAULT_POWER_EPSILON;
+
+    /**
+     * Package-private constructor for MotorWriteBuffer so that only the robot can create one.
+     */
+    MotorWriteBuffer() {
+    }
+
+    /**
+     * Starts holding writes until the end of the subsystems' loop pass.
+     */
+    synchronized void beginLoop() {
+        buffering = true;
+    }
+
+    /**
+     * Flushes all pending writes at the end of the subsystems' loop pass and goes back to sending writes immediately.
+     */
+    synchronized void endLoop() {
+        buffering = false;
+        flush();
+    }
+
+    /**
+     * Sets the smallest change in power that will be sent to a motor.
+     *
+     * @param powerEpsilon The smallest change in power that will be sent to a motor.
+     */
+    public synchronized void setPowerEpsilon(double powerEpsilon) {
+        ExceptionChecker.assertTrue(powerEpsilon >= 0, new DumpsterFireException("Power epsilon cannot be negative."));
+        this.powerEpsilon = powerEpsilon;
+    }
+
+    /**
+     * Sets the power of a motor.
+     *
+     * @param motor The motor.
+     * @param power The power to set the motor to.
+     */
+    public synchronized void setPower(@NotNull DcMotorEx motor, double power) {
+        MotorState state = getState(motor);
+        state.wantedPower = power;
+        state.hasWantedPower = true;
+        onWrite(state);
+    }
+
+    /**
+     * Sets the runmode of a motor.
+     *
+     * @param motor The motor.
+     * @param mode  The runmode to set the motor to.
+     */
+    public synchronized void setMode(@NotNull DcMotorEx motor, @NotNull DcMotor.RunMode mode) {
+        MotorState state = getState(motor);
+        if (mode == DcMotor.RunMode.STOP_AND_RESET_ENCODER) {
+            //Pending writes were made before the reset, so they are sent first. The reset itself is always sent, even if the last sent mode was also a reset.
+            if (state.isDirty) dirty.remove(state);
+            send(state);
+            motor.setMode(mode);
+            state.sentMode = mode;
+            state.sentPower = Double.NaN;
+            return;
+        }
+        state.wantedMode = mode;
+        onWrite(state);
+    }
+
+    /**
+     * Sets the PIDF coefficients of a motor for a given runmode.
+     *
+     * @param motor            The motor.
+     * @param mode             The runmode the coefficients are used in.
+     * @param pidfCoefficients The PIDF coefficients.
+     */
+    public synchronized void setPIDFCoefficients(@NotNull DcMotorEx motor, @NotNull DcMotor.RunMode mode, @NotNull PIDFCoefficients pidfCoefficients) {
+        MotorState state = getState(motor);
+        state.wantedCoefficients.put(mode, new PIDFCoefficients(pidfCoefficients));
+        onWrite(state);
+    }
+
+    /**
+     * Sends every pending write that would change the motor's state.
+     */
+    public synchronized void flush() {
+        for (int i = 0; i < dirty.size(); i++) send(dirty.get(i));
+        dirty.clear();
+    }
+
+    /**
+     * Forgets the last values sent to a motor, so the next write is always sent. Call this after writing to the motor directly instead of through the buffer.
+     *
+     * @param motor The motor.
+     */
+    public synchronized void invalidate(@NotNull DcMotorEx motor) {
+        MotorState state = states.get(motor);
+        if (state != null) state.forgetSent();
+    }
+
+    /**
+     * Marks a motor as having a pending write, sending it immediately if writes are not being held until the end of the loop.
+     *
+     * @param state The motor's write state.
+     */
+    private void onWrite(@NotNull MotorState state) {
+        if (!buffering) send(state);
+        else if (!state.isDirty) {
+            state.isDirty = true;
+            dirty.add(state);
+        }
+    }
+
+    /**
+     * Sends a motor's pending writes that would change its state. The mode is sent first, then the coefficients, then the power.
+     *
+     * @param state The motor's write state.
+     */
+    private void send(@NotNull MotorState state) {
+        state.isDirty = false;
+
+        if (state.wantedMode != null && state.wantedMode != state.sentMode) {
+            state.motor.setMode(state.wantedMode);
+            state.sentMode = state.wantedMode;
+            //Changing the mode can change the motor's output, so the next power is always sent.
+            state.sentPower = Double.NaN;
+        }
+        state.wantedMode = null;
+
+        if (!state.wantedCoefficients.isEmpty()) {
+            for (Map.Entry<DcMotor.RunMode, PIDFCoefficients> entry : state.wantedCoefficients.entrySet()) {
+                PIDFCoefficients sent = state.sentCoefficients.get(entry.getKey());
+                PIDFCoefficients wanted = entry.getValue();
+                if (sent == null || !sameCoefficients(sent, wanted)) {
+                    state.motor.setPIDFCoefficients(entry.getKey(), wanted);
+                    state.sentCoefficients.put(entry.getKey(), wanted);
+                }
+            }
+            state.wantedCoefficients.clear();
+        }
+
+        if (state.hasWantedPower) {
+            double power = state.wantedPower;
+            boolean stopping = power == 0 && state.sentPower != 0;
+            if (Double.isNaN(state.sentPower) || stopping || Math.abs(power - state.sentPower) > powerEpsilon) {
+                state.motor.setPower(power);
+                state.sentPower = power;
+            }
+            state.hasWantedPower = false;
+        }
+    }
+
+    /**
+     * Gets the write state of a motor, creating it if it does not exist.
+     *
+     * @param motor The motor.
+     * @return The motor's write state.
+     */
+    @NotNull
+    private MotorState getState(@NotNull DcMotorEx motor) {
+        MotorState state = states.get(motor);
+        if (state == null) {
+            state = new MotorState(motor);
+            states.put(motor, state);
+        }
+        return state;
+    }
+
+    /**
+     * Gets whether two sets of PIDF coefficients are equal.
+     *
+     * @param a The first set of coefficients.
+     * @param b The second set of coefficients.
+     * @return Whether the two sets of coefficients are equal.
+     */
+    private static boolean sameCoefficients(@NotNull PIDFCoefficients a, @NotNull PIDFCoefficients b) {
+        return a.p == b.p && a.i == b.i && a.d == b.d && a.f == b.f && a.algorithm == b.algorithm;
+    }
+
+    /**
+     * A class storing the wanted and last sent values of a motor.
+     */
+    private static final class MotorState {
+        //The motor.
+        private final DcMotorEx motor;
+        //The wanted and last sent PIDF coefficients, by runmode.
+        private final Map<DcMotor.RunMode, PIDFCoefficients> wantedCoefficients = new EnumMap<>(DcMotor.RunMode.class), sentCoefficients = new EnumMap<>(DcMotor.RunMode.class);
+        //The wanted and last sent power. The sent power is NaN if unknown.
+        private double wantedPower, sentPower = Double.NaN;
+        //Whether a power has been written since the last send.
+        private boolean hasWantedPower = false;
+        //The wanted and last sent runmode. The wanted runmode is null if no runmode has been written since the last send, and the sent runmode is null if unknown.
+        private DcMotor.RunMode wantedMode, sentMode;
+        //Whether the motor is in the list of motors with pending writes.
+        private boolean isDirty = false;
+
+        /**
+         * The constructor for MotorState.
+         *
+         * @param motor The motor.
+         */
+        private MotorState(@NotNull DcMotorEx motor) {
+            this.motor = motor;
+        }
+
+        /**
+         * Forgets the last values sent to the motor.
+         */
+        private void forgetSent() {
+            sentPower = Double.NaN;
+            sentMode = null;
+            sentCoefficients.clear();
+        }
+    }
+}
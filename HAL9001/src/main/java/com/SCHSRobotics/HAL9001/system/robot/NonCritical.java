@@ -0,0 +1,34 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation used to mark a subsystem as non-critical. Used to annotate subsystem fields in the robot class.
+ * When the loop watchdog detects that the robot's loop is overrunning its budget, non-critical subsystems are slowed down to their degraded update rate
+ * until loop times recover. Subsystems without this annotation are never slowed down by the watchdog.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SubSystem
+ * @see LoopWatchdog
+ * @see UpdateRate
+ * @since 1.1.8
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface NonCritical {
+
+    /**
+     * The update rate of the attached subsystem in hertz while the loop watchdog is throttling non-critical subsystems.
+     *
+     * @return The degraded update rate of the attached subsystem in hertz.
+     */
+    double degradedHz() default 10;
+}
@@ -0,0 +1,198 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import android.util.Log;
+
+import com.SCHSRobotics.HAL9001.util.misc.WaitSignal;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class used by the robot to run subsystem init() methods concurrently on a bounded worker pool while the cameras open in the background.
+ * <p>
+ * Subsystems are started in registration order as soon as every earlier subsystem they conflict with has finished initializing,
+ * so subsystems whose declared dependencies conflict still initialize one after another in the same order as a serial init.
+ * Subsystems without declared dependencies conflict with everything and act as barriers.
+ * While waiting, the opmode thread shows the number of initialized subsystems and streaming cameras on the driver station.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Robot
+ * @see Dependencies
+ * @see CameraManager
+ * @since 1.1.8
+ */
+final class ParallelInitializer {
+    //The logging tag for this class. Used to print non-crash-worthy errors using Log.e.
+    private static final String LOGGING_TAG = "HAL Parallel Init";
+    //How often the progress display is refreshed while waiting, in milliseconds.
+    private static final long PROGRESS_PERIOD_MS = 100;
+    //The maximum amount of time to wait for all cameras to start streaming, in milliseconds.
+    private static final long CAMERA_TIMEOUT_MS = 5000;
+    //The subsystems to initialize.
+    private final SubSystem[] subSystems;
+    //Whether two subsystems are not allowed to initialize at the same time. Indices match the subsystems array.
+    private final boolean[][] conflicts;
+    //The profiler used to time subsystem init() methods. Null if profiling is disabled.
+    private final SubSystemProfiler profiler;
+    //The telemetry used to show initialization progress.
+    private final Telemetry telemetry;
+    //The number of worker threads to initialize subsystems on.
+    private final int numThreads;
+    //Whether the subsystem at each index has been started and finished. Indices match the subsystems array.
+    private final boolean[] started, finished;
+    //The number of subsystems that have finished initializing.
+    private int numFinished = 0;
+    //Whether progress has been shown on the driver station.
+    private boolean showedProgress = false;
+
+    /**
+     * The constructor for ParallelInitializer.
+     *
+     * @param subSystems The subsystems to initialize, in registration order.
+     * @param numThreads The number of worker threads to initialize subsystems on.
+     * @param profiler   The profiler used to time subsystem init() methods, or null if profiling is disabled.
+     * @param telemetry  The telemetry used to show initialization progress.
+     */
+    ParallelInitializer(@NotNull SubSystem[] subSystems, int numThreads, SubSystemProfiler profiler, @NotNull Telemetry telemetry) {
+        this.subSystems = subSystems;
+        this.numThreads = numThreads;
+        this.profiler = profiler;
+        this.telemetry = telemetry;
+
+        int n = subSystems.length;
+        started = new boolean[n];
+        finished = new boolean[n];
+        conflicts = new boolean[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                conflicts[i][j] = i != j && SubSystemScheduler.conflict(subSystems[i], subSystems[j]);
+            }
+        }
+    }
+
+    /**
+     * Runs every subsystem's init() method, returning once all of them have finished. If any init() method throws, no more subsystems are started,
+     * and the first exception is rethrown once the running ones have finished.
+     */
+    void initSubSystems() {
+        ExecutorService workers = Executors.newFixedThreadPool(numThreads);
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(workers);
+
+        RuntimeException failure = null;
+        int numRunning = 0;
+        try {
+            while (numFinished < subSystems.length) {
+                if (failure == null) numRunning += startReady(completionService);
+                if (numRunning == 0) break;
+
+                Future<Integer> done = completionService.poll(PROGRESS_PERIOD_MS, TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    showProgress();
+                    continue;
+                }
+
+                numRunning--;
+                try {
+                    finished[done.get()] = true;
+                    numFinished++;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        Throwable cause = e.getCause();
+                        failure = cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (failure == null) failure = new RuntimeException(e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Waits for every registered camera to start streaming, or until the camera timeout passes.
+     */
+    void awaitCameras() {
+        WaitSignal streamingSignal = CameraManager.getStreamingSignal();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CAMERA_TIMEOUT_MS);
+
+        while (true) {
+            long seenVersion = streamingSignal.getVersion();
+            if (CameraManager.getNumCamerasStreaming() >= CameraManager.getNumCameras()) break;
+
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                Log.e(LOGGING_TAG, "Only " + CameraManager.getNumCamerasStreaming() + " of " + CameraManager.getNumCameras() + " cameras started streaming during init.");
+                break;
+            }
+
+            showProgress();
+            if (!streamingSignal.awaitChange(seenVersion, Math.min(deadline, now + TimeUnit.MILLISECONDS.toNanos(PROGRESS_PERIOD_MS)))) break;
+        }
+
+        //Clears the progress display so it does not linger once init is done.
+        if (showedProgress) telemetry.update();
+    }
+
+    /**
+     * Submits every subsystem that has not been started and does not conflict with an earlier subsystem that has not finished.
+     *
+     * @param completionService The completion service used to run subsystem init() methods.
+     * @return The number of subsystems that were started.
+     */
+    private int startReady(@NotNull CompletionService<Integer> completionService) {
+        int numStarted = 0;
+        for (int i = 0; i < subSystems.length; i++) {
+            if (started[i] || !canStart(i)) continue;
+
+            final int idx = i;
+            completionService.submit(() -> {
+                long startTime = System.nanoTime();
+                subSystems[idx].init();
+                if (profiler != null) profiler.record(idx, SubSystemProfiler.Phase.INIT, System.nanoTime() - startTime);
+                return idx;
+            });
+            started[i] = true;
+            numStarted++;
+        }
+        return numStarted;
+    }
+
+    /**
+     * Gets whether every earlier subsystem that conflicts with a subsystem has finished initializing.
+     *
+     * @param idx The index of the subsystem.
+     * @return Whether the subsystem can start initializing.
+     */
+    private boolean canStart(int idx) {
+        for (int j = 0; j < idx; j++) {
+            if (conflicts[idx][j] && !finished[j]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Shows the number of initialized subsystems and streaming cameras on the driver station.
+     */
+    private void showProgress() {
+        telemetry.addData("HAL", "Initializing...");
+        telemetry.addData("Subsystems", numFinished + "/" + subSystems.length);
+        telemetry.addData("Cameras", CameraManager.getNumCamerasStreaming() + "/" + CameraManager.getNumCameras());
+        telemetry.update();
+        showedProgress = true;
+    }
+}
@@ -0,0 +1,94 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable result published by a HALPipeline, tagged with the frame it was computed from.
+ * <p>
+ * The value itself should also be immutable (or at least never changed after it is published), since it is shared between the camera's thread and every subsystem that reads it.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see ResultChannel
+ * @see HALPipeline
+ * @since 1.1.8
+ */
+public final class PipelineResult<T> {
+    //The published value.
+    private final T value;
+    //The sequence number of the frame the value was computed from.
+    private final long sequence;
+    //The time at which the frame the value was computed from was captured, in nanoseconds.
+    private final long captureTimeNanos;
+
+    /**
+     * The constructor for PipelineResult.
+     *
+     * @param value            The published value.
+     * @param sequence         The sequence number of the frame the value was computed from.
+     * @param captureTimeNanos The time at which the frame was captured, in nanoseconds.
+     */
+    PipelineResult(T value, long sequence, long captureTimeNanos) {
+        this.value = value;
+        this.sequence = sequence;
+        this.captureTimeNanos = captureTimeNanos;
+    }
+
+    /**
+     * Gets the published value.
+     *
+     * @return The published value.
+     */
+    @Contract(pure = true)
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the sequence number of the frame the value was computed from. Sequence numbers start at 1 and count up by one for every frame the camera delivers.
+     *
+     * @return The frame's sequence number.
+     */
+    @Contract(pure = true)
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the time at which the frame the value was computed from was captured, as read from the robot's clock source.
+     * Capture times from different cameras are comparable, so they can be used to align results from several cameras.
+     *
+     * @param timeUnit The unit of the returned time.
+     * @return The frame's capture time.
+     */
+    public double getCaptureTime(@NotNull HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(captureTimeNanos, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Gets the capture time of the frame the value was computed from in nanoseconds.
+     *
+     * @return The frame's capture time in nanoseconds.
+     */
+    @Contract(pure = true)
+    long getCaptureTimeNanos() {
+        return captureTimeNanos;
+    }
+
+    /**
+     * Gets how long ago the frame the value was computed from was captured, according to the global clock.
+     *
+     * @param timeUnit The unit of the returned age.
+     * @return The age of the result.
+     * @see HALClock#getGlobalClock()
+     */
+    public double getAge(@NotNull HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(HALClock.getGlobalClock().nanoTime() - captureTimeNanos, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+}
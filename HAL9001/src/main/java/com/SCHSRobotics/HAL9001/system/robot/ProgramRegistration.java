@@ -0,0 +1,32 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An interface for classes that build the robot used by a HAL program. An implementation of this interface is generated at compile time
+ * for every HAL program by HAL's annotation processor, so that program startup does not need reflection. If no generated class is found,
+ * the program falls back to building its robot using reflection.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see RegistrationLoader
+ * @see HALProgram
+ * @see MainRobot
+ * @since 1.1.8
+ */
+public interface ProgramRegistration {
+
+    /**
+     * Builds the program's robot, either by calling the program's buildRobot() method or by constructing every field annotated with @MainRobot.
+     *
+     * @param program The program to build the robot for.
+     * @return The program's robot, or null if the program does not define one.
+     * @throws Exception Throws an exception if the robot could not be built.
+     * @see MainRobot
+     */
+    @Nullable
+    Robot buildRobot(@NotNull HALProgram program) throws Exception;
+}
@@ -0,0 +1,68 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+
+/**
+ * The fallback program registration used when no generated registration class exists. Builds the program's robot using reflection.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see ProgramRegistration
+ * @see RegistrationLoader
+ * @since 1.1.8
+ */
+final class ReflectiveProgramRegistration implements ProgramRegistration {
+    //The program class being registered.
+    private final Class<? extends HALProgram> programClass;
+
+    /**
+     * The constructor for ReflectiveProgramRegistration.
+     *
+     * @param programClass The program class being registered.
+     */
+    ReflectiveProgramRegistration(@NotNull Class<? extends HALProgram> programClass) {
+        this.programClass = programClass;
+    }
+
+    @Override
+    public Robot buildRobot(@NotNull HALProgram program) throws Exception {
+        //Finds if the buildRobot function is present.
+        boolean buildRobotPresent;
+        try {
+            programClass.getDeclaredMethod("buildRobot");
+            buildRobotPresent = true;
+        } catch (NoSuchMethodException e) {
+            buildRobotPresent = false;
+        }
+
+        //If buildRobot is present, build the robot, otherwise, build the robot from main robot.
+        if (buildRobotPresent) return program.buildRobot();
+
+        Robot robot = null;
+        Field[] fields = programClass.getDeclaredFields();
+        for (Field field : fields) {
+            if (field.isAnnotationPresent(MainRobot.class) && Robot.class.isAssignableFrom(field.getType())) {
+                try {
+                    robot = (Robot) field.getType().getConstructor(OpMode.class).newInstance(program);
+                } catch (NoSuchMethodException ex) {
+                    throw new NoSuchMethodException("Your robot does not have a constructor only taking an opmode as input, use buildRobot instead.");
+                } catch (IllegalAccessException ex) {
+                    throw new IllegalAccessException("Your robot's constructor is not public, :(");
+                }
+                try {
+                    //TODO field.setAccessible(true);
+                    field.set(program, robot);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalAccessException("Your robot isn't accessible, and so @MainRobot won't work. The program can't access it. SHARE!!!!");
+                }
+            }
+        }
+        return robot;
+    }
+}
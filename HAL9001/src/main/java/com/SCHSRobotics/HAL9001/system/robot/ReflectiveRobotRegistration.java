@@ -0,0 +1,84 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.system.config.ConfigLabel;
+import com.SCHSRobotics.HAL9001.system.config.DisableSubSystem;
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+
+import org.jetbrains.annotations.NotNull;
+import org.openftc.easyopencv.OpenCvCamera;
+import org.openftc.easyopencv.OpenCvInternalCamera2;
+
+import java.lang.reflect.Field;
+
+/**
+ * The fallback robot registration used when no generated registration class exists. Finds cameras and subsystems using reflection.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see RobotRegistration
+ * @see RegistrationLoader
+ * @since 1.1.8
+ */
+final class ReflectiveRobotRegistration implements RobotRegistration {
+    //The robot class being registered.
+    private final Class<? extends Robot> robotClass;
+
+    /**
+     * The constructor for ReflectiveRobotRegistration.
+     *
+     * @param robotClass The robot class being registered.
+     */
+    ReflectiveRobotRegistration(@NotNull Class<? extends Robot> robotClass) {
+        this.robotClass = robotClass;
+    }
+
+    @Override
+    public void registerCameras(@NotNull RobotRegistrar registrar) {
+        //Gets all internal and external cameras
+        Field[] fields = robotClass.getDeclaredFields();
+        for (Field f : fields) {
+            if (OpenCvCamera.class.isAssignableFrom(f.getType())) {
+                if (f.isAnnotationPresent(InternalCamera.class)) {
+                    InternalCamera cameraData = f.getAnnotation(InternalCamera.class);
+                    boolean isCamera2 = OpenCvInternalCamera2.class.isAssignableFrom(f.getType());
+                    registrar.addInternalCamera(isCamera2, cameraData.resWidth(), cameraData.resHeight(), cameraData.direction(), cameraData.usesViewport());
+                } else if (f.isAnnotationPresent(ExternalCamera.class)) {
+                    ExternalCamera cameraData = f.getAnnotation(ExternalCamera.class);
+                    registrar.addExternalCamera(cameraData.resWidth(), cameraData.resHeight(), cameraData.configName(), cameraData.uniqueId(), cameraData.usesViewport());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void registerSubSystems(@NotNull Robot robot, @NotNull RobotRegistrar registrar) {
+        //Collects subsystems from robot class and adds them to internal subsystem list.
+        Field[] fields = robotClass.getDeclaredFields();
+        for (Field f : fields) {
+            if (SubSystem.class.isAssignableFrom(f.getType()) && !f.isAnnotationPresent(DisableSubSystem.class)) {
+                Object obj;
+                try {
+                    obj = f.get(robot);
+                } catch (IllegalAccessException e) {
+                    e.printStackTrace();
+                    throw new DumpsterFireException("Tried to access your subsystem, but you made it protected or private. SHARE!!!");
+                }
+
+                String label = f.isAnnotationPresent(ConfigLabel.class) ? f.getAnnotation(ConfigLabel.class).label() : null;
+                double updateRateHz = f.isAnnotationPresent(UpdateRate.class) ? f.getAnnotation(UpdateRate.class).hz() : Double.NaN;
+                double degradedRateHz = f.isAnnotationPresent(NonCritical.class) ? f.getAnnotation(NonCritical.class).degradedHz() : Double.NaN;
+
+                String[] reads = null, writes = null;
+                if (f.isAnnotationPresent(Dependencies.class)) {
+                    Dependencies dependencies = f.getAnnotation(Dependencies.class);
+                    reads = dependencies.reads();
+                    writes = dependencies.writes();
+                }
+
+                registrar.addSubSystem((SubSystem) obj, label, updateRateHz, degradedRateHz, reads, writes);
+            }
+        }
+    }
+}
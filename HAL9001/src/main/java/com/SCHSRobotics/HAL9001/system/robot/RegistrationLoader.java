@@ -0,0 +1,92 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import android.util.Log;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A static class used to find the registration classes generated by HAL's annotation processor, falling back to reflection if they do not exist.
+ * Lookups are cached, so re-initializing the same program does not repeat them.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see RobotRegistration
+ * @see ProgramRegistration
+ * @since 1.1.8
+ */
+final class RegistrationLoader {
+    //The suffix added to the binary name of a robot or program class to get the name of its generated registration class. Must match the annotation processor.
+    static final String GENERATED_CLASS_SUFFIX = "_HALRegistration";
+    //The logging tag for this class. Used to print non-crash-worthy errors using Log.e.
+    private static final String LOGGING_TAG = "HAL Registration Loader";
+    //Maps relating robot and program classes to their registrations.
+    private static final Map<Class<?>, RobotRegistration> robotRegistrations = new HashMap<>();
+    private static final Map<Class<?>, ProgramRegistration> programRegistrations = new HashMap<>();
+
+    /**
+     * Private constructor for RegistrationLoader to make it a static class.
+     */
+    private RegistrationLoader() {
+    }
+
+    /**
+     * Gets the registration for a robot class.
+     *
+     * @param robotClass The robot class.
+     * @return The generated registration for the robot class if it exists, otherwise a reflection-based registration.
+     * @see RobotRegistration
+     */
+    @NotNull
+    static synchronized RobotRegistration forRobot(@NotNull Class<? extends Robot> robotClass) {
+        RobotRegistration registration = robotRegistrations.get(robotClass);
+        if (registration == null) {
+            registration = loadGenerated(robotClass, RobotRegistration.class);
+            if (registration == null) registration = new ReflectiveRobotRegistration(robotClass);
+            robotRegistrations.put(robotClass, registration);
+        }
+        return registration;
+    }
+
+    /**
+     * Gets the registration for a program class.
+     *
+     * @param programClass The program class.
+     * @return The generated registration for the program class if it exists, otherwise a reflection-based registration.
+     * @see ProgramRegistration
+     */
+    @NotNull
+    static synchronized ProgramRegistration forProgram(@NotNull Class<? extends HALProgram> programClass) {
+        ProgramRegistration registration = programRegistrations.get(programClass);
+        if (registration == null) {
+            registration = loadGenerated(programClass, ProgramRegistration.class);
+            if (registration == null) registration = new ReflectiveProgramRegistration(programClass);
+            programRegistrations.put(programClass, registration);
+        }
+        return registration;
+    }
+
+    /**
+     * Loads and instantiates the generated registration class for a given class.
+     *
+     * @param annotatedClass    The class the registration was generated for.
+     * @param registrationClass The registration interface the generated class implements.
+     * @param <T>               The registration interface type.
+     * @return An instance of the generated registration class, or null if it does not exist.
+     */
+    private static <T> T loadGenerated(@NotNull Class<?> annotatedClass, @NotNull Class<T> registrationClass) {
+        try {
+            Class<?> generatedClass = Class.forName(annotatedClass.getName() + GENERATED_CLASS_SUFFIX, true, annotatedClass.getClassLoader());
+            return registrationClass.cast(generatedClass.newInstance());
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            Log.e(LOGGING_TAG, "Could not load generated registration for " + annotatedClass.getName() + ", falling back to reflection.", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A typed channel used to pass results from a HALPipeline to the subsystems that use them.
+ * <p>
+ * Pipelines declare a channel for each kind of result they produce and publish to it with HALPipeline.publishResult(), which tags the result with the current frame.
+ * Subsystems read the latest result with a single volatile read, so the drive loop never waits on the camera's thread and vice versa.
+ * Subsystems that need a fresh result can wait for one computed from a newer frame than the last one they used.
+ * Publishing only takes a lock if a thread is currently waiting for a newer result.
+ * <p>
+ * The most recent results are also kept, so a result can be looked up by the time its frame was captured. Since every camera stamps its frames with the same clock,
+ * this aligns results from different cameras with each other, or with odometry or any other timestamped data.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see PipelineResult
+ * @see HALPipeline
+ * @see VisionSubSystem
+ * @since 1.1.8
+ */
+public final class ResultChannel<T> {
+    //The number of recent results kept for looking up results by capture time.
+    private static final int HISTORY_SIZE = 32;
+    //The latest published result. Null if nothing has been published yet.
+    private volatile PipelineResult<T> latest;
+    //The number of threads currently waiting for a newer result.
+    private final AtomicInteger numWaiting = new AtomicInteger();
+    //The most recently published results, stored as a ring buffer.
+    private final AtomicReferenceArray<PipelineResult<T>> history = new AtomicReferenceArray<>(HISTORY_SIZE);
+    //The total number of results published.
+    private final AtomicLong numPublished = new AtomicLong();
+
+    /**
+     * Publishes a new result, replacing the last one.
+     *
+     * @param result The result to publish.
+     */
+    void publish(@NotNull PipelineResult<T> result) {
+        history.set((int) (numPublished.getAndIncrement() % HISTORY_SIZE), result);
+        latest = result;
+        if (numWaiting.get() > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Gets the latest published result.
+     *
+     * @return The latest result, or null if nothing has been published yet.
+     */
+    @Contract(pure = true)
+    @Nullable
+    public PipelineResult<T> getLatest() {
+        return latest;
+    }
+
+    /**
+     * Gets the value of the latest published result.
+     *
+     * @return The latest value, or null if nothing has been published yet.
+     */
+    @Contract(pure = true)
+    @Nullable
+    public T getLatestValue() {
+        PipelineResult<T> result = latest;
+        return result == null ? null : result.getValue();
+    }
+
+    /**
+     * Gets the recent result whose frame was captured closest to the given time. Used to align results with other timestamped data,
+     * such as results from another camera or the robot's pose history.
+     *
+     * @param captureTime The time to look for, read from the robot's clock source.
+     * @param tolerance   The largest allowed difference between the given time and the result's capture time.
+     * @param timeUnit    The unit of the time and tolerance.
+     * @return The closest recent result, or null if no recent result was captured within the tolerance.
+     * @see PipelineResult#getCaptureTime(HALTimeUnit)
+     */
+    @Nullable
+    public PipelineResult<T> getNearest(double captureTime, double tolerance, @NotNull HALTimeUnit timeUnit) {
+        long captureTimeNanos = (long) HALTimeUnit.convert(captureTime, timeUnit, HALTimeUnit.NANOSECONDS);
+        long bestDifference = (long) HALTimeUnit.convert(tolerance, timeUnit, HALTimeUnit.NANOSECONDS);
+
+        PipelineResult<T> nearest = null;
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            PipelineResult<T> result = history.get(i);
+            if (result == null) continue;
+
+            long difference = Math.abs(result.getCaptureTimeNanos() - captureTimeNanos);
+            if (difference <= bestDifference) {
+                nearest = result;
+                bestDifference = difference;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Waits for a result computed from a newer frame than the given one.
+     *
+     * @param sequence The sequence number of the last frame seen. Use 0 to wait for the first result.
+     * @param timeout  The longest time to wait.
+     * @param timeUnit The unit of the timeout.
+     * @return The latest result if it is from a newer frame, or null if no newer result was published before the timeout passed or the thread was interrupted.
+     */
+    @Nullable
+    public PipelineResult<T> awaitNewer(long sequence, double timeout, @NotNull HALTimeUnit timeUnit) {
+        PipelineResult<T> result = latest;
+        if (result != null && result.getSequence() > sequence) return result;
+
+        long deadline = System.nanoTime() + (long) HALTimeUnit.convert(timeout, timeUnit, HALTimeUnit.NANOSECONDS);
+        numWaiting.incrementAndGet();
+        try {
+            synchronized (this) {
+                while (true) {
+                    result = latest;
+                    if (result != null && result.getSequence() > sequence) return result;
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) return null;
+                    wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            numWaiting.decrementAndGet();
+        }
+    }
+}
@@ -3,22 +3,27 @@ package com.SCHSRobotics.HAL9001.system.robot;
 import android.os.Environment;
 
 import com.SCHSRobotics.HAL9001.system.config.ConfigData;
-import com.SCHSRobotics.HAL9001.system.config.ConfigLabel;
 import com.SCHSRobotics.HAL9001.system.config.ConfigParam;
-import com.SCHSRobotics.HAL9001.system.config.DisableSubSystem;
 import com.SCHSRobotics.HAL9001.system.config.HALConfig;
 import com.SCHSRobotics.HAL9001.system.config.ProgramOptions;
 import com.SCHSRobotics.HAL9001.system.config.StandAlone;
 import com.SCHSRobotics.HAL9001.system.gui.HALGUI;
 import com.SCHSRobotics.HAL9001.system.gui.Payload;
+import com.SCHSRobotics.HAL9001.system.gui.menus.ProfilerMenu;
+import com.SCHSRobotics.HAL9001.system.gui.menus.VisionStatsMenu;
 import com.SCHSRobotics.HAL9001.system.gui.menus.configmenu.ConfigConstants;
 import com.SCHSRobotics.HAL9001.system.gui.menus.configmenu.ConfigStartingMenu;
+import com.SCHSRobotics.HAL9001.system.robot.commands.CommandScheduler;
 import com.SCHSRobotics.HAL9001.util.control.Button;
 import com.SCHSRobotics.HAL9001.util.control.CustomizableGamepad;
 import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
 import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
 import com.SCHSRobotics.HAL9001.util.exceptions.NothingToSeeHereException;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
 import com.SCHSRobotics.HAL9001.util.misc.HALFileUtil;
+import com.SCHSRobotics.HAL9001.util.misc.LoopClock;
+import com.SCHSRobotics.HAL9001.util.misc.WaitSignal;
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
@@ -30,20 +35,18 @@ import org.firstinspires.ftc.robotcore.external.Telemetry;
 import org.firstinspires.ftc.robotcore.external.hardware.camera.WebcamName;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.opencv.core.Size;
 import org.openftc.easyopencv.OpenCvCamera;
 import org.openftc.easyopencv.OpenCvCameraFactory;
 import org.openftc.easyopencv.OpenCvInternalCamera;
 import org.openftc.easyopencv.OpenCvInternalCamera2;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import static com.SCHSRobotics.HAL9001.system.config.ConfigSelectionMode.AUTONOMOUS;
 import static com.SCHSRobotics.HAL9001.system.config.ConfigSelectionMode.TELEOP;
@@ -68,10 +71,44 @@ import static com.SCHSRobotics.HAL9001.system.config.ConfigSelectionMode.TELEOP;
 public abstract class Robot {
     //The special camera ids associated with the internal camera and all cameras. All cameras is used to run a pipeline on all defined cameras simultaneously.
     public static final String INTERNAL_CAMERA_ID = "Internal Camera", ALL_CAMERAS_ID = "All Cameras";
+    //The telemetry transmission interval used while the loop watchdog is throttling telemetry, in milliseconds.
+    private static final int THROTTLED_TRANSMISSION_INTERVAL_MS = 1000;
     //The path to HAL's root config folder.
-    private static final String HAL_FILESYSTEM_ROOT = Environment.getExternalStorageDirectory().getPath() + "/System64";
-    //A queue of all added subsystems.
-    private final Queue<SubSystem> subSystems;
+    private static final String HAL_FILESYSTEM_ROOT = getStorageRoot() + "/System64";
+    //A list of all added subsystems.
+    private final List<SubSystem> subSystems;
+    //A list of the names of all added subsystems. Indices match the subsystems list.
+    private final List<String> subSystemNames;
+    //The scheduler used to run subsystem loop methods at their target update rates.
+    private SubSystemScheduler scheduler;
+    //The number of worker threads used to run subsystem handle() methods in parallel. 0 if parallel updates are disabled.
+    private int parallelUpdateThreads = 0;
+    //The number of worker threads used to run subsystem init() methods in parallel. 0 if parallel init is disabled.
+    private int parallelInitThreads = 0;
+    //A boolean value specifying whether or not to time subsystem lifecycle methods.
+    private boolean useProfiling = false;
+    //The profiler used to time subsystem lifecycle methods. Null if profiling is disabled.
+    private SubSystemProfiler profiler;
+    //A boolean value specifying whether or not to show the cameras' vision stats on a GUI page.
+    private boolean useVisionStats = false;
+    //The watchdog used to shed cosmetic work when the loop overruns its budget. Null if the watchdog is disabled.
+    private LoopWatchdog loopWatchdog;
+    //The degradation tier the robot's loop is currently running at.
+    private LoopWatchdog.Tier appliedTier = LoopWatchdog.Tier.NOMINAL;
+    //The telemetry transmission interval to restore once telemetry is no longer throttled, in milliseconds.
+    private int unthrottledTransmissionIntervalMs;
+    //The signal used to wake up code that is waiting for the robot's state to change.
+    private final WaitSignal waitSignal = new WaitSignal();
+    //The clock latched once per loop, used as HAL's global clock while the robot is running.
+    private final LoopClock loopClock;
+    //The per-loop view of the robot's motor encoders.
+    private final HardwareSnapshot hardwareSnapshot;
+    //A boolean value specifying whether to switch the Lynx modules to MANUAL bulk caching during init instead of AUTO.
+    private boolean useManualBulkCaching = false;
+    //The write stage used to drop and coalesce redundant motor writes.
+    private final MotorWriteBuffer motorWriteBuffer = new MotorWriteBuffer();
+    //The scheduler used to run non-blocking commands.
+    private final CommandScheduler commandScheduler = new CommandScheduler();
     //The global HAL config.
     private final HALConfig globalConfig;
     //The opmode the robot is running.
@@ -90,12 +127,10 @@ public abstract class Robot {
     private final List<VisionSubSystem> visionSubSystems;
     //The internal view id for the camera monitor.
     private int internalCameraViewId;
-    //The InternalCamera annotation data object, if present.
-    private InternalCamera internalCameraData;
+    //Whether the internal camera (if it exists) uses the viewport and whether it is an OpenCvInternalCamera2.
+    private boolean internalCameraUsesViewport, internalCameraIsCamera2;
     //The current direction of the internal camera (if it exists).
     private OpenCvInternalCamera.CameraDirection internalCameraCurrentDirection;
-    //The field in the robot class defining the internal camera.
-    private Field internalCameraField;
 
     /**
      * Constructor for robot.
@@ -110,34 +145,29 @@ public abstract class Robot {
         telemetry = opMode.telemetry;
         hardwareMap = opMode.hardwareMap;
 
-        subSystems = new LinkedBlockingQueue<>();
+        //Simulated programs run on simulated time.
+        loopClock = new LoopClock(hardwareMap instanceof SimulationStepper ? ((SimulationStepper) hardwareMap).getClock() : HALClock.SYSTEM);
+        HALClock.setGlobalClock(loopClock);
+        //Frames are stamped with the unlatched clock, since they arrive on the cameras' threads in between loops.
+        CameraManager.setFrameClock(loopClock.getSource());
+        hardwareSnapshot = new HardwareSnapshot(hardwareMap, loopClock);
+
+        subSystems = new ArrayList<>();
+        subSystemNames = new ArrayList<>();
+        scheduler = new SubSystemScheduler(new SubSystem[0], loopClock);
         visionSubSystems = new ArrayList<>();
 
         globalConfig = HALConfig.getGlobalInstance();
 
-        int cameraMonitorViewId = hardwareMap.appContext.getResources().getIdentifier("cameraMonitorViewId", "id", hardwareMap.appContext.getPackageName());
+        //There is no app context (and so no camera monitor) when running in the simulator.
+        int cameraMonitorViewId = hardwareMap.appContext == null ? 0 : hardwareMap.appContext.getResources().getIdentifier("cameraMonitorViewId", "id", hardwareMap.appContext.getPackageName());
 
         gui = HALGUI.getInstance();
 
-        int numCamerasUsingViewport = 0;
-        List<Field> externalCameraFields = new ArrayList<>();
-
-        //Gets all internal and external cameras
-        Field[] fields = this.getClass().getDeclaredFields();
-        for (Field f : fields) {
-            if (OpenCvCamera.class.isAssignableFrom(f.getType())) {
-                if (f.isAnnotationPresent(InternalCamera.class)) {
-                    internalCameraData = f.getAnnotation(InternalCamera.class);
-                    internalCameraField = f;
-                    internalCameraCurrentDirection = internalCameraData.direction();
-                    if (internalCameraData.usesViewport()) numCamerasUsingViewport++;
-                } else if (f.isAnnotationPresent(ExternalCamera.class)) {
-                    externalCameraFields.add(f);
-                    ExternalCamera externalCamera = f.getAnnotation(ExternalCamera.class);
-                    if(externalCamera.usesViewport()) numCamerasUsingViewport++;
-                }
-            }
-        }
+        //Gets all internal and external cameras, using generated registration code if present and reflection otherwise.
+        RobotRegistrar registrar = new RobotRegistrar();
+        RegistrationLoader.forRobot(this.getClass()).registerCameras(registrar);
+        int numCamerasUsingViewport = registrar.getNumCamerasUsingViewport();
 
         //Split the camera viewport into chunks if necessary to accommodate multiple cameras.
         int cameraMonitorViewIdIdx = 0;
@@ -147,24 +177,27 @@ public abstract class Robot {
         else cameraMonitorViewIds = new int[]{cameraMonitorViewId};
 
         //Create the internal camera if it exists.
-        if (internalCameraField != null) {
-            InternalCamera cameraData = internalCameraField.getAnnotation(InternalCamera.class);
-            Size resolution = new Size(cameraData.resWidth(), cameraData.resHeight());
+        if (registrar.internalCamera != null) {
+            RobotRegistrar.InternalCameraEntry cameraData = registrar.internalCamera;
+            internalCameraUsesViewport = cameraData.usesViewport;
+            internalCameraIsCamera2 = cameraData.isCamera2;
+            internalCameraCurrentDirection = cameraData.direction;
+
+            Size resolution = new Size(cameraData.resWidth, cameraData.resHeight);
             internalCameraViewId = cameraMonitorViewIds[cameraMonitorViewIdIdx];
-            CameraManager.addCamera(INTERNAL_CAMERA_ID, createCamera(internalCameraField, cameraData.usesViewport(), CameraType.INTERNAL, cameraData.direction(), INTERNAL_CAMERA_ID, internalCameraViewId), CameraType.INTERNAL, resolution);
-            if (cameraData.usesViewport()) cameraMonitorViewIdIdx++;
+            CameraManager.addCamera(INTERNAL_CAMERA_ID, createCamera(internalCameraIsCamera2, cameraData.usesViewport, CameraType.INTERNAL, cameraData.direction, INTERNAL_CAMERA_ID, internalCameraViewId), CameraType.INTERNAL, resolution);
+            if (cameraData.usesViewport) cameraMonitorViewIdIdx++;
         }
 
         //Create all external cameras.
-        for (Field f : externalCameraFields) {
-            ExternalCamera cameraData = f.getAnnotation(ExternalCamera.class);
-            Size resolution = new Size(cameraData.resWidth(), cameraData.resHeight());
+        for (RobotRegistrar.ExternalCameraEntry cameraData : registrar.externalCameras) {
+            Size resolution = new Size(cameraData.resWidth, cameraData.resHeight);
 
-            String id = cameraData.uniqueId().equals("") ? cameraData.configName() : cameraData.uniqueId();
+            String id = cameraData.uniqueId.equals("") ? cameraData.configName : cameraData.uniqueId;
             ExceptionChecker.assertFalse(id.equals(INTERNAL_CAMERA_ID) || id.equals(ALL_CAMERAS_ID), new DumpsterFireException("Id for external webcam cannot match id of internal camera or the all cameras id. Those are reserved values."));
 
-            CameraManager.addCamera(id, createCamera(f, cameraData.usesViewport(), CameraType.EXTERNAL, null, cameraData.configName(), cameraMonitorViewIds[cameraMonitorViewIdIdx]), CameraType.EXTERNAL, resolution);
-            if (cameraData.usesViewport()) cameraMonitorViewIdIdx++;
+            CameraManager.addCamera(id, createCamera(false, cameraData.usesViewport, CameraType.EXTERNAL, null, cameraData.configName, cameraMonitorViewIds[cameraMonitorViewIdIdx]), CameraType.EXTERNAL, resolution);
+            if (cameraData.usesViewport) cameraMonitorViewIdIdx++;
         }
 
         //Adds opmode program options to the config.
@@ -183,6 +216,7 @@ public abstract class Robot {
      */
     private void addSubSystem(String name, SubSystem subSystem) {
         subSystems.add(subSystem);
+        subSystemNames.add(name);
 
         if (subSystem instanceof VisionSubSystem) visionSubSystems.add((VisionSubSystem) subSystem);
 
@@ -206,6 +240,306 @@ public abstract class Robot {
         addSubSystem(name, subSystem);
     }
 
+    /**
+     * Enables parallel updates. When enabled, subsystems whose declared dependencies do not conflict have their handle() methods run at the same time.
+     * Subsystems without declared dependencies always run alone on the opmode thread. Must be called before init(), usually in the robot's constructor.
+     *
+     * @param numThreads The number of worker threads to use in addition to the opmode thread.
+     *
+     * @see Dependencies
+     * @see SubSystemScheduler
+     */
+    protected final void enableParallelUpdates(int numThreads) {
+        ExceptionChecker.assertTrue(numThreads >= 0, new DumpsterFireException("The number of parallel update threads cannot be negative."));
+        parallelUpdateThreads = numThreads;
+    }
+
+    /**
+     * Enables parallel init. When enabled, the cameras start opening at the beginning of init(), subsystems whose declared dependencies do not conflict
+     * have their init() methods run at the same time, and init() waits for every camera to start streaming before returning.
+     * Subsystems without declared dependencies are always initialized alone. Must be called before init(), usually in the robot's constructor.
+     *
+     * @param numThreads The number of worker threads to run subsystem init() methods on.
+     *
+     * @see Dependencies
+     * @see ParallelInitializer
+     */
+    protected final void enableParallelInit(int numThreads) {
+        ExceptionChecker.assertTrue(numThreads >= 0, new DumpsterFireException("The number of parallel init threads cannot be negative."));
+        parallelInitThreads = numThreads;
+    }
+
+    /**
+     * Enables parallel vision. When enabled, every pipeline that is not shown on the viewport is run on a shared worker pool at the same time,
+     * while the viewport pipeline runs on the camera's callback thread, so frame latency is set by the slowest pipeline instead of the sum of all of them.
+     * Pipelines must not depend on each other's results within a frame. Must be called before init(), usually in the robot's constructor.
+     *
+     * @param numThreads The number of worker threads shared by all cameras.
+     *
+     * @see HALTrackerAPI
+     * @see CameraManager
+     */
+    protected final void enableParallelVision(int numThreads) {
+        ExceptionChecker.assertTrue(numThreads >= 0, new DumpsterFireException("The number of parallel vision threads cannot be negative."));
+        CameraManager.enableParallelPipelines(numThreads);
+    }
+
+    /**
+     * Enables the frame mailbox for a camera. When enabled, the camera hands each frame to a single-slot mailbox and keeps streaming,
+     * while a dedicated thread runs the camera's pipelines on the latest frame. Frames that arrive while the pipelines are busy are dropped,
+     * so pipelines always see the freshest frame and slow pipelines no longer throttle the camera. Must be called in the robot's constructor.
+     *
+     * @param cameraId The id of the camera, or ALL_CAMERAS_ID to enable the mailbox for every camera.
+     *
+     * @see FrameMailbox
+     * @see CameraManager
+     */
+    protected final void enableFrameMailbox(@NotNull String cameraId) {
+        if (cameraId.equals(ALL_CAMERAS_ID)) CameraManager.enableFrameMailboxForAll();
+        else CameraManager.enableFrameMailbox(cameraId);
+    }
+
+    /**
+     * Sets the estimated time between a camera capturing a frame and delivering it to its pipelines, including exposure, readout and transfer.
+     * Every frame's capture time is the time it arrived minus this latency, so results published from the frame can be matched to the pose the robot had when it was taken.
+     * Can be measured by comparing result capture times against a known motion, and is usually a few tens of milliseconds for webcams.
+     *
+     * @param cameraId       The id of the camera, or ALL_CAMERAS_ID to set the latency of every camera.
+     * @param captureLatency The capture latency.
+     * @param timeUnit       The unit of the capture latency.
+     *
+     * @see PipelineResult
+     * @see CameraManager
+     */
+    protected final void setCaptureLatency(@NotNull String cameraId, double captureLatency, @NotNull HALTimeUnit timeUnit) {
+        ExceptionChecker.assertTrue(captureLatency >= 0, new DumpsterFireException("Capture latency cannot be negative."));
+        long captureLatencyNanos = (long) HALTimeUnit.convert(captureLatency, timeUnit, HALTimeUnit.NANOSECONDS);
+        if (cameraId.equals(ALL_CAMERAS_ID)) CameraManager.setCaptureLatencyForAll(captureLatencyNanos);
+        else CameraManager.setCaptureLatency(cameraId, captureLatencyNanos);
+    }
+
+    /**
+     * Gets the number of frames from a camera that were dropped because a newer frame arrived while the camera's pipelines were busy.
+     *
+     * @param cameraId The id of the camera.
+     * @return The number of dropped frames. Always 0 if the camera does not use a frame mailbox.
+     *
+     * @see FrameMailbox
+     */
+    public final long getFramesDropped(@NotNull String cameraId) {
+        return CameraManager.getFramesDropped(cameraId);
+    }
+
+    /**
+     * Starts recording a camera's frames to the HAL filesystem. Frames are saved on a background thread to a new session directory under System64/recordings,
+     * with an index file listing every saved frame, and only the newest sessions are kept. If the recorder falls behind, the oldest queued frames are dropped,
+     * so recording only adds a memcpy to the camera's frame latency. Must be called in the robot's constructor.
+     *
+     * @param cameraId      The id of the camera, or ALL_CAMERAS_ID to record every camera.
+     * @param source        Which frames are recorded: the camera's input, the viewport, or the images pipelines pass to recordFrame().
+     * @param format        The format frames are saved in.
+     * @param frameInterval The number of frames between recorded frames. 1 records every frame.
+     *
+     * @see FrameRecorder
+     * @see CameraManager
+     */
+    protected final void enableFrameRecording(@NotNull String cameraId, @NotNull FrameRecorder.Source source, @NotNull FrameRecorder.Format format, int frameInterval) {
+        ExceptionChecker.assertTrue(frameInterval >= 1, new DumpsterFireException("Frame interval must be at least 1."));
+        String recordingsDirectory = HAL_FILESYSTEM_ROOT + "/recordings";
+        if (cameraId.equals(ALL_CAMERAS_ID)) CameraManager.enableFrameRecordingForAll(recordingsDirectory, source, format, frameInterval);
+        else CameraManager.enableFrameRecording(cameraId, recordingsDirectory, source, format, frameInterval);
+    }
+
+    /**
+     * Gets the recorder that records a camera's frames.
+     *
+     * @param cameraId The id of the camera.
+     * @return The camera's frame recorder, or null if the camera is not being recorded.
+     *
+     * @see FrameRecorder
+     */
+    @Nullable
+    public final FrameRecorder getFrameRecorder(@NotNull String cameraId) {
+        return CameraManager.getFrameRecorder(cameraId);
+    }
+
+    /**
+     * Gets the processing stats of a camera and its pipelines, including processing times, capture-to-result latencies, processing rates,
+     * frame counters and the number of native Mat buffers HAL is holding for the camera.
+     *
+     * @param cameraId The id of the camera.
+     * @return The camera's processing stats, or null if the camera does not exist.
+     *
+     * @see VisionStats
+     */
+    @Nullable
+    public final VisionStats getVisionStats(@NotNull String cameraId) {
+        return CameraManager.getVisionStats(cameraId);
+    }
+
+    /**
+     * Enables the subsystem profiler. When enabled, every subsystem lifecycle method is timed, the handle() latencies are shown on a GUI page,
+     * and a CSV of all latencies is saved to the HAL filesystem when the robot stops.
+     * Must be called before init(), usually in the robot's constructor.
+     *
+     * @see SubSystemProfiler
+     * @see ProfilerMenu
+     */
+    protected final void enableProfiling() {
+        useProfiling = true;
+    }
+
+    /**
+     * Enables the vision stats page. When enabled and the robot has cameras, the live processing times, latencies and rates of every camera
+     * and pipeline are shown on a GUI page. Does not require profiling to be enabled.
+     * Must be called before init(), usually in the robot's constructor.
+     *
+     * @see VisionStatsMenu
+     * @see VisionStats
+     */
+    protected final void enableVisionStats() {
+        useVisionStats = true;
+    }
+
+    /**
+     * Enables the loop watchdog. When enabled, every driverControlledUpdate() loop is measured against the budget, and loops that overrun it
+     * cause the robot to stop rendering the GUI, slow down non-critical subsystems and throttle telemetry until loop times recover.
+     * Must be called before init(), usually in the robot's constructor.
+     *
+     * @param budget   The loop time budget.
+     * @param timeUnit The unit of the budget.
+     *
+     * @see LoopWatchdog
+     * @see NonCritical
+     */
+    protected final void enableLoopWatchdog(double budget, @NotNull HALTimeUnit timeUnit) {
+        loopWatchdog = new LoopWatchdog(budget, timeUnit);
+    }
+
+    /**
+     * Gets the loop watchdog.
+     *
+     * @return The loop watchdog, or null if the watchdog is disabled.
+     *
+     * @see LoopWatchdog
+     */
+    @Contract(pure = true)
+    public final LoopWatchdog getLoopWatchdog() {
+        return loopWatchdog;
+    }
+
+    /**
+     * Enables manual bulk caching, switching every Lynx module to MANUAL bulk caching mode so each hub is only read once per loop.
+     * Off by default, in which case every Lynx module is switched to AUTO bulk caching mode.
+     * Must be called before init(), usually in the robot's constructor.
+     * <p>
+     * In MANUAL mode, the bulk cache is only cleared when the hardware snapshot is refreshed, so direct hardware reads (such as DcMotor.getCurrentPosition())
+     * keep returning the same value until then. Before enabling it, make sure every custom loop that reads hardware directly either calls refreshHardwareSnapshot()
+     * once per iteration, or uses waitTime(), waitUntil() or waitWhile(), which refresh the snapshot automatically.
+     *
+     * @see HardwareSnapshot
+     */
+    protected final void enableManualBulkCaching() {
+        useManualBulkCaching = true;
+    }
+
+    /**
+     * Gets the per-loop view of the robot's motor encoders.
+     *
+     * @return The robot's hardware snapshot.
+     *
+     * @see HardwareSnapshot
+     */
+    @Contract(pure = true)
+    public final HardwareSnapshot getHardwareSnapshot() {
+        return hardwareSnapshot;
+    }
+
+    /**
+     * Gets the robot's loop clock. Its latched time is the time at which the hardware snapshot was last refreshed, while its current time is always live.
+     * This is also HAL's global clock while the robot is running, and is backed by simulated time when running in the simulator.
+     *
+     * @return The robot's loop clock.
+     *
+     * @see HALClock
+     * @see LoopClock
+     */
+    @Contract(pure = true)
+    public final LoopClock getClock() {
+        return loopClock;
+    }
+
+    /**
+     * Refreshes the hardware snapshot, clearing the Lynx modules' bulk caches, and sends any pending motor writes.
+     * Call this once per iteration of custom loops that read hardware directly.
+     * Signals a state change afterwards, so waitUntil() and waitWhile() calls on other threads check their conditions against the new readings.
+     *
+     * @see HardwareSnapshot
+     * @see MotorWriteBuffer
+     */
+    public final void refreshHardwareSnapshot() {
+        refreshHardwareSnapshot(true);
+    }
+
+    /**
+     * Refreshes the hardware snapshot, clearing the Lynx modules' bulk caches, and sends any pending motor writes.
+     *
+     * @param signal Whether to signal a state change after refreshing.
+     *
+     * @see HardwareSnapshot
+     * @see MotorWriteBuffer
+     */
+    final void refreshHardwareSnapshot(boolean signal) {
+        motorWriteBuffer.flush();
+        hardwareSnapshot.refresh();
+        if (signal) waitSignal.signal();
+    }
+
+    /**
+     * Gets the write stage used to drop and coalesce redundant motor writes.
+     *
+     * @return The robot's motor write buffer.
+     *
+     * @see MotorWriteBuffer
+     */
+    @Contract(pure = true)
+    public final MotorWriteBuffer getMotorWriteBuffer() {
+        return motorWriteBuffer;
+    }
+
+    /**
+     * Sends all pending motor writes immediately.
+     *
+     * @see MotorWriteBuffer
+     */
+    public final void flushMotorWrites() {
+        motorWriteBuffer.flush();
+    }
+
+    /**
+     * Gets the scheduler used to run non-blocking commands. It is ticked once per driverControlledUpdate(), after the subsystems' handle() methods.
+     *
+     * @return The robot's command scheduler.
+     *
+     * @see CommandScheduler
+     */
+    @Contract(pure = true)
+    public final CommandScheduler getCommandScheduler() {
+        return commandScheduler;
+    }
+
+    /**
+     * Gets the subsystem profiler.
+     *
+     * @return The subsystem profiler, or null if profiling is disabled or the robot has not been initialized.
+     *
+     * @see SubSystemProfiler
+     */
+    @Contract(pure = true)
+    public final SubSystemProfiler getProfiler() {
+        return profiler;
+    }
+
     /**
      * Instantiates the GUI and allows the robot to use a GUI.
      *
@@ -233,6 +567,7 @@ public abstract class Robot {
 
     /**
      * Runs all the initialization methods of every subsystem and the GUI. Also starts the config and creates the config file tree if needed.
+     * If parallel init is enabled, subsystems are initialized concurrently while the cameras open, and this returns once every camera is streaming.
      *
      * @see SubSystem
      * @see VisionSubSystem
@@ -242,29 +577,33 @@ public abstract class Robot {
      */
     public final void init()
     {
-        //Collects subsystems from robot class and adds them to internal subsystem list.
-        Field[] fields = this.getClass().getDeclaredFields();
-        for(Field f : fields) {
-            if(SubSystem.class.isAssignableFrom(f.getType()) && !f.isAnnotationPresent(DisableSubSystem.class)) {
-                Object obj;
-                try {
-                    obj = f.get(this);
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                    throw new DumpsterFireException("Tried to access your subsystem, but you made it protected or private. SHARE!!!");
-                }
-                if(obj != null) {
-                    SubSystem subSystem = (SubSystem) obj;
-                    String name = subSystem.getClass().getSimpleName();
-                    if(f.isAnnotationPresent(ConfigLabel.class)) {
-                        ConfigLabel configLabelAnnotation = f.getAnnotation(ConfigLabel.class);
-                        name = configLabelAnnotation.label();
-                    }
-                    addSubSystem(name, subSystem);
-                }
-            }
+        //Collects subsystems from robot class and adds them to internal subsystem list, using generated registration code if present and reflection otherwise.
+        RobotRegistrar registrar = new RobotRegistrar();
+        RegistrationLoader.forRobot(this.getClass()).registerSubSystems(this, registrar);
+        for (RobotRegistrar.SubSystemEntry entry : registrar.subSystems) {
+            SubSystem subSystem = entry.subSystem;
+            if (!Double.isNaN(entry.updateRateHz)) subSystem.setUpdateRate(entry.updateRateHz);
+            if (!Double.isNaN(entry.degradedRateHz)) subSystem.setDegradedUpdateRate(entry.degradedRateHz);
+            subSystem.dependencyReads = entry.reads;
+            subSystem.dependencyWrites = entry.writes;
+            addSubSystem(entry.name, subSystem);
+        }
+
+        //Starts opening the cameras in the background so they are ready by the time the subsystems are.
+        if (parallelInitThreads > 0) CameraManager.runPipelines();
+
+        scheduler = new SubSystemScheduler(subSystems.toArray(new SubSystem[0]), loopClock);
+        scheduler.enableParallelUpdates(parallelUpdateThreads);
+
+        if (useProfiling) {
+            profiler = new SubSystemProfiler(subSystemNames.toArray(new String[0]));
+            scheduler.setProfiler(profiler);
+            if (!gui.isInitialized()) startGui(Button.noButtonBoolean);
+            gui.addRootMenu(new ProfilerMenu(profiler));
         }
 
+        hardwareSnapshot.initBulkCaching(useManualBulkCaching);
+
         HALConfig.setGlobalConfigAsDefault();
 
         this.gamepad1 = opMode.gamepad1;
@@ -315,10 +654,17 @@ public abstract class Robot {
             gui.addRootMenu(new ConfigStartingMenu(payload));
         }
 
-        for (int i = 0; i < subSystems.size(); i++) {
-            SubSystem subSystem = subSystems.poll();
-            subSystem.init();
-            subSystems.add(subSystem);
+        ParallelInitializer parallelInitializer = null;
+        if (parallelInitThreads > 0) {
+            parallelInitializer = new ParallelInitializer(subSystems.toArray(new SubSystem[0]), parallelInitThreads, profiler, telemetry);
+            parallelInitializer.initSubSystems();
+        }
+        else {
+            for (int i = 0; i < subSystems.size(); i++) {
+                long startTime = System.nanoTime();
+                subSystems.get(i).init();
+                if (profiler != null) profiler.record(i, SubSystemProfiler.Phase.INIT, System.nanoTime() - startTime);
+            }
         }
 
         //Links all HALPipeline classes to their associated cameras.
@@ -326,24 +672,44 @@ public abstract class Robot {
             HALPipeline[] pipelines = visionSubSystem.getPipelines();
 
             for (HALPipeline pipeline : pipelines) {
-                if (pipeline.getClass().isAnnotationPresent(Camera.class)) {
-                    Camera linkedCameraIdAnnotation = Objects.requireNonNull(pipeline.getClass().getAnnotation(Camera.class));
-
-                    String linkedCameraId = linkedCameraIdAnnotation.id();
+                String linkedCameraId = linkPipeline(pipeline);
+                if (linkedCameraId == null) continue;
 
-                    if (CameraManager.cameraExists(linkedCameraId))
-                        CameraManager.addPipeline(linkedCameraId, pipeline);
-                    else if (linkedCameraId.equals(ALL_CAMERAS_ID))
-                        CameraManager.addPipelineToAll(pipeline);
-                }
+                if (CameraManager.cameraExists(linkedCameraId))
+                    CameraManager.addPipeline(linkedCameraId, pipeline);
+                else if (linkedCameraId.equals(ALL_CAMERAS_ID))
+                    CameraManager.addPipelineToAll(pipeline);
             }
         }
 
         CameraManager.runPipelines();
+        if (useVisionStats && CameraManager.getNumCameras() > 0) {
+            if (!gui.isInitialized()) startGui(Button.noButtonBoolean);
+            gui.addRootMenu(new VisionStatsMenu(CameraManager.getAllVisionStats()));
+        }
+        if (parallelInitializer != null) parallelInitializer.awaitCameras();
     }
 
     /**
-     * Runs methods in a loop during init. Runs all subsystem init_loop() methods and draws the configuration menu.
+     * Applies the processing rate and frame interval from a pipeline's Camera annotation and gets the id of the camera it is linked to.
+     *
+     * @param pipeline The pipeline to link.
+     * @return The id of the camera the pipeline is linked to, or null if the pipeline has no Camera annotation.
+     *
+     * @see Camera
+     * @see VisionReplay
+     */
+    static String linkPipeline(@NotNull HALPipeline pipeline) {
+        if (!pipeline.getClass().isAnnotationPresent(Camera.class)) return null;
+        Camera linkedCameraIdAnnotation = Objects.requireNonNull(pipeline.getClass().getAnnotation(Camera.class));
+
+        if (linkedCameraIdAnnotation.maxFps() > 0) pipeline.setProcessingRate(linkedCameraIdAnnotation.maxFps());
+        if (linkedCameraIdAnnotation.everyNthFrame() > 1) pipeline.setFrameInterval(linkedCameraIdAnnotation.everyNthFrame());
+        return linkedCameraIdAnnotation.id();
+    }
+
+    /**
+     * Runs methods in a loop during init. Runs subsystem init_loop() methods at their target update rates and draws the configuration menu.
      *
      * @see SubSystem
      * @see HALGUI
@@ -352,13 +718,14 @@ public abstract class Robot {
         this.gamepad1 = opMode.gamepad1;
         this.gamepad2 = opMode.gamepad2;
 
+        hardwareSnapshot.refreshForLoop();
+        motorWriteBuffer.beginLoop();
+
         gui.renderCurrentMenu();
 
-        for (int i = 0; i < subSystems.size(); i++) {
-            SubSystem subSystem = subSystems.poll();
-            subSystem.init_loop();
-            subSystems.add(subSystem);
-        }
+        scheduler.runInitLoop();
+        motorWriteBuffer.endLoop();
+        waitSignal.signal();
     }
 
     /**
@@ -372,29 +739,41 @@ public abstract class Robot {
         this.gamepad2 = opMode.gamepad2;
 
         for (int i = 0; i < subSystems.size(); i++) {
-            SubSystem subSystem = subSystems.poll();
-            subSystem.start();
-            subSystems.add(subSystem);
+            long startTime = System.nanoTime();
+            subSystems.get(i).start();
+            if (profiler != null) profiler.record(i, SubSystemProfiler.Phase.START, System.nanoTime() - startTime);
         }
+
+        scheduler.reset();
+        if (loopWatchdog != null) loopWatchdog.reset();
+        hardwareSnapshot.endLoops();
+        motorWriteBuffer.endLoop();
     }
 
     /**
-     * Runs subsystem handle() methods and GUI drawCurrentMenu() every frame in driver controlled programs.
+     * Runs subsystem handle() methods at their target update rates, scheduled commands, and GUI drawCurrentMenu() every frame in driver controlled programs.
+     * If the loop watchdog is enabled, the GUI and non-critical subsystems are skipped or slowed down while the loop is overrunning its budget.
      *
      * @see SubSystem
      * @see HALGUI
+     * @see LoopWatchdog
      */
     public final void driverControlledUpdate() {
         this.gamepad1 = opMode.gamepad1;
         this.gamepad2 = opMode.gamepad2;
 
-        gui.renderCurrentMenu();
+        hardwareSnapshot.refreshForLoop();
+        motorWriteBuffer.beginLoop();
 
-        for (int i = 0; i < subSystems.size(); i++) {
-            SubSystem subSystem = subSystems.poll();
-            subSystem.handle();
-            subSystems.add(subSystem);
-        }
+        LoopWatchdog.Tier tier = loopWatchdog == null ? LoopWatchdog.Tier.NOMINAL : loopWatchdog.beginLoop(loopClock.getLatchedTime());
+        if (tier != appliedTier) applyDegradationTier(tier);
+
+        if (!tier.includes(LoopWatchdog.Tier.SKIP_GUI)) gui.renderCurrentMenu();
+
+        scheduler.runHandle();
+        commandScheduler.run();
+        motorWriteBuffer.endLoop();
+        waitSignal.signal();
     }
 
     /**
@@ -407,17 +786,61 @@ public abstract class Robot {
      */
     public final void stopAllComponents() {
 
+        applyDegradationTier(LoopWatchdog.Tier.NOMINAL);
         gui.stop();
 
+        scheduler.shutdown();
+        commandScheduler.cancelAll();
+        motorWriteBuffer.endLoop();
+        hardwareSnapshot.endLoops();
+
         for (int i = 0; i < subSystems.size(); i++) {
-            SubSystem subSystem = subSystems.poll();
-            subSystem.stop();
-            subSystems.add(subSystem);
+            long startTime = System.nanoTime();
+            subSystems.get(i).stop();
+            if (profiler != null) profiler.record(i, SubSystemProfiler.Phase.STOP, System.nanoTime() - startTime);
+        }
+
+        if (profiler != null) {
+            String profilerFolder = HAL_FILESYSTEM_ROOT + "/profiler";
+            HALFileUtil.createDirectory(profilerFolder);
+            profiler.saveCsv(profilerFolder + '/' + HALConfig.getOpModeName(opMode.getClass()) + ".csv");
         }
 
         globalConfig.clearConfig();
 
         CameraManager.resetManager();
+
+        if (HALClock.getGlobalClock() == loopClock) HALClock.setGlobalClock(HALClock.SYSTEM);
+    }
+
+    /**
+     * Shuts down the robot's subsystem worker threads. Called when the program ends, even if it crashed before stopAllComponents() was run. Safe to call more than once.
+     *
+     * @see SubSystemScheduler
+     */
+    final void shutdownWorkers() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Signals that the robot's state has changed, waking up any waitUntil() or waitWhile() calls so they can check their conditions immediately.
+     * Called automatically after every init_loop(), driverControlledUpdate() and refreshHardwareSnapshot(), but can also be called by code running on other threads, such as vision pipelines.
+     *
+     * @see WaitSignal
+     */
+    public final void signalStateChange() {
+        waitSignal.signal();
+    }
+
+    /**
+     * Gets the signal that is fired whenever the robot's state changes.
+     *
+     * @return The robot's wait signal.
+     * @see WaitSignal
+     */
+    @Contract(pure = true)
+    public final WaitSignal getWaitSignal() {
+        return waitSignal;
     }
 
     /**
@@ -584,7 +1007,7 @@ public abstract class Robot {
         if (internalCameraCurrentDirection != null) {
             internalCameraCurrentDirection = internalCameraCurrentDirection == OpenCvInternalCamera.CameraDirection.FRONT ? OpenCvInternalCamera.CameraDirection.BACK : OpenCvInternalCamera.CameraDirection.FRONT;
             CameraManager.stopInternalCamera();
-            OpenCvCamera newCamera = createCamera(internalCameraField, internalCameraData.usesViewport(), CameraType.INTERNAL, internalCameraCurrentDirection, INTERNAL_CAMERA_ID, internalCameraViewId);
+            OpenCvCamera newCamera = createCamera(internalCameraIsCamera2, internalCameraUsesViewport, CameraType.INTERNAL, internalCameraCurrentDirection, INTERNAL_CAMERA_ID, internalCameraViewId);
             CameraManager.overrideInternalCamera(newCamera);
         }
     }
@@ -601,10 +1024,44 @@ public abstract class Robot {
         return CameraManager.getCamera(cameraId);
     }
 
+    /**
+     * Applies the effects of a loop watchdog degradation tier, undoing the effects of the previous tier that no longer apply.
+     *
+     * @param tier The degradation tier to run the loop at.
+     *
+     * @see LoopWatchdog
+     */
+    private void applyDegradationTier(@NotNull LoopWatchdog.Tier tier) {
+        scheduler.setDegraded(tier.includes(LoopWatchdog.Tier.THROTTLE_NON_CRITICAL));
+
+        boolean throttleTelemetry = tier.includes(LoopWatchdog.Tier.THROTTLE_TELEMETRY);
+        boolean telemetryThrottled = appliedTier.includes(LoopWatchdog.Tier.THROTTLE_TELEMETRY);
+        if (throttleTelemetry && !telemetryThrottled) {
+            unthrottledTransmissionIntervalMs = telemetry.getMsTransmissionInterval();
+            telemetry.setMsTransmissionInterval(Math.max(unthrottledTransmissionIntervalMs, THROTTLED_TRANSMISSION_INTERVAL_MS));
+        }
+        else if (!throttleTelemetry && telemetryThrottled) telemetry.setMsTransmissionInterval(unthrottledTransmissionIntervalMs);
+
+        appliedTier = tier;
+    }
+
+    /**
+     * Gets the path to the device's external storage. Falls back to the system temp directory when running on a plain JVM (such as in the simulator), where there is no Android storage.
+     *
+     * @return The path to the storage root that HAL's filesystem is created in.
+     */
+    private static String getStorageRoot() {
+        try {
+            return Environment.getExternalStorageDirectory().getPath();
+        } catch (RuntimeException | LinkageError e) {
+            return System.getProperty("java.io.tmpdir");
+        }
+    }
+
     /**
      * Creates an OpenCVCamera using the given data.
      *
-     * @param cameraField         The field object referring to the camera.
+     * @param isCamera2           Whether the camera is an OpenCvInternalCamera2 (if it's an internal camera).
      * @param usesViewport        Whether or not the camera uses the viewport.
      * @param cameraType          The type of camera to create (INTERNAL or EXTERNAL).
      * @param direction           The camera's direction (if it's an internal camera).
@@ -617,12 +1074,12 @@ public abstract class Robot {
      * @see OpenCvInternalCamera
      * @see OpenCvInternalCamera2
      */
-    private OpenCvCamera createCamera(Field cameraField, boolean usesViewport, @NotNull CameraType cameraType, OpenCvInternalCamera.CameraDirection direction, String cameraName, int cameraMonitorViewId) {
+    private OpenCvCamera createCamera(boolean isCamera2, boolean usesViewport, @NotNull CameraType cameraType, OpenCvInternalCamera.CameraDirection direction, String cameraName, int cameraMonitorViewId) {
         OpenCvCamera camera;
         switch (cameraType) {
             default:
             case INTERNAL:
-                if (OpenCvInternalCamera2.class.isAssignableFrom(cameraField.getType())) {
+                if (isCamera2) {
                     OpenCvInternalCamera2.CameraDirection direction2 = direction == OpenCvInternalCamera.CameraDirection.FRONT ? OpenCvInternalCamera2.CameraDirection.FRONT : OpenCvInternalCamera2.CameraDirection.BACK;
                     if (usesViewport)
                         camera = OpenCvCameraFactory.getInstance().createInternalCamera2(direction2, cameraMonitorViewId);
@@ -0,0 +1,163 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openftc.easyopencv.OpenCvInternalCamera;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class used to collect the cameras and subsystems declared in a robot class, whether they were found by generated registration code or by reflection.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see RobotRegistration
+ * @see Robot
+ * @since 1.1.8
+ */
+public final class RobotRegistrar {
+    //The registered internal camera, if present.
+    InternalCameraEntry internalCamera;
+    //All registered external cameras.
+    final List<ExternalCameraEntry> externalCameras = new ArrayList<>();
+    //All registered subsystems.
+    final List<SubSystemEntry> subSystems = new ArrayList<>();
+
+    /**
+     * Package-private constructor for RobotRegistrar so that only the robot can create one.
+     */
+    RobotRegistrar() {
+    }
+
+    /**
+     * Registers the internal camera.
+     *
+     * @param isCamera2    Whether the camera field is an OpenCvInternalCamera2.
+     * @param resWidth     The camera resolution width in pixels.
+     * @param resHeight    The camera resolution height in pixels.
+     * @param direction    The internal camera direction (FRONT or BACK).
+     * @param usesViewport Whether or not the camera uses the viewport to display output video.
+     * @see InternalCamera
+     */
+    public void addInternalCamera(boolean isCamera2, int resWidth, int resHeight, @NotNull OpenCvInternalCamera.CameraDirection direction, boolean usesViewport) {
+        internalCamera = new InternalCameraEntry(isCamera2, resWidth, resHeight, direction, usesViewport);
+    }
+
+    /**
+     * Registers an external camera.
+     *
+     * @param resWidth     The camera resolution width in pixels.
+     * @param resHeight    The camera resolution height in pixels.
+     * @param configName   The name of the camera in the (normal FTC) config system.
+     * @param uniqueId     The camera's unique identifier, or an empty string to use the config name.
+     * @param usesViewport Whether or not the camera uses the viewport to display output video.
+     * @see ExternalCamera
+     */
+    public void addExternalCamera(int resWidth, int resHeight, @NotNull String configName, @NotNull String uniqueId, boolean usesViewport) {
+        externalCameras.add(new ExternalCameraEntry(resWidth, resHeight, configName, uniqueId, usesViewport));
+    }
+
+    /**
+     * Registers a subsystem. Null subsystems are ignored.
+     *
+     * @param subSystem    The subsystem to register.
+     * @param label        The subsystem's config label, or null to use the subsystem's class name.
+     * @param updateRateHz The subsystem's target update rate in hertz, or NaN if no rate was declared.
+     * @param reads        The resources the subsystem reads from, or null if no dependencies were declared.
+     * @param writes       The resources the subsystem writes to, or null if no dependencies were declared.
+     * @see com.SCHSRobotics.HAL9001.system.config.ConfigLabel
+     * @see UpdateRate
+     * @see Dependencies
+     */
+    public void addSubSystem(@Nullable SubSystem subSystem, @Nullable String label, double updateRateHz, @Nullable String[] reads, @Nullable String[] writes) {
+        addSubSystem(subSystem, label, updateRateHz, Double.NaN, reads, writes);
+    }
+
+    /**
+     * Registers a subsystem. Null subsystems are ignored.
+     *
+     * @param subSystem      The subsystem to register.
+     * @param label          The subsystem's config label, or null to use the subsystem's class name.
+     * @param updateRateHz   The subsystem's target update rate in hertz, or NaN if no rate was declared.
+     * @param degradedRateHz The subsystem's update rate in hertz while the loop watchdog is throttling non-critical subsystems, or NaN if the subsystem is critical.
+     * @param reads          The resources the subsystem reads from, or null if no dependencies were declared.
+     * @param writes         The resources the subsystem writes to, or null if no dependencies were declared.
+     * @see com.SCHSRobotics.HAL9001.system.config.ConfigLabel
+     * @see UpdateRate
+     * @see NonCritical
+     * @see Dependencies
+     */
+    public void addSubSystem(@Nullable SubSystem subSystem, @Nullable String label, double updateRateHz, double degradedRateHz, @Nullable String[] reads, @Nullable String[] writes) {
+        if (subSystem == null) return;
+        subSystems.add(new SubSystemEntry(subSystem, label == null ? subSystem.getClass().getSimpleName() : label, updateRateHz, degradedRateHz, reads, writes));
+    }
+
+    /**
+     * Gets the number of registered cameras that use the viewport.
+     *
+     * @return The number of registered cameras that use the viewport.
+     */
+    int getNumCamerasUsingViewport() {
+        int numCamerasUsingViewport = internalCamera != null && internalCamera.usesViewport ? 1 : 0;
+        for (ExternalCameraEntry camera : externalCameras) {
+            if (camera.usesViewport) numCamerasUsingViewport++;
+        }
+        return numCamerasUsingViewport;
+    }
+
+    /**
+     * A class storing the data of a registered internal camera.
+     */
+    static final class InternalCameraEntry {
+        final boolean isCamera2, usesViewport;
+        final int resWidth, resHeight;
+        final OpenCvInternalCamera.CameraDirection direction;
+
+        private InternalCameraEntry(boolean isCamera2, int resWidth, int resHeight, OpenCvInternalCamera.CameraDirection direction, boolean usesViewport) {
+            this.isCamera2 = isCamera2;
+            this.resWidth = resWidth;
+            this.resHeight = resHeight;
+            this.direction = direction;
+            this.usesViewport = usesViewport;
+        }
+    }
+
+    /**
+     * A class storing the data of a registered external camera.
+     */
+    static final class ExternalCameraEntry {
+        final int resWidth, resHeight;
+        final String configName, uniqueId;
+        final boolean usesViewport;
+
+        private ExternalCameraEntry(int resWidth, int resHeight, String configName, String uniqueId, boolean usesViewport) {
+            this.resWidth = resWidth;
+            this.resHeight = resHeight;
+            this.configName = configName;
+            this.uniqueId = uniqueId;
+            this.usesViewport = usesViewport;
+        }
+    }
+
+    /**
+     * A class storing the data of a registered subsystem.
+     */
+    static final class SubSystemEntry {
+        final SubSystem subSystem;
+        final String name;
+        final double updateRateHz, degradedRateHz;
+        final String[] reads, writes;
+
+        private SubSystemEntry(SubSystem subSystem, String name, double updateRateHz, double degradedRateHz, String[] reads, String[] writes) {
+            this.subSystem = subSystem;
+            this.name = name;
+            this.updateRateHz = updateRateHz;
+            this.degradedRateHz = degradedRateHz;
+            this.reads = reads;
+            this.writes = writes;
+        }
+    }
+}
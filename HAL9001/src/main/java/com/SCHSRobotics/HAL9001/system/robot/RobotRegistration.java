@@ -0,0 +1,39 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An interface for classes that register a robot's cameras and subsystems. An implementation of this interface is generated at compile time
+ * for every robot class by HAL's annotation processor, so that robot startup does not need reflection. If no generated class is found, the
+ * robot falls back to finding its cameras and subsystems using reflection.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see RobotRegistrar
+ * @see RegistrationLoader
+ * @see Robot
+ * @since 1.1.8
+ */
+public interface RobotRegistration {
+
+    /**
+     * Registers every camera declared in the robot class using @InternalCamera or @ExternalCamera.
+     *
+     * @param registrar The registrar to add the cameras to.
+     * @see InternalCamera
+     * @see ExternalCamera
+     */
+    void registerCameras(@NotNull RobotRegistrar registrar);
+
+    /**
+     * Registers every subsystem field declared in the robot class that is not annotated with @DisableSubSystem.
+     *
+     * @param robot     The robot whose subsystem fields are being read.
+     * @param registrar The registrar to add the subsystems to.
+     * @see SubSystem
+     * @see com.SCHSRobotics.HAL9001.system.config.DisableSubSystem
+     */
+    void registerSubSystems(@NotNull Robot robot, @NotNull RobotRegistrar registrar);
+}
@@ -0,0 +1,35 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An interface implemented by hardwaremaps that simulate the robot instead of talking to real hardware.
+ * <p>
+ * The robot uses the stepper's clock as the source of its loop clock, and notifies the stepper every time it refreshes its hardware snapshot
+ * so the simulation can advance in lockstep with the program's loop.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Robot
+ * @see HardwareSnapshot
+ * @since 1.1.8
+ */
+public interface SimulationStepper {
+
+    /**
+     * Gets the clock that reads the simulated time.
+     *
+     * @return The simulated clock.
+     */
+    @NotNull
+    HALClock getClock();
+
+    /**
+     * Called by the robot every time it refreshes its hardware snapshot.
+     */
+    void onHardwareRefresh();
+}
@@ -0,0 +1,53 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import org.jetbrains.annotations.NotNull;
+import org.opencv.core.Mat;
+
+/**
+ * An abstract class used to store HAL computer vision pipelines that are declared as a graph of image stages instead of a hand-written processFrame().
+ * <p>
+ * The pipeline's output stage is evaluated through the camera's VisionFrame, so any stages it shares with other stage pipelines on the same camera
+ * (even ones declared separately) are only computed once per frame, and no stage allocates a new image once the first frame has been processed.
+ * Whatever the pipeline does with the output, such as finding contours or publishing results, goes in processOutput().
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see ImageStage
+ * @see HALPipeline
+ * @see VisionFrame
+ * @since 1.1.8
+ */
+public abstract class StagePipeline extends HALPipeline {
+    //The stage whose output the pipeline processes and displays.
+    private final ImageStage output;
+
+    /**
+     * The constructor for StagePipeline.
+     *
+     * @param output The stage whose output the pipeline processes and displays.
+     */
+    public StagePipeline(@NotNull ImageStage output) {
+        this.output = output;
+    }
+
+    /**
+     * Does something with the output of the pipeline's output stage, such as finding contours or publishing results.
+     *
+     * @param output The output image. Shared with other pipelines, so it must not be written to or released.
+     */
+    protected abstract void processOutput(Mat output);
+
+    @Override
+    public final Mat processFrame(Mat input) {
+        Mat outputImage = getVisionFrame().evaluate(output);
+        processOutput(outputImage);
+        return outputImage;
+    }
+
+    @Override
+    public final boolean mutatesFrame() {
+        return false;
+    }
+}
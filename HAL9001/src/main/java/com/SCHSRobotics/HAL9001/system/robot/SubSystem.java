@@ -1,8 +1,6 @@
 package com.SCHSRobotics.HAL9001.system.robot;
 
 import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
-import com.SCHSRobotics.HAL9001.util.misc.Timer;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 
 import org.firstinspires.ftc.robotcore.external.Supplier;
 import org.jetbrains.annotations.NotNull;
@@ -25,6 +23,12 @@ public abstract class SubSystem {
     protected Robot robot;
     //A boolean specifying whether or not the subsystem should use the configuration menu.
     protected boolean usesConfig;
+    //The time, in nanoseconds, between scheduled updates of this subsystem. A value of 0 means the subsystem updates every loop. Volatile since it can be changed from any thread mid-program.
+    volatile long updatePeriodNanos;
+    //The time, in nanoseconds, between scheduled updates of this subsystem while the loop watchdog is throttling non-critical subsystems. A value of 0 means the subsystem is critical.
+    volatile long degradedPeriodNanos;
+    //The shared state this subsystem reads and writes, used to decide which subsystems can update in parallel. Null if undeclared.
+    String[] dependencyReads, dependencyWrites;
 
     /**
      * Constructor for subsystem.
@@ -34,6 +38,8 @@ public abstract class SubSystem {
     public SubSystem(@NotNull Robot robot) {
         this.robot = robot;
         usesConfig = false;
+        updatePeriodNanos = 0;
+        degradedPeriodNanos = 0;
     }
 
     /**
@@ -61,18 +67,63 @@ public abstract class SubSystem {
      */
     public abstract void stop();
 
+    /**
+     * Sets the target rate at which this subsystem's init_loop() and handle() methods are run. Can be changed mid-program, in which case the new rate takes effect on the next loop.
+     *
+     * @param hz The target update rate in hertz. A value less than or equal to 0 means the subsystem runs every loop.
+     *
+     * @see UpdateRate
+     * @see SubSystemScheduler
+     */
+    public final void setUpdateRate(double hz) {
+        updatePeriodNanos = hz <= 0 ? 0 : (long) HALTimeUnit.convert(1 / hz, HALTimeUnit.SECONDS, HALTimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the target rate at which this subsystem's init_loop() and handle() methods are run.
+     *
+     * @return The target update rate in hertz, or 0 if the subsystem runs every loop.
+     *
+     * @see UpdateRate
+     * @see SubSystemScheduler
+     */
+    public final double getUpdateRate() {
+        return updatePeriodNanos == 0 ? 0 : 1 / HALTimeUnit.convert(updatePeriodNanos, HALTimeUnit.NANOSECONDS, HALTimeUnit.SECONDS);
+    }
+
+    /**
+     * Sets the rate at which this subsystem's handle() method is run while the loop watchdog is throttling non-critical subsystems. Can be changed mid-program.
+     *
+     * @param hz The degraded update rate in hertz. A value less than or equal to 0 marks the subsystem as critical, so it is never slowed down.
+     *
+     * @see NonCritical
+     * @see LoopWatchdog
+     */
+    public final void setDegradedUpdateRate(double hz) {
+        degradedPeriodNanos = hz <= 0 ? 0 : (long) HALTimeUnit.convert(1 / hz, HALTimeUnit.SECONDS, HALTimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the rate at which this subsystem's handle() method is run while the loop watchdog is throttling non-critical subsystems.
+     *
+     * @return The degraded update rate in hertz, or 0 if the subsystem is critical.
+     *
+     * @see NonCritical
+     * @see LoopWatchdog
+     */
+    public final double getDegradedUpdateRate() {
+        return degradedPeriodNanos == 0 ? 0 : 1 / HALTimeUnit.convert(degradedPeriodNanos, HALTimeUnit.NANOSECONDS, HALTimeUnit.SECONDS);
+    }
+
     /**
      * Waits for a specified number of milliseconds.
      *
      * @param millis - The number of milliseconds to wait.
      *
-     * @see Timer
+     * @see Waiter
      */
     protected final void waitTime(long millis) {
-        Timer timer = new Timer();
-        timer.start(millis, HALTimeUnit.MILLISECONDS);
-        while (robot.opModeIsActive() && !timer.requiredTimeElapsed())
-            ((LinearOpMode) robot.getOpMode()).sleep(1);
+        Waiter.waitTime(robot, millis, null, Waiter.DEFAULT_TICK_PERIOD_NANOS);
     }
 
     /**
@@ -81,28 +132,37 @@ public abstract class SubSystem {
      * @param millis The number of milliseconds to wait.
      * @param runner The code to run each loop while waiting.
      *
-     * @see Timer
+     * @see Waiter
      * @see Runnable
      */
     protected final void waitTime(long millis, @NotNull Runnable runner) {
-        Timer timer = new Timer();
-        timer.start(millis, HALTimeUnit.MILLISECONDS);
-        while (robot.opModeIsActive() && !timer.requiredTimeElapsed()) {
-            runner.run();
-            ((LinearOpMode) robot.getOpMode()).sleep(1);
-        }
+        Waiter.waitTime(robot, millis, runner, Waiter.DEFAULT_TICK_PERIOD_NANOS);
+    }
+
+    /**
+     * Waits for a specified number of milliseconds, running a function at a fixed rate while its waiting.
+     *
+     * @param millis The number of milliseconds to wait.
+     * @param runner The code to run while waiting.
+     * @param tickHz The rate, in hertz, at which to run the runner.
+     *
+     * @see Waiter
+     * @see Runnable
+     */
+    protected final void waitTime(long millis, @NotNull Runnable runner, double tickHz) {
+        Waiter.waitTime(robot, millis, runner, Waiter.toTickPeriod(tickHz));
     }
 
     /**
-     * Waits until a condition returns true.
+     * Waits until a condition returns true. The condition is checked whenever the robot signals a state change. It is checked at least once every millisecond when nothing else is signalling, and at least once every 10 milliseconds otherwise.
      *
      * @param condition The boolean condition that must be true in order for the program to stop waiting.
      *
      * @see Supplier
+     * @see Robot#signalStateChange()
      */
     protected final void waitUntil(@NotNull Supplier<Boolean> condition) {
-        while (robot.opModeIsActive() && !condition.get())
-            ((LinearOpMode) robot.getOpMode()).sleep(1);
+        Waiter.waitOn(robot, condition, true, null, Waiter.DEFAULT_TICK_PERIOD_NANOS);
     }
 
     /**
@@ -115,22 +175,33 @@ public abstract class SubSystem {
      * @see Runnable
      */
     protected final void waitUntil(@NotNull Supplier<Boolean> condition, @NotNull Runnable runner) {
-        while (robot.opModeIsActive() && !condition.get()) {
-            runner.run();
-            ((LinearOpMode) robot.getOpMode()).sleep(1);
-        }
+        Waiter.waitOn(robot, condition, true, runner, Waiter.DEFAULT_TICK_PERIOD_NANOS);
     }
 
     /**
-     * Waits while a condition is true.
+     * Waits until a condition returns true, running a function at a fixed rate while its waiting.
+     *
+     * @param condition The boolean condition that must be true in order for the program to stop waiting.
+     * @param runner The code to run while waiting.
+     * @param tickHz The rate, in hertz, at which to run the runner.
+     *
+     * @see Supplier
+     * @see Runnable
+     */
+    protected final void waitUntil(@NotNull Supplier<Boolean> condition, @NotNull Runnable runner, double tickHz) {
+        Waiter.waitOn(robot, condition, true, runner, Waiter.toTickPeriod(tickHz));
+    }
+
+    /**
+     * Waits while a condition is true. The condition is checked whenever the robot signals a state change. It is checked at least once every millisecond when nothing else is signalling, and at least once every 10 milliseconds otherwise.
      *
      * @param condition The boolean condition that must become false for the program to stop waiting.
      *
      * @see Supplier
+     * @see Robot#signalStateChange()
      */
     protected final void waitWhile(@NotNull Supplier<Boolean> condition) {
-        while (robot.opModeIsActive() && condition.get())
-            ((LinearOpMode) robot.getOpMode()).sleep(1);
+        Waiter.waitOn(robot, condition, false, null, Waiter.DEFAULT_TICK_PERIOD_NANOS);
     }
 
     /**
@@ -143,9 +214,20 @@ public abstract class SubSystem {
      * @see Runnable
      */
     protected final void waitWhile(@NotNull Supplier<Boolean> condition, @NotNull Runnable runner) {
-        while (robot.opModeIsActive() && condition.get()) {
-            runner.run();
-            ((LinearOpMode) robot.getOpMode()).sleep(1);
-        }
+        Waiter.waitOn(robot, condition, false, runner, Waiter.DEFAULT_TICK_PERIOD_NANOS);
+    }
+
+    /**
+     * Waits while a condition is true, running a function at a fixed rate while its waiting.
+     *
+     * @param condition The boolean condition that must become false for the program to stop waiting.
+     * @param runner The code to run while waiting.
+     * @param tickHz The rate, in hertz, at which to run the runner.
+     *
+     * @see Supplier
+     * @see Runnable
+     */
+    protected final void waitWhile(@NotNull Supplier<Boolean> condition, @NotNull Runnable runner, double tickHz) {
+        Waiter.waitOn(robot, condition, false, runner, Waiter.toTickPeriod(tickHz));
     }
 }
\ No newline at end of file
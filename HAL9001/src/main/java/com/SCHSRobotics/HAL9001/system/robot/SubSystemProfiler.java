@@ -0,0 +1,139 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALFileUtil;
+import com.SCHSRobotics.HAL9001.util.misc.LatencyHistogram;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * A class used to record how long each subsystem's lifecycle methods take to run.
+ * Each subsystem has one latency histogram per lifecycle phase, so recording a timing never allocates.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SubSystem
+ * @see Robot
+ * @see LatencyHistogram
+ * @see com.SCHSRobotics.HAL9001.system.gui.menus.ProfilerMenu
+ * @since 1.1.8
+ */
+public final class SubSystemProfiler {
+    //The names of the profiled subsystems.
+    private final String[] names;
+    //The latency histograms for each subsystem and lifecycle phase. Indexed by [subsystem][phase].
+    private final LatencyHistogram[][] histograms;
+
+    /**
+     * An enum representing the lifecycle methods of a subsystem.
+     */
+    public enum Phase {
+        INIT, INIT_LOOP, START, HANDLE, STOP
+    }
+
+    /**
+     * The constructor for SubSystemProfiler.
+     *
+     * @param names The names of the profiled subsystems, in the same order the robot runs them.
+     */
+    SubSystemProfiler(@NotNull String[] names) {
+        this.names = names;
+        histograms = new LatencyHistogram[names.length][Phase.values().length];
+        for (int i = 0; i < names.length; i++) {
+            for (int j = 0; j < histograms[i].length; j++) histograms[i][j] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records how long a lifecycle method took to run.
+     *
+     * @param subSystemIdx The index of the subsystem.
+     * @param phase        The lifecycle phase that was run.
+     * @param nanos        How long the lifecycle method took in nanoseconds.
+     */
+    void record(int subSystemIdx, @NotNull Phase phase, long nanos) {
+        histograms[subSystemIdx][phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Gets the number of profiled subsystems.
+     *
+     * @return The number of profiled subsystems.
+     */
+    @Contract(pure = true)
+    public int getNumSubSystems() {
+        return names.length;
+    }
+
+    /**
+     * Gets the name of a profiled subsystem.
+     *
+     * @param subSystemIdx The index of the subsystem.
+     * @return The name of the subsystem.
+     */
+    @Contract(pure = true)
+    public String getName(int subSystemIdx) {
+        return names[subSystemIdx];
+    }
+
+    /**
+     * Gets the latency histogram for a subsystem's lifecycle phase.
+     *
+     * @param subSystemIdx The index of the subsystem.
+     * @param phase        The lifecycle phase.
+     * @return The latency histogram for the given subsystem and phase.
+     * @see LatencyHistogram
+     */
+    public LatencyHistogram getHistogram(int subSystemIdx, @NotNull Phase phase) {
+        return histograms[subSystemIdx][phase.ordinal()];
+    }
+
+    /**
+     * Gets a one-line summary of a subsystem's lifecycle phase latencies in milliseconds.
+     *
+     * @param subSystemIdx The index of the subsystem.
+     * @param phase        The lifecycle phase.
+     * @return The summary in the format "name p50/p95/p99/max".
+     */
+    public String getSummary(int subSystemIdx, @NotNull Phase phase) {
+        LatencyHistogram histogram = getHistogram(subSystemIdx, phase);
+        return String.format(Locale.US, "%s %.2f/%.2f/%.2f/%.2f",
+                names[subSystemIdx],
+                histogram.getPercentile(50, HALTimeUnit.MILLISECONDS),
+                histogram.getPercentile(95, HALTimeUnit.MILLISECONDS),
+                histogram.getPercentile(99, HALTimeUnit.MILLISECONDS),
+                histogram.getMax(HALTimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Saves the latencies of every subsystem and lifecycle phase to a CSV file. All times are in milliseconds.
+     *
+     * @param filepath The path of the file to save.
+     * @see HALFileUtil
+     */
+    public void saveCsv(String filepath) {
+        StringBuilder sb = new StringBuilder("subsystem,phase,count,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+        for (int i = 0; i < names.length; i++) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = getHistogram(i, phase);
+                if (histogram.getCount() == 0) continue;
+
+                sb.append("\r\n").append(String.format(Locale.US, "%s,%s,%d,%.4f,%.4f,%.4f,%.4f,%.4f",
+                        names[i],
+                        phase.name(),
+                        histogram.getCount(),
+                        histogram.getMean(HALTimeUnit.MILLISECONDS),
+                        histogram.getPercentile(50, HALTimeUnit.MILLISECONDS),
+                        histogram.getPercentile(95, HALTimeUnit.MILLISECONDS),
+                        histogram.getPercentile(99, HALTimeUnit.MILLISECONDS),
+                        histogram.getMax(HALTimeUnit.MILLISECONDS)));
+            }
+        }
+        HALFileUtil.save(filepath, sb.toString());
+    }
+}
@@ -0,0 +1,350 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A fixed-rate scheduler used by the robot to run subsystem loop methods in deadline order.
+ * Subsystems with no update rate run every loop, while subsystems with an update rate are only run once their deadline has passed.
+ * <p>
+ * If parallel updates are enabled, the handle() methods of due subsystems are split into waves of subsystems with non-conflicting dependencies.
+ * Each wave is run concurrently on a small worker pool and joined before the next wave starts.
+ * <p>
+ * While degraded, non-critical subsystems are run at their degraded update rates (if slower than their normal rates) to free up loop time for critical subsystems.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SubSystem
+ * @see UpdateRate
+ * @see Dependencies
+ * @see NonCritical
+ * @see Robot
+ * @since 1.1.8
+ */
+final class SubSystemScheduler {
+    //The subsystems being scheduled.
+    private final SubSystem[] subSystems;
+    //The clock used to tell when subsystems are due.
+    private final HALClock clock;
+    //The clock timestamp, in nanoseconds, at which each subsystem is next due to run. Indices match the subsystems array.
+    private final long[] deadlines;
+    //The update period, in nanoseconds, each subsystem's current deadline was scheduled with. Indices match the subsystems array.
+    private final long[] scheduledPeriods;
+    //The indices of the subsystems, sorted by deadline.
+    private final int[] order;
+    //Whether two subsystems are not allowed to run at the same time. Indices match the subsystems array.
+    private final boolean[][] conflicts;
+    //The indices of subsystems that are due this loop and the indices of the subsystems in the wave currently being run.
+    private final int[] due, wave;
+    //Whether each due subsystem has already been run this loop. Indices match the due array.
+    private final boolean[] ran;
+    //The tasks used to run each subsystem's handle() method on a worker thread. Indices match the subsystems array.
+    private final Runnable[] handleTasks;
+    //The pending results of the subsystems running on worker threads.
+    private final Future<?>[] pending;
+    //The worker pool used to run subsystems in parallel. Null if parallel updates are disabled.
+    private ExecutorService workers;
+    //The profiler used to time subsystem loop methods. Null if profiling is disabled.
+    private SubSystemProfiler profiler;
+    //Whether non-critical subsystems are currently being run at their degraded update rates.
+    private boolean degraded = false;
+
+    /**
+     * The constructor for SubSystemScheduler.
+     *
+     * @param subSystems The subsystems to schedule.
+     * @param clock      The clock used to tell when subsystems are due.
+     *
+     * @see SubSystem
+     */
+    SubSystemScheduler(@NotNull SubSystem[] subSystems, @NotNull HALClock clock) {
+        this.subSystems = subSystems;
+        this.clock = clock;
+        int n = subSystems.length;
+        deadlines = new long[n];
+        scheduledPeriods = new long[n];
+        order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+
+        due = new int[n];
+        wave = new int[n];
+        ran = new boolean[n];
+        pending = new Future<?>[n];
+
+        handleTasks = new Runnable[n];
+        conflicts = new boolean[n][n];
+        for (int i = 0; i < n; i++) {
+            final int idx = i;
+            handleTasks[i] = () -> handle(idx);
+            for (int j = 0; j < n; j++) {
+                conflicts[i][j] = i != j && conflict(subSystems[i], subSystems[j]);
+            }
+        }
+    }
+
+    /**
+     * Enables parallel updates, running non-conflicting subsystem handle() methods concurrently.
+     *
+     * @param numThreads The number of worker threads to use in addition to the opmode thread.
+     */
+    void enableParallelUpdates(int numThreads) {
+        if (workers == null && numThreads > 0) {
+            //The workers are daemons so they can never keep the app alive, even if the program crashes before shutting them down.
+            workers = Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+                @Override
+                public Thread newThread(@NotNull Runnable runnable) {
+                    Thread thread = new Thread(runnable, "HAL SubSystem Worker");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+    }
+
+    /**
+     * Sets the profiler used to time subsystem loop methods.
+     *
+     * @param profiler The profiler to record timings to, or null to disable profiling.
+     * @see SubSystemProfiler
+     */
+    void setProfiler(SubSystemProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Sets whether non-critical subsystems are run at their degraded update rates. Used by the loop watchdog when the loop overruns its budget.
+     *
+     * @param degraded Whether to run non-critical subsystems at their degraded update rates.
+     * @see LoopWatchdog
+     * @see NonCritical
+     */
+    void setDegraded(boolean degraded) {
+        this.degraded = degraded;
+    }
+
+    /**
+     * Stops the worker threads, if parallel updates are enabled.
+     */
+    void shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    /**
+     * Makes every subsystem due on the next loop. Used when switching between the init and start phases of the program.
+     */
+    void reset() {
+        long now = clock.nanoTime();
+        for (int i = 0; i < deadlines.length; i++) deadlines[i] = now;
+    }
+
+    /**
+     * Runs the init_loop() method of every subsystem whose deadline has passed.
+     *
+     * @see SubSystem
+     */
+    void runInitLoop() {
+        int numDue = collectDue(clock.nanoTime());
+        for (int i = 0; i < numDue; i++) initLoop(due[i]);
+    }
+
+    /**
+     * Runs the handle() method of every subsystem whose deadline has passed.
+     *
+     * @see SubSystem
+     */
+    void runHandle() {
+        int numDue = collectDue(clock.nanoTime());
+        if (workers == null) {
+            for (int i = 0; i < numDue; i++) handle(due[i]);
+            return;
+        }
+
+        Arrays.fill(ran, 0, numDue, false);
+        int numRan = 0;
+        while (numRan < numDue) {
+            //Greedily builds a wave of non-conflicting subsystems, keeping deadline order.
+            int waveSize = 0;
+            for (int i = 0; i < numDue; i++) {
+                if (ran[i] || conflictsWithWave(due[i], waveSize)) continue;
+                wave[waveSize++] = due[i];
+                ran[i] = true;
+            }
+            runWave(waveSize);
+            numRan += waveSize;
+        }
+    }
+
+    /**
+     * Collects every subsystem whose deadline has passed into the due array in order of earliest deadline, then schedules their next deadlines.
+     *
+     * @param now The current timestamp in nanoseconds.
+     * @return The number of subsystems that are due.
+     */
+    private int collectDue(long now) {
+        //If a subsystem's period changed since its deadline was scheduled, such as from setUpdateRate() or a change in degradation tier,
+        //its deadline is pulled in so a faster period takes effect right away instead of after the old period.
+        for (int idx = 0; idx < subSystems.length; idx++) {
+            long period = getPeriod(subSystems[idx]);
+            if (period != scheduledPeriods[idx]) {
+                deadlines[idx] = Math.min(deadlines[idx], now + Math.max(period, 0));
+                scheduledPeriods[idx] = period;
+            }
+        }
+
+        sortByDeadline();
+
+        int numDue = 0;
+        for (int idx : order) {
+            if (deadlines[idx] > now) break;
+            due[numDue++] = idx;
+
+            long period = scheduledPeriods[idx];
+            if (period <= 0) deadlines[idx] = now;
+            else {
+                //Keeps a fixed rate when slightly late, but skips missed updates instead of running them back to back.
+                deadlines[idx] += period;
+                if (deadlines[idx] <= now) deadlines[idx] = now + period;
+            }
+        }
+        return numDue;
+    }
+
+    /**
+     * Gets the period a subsystem is currently scheduled at, taking the degradation tier into account.
+     *
+     * @param subSystem The subsystem.
+     * @return The subsystem's current update period, in nanoseconds.
+     */
+    private long getPeriod(@NotNull SubSystem subSystem) {
+        long updatePeriod = subSystem.updatePeriodNanos;
+        return degraded ? Math.max(updatePeriod, subSystem.degradedPeriodNanos) : updatePeriod;
+    }
+
+    /**
+     * Runs the current wave, with the first subsystem running on the calling thread and the rest on the worker pool.
+     *
+     * @param waveSize The number of subsystems in the current wave.
+     */
+    private void runWave(int waveSize) {
+        for (int i = 1; i < waveSize; i++) pending[i] = workers.submit(handleTasks[wave[i]]);
+
+        Throwable failure = null;
+        try {
+            handle(wave[0]);
+        } catch (Throwable e) {
+            failure = e;
+        }
+
+        //Joins every worker before the wave ends, even if one of them failed.
+        for (int i = 1; i < waveSize; i++) {
+            try {
+                pending[i].get();
+            } catch (ExecutionException e) {
+                if (failure == null) failure = e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new RuntimeException(e);
+            }
+            pending[i] = null;
+        }
+
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        if (failure != null) throw new RuntimeException(failure);
+    }
+
+    /**
+     * Runs a subsystem's init_loop() method, timing it if profiling is enabled.
+     *
+     * @param idx The index of the subsystem.
+     */
+    private void initLoop(int idx) {
+        if (profiler == null) {
+            subSystems[idx].init_loop();
+            return;
+        }
+        long start = System.nanoTime();
+        subSystems[idx].init_loop();
+        profiler.record(idx, SubSystemProfiler.Phase.INIT_LOOP, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs a subsystem's handle() method, timing it if profiling is enabled.
+     *
+     * @param idx The index of the subsystem.
+     */
+    private void handle(int idx) {
+        if (profiler == null) {
+            subSystems[idx].handle();
+            return;
+        }
+        long start = System.nanoTime();
+        subSystems[idx].handle();
+        profiler.record(idx, SubSystemProfiler.Phase.HANDLE, System.nanoTime() - start);
+    }
+
+    /**
+     * Gets whether a subsystem conflicts with any subsystem already in the current wave.
+     *
+     * @param idx      The index of the subsystem.
+     * @param waveSize The number of subsystems in the current wave.
+     * @return Whether the subsystem conflicts with the current wave.
+     */
+    private boolean conflictsWithWave(int idx, int waveSize) {
+        for (int i = 0; i < waveSize; i++) {
+            if (conflicts[idx][wave[i]]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sorts the order array by deadline. Insertion sort is used since the order barely changes between loops.
+     */
+    private void sortByDeadline() {
+        for (int i = 1; i < order.length; i++) {
+            int idx = order[i];
+            long deadline = deadlines[idx];
+            int j = i - 1;
+            while (j >= 0 && deadlines[order[j]] > deadline) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = idx;
+        }
+    }
+
+    /**
+     * Gets whether the declared dependencies of two subsystems conflict. Undeclared dependencies conflict with everything.
+     *
+     * @param a The first subsystem.
+     * @param b The second subsystem.
+     * @return Whether the two subsystems are not allowed to run at the same time.
+     */
+    @Contract(pure = true)
+    static boolean conflict(@NotNull SubSystem a, @NotNull SubSystem b) {
+        if (a.dependencyReads == null || a.dependencyWrites == null || b.dependencyReads == null || b.dependencyWrites == null) return true;
+
+        Set<String> aWrites = new HashSet<>(Arrays.asList(a.dependencyWrites));
+        Set<String> bWrites = new HashSet<>(Arrays.asList(b.dependencyWrites));
+        for (String resource : b.dependencyReads) if (aWrites.contains(resource)) return true;
+        for (String resource : b.dependencyWrites) if (aWrites.contains(resource)) return true;
+        for (String resource : a.dependencyReads) if (bWrites.contains(resource)) return true;
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation used to set the target rate at which a subsystem's init_loop() and handle() methods are run. Used to annotate subsystem fields in the robot class.
+ * Subsystems without this annotation run every loop.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SubSystem
+ * @see SubSystemScheduler
+ * @see Robot
+ * @since 1.1.8
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface UpdateRate {
+
+    /**
+     * The target update rate of the attached subsystem in hertz. A value less than or equal to 0 means the subsystem runs every loop.
+     *
+     * @return The target update rate of the attached subsystem in hertz.
+     */
+    double hz();
+}
@@ -0,0 +1,393 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.imgproc.Imgproc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The frame currently being processed by a camera's pipelines, along with a cache of images derived from it.
+ * <p>
+ * Derived images (color conversions, single channels and half-size downscales, which can be chained, as well as the output of any ImageStage) are computed lazily
+ * the first time any pipeline asks for them, then shared with every other pipeline processing the same frame. Every derived image is computed from the frame's image or from another derived image of the same frame.
+ * Derived images are shared, so pipelines must never write to or release them, and must not keep them past the end of processFrame().
+ * <p>
+ * Once every pipeline has finished with the frame, all derived images are invalidated. Buffers that were used are kept to be refilled on the next frame,
+ * while buffers that were not used are released.
+ * <p>
+ * Pipelines can also acquire scratch buffers from the frame's buffer pool. Acquired buffers belong to the pipeline until the end of the frame,
+ * when they are returned to the pool automatically, even if the pipeline threw an exception. A buffer acquired during processFrame() can be returned from it to be shown on the viewport.
+ * Once the pool has warmed up, a pipeline that acquires the same buffers every frame does no native allocations.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see HALPipeline
+ * @see HALTrackerAPI
+ * @see MatPool
+ * @see ImageStage
+ * @since 1.1.8
+ */
+public final class VisionFrame {
+    //The derived images, in the order they were first requested. Entries are only ever derived from earlier entries.
+    private final List<DerivedImage> derivedImages = new ArrayList<>();
+    //The pool scratch buffers are acquired from.
+    private final MatPool matPool = new MatPool();
+    //The scratch buffers acquired during the current frame.
+    private final List<Mat> acquiredMats = new ArrayList<>();
+    //The frame's image.
+    private Mat image;
+    //The sequence number of the frame.
+    private long sequence;
+    //The time at which the frame was captured, in nanoseconds.
+    private long captureTimeNanos;
+    //The recorder the camera's frames are recorded with. Null if the camera is not being recorded.
+    private volatile FrameRecorder recorder;
+
+    /**
+     * The constructor for VisionFrame.
+     */
+    VisionFrame() {
+    }
+
+    /**
+     * Starts a new frame.
+     *
+     * @param image            The frame's image.
+     * @param sequence         The sequence number of the frame.
+     * @param captureTimeNanos The time at which the frame was captured, in nanoseconds.
+     */
+    synchronized void begin(@NotNull Mat image, long sequence, long captureTimeNanos) {
+        this.image = image;
+        this.sequence = sequence;
+        this.captureTimeNanos = captureTimeNanos;
+    }
+
+    /**
+     * Ends the current frame, invalidating every derived image, releasing the buffers that were not used during the frame and returning every acquired buffer to the pool.
+     */
+    synchronized void end() {
+        image = null;
+        for (int i = 0; i < acquiredMats.size(); i++) matPool.recycle(acquiredMats.get(i));
+        acquiredMats.clear();
+        matPool.endFrame();
+
+        for (int i = derivedImages.size() - 1; i >= 0; i--) {
+            DerivedImage derivedImage = derivedImages.get(i);
+            if (!derivedImage.used) {
+                derivedImage.release();
+                derivedImages.remove(i);
+            }
+            derivedImage.used = false;
+            derivedImage.valid = false;
+        }
+    }
+
+    /**
+     * Releases every derived image buffer and every free buffer in the pool.
+     */
+    synchronized void release() {
+        for (DerivedImage derivedImage : derivedImages) derivedImage.release();
+        derivedImages.clear();
+        matPool.releaseAll();
+    }
+
+    /**
+     * Sets the recorder the camera's frames are recorded with.
+     *
+     * @param recorder The frame recorder, or null to stop recording.
+     */
+    void setRecorder(FrameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Records an image from the current frame if the camera is recording images from the given source and wants the current frame.
+     *
+     * @param image  The image to record.
+     * @param tag    The label saved with the image in the recording's index.
+     * @param source Where the image came from.
+     */
+    void record(@NotNull Mat image, @NotNull String tag, @NotNull FrameRecorder.Source source) {
+        FrameRecorder recorder = this.recorder;
+        long sequence, captureTimeNanos;
+        synchronized (this) {
+            sequence = this.sequence;
+            captureTimeNanos = this.captureTimeNanos;
+        }
+        if (recorder != null && recorder.getSource() == source && recorder.wants(sequence)) recorder.record(image, sequence, captureTimeNanos, tag);
+    }
+
+    /**
+     * Gets the number of native buffers held by the frame, including derived images, the kernels and lookup tables used to compute them, and every buffer allocated by the frame's buffer pool.
+     *
+     * @return The number of live buffers.
+     */
+    synchronized int getNumBuffers() {
+        int numBuffers = matPool.getNumBuffers();
+        for (DerivedImage derivedImage : derivedImages) numBuffers += derivedImage.constant == null ? 1 : 2;
+        return numBuffers;
+    }
+
+    /**
+     * Gets the frame's image. This is the camera's frame itself, so it must not be written to or released.
+     *
+     * @return The frame's image.
+     */
+    @Contract(pure = true)
+    public synchronized Mat getImage() {
+        ExceptionChecker.assertNonNull(image, new DumpsterFireException("Frames can only be used from inside processFrame()."));
+        return image;
+    }
+
+    /**
+     * Gets the sequence number of the frame. Sequence numbers start at 1 and count up by one for every frame the camera delivers.
+     *
+     * @return The frame's sequence number.
+     */
+    @Contract(pure = true)
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the time at which the frame was captured, as read from the robot's clock source. This is the time the frame arrived minus the camera's capture latency,
+     * and is comparable between cameras and with any other time read from the same clock.
+     *
+     * @param timeUnit The unit of the returned time.
+     * @return The frame's capture time.
+     */
+    public synchronized double getCaptureTime(@NotNull HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(captureTimeNanos, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Gets the capture time of the frame in nanoseconds.
+     *
+     * @return The frame's capture time in nanoseconds.
+     */
+    synchronized long getCaptureTimeNanos() {
+        return captureTimeNanos;
+    }
+
+    /**
+     * Acquires a scratch buffer from the frame's buffer pool. The buffer is returned to the pool at the end of the frame, so it must not be released or kept past the end of processFrame().
+     *
+     * @param rows The number of rows in the buffer.
+     * @param cols The number of columns in the buffer.
+     * @param type The OpenCV type of the buffer, such as CvType.CV_8UC3.
+     * @return The buffer. Its contents are undefined.
+     */
+    public synchronized Mat acquire(int rows, int cols, int type) {
+        ExceptionChecker.assertNonNull(image, new DumpsterFireException("Frames can only be used from inside processFrame()."));
+        Mat mat = matPool.acquire(rows, cols, type);
+        acquiredMats.add(mat);
+        return mat;
+    }
+
+    /**
+     * Acquires a scratch buffer with the same size and type as another image.
+     *
+     * @param template The image whose size and type to use.
+     * @return The buffer. Its contents are undefined.
+     * @see #acquire(int, int, int)
+     */
+    public Mat acquireLike(@NotNull Mat template) {
+        return acquire(template.rows(), template.cols(), template.type());
+    }
+
+    /**
+     * Returns an acquired scratch buffer to the pool before the end of the frame, so it can be acquired again during the same frame.
+     *
+     * @param mat The buffer to return. Must not be used after it is returned.
+     */
+    public synchronized void recycle(@NotNull Mat mat) {
+        for (int i = acquiredMats.size() - 1; i >= 0; i--) {
+            if (acquiredMats.get(i) == mat) {
+                acquiredMats.remove(i);
+                matPool.recycle(mat);
+                return;
+            }
+        }
+        throw new DumpsterFireException("Only buffers acquired from this frame can be recycled.");
+    }
+
+    /**
+     * Gets an image converted to another colorspace.
+     *
+     * @param source             The frame's image or another derived image of this frame.
+     * @param colorConversionCode The OpenCV color conversion code, such as Imgproc.COLOR_RGBA2GRAY.
+     * @return The converted image. Shared, so it must not be written to or released.
+     * @see Imgproc#cvtColor(Mat, Mat, int)
+     */
+    public Mat convertColor(@NotNull Mat source, int colorConversionCode) {
+        return derive(source, new ImageStage.ConvertColor(colorConversionCode));
+    }
+
+    /**
+     * Gets a single channel of an image.
+     *
+     * @param source  The frame's image or another derived image of this frame.
+     * @param channel The index of the channel.
+     * @return The channel as a single channel image. Shared, so it must not be written to or released.
+     * @see Core#extractChannel(Mat, Mat, int)
+     */
+    public Mat extractChannel(@NotNull Mat source, int channel) {
+        return derive(source, new ImageStage.ExtractChannel(channel));
+    }
+
+    /**
+     * Gets an image downscaled to half its width and height.
+     *
+     * @param source The frame's image or another derived image of this frame.
+     * @return The downscaled image. Shared, so it must not be written to or released.
+     */
+    public Mat downscale(@NotNull Mat source) {
+        return derive(source, ImageStage.Downscale.INSTANCE);
+    }
+
+    /**
+     * Gets the frame's image downscaled by a power of two. Each level halves the width and height of the level before it.
+     *
+     * @param level The number of times to halve the image. Level 0 is the frame's image.
+     * @return The downscaled image. Shared, so it must not be written to or released.
+     */
+    public Mat getScaled(int level) {
+        ExceptionChecker.assertTrue(level >= 0, new DumpsterFireException("Scale level cannot be negative."));
+        Mat scaled = getImage();
+        for (int i = 0; i < level; i++) scaled = downscale(scaled);
+        return scaled;
+    }
+
+    /**
+     * Gets the frame's image converted to grayscale.
+     *
+     * @return The grayscale image. Shared, so it must not be written to or released.
+     */
+    public Mat getGray() {
+        return convertColor(getImage(), Imgproc.COLOR_RGBA2GRAY);
+    }
+
+    /**
+     * Gets the frame's image converted to the HSV colorspace.
+     *
+     * @return The HSV image. Shared, so it must not be written to or released.
+     */
+    public Mat getHSV() {
+        return convertColor(convertColor(getImage(), Imgproc.COLOR_RGBA2RGB), Imgproc.COLOR_RGB2HSV);
+    }
+
+    /**
+     * Gets the output of a stage in an image processing graph, computing it and any stages it depends on that no pipeline has asked for yet this frame.
+     *
+     * @param stage The stage to evaluate.
+     * @return The stage's output. Shared, so it must not be written to or released.
+     * @see ImageStage
+     */
+    public Mat evaluate(@NotNull ImageStage stage) {
+        if (stage.isInput()) return getImage();
+        return derive(evaluate(stage.getBase()), stage.getPlannedOperation());
+    }
+
+    /**
+     * Gets a derived image, computing it if no pipeline has asked for it yet this frame.
+     *
+     * @param source    The image to derive from.
+     * @param operation The operation used to derive the image.
+     * @return The derived image.
+     */
+    private Mat derive(@NotNull Mat source, @NotNull ImageStage.Operation operation) {
+        DerivedImage derivedImage = getDerivedImage(source, operation);
+
+        //Only one thread computes each derived image. Other threads asking for the same image wait for it, while different images can be computed at the same time.
+        synchronized (derivedImage) {
+            if (!derivedImage.valid) {
+                operation.apply(source, derivedImage.mat, derivedImage.constant);
+                derivedImage.valid = true;
+            }
+        }
+        return derivedImage.mat;
+    }
+
+    /**
+     * Finds or creates the cache entry of a derived image and marks it as used this frame.
+     *
+     * @param source    The image to derive from.
+     * @param operation The operation used to derive the image.
+     * @return The cache entry of the derived image.
+     */
+    private synchronized DerivedImage getDerivedImage(@NotNull Mat source, @NotNull ImageStage.Operation operation) {
+        ExceptionChecker.assertNonNull(image, new DumpsterFireException("Frames can only be used from inside processFrame()."));
+
+        DerivedImage parent = null;
+        if (source != image) {
+            for (DerivedImage derivedImage : derivedImages) {
+                if (derivedImage.mat == source) {
+                    parent = derivedImage;
+                    break;
+                }
+            }
+            ExceptionChecker.assertNonNull(parent, new DumpsterFireException("Images can only be derived from the frame's image or from another derived image of the same frame."));
+            parent.used = true;
+        }
+
+        for (DerivedImage derivedImage : derivedImages) {
+            if (derivedImage.parent == parent && derivedImage.operation.equals(operation)) {
+                derivedImage.used = true;
+                return derivedImage;
+            }
+        }
+
+        DerivedImage derivedImage = new DerivedImage(parent, operation);
+        derivedImage.used = true;
+        derivedImages.add(derivedImage);
+        return derivedImage;
+    }
+
+    /**
+     * A class storing a derived image and how it was derived.
+     */
+    private static final class DerivedImage {
+        //The derived image this image is derived from. Null if it is derived from the frame's image.
+        private final DerivedImage parent;
+        //The operation used to derive the image.
+        private final ImageStage.Operation operation;
+        //The buffer holding the derived image.
+        private final Mat mat = new Mat();
+        //The constant image the operation needs, such as a kernel or lookup table. Null if the operation does not need one.
+        private final Mat constant;
+        //Whether the buffer holds the derived image of the current frame.
+        private boolean valid = false;
+        //Whether the derived image was requested during the current frame.
+        private boolean used = false;
+
+        /**
+         * The constructor for DerivedImage.
+         *
+         * @param parent    The derived image this image is derived from, or null if it is derived from the frame's image.
+         * @param operation The operation used to derive the image.
+         */
+        private DerivedImage(DerivedImage parent, @NotNull ImageStage.Operation operation) {
+            this.parent = parent;
+            this.operation = operation;
+            constant = operation.createConstant();
+        }
+
+        /**
+         * Releases the buffer holding the derived image and the operation's constant image.
+         */
+        private void release() {
+            mat.release();
+            if (constant != null) constant.release();
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.opencv.core.Mat;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+import org.opencv.videoio.VideoCapture;
+import org.opencv.videoio.Videoio;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds recorded images or video from disk through a HALTrackerAPI, so pipelines can be tuned, benchmarked and compared without a robot or a camera.
+ * <p>
+ * Pipelines are linked exactly like they are in Robot.init(): a pipeline's Camera annotation sets its processing rate and frame interval,
+ * and only pipelines linked to the replay's camera id (or to every camera) are added. Frames are converted to RGBA, like the frames delivered by a camera.
+ * <p>
+ * Frames can be replayed at their recorded timing, in which case the replay waits between frames and stamps them with the real time they were delivered,
+ * or as fast as possible, in which case frames are stamped with their recorded time, so rate-limited pipelines skip the same frames they would on the robot.
+ * Either way, the replay's VisionStats hold the processing time and rate of every pipeline once the replay is done.
+ * <p>
+ * Replays do not need a camera, a viewport or an opmode, but they do need OpenCV's native library, which must be loaded before a replay is run.
+ * On the Robot Controller it is already loaded. HAL's local unit tests run on a plain JVM without it, so replays are not covered by them.
+ * To run a replay off-robot, put a desktop build of OpenCV that matches the robot's OpenCV version on the classpath, call
+ * {@code System.loadLibrary(Core.NATIVE_LIBRARY_NAME)}, and then run something like
+ * {@code VisionReplay.fromImageFolder("recordings/run1", "Webcam 1").addPipeline(new MyPipeline()).run()} from a main method.
+ * <p>
+ * Pipelines added off-robot should be added with addPipeline(), since addSubSystem() takes a VisionSubSystem, and creating one needs a Robot and an OpMode.
+ * On a plain JVM, those can be made by giving the opmode a SimHardwareMap, the same way SimOpModeRunner does.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see HALTrackerAPI
+ * @see HALPipeline
+ * @see VisionStats
+ * @since 1.1.8
+ */
+public final class VisionReplay {
+    //The file extensions of the images read from an image folder.
+    private static final String[] IMAGE_EXTENSIONS = {".png", ".jpg", ".jpeg", ".bmp", ".tif", ".tiff"};
+    //The frame rate used for image folders if no other frame rate is set.
+    private static final double DEFAULT_FRAME_RATE = 30;
+    //The recorded frames to replay.
+    private final FrameSource source;
+    //The id of the camera the replay plays the part of.
+    private final String cameraId;
+    //The tracker the frames are fed through.
+    private final HALTrackerAPI trackerAPI = new HALTrackerAPI();
+    //The clock that reads the recorded time of the current frame. Used when replaying as fast as possible.
+    private final RecordedClock recordedClock = new RecordedClock();
+    //The timing frames are replayed at.
+    private Timing timing = Timing.AS_FAST_AS_POSSIBLE;
+
+    /**
+     * An enum representing the timing frames can be replayed at.
+     */
+    public enum Timing {
+        RECORDED, AS_FAST_AS_POSSIBLE
+    }
+
+    /**
+     * The constructor for VisionReplay.
+     *
+     * @param source   The recorded frames to replay.
+     * @param cameraId The id of the camera the replay plays the part of.
+     */
+    private VisionReplay(@NotNull FrameSource source, @NotNull String cameraId) {
+        this.source = source;
+        this.cameraId = cameraId;
+    }
+
+    /**
+     * Creates a replay of a folder of images. Images are replayed in filename order at 30 fps unless another frame rate is set.
+     *
+     * @param folderPath The path of the folder.
+     * @param cameraId   The id of the camera the replay plays the part of.
+     * @return The replay.
+     */
+    public static VisionReplay fromImageFolder(@NotNull String folderPath, @NotNull String cameraId) {
+        return new VisionReplay(new ImageFolderSource(folderPath), cameraId);
+    }
+
+    /**
+     * Creates a replay of a video file. Frames are replayed at the timestamps stored in the video.
+     *
+     * @param videoPath The path of the video file.
+     * @param cameraId  The id of the camera the replay plays the part of.
+     * @return The replay.
+     */
+    public static VisionReplay fromVideo(@NotNull String videoPath, @NotNull String cameraId) {
+        return new VisionReplay(new VideoSource(videoPath), cameraId);
+    }
+
+    /**
+     * Sets the timing frames are replayed at.
+     *
+     * @param timing The timing frames are replayed at.
+     * @return This replay.
+     */
+    public VisionReplay setTiming(@NotNull Timing timing) {
+        this.timing = timing;
+        return this;
+    }
+
+    /**
+     * Sets the frame rate the frames were recorded at. Only used for image folders, since videos store their own timestamps.
+     *
+     * @param fps The frame rate in frames per second.
+     * @return This replay.
+     */
+    public VisionReplay setFrameRate(double fps) {
+        ExceptionChecker.assertTrue(fps > 0, new DumpsterFireException("Frame rate must be positive."));
+        source.setFrameRate(fps);
+        return this;
+    }
+
+    /**
+     * Adds every pipeline of a vision subsystem that is linked to the replay's camera or to every camera.
+     * Creating the subsystem needs a robot, so off-robot replays usually use addPipeline() instead.
+     *
+     * @param visionSubSystem The vision subsystem whose pipelines to add.
+     * @return This replay.
+     * @see Robot#linkPipeline(HALPipeline)
+     */
+    public VisionReplay addSubSystem(@NotNull VisionSubSystem visionSubSystem) {
+        for (HALPipeline pipeline : visionSubSystem.getPipelines()) {
+            String linkedCameraId = Robot.linkPipeline(pipeline);
+            if (cameraId.equals(linkedCameraId) || Robot.ALL_CAMERAS_ID.equals(linkedCameraId)) trackerAPI.addPipeline(pipeline);
+        }
+        return this;
+    }
+
+    /**
+     * Adds a pipeline to the replay, whichever camera it is linked to. Its Camera annotation still sets its processing rate and frame interval.
+     *
+     * @param pipeline The pipeline to add.
+     * @return This replay.
+     */
+    public VisionReplay addPipeline(@NotNull HALPipeline pipeline) {
+        Robot.linkPipeline(pipeline);
+        trackerAPI.addPipeline(pipeline);
+        return this;
+    }
+
+    /**
+     * Replays every recorded frame through the pipelines, then closes the recording. Any exception thrown by a pipeline is rethrown.
+     *
+     * @return The number of frames replayed. Fewer than the recording holds if the replaying thread was interrupted.
+     */
+    public long run() {
+        trackerAPI.setClock(timing == Timing.RECORDED ? HALClock.SYSTEM : recordedClock);
+
+        Mat frame = new Mat();
+        Mat rgba = new Mat();
+        long numFrames = 0;
+        try {
+            long startTime = System.nanoTime();
+            while (!Thread.currentThread().isInterrupted() && source.read(frame)) {
+                long recordedTime = source.getTimestampNanos();
+                if (timing == Timing.RECORDED) {
+                    long deadline = startTime + recordedTime;
+                    for (long now = System.nanoTime(); now < deadline && !Thread.currentThread().isInterrupted(); now = System.nanoTime()) {
+                        LockSupport.parkNanos(deadline - now);
+                    }
+                }
+                recordedClock.time = recordedTime;
+
+                Imgproc.cvtColor(frame, rgba, frame.channels() == 1 ? Imgproc.COLOR_GRAY2RGBA : Imgproc.COLOR_BGR2RGBA);
+                trackerAPI.processFrame(rgba);
+                numFrames++;
+            }
+        } finally {
+            source.close();
+            frame.release();
+            rgba.release();
+            trackerAPI.release();
+        }
+        return numFrames;
+    }
+
+    /**
+     * Gets the processing stats of the replay's pipelines.
+     *
+     * @return The replay's processing stats.
+     * @see VisionStats
+     */
+    @Contract(pure = true)
+    public VisionStats getStats() {
+        return trackerAPI.getStats();
+    }
+
+    /**
+     * A source of recorded frames.
+     */
+    private interface FrameSource {
+        /**
+         * Reads the next frame.
+         *
+         * @param dst The image to read the frame into.
+         * @return Whether a frame was read. False once every frame has been read.
+         */
+        boolean read(@NotNull Mat dst);
+
+        /**
+         * Gets the time the last frame read was recorded at, measured from the first frame.
+         *
+         * @return The recorded time of the last frame in nanoseconds.
+         */
+        long getTimestampNanos();
+
+        /**
+         * Sets the frame rate the frames were recorded at, if the source does not store its own timestamps.
+         *
+         * @param fps The frame rate in frames per second.
+         */
+        void setFrameRate(double fps);
+
+        /**
+         * Closes the source.
+         */
+        void close();
+    }
+
+    /**
+     * A source reading every image in a folder in filename order.
+     */
+    private static final class ImageFolderSource implements FrameSource {
+        //The images in the folder, in filename order.
+        private final List<File> files = new ArrayList<>();
+        //The index of the next image to read.
+        private int nextIdx = 0;
+        //The time between frames in nanoseconds.
+        private double periodNanos = 1e9 / DEFAULT_FRAME_RATE;
+
+        /**
+         * The constructor for ImageFolderSource.
+         *
+         * @param folderPath The path of the folder.
+         */
+        private ImageFolderSource(@NotNull String folderPath) {
+            File[] contents = new File(folderPath).listFiles();
+            ExceptionChecker.assertNonNull(contents, new DumpsterFireException("Image folder " + folderPath + " does not exist."));
+
+            Arrays.sort(contents);
+            for (File file : contents) {
+                String name = file.getName().toLowerCase(Locale.US);
+                for (String extension : IMAGE_EXTENSIONS) {
+                    if (name.endsWith(extension)) {
+                        files.add(file);
+                        break;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean read(@NotNull Mat dst) {
+            while (nextIdx < files.size()) {
+                Mat image = Imgcodecs.imread(files.get(nextIdx++).getAbsolutePath(), Imgcodecs.IMREAD_UNCHANGED);
+                boolean readable = !image.empty();
+                if (readable) {
+                    if (image.channels() == 4) Imgproc.cvtColor(image, dst, Imgproc.COLOR_BGRA2BGR);
+                    else image.copyTo(dst);
+                }
+                image.release();
+                if (readable) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public long getTimestampNanos() {
+            return (long) ((nextIdx - 1) * periodNanos);
+        }
+
+        @Override
+        public void setFrameRate(double fps) {
+            periodNanos = 1e9 / fps;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * A source reading every frame of a video file.
+     */
+    private static final class VideoSource implements FrameSource {
+        //The video being read.
+        private final VideoCapture capture;
+        //The time the last frame read was recorded at, in nanoseconds.
+        private long timestampNanos = 0;
+
+        /**
+         * The constructor for VideoSource.
+         *
+         * @param videoPath The path of the video file.
+         */
+        private VideoSource(@NotNull String videoPath) {
+            capture = new VideoCapture(videoPath);
+            ExceptionChecker.assertTrue(capture.isOpened(), new DumpsterFireException("Could not open video " + videoPath + '.'));
+        }
+
+        @Override
+        public boolean read(@NotNull Mat dst) {
+            if (!capture.read(dst)) return false;
+            timestampNanos = (long) HALTimeUnit.convert(capture.get(Videoio.CAP_PROP_POS_MSEC), HALTimeUnit.MILLISECONDS, HALTimeUnit.NANOSECONDS);
+            return true;
+        }
+
+        @Override
+        public long getTimestampNanos() {
+            return timestampNanos;
+        }
+
+        @Override
+        public void setFrameRate(double fps) {
+        }
+
+        @Override
+        public void close() {
+            capture.release();
+        }
+    }
+
+    /**
+     * A clock that reads the recorded time of the frame currently being replayed.
+     */
+    private static final class RecordedClock extends HALClock {
+        //The recorded time of the current frame in nanoseconds.
+        private volatile long time = 0;
+
+        @Override
+        public long nanoTime() {
+            return time;
+        }
+
+        @Override
+        @Contract(pure = true)
+        public boolean isRealTime() {
+            return false;
+        }
+    }
+}
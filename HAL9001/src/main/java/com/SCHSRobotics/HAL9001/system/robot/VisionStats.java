@@ -0,0 +1,305 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import android.os.Debug;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.LatencyHistogram;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A class used to record how a single camera's vision processing is performing.
+ * <p>
+ * For the camera as a whole and for each of its pipelines, this records a histogram of processing times, a histogram of capture-to-result latencies
+ * (the time from a frame arriving to the pipeline finishing with it, as read from the frame clock) and the effective processing rate.
+ * The camera also reports how many frames were delivered, dropped and processed, and how many native Mat buffers HAL is holding for it,
+ * which should stay flat once the camera has warmed up. Stats are always recorded, since recording never allocates.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see HALTrackerAPI
+ * @see CameraManager
+ * @see LatencyHistogram
+ * @see com.SCHSRobotics.HAL9001.system.gui.menus.VisionStatsMenu
+ * @since 1.1.8
+ */
+public final class VisionStats {
+    //The tracker whose frames are counted.
+    private final HALTrackerAPI trackerAPI;
+    //The stats of every pipeline run on a frame, taken together.
+    private final PipelineStats frameStats = new PipelineStats("all pipelines");
+    //The stats of each pipeline on the camera, in the order the pipelines were added.
+    private final List<PipelineStats> pipelineStats = new CopyOnWriteArrayList<>();
+
+    /**
+     * The constructor for VisionStats.
+     *
+     * @param trackerAPI The tracker whose frames are counted.
+     */
+    VisionStats(@NotNull HALTrackerAPI trackerAPI) {
+        this.trackerAPI = trackerAPI;
+    }
+
+    /**
+     * Adds a pipeline's stats to the camera.
+     *
+     * @param stats The pipeline's stats.
+     */
+    void addPipeline(@NotNull PipelineStats stats) {
+        pipelineStats.add(stats);
+    }
+
+    /**
+     * Removes a pipeline's stats from the camera.
+     *
+     * @param stats The pipeline's stats.
+     */
+    void removePipeline(@NotNull PipelineStats stats) {
+        pipelineStats.remove(stats);
+    }
+
+    /**
+     * Gets the stats of every pipeline run on a frame, taken together. The processing time is the time taken to run all the pipelines due on a frame.
+     *
+     * @return The stats of the camera's frames.
+     */
+    @Contract(pure = true)
+    public PipelineStats getFrameStats() {
+        return frameStats;
+    }
+
+    /**
+     * Gets the number of pipelines on the camera.
+     *
+     * @return The number of pipelines.
+     */
+    public int getNumPipelines() {
+        return pipelineStats.size();
+    }
+
+    /**
+     * Gets the stats of one of the camera's pipelines.
+     *
+     * @param pipelineIdx The index of the pipeline, in the order the pipelines were added.
+     * @return The pipeline's stats.
+     */
+    public PipelineStats getPipelineStats(int pipelineIdx) {
+        return pipelineStats.get(pipelineIdx);
+    }
+
+    /**
+     * Gets a snapshot of the stats of every pipeline on the camera. Unlike getNumPipelines() followed by getPipelineStats(),
+     * this is safe to call while pipelines are being added or removed.
+     *
+     * @return The stats of every pipeline, in the order the pipelines were added.
+     */
+    public PipelineStats[] getAllPipelineStats() {
+        return pipelineStats.toArray(new PipelineStats[0]);
+    }
+
+    /**
+     * Gets the number of frames the camera has delivered.
+     *
+     * @return The number of frames delivered.
+     */
+    public long getFramesDelivered() {
+        return trackerAPI.getNumFramesDelivered();
+    }
+
+    /**
+     * Gets the number of frames that were dropped because a newer frame arrived while the camera's pipelines were busy.
+     *
+     * @return The number of dropped frames. Always 0 if the camera does not use a frame mailbox.
+     * @see FrameMailbox
+     */
+    public long getFramesDropped() {
+        return trackerAPI.getNumFramesDropped();
+    }
+
+    /**
+     * Gets the number of frames the camera's pipelines have finished processing.
+     *
+     * @return The number of processed frames.
+     */
+    public long getFramesProcessed() {
+        return frameStats.getNumRuns();
+    }
+
+    /**
+     * Gets the number of native Mat buffers HAL is holding for the camera. This includes derived images, pooled scratch buffers and mailbox buffers,
+     * but not Mats allocated directly by pipelines.
+     *
+     * @return The number of live Mat buffers.
+     */
+    public int getNumLiveMats() {
+        return trackerAPI.getNumLiveMats();
+    }
+
+    /**
+     * Gets the number of bytes currently allocated on the native heap by the whole app. Mats leaked by pipelines show up as steady growth here.
+     *
+     * @return The number of allocated native heap bytes.
+     * @see Debug#getNativeHeapAllocatedSize()
+     */
+    public static long getNativeHeapAllocated() {
+        return Debug.getNativeHeapAllocatedSize();
+    }
+
+    /**
+     * Gets a one-line summary of the camera's frame counters.
+     *
+     * @return The summary in the format "fps delivered/dropped/processed mats".
+     */
+    public String getSummary() {
+        return String.format(Locale.US, "%.1f fps %d/%d/%d frames %d mats",
+                frameStats.getFps(),
+                getFramesDelivered(),
+                getFramesDropped(),
+                getFramesProcessed(),
+                getNumLiveMats());
+    }
+
+    /**
+     * A class storing the processing times, latencies and processing rate of a pipeline, or of every pipeline on a frame taken together.
+     * Recorded by the thread processing the frame and safe to read from any other thread.
+     */
+    public static final class PipelineStats {
+        //The weight given to each new frame interval in the moving average used to compute the processing rate.
+        private static final double PERIOD_SMOOTHING = 0.1;
+        //The name of the pipeline.
+        private final String name;
+        //The histogram of processing times.
+        private final LatencyHistogram processingTime = new LatencyHistogram();
+        //The histogram of capture-to-result latencies.
+        private final LatencyHistogram latency = new LatencyHistogram();
+        //The number of frames processed.
+        private long numRuns = 0;
+        //The time at which the last frame finished processing, in nanoseconds.
+        private long lastRunNanos;
+        //The moving average of the time between frames finishing processing, in nanoseconds.
+        private double avgPeriodNanos = 0;
+
+        /**
+         * The constructor for PipelineStats.
+         *
+         * @param name The name of the pipeline.
+         */
+        PipelineStats(@NotNull String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records a processed frame.
+         *
+         * @param processingNanos How long processing the frame took, in nanoseconds.
+         * @param latencyNanos    The time from the frame arriving to it finishing processing, in nanoseconds.
+         * @param endNanos        The system time at which the frame finished processing, in nanoseconds.
+         */
+        synchronized void record(long processingNanos, long latencyNanos, long endNanos) {
+            processingTime.record(processingNanos);
+            latency.record(latencyNanos);
+
+            if (numRuns > 0) {
+                long period = endNanos - lastRunNanos;
+                avgPeriodNanos = numRuns == 1 ? period : avgPeriodNanos + PERIOD_SMOOTHING * (period - avgPeriodNanos);
+            }
+            lastRunNanos = endNanos;
+            numRuns++;
+        }
+
+        /**
+         * Clears all recorded frames.
+         */
+        public synchronized void reset() {
+            processingTime.reset();
+            latency.reset();
+            numRuns = 0;
+            avgPeriodNanos = 0;
+        }
+
+        /**
+         * Gets the name of the pipeline.
+         *
+         * @return The name of the pipeline.
+         */
+        @Contract(pure = true)
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of frames processed.
+         *
+         * @return The number of frames processed.
+         */
+        public synchronized long getNumRuns() {
+            return numRuns;
+        }
+
+        /**
+         * Gets the effective processing rate. The rate falls off if the pipeline stops processing frames, such as when it is paused.
+         *
+         * @return The number of frames processed per second, or 0 if fewer than two frames have been processed.
+         */
+        public synchronized double getFps() {
+            if (numRuns < 2) return 0;
+            double period = Math.max(avgPeriodNanos, System.nanoTime() - lastRunNanos);
+            return period <= 0 ? 0 : 1e9 / period;
+        }
+
+        /**
+         * Gets the processing time at a given percentile.
+         *
+         * @param percentile The percentile to get, from 0 to 100.
+         * @param timeUnit   The unit of time to return.
+         * @return The processing time at the given percentile, or 0 if nothing has been recorded.
+         */
+        public synchronized double getProcessingTime(double percentile, @NotNull HALTimeUnit timeUnit) {
+            return processingTime.getPercentile(percentile, timeUnit);
+        }
+
+        /**
+         * Gets the longest processing time.
+         *
+         * @param timeUnit The unit of time to return.
+         * @return The longest processing time, or 0 if nothing has been recorded.
+         */
+        public synchronized double getMaxProcessingTime(@NotNull HALTimeUnit timeUnit) {
+            return processingTime.getMax(timeUnit);
+        }
+
+        /**
+         * Gets the capture-to-result latency at a given percentile.
+         *
+         * @param percentile The percentile to get, from 0 to 100.
+         * @param timeUnit   The unit of time to return.
+         * @return The latency at the given percentile, or 0 if nothing has been recorded.
+         */
+        public synchronized double getLatency(double percentile, @NotNull HALTimeUnit timeUnit) {
+            return latency.getPercentile(percentile, timeUnit);
+        }
+
+        /**
+         * Gets a one-line summary of the pipeline's stats in milliseconds.
+         *
+         * @return The summary in the format "name fps time p50/p95/max latency p50/p95".
+         */
+        public synchronized String getSummary() {
+            return String.format(Locale.US, "%s %.1f fps %.1f/%.1f/%.1f lat %.1f/%.1f",
+                    name,
+                    getFps(),
+                    processingTime.getPercentile(50, HALTimeUnit.MILLISECONDS),
+                    processingTime.getPercentile(95, HALTimeUnit.MILLISECONDS),
+                    processingTime.getMax(HALTimeUnit.MILLISECONDS),
+                    latency.getPercentile(50, HALTimeUnit.MILLISECONDS),
+                    latency.getPercentile(95, HALTimeUnit.MILLISECONDS));
+        }
+    }
+}
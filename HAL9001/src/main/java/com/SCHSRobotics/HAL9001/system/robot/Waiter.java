@@ -0,0 +1,147 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+import com.SCHSRobotics.HAL9001.util.misc.WaitSignal;
+
+import org.firstinspires.ftc.robotcore.external.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A static class containing the waiting logic shared by SubSystem and HALProgram.
+ * Instead of sleeping in 1 millisecond increments, the waiting thread is parked until the deadline passes, the next tick of the runner is due,
+ * or, when waiting on a condition, the robot's wait signal fires. The wait signal fires after every loop and every time a subsystem refreshes the hardware snapshot.
+ * While other threads are signalling, conditions are only polled on a slow fallback timer in case they depend on something that never signals.
+ * When nothing else is signalling, such as in a single-threaded autonomous, the waiting thread is the only one refreshing the hardware,
+ * so conditions are polled every tick instead.
+ * <p>
+ * Deadlines and ticks are measured with the robot's clock. When the clock does not advance in real time, such as in the simulator,
+ * the waiting thread yields instead of parking, since time only moves forward when the thread refreshes the hardware snapshot.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SubSystem
+ * @see HALProgram
+ * @see WaitSignal
+ * @since 1.1.8
+ */
+final class Waiter {
+    //The default period, in nanoseconds, between runs of the runner and between checks of a condition. Matches the old 1 ms sleep.
+    static final long DEFAULT_TICK_PERIOD_NANOS = 1_000_000;
+    //The longest time, in nanoseconds, to park without checking whether the opmode is still active.
+    private static final long MAX_PARK_NANOS = 10_000_000;
+    //The period, in nanoseconds, between checks of a condition while other threads are signalling state changes.
+    private static final long CONDITION_POLL_PERIOD_NANOS = 10_000_000;
+    //Used for waits that have no deadline.
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * Private constructor for Waiter to make it a static class.
+     */
+    private Waiter() {
+    }
+
+    /**
+     * Waits for a specified number of milliseconds.
+     *
+     * @param robot           The robot whose opmode must be active for the wait to continue.
+     * @param millis          The number of milliseconds to wait.
+     * @param runner          The code to run at a fixed rate while waiting, or null to not run anything.
+     * @param tickPeriodNanos The period between runs of the runner, in nanoseconds.
+     */
+    static void waitTime(@NotNull Robot robot, long millis, @Nullable Runnable runner, long tickPeriodNanos) {
+        long start = robot.getClock().nanoTime();
+        long deadline = start + (long) HALTimeUnit.convert(millis, HALTimeUnit.MILLISECONDS, HALTimeUnit.NANOSECONDS);
+        waitFor(robot, deadline, null, true, runner, tickPeriodNanos);
+    }
+
+    /**
+     * Waits until a condition returns the given value.
+     *
+     * @param robot           The robot whose opmode must be active for the wait to continue.
+     * @param condition       The boolean condition to wait on.
+     * @param stopValue       The value of the condition that ends the wait.
+     * @param runner          The code to run at a fixed rate while waiting, or null to not run anything.
+     * @param tickPeriodNanos The period between runs of the runner, in nanoseconds. Also used as the polling period of the condition if there is no runner and nothing else is signalling.
+     */
+    static void waitOn(@NotNull Robot robot, @NotNull Supplier<Boolean> condition, boolean stopValue, @Nullable Runnable runner, long tickPeriodNanos) {
+        waitFor(robot, NO_DEADLINE, condition, stopValue, runner, tickPeriodNanos);
+    }
+
+    /**
+     * Converts a tick rate into a tick period.
+     *
+     * @param tickHz The tick rate in hertz. Non-positive rates use the default tick period.
+     * @return The tick period in nanoseconds.
+     */
+    static long toTickPeriod(double tickHz) {
+        return tickHz <= 0 ? DEFAULT_TICK_PERIOD_NANOS : Math.max(1, (long) HALTimeUnit.convert(1 / tickHz, HALTimeUnit.SECONDS, HALTimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Waits until the deadline passes, the condition returns the stop value, or the opmode stops, whichever comes first.
+     *
+     * @param robot           The robot whose opmode must be active for the wait to continue.
+     * @param deadline        The robot clock timestamp at which to stop waiting.
+     * @param condition       The boolean condition to wait on, or null to only wait on the deadline.
+     * @param stopValue       The value of the condition that ends the wait.
+     * @param runner          The code to run at a fixed rate while waiting, or null to not run anything.
+     * @param tickPeriodNanos The period between runs of the runner, in nanoseconds.
+     */
+    private static void waitFor(@NotNull Robot robot, long deadline, @Nullable Supplier<Boolean> condition, boolean stopValue, @Nullable Runnable runner, long tickPeriodNanos) {
+        WaitSignal signal = robot.getWaitSignal();
+        HALClock clock = robot.getClock();
+        boolean hasDeadline = deadline != NO_DEADLINE;
+        long nextTick = clock.nanoTime();
+        //Whether another thread signalled during the last park. Starts false so a lone waiting thread polls at the tick rate from the start.
+        boolean othersSignalling = false;
+        while (robot.opModeIsActive()) {
+            //The waiter's own refreshes don't signal, otherwise two waiting threads would keep waking each other up.
+            robot.refreshHardwareSnapshot(false);
+
+            //The version is read before checking the condition so that a signal sent after the check still wakes this thread.
+            long seenVersion = signal.getVersion();
+            if (condition != null && condition.get() == stopValue) return;
+
+            long now = clock.nanoTime();
+            if (hasDeadline && now - deadline >= 0) return;
+
+            if (runner != null && now - nextTick >= 0) {
+                runner.run();
+                nextTick += tickPeriodNanos;
+                if (nextTick - now <= 0) nextTick = now + tickPeriodNanos;
+                //The runner usually changes what the condition depends on, so the condition is checked again right away.
+                continue;
+            }
+
+            long wakeTime;
+            if (runner != null) wakeTime = nextTick;
+            else if (condition != null) wakeTime = now + (othersSignalling ? CONDITION_POLL_PERIOD_NANOS : tickPeriodNanos);
+            else wakeTime = deadline;
+            if (wakeTime - now > MAX_PARK_NANOS) wakeTime = now + MAX_PARK_NANOS;
+            if (hasDeadline && deadline - wakeTime < 0) wakeTime = deadline;
+
+            robot.flushMotorWrites();
+            if (!clock.isRealTime()) {
+                Thread.yield();
+                continue;
+            }
+
+            //Parks for the same amount of time on the real clock, since the robot clock may be latched to the start of the loop.
+            //Only conditions can be changed by a state change, so waits without one ignore the wait signal.
+            if (condition == null) {
+                LockSupport.parkNanos(wakeTime - now);
+                if (Thread.currentThread().isInterrupted()) return;
+            } else {
+                if (!signal.awaitChange(seenVersion, System.nanoTime() + (wakeTime - now))) return;
+                //The waiter's own refreshes don't signal, so a version change means another thread is signalling.
+                othersSignalling = signal.getVersion() != seenVersion;
+            }
+        }
+    }
+}
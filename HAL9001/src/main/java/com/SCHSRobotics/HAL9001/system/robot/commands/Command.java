@@ -0,0 +1,157 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import com.SCHSRobotics.HAL9001.system.robot.SubSystem;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An abstract class representing a non-blocking action that runs over multiple loops.
+ * <p>
+ * A command is started with init(), has execute() called once per loop until isFinished() returns true, and then has end() called.
+ * Commands declare the subsystems they require, and the command scheduler will never run two commands that require the same subsystem at the same time.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see CommandScheduler
+ * @see SubSystem
+ * @since 1.1.8
+ */
+public abstract class Command {
+    //The subsystems this command requires.
+    private final Set<SubSystem> requirements = new HashSet<>();
+
+    /**
+     * The constructor for Command.
+     *
+     * @param requirements The subsystems this command requires.
+     */
+    protected Command(@NotNull SubSystem... requirements) {
+        addRequirements(requirements);
+    }
+
+    /**
+     * Adds subsystems to this command's requirements.
+     *
+     * @param subSystems The subsystems this command requires.
+     */
+    protected final void addRequirements(@NotNull SubSystem... subSystems) {
+        Collections.addAll(requirements, subSystems);
+    }
+
+    /**
+     * Gets the subsystems this command requires.
+     *
+     * @return An unmodifiable view of the subsystems this command requires.
+     */
+    @NotNull
+    @Contract(pure = true)
+    public final Set<SubSystem> getRequirements() {
+        return Collections.unmodifiableSet(requirements);
+    }
+
+    /**
+     * Gets whether this command requires a subsystem that another command also requires.
+     *
+     * @param other The other command.
+     * @return Whether the two commands share a required subsystem.
+     */
+    public final boolean sharesRequirements(@NotNull Command other) {
+        for (SubSystem subSystem : other.requirements) {
+            if (requirements.contains(subSystem)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs once when the command is started.
+     */
+    public void init() {
+    }
+
+    /**
+     * Runs once per loop while the command is running.
+     */
+    public void execute() {
+    }
+
+    /**
+     * Gets whether the command has finished.
+     *
+     * @return Whether the command has finished.
+     */
+    public abstract boolean isFinished();
+
+    /**
+     * Runs once when the command stops, either because it finished or because it was interrupted.
+     *
+     * @param interrupted Whether the command was interrupted before it finished.
+     */
+    public void end(boolean interrupted) {
+    }
+
+    /**
+     * Creates a command that runs this command, then the given commands, one after another.
+     *
+     * @param next The commands to run after this one.
+     * @return A sequential command group.
+     * @see SequentialCommandGroup
+     */
+    @NotNull
+    public final Command andThen(@NotNull Command... next) {
+        Command[] commands = new Command[next.length + 1];
+        commands[0] = this;
+        System.arraycopy(next, 0, commands, 1, next.length);
+        return new SequentialCommandGroup(commands);
+    }
+
+    /**
+     * Creates a command that runs this command and the given commands at the same time, finishing when all of them finish.
+     *
+     * @param others The commands to run alongside this one.
+     * @return A parallel command group.
+     * @see ParallelCommandGroup
+     */
+    @NotNull
+    public final Command alongWith(@NotNull Command... others) {
+        Command[] commands = new Command[others.length + 1];
+        commands[0] = this;
+        System.arraycopy(others, 0, commands, 1, others.length);
+        return new ParallelCommandGroup(commands);
+    }
+
+    /**
+     * Creates a command that runs this command and the given commands at the same time, finishing when any of them finishes.
+     *
+     * @param others The commands to race against this one.
+     * @return A parallel race group.
+     * @see ParallelRaceGroup
+     */
+    @NotNull
+    public final Command raceWith(@NotNull Command... others) {
+        Command[] commands = new Command[others.length + 1];
+        commands[0] = this;
+        System.arraycopy(others, 0, commands, 1, others.length);
+        return new ParallelRaceGroup(commands);
+    }
+
+    /**
+     * Creates a command that runs this command, interrupting it if it has not finished after a timeout.
+     *
+     * @param timeout  The maximum amount of time to run the command.
+     * @param timeUnit The unit of the timeout.
+     * @return A parallel race group between this command and a wait command.
+     * @see WaitCommand
+     */
+    @NotNull
+    public final Command withTimeout(double timeout, @NotNull HALTimeUnit timeUnit) {
+        return raceWith(new WaitCommand(timeout, timeUnit));
+    }
+}
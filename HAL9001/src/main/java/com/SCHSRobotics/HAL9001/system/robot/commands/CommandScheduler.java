@@ -0,0 +1,132 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scheduler that runs commands without blocking, ticking every scheduled command once per call to run().
+ * <p>
+ * Scheduling a command interrupts any running command that requires one of the same subsystems.
+ * The robot ticks its scheduler every driverControlledUpdate(), and HALProgram.runCommands() ticks it in a loop for autonomous programs.
+ * Commands are expected to be scheduled and run from a single thread.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Command
+ * @see com.SCHSRobotics.HAL9001.system.robot.Robot
+ * @since 1.1.8
+ */
+public final class CommandScheduler {
+    //The commands currently running, in the order they were scheduled.
+    private final List<Command> running = new ArrayList<>();
+    //Commands scheduled while the scheduler was running, which are started once the current run finishes.
+    private final List<Command> toSchedule = new ArrayList<>();
+    //A copy of the running commands that run() iterates over, so commands can be cancelled or interrupted while the scheduler is running.
+    private final List<Command> runSnapshot = new ArrayList<>();
+    //Whether the scheduler is currently running commands.
+    private boolean inRun = false;
+
+    /**
+     * Schedules commands, starting them immediately. Commands that are already scheduled are ignored.
+     *
+     * @param commands The commands to schedule.
+     */
+    public void schedule(@NotNull Command... commands) {
+        for (Command command : commands) {
+            if (inRun) toSchedule.add(command);
+            else start(command);
+        }
+    }
+
+    /**
+     * Runs every scheduled command once, ending and removing the ones that finish.
+     * Commands cancelled by another command during the run are not run again.
+     */
+    public void run() {
+        inRun = true;
+        runSnapshot.addAll(running);
+        try {
+            for (int i = 0; i < runSnapshot.size(); i++) {
+                Command command = runSnapshot.get(i);
+                if (!running.contains(command)) continue;
+
+                command.execute();
+                //The command may have cancelled itself while executing, in which case it has already been ended.
+                if (running.contains(command) && command.isFinished()) {
+                    running.remove(command);
+                    command.end(false);
+                }
+            }
+        } finally {
+            runSnapshot.clear();
+            inRun = false;
+        }
+
+        for (int i = 0; i < toSchedule.size(); i++) start(toSchedule.get(i));
+        toSchedule.clear();
+    }
+
+    /**
+     * Interrupts a command if it is scheduled.
+     *
+     * @param command The command to cancel.
+     */
+    public void cancel(@NotNull Command command) {
+        toSchedule.remove(command);
+        if (running.remove(command)) command.end(true);
+    }
+
+    /**
+     * Interrupts every scheduled command.
+     */
+    public void cancelAll() {
+        toSchedule.clear();
+        while (!running.isEmpty()) running.remove(running.size() - 1).end(true);
+    }
+
+    /**
+     * Gets whether a command is currently scheduled.
+     *
+     * @param command The command.
+     * @return Whether the command is scheduled.
+     */
+    @Contract(pure = true)
+    public boolean isScheduled(@NotNull Command command) {
+        return running.contains(command) || toSchedule.contains(command);
+    }
+
+    /**
+     * Gets whether there are no scheduled commands.
+     *
+     * @return Whether there are no scheduled commands.
+     */
+    @Contract(pure = true)
+    public boolean isIdle() {
+        return running.isEmpty() && toSchedule.isEmpty();
+    }
+
+    /**
+     * Starts a command, interrupting any running command that shares one of its requirements.
+     *
+     * @param command The command to start.
+     */
+    private void start(@NotNull Command command) {
+        if (running.contains(command)) return;
+
+        for (int i = running.size() - 1; i >= 0; i--) {
+            Command other = running.get(i);
+            if (other.sharesRequirements(command)) {
+                running.remove(i);
+                other.end(true);
+            }
+        }
+
+        command.init();
+        running.add(command);
+    }
+}
@@ -0,0 +1,63 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import com.SCHSRobotics.HAL9001.system.robot.SubSystem;
+
+import org.firstinspires.ftc.robotcore.external.Consumer;
+import org.firstinspires.ftc.robotcore.external.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command built from functions, used to turn existing code into a command without creating a new class.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Command
+ * @since 1.1.8
+ */
+public class FunctionalCommand extends Command {
+    //The functions run when the command starts and once per loop.
+    private final Runnable onInit, onExecute;
+    //The function used to check whether the command has finished.
+    private final Supplier<Boolean> isFinished;
+    //The function run when the command ends. Takes whether the command was interrupted.
+    private final Consumer<Boolean> onEnd;
+
+    /**
+     * The constructor for FunctionalCommand.
+     *
+     * @param onInit       The function run when the command starts.
+     * @param onExecute    The function run once per loop.
+     * @param isFinished   The function used to check whether the command has finished.
+     * @param onEnd        The function run when the command ends. Takes whether the command was interrupted.
+     * @param requirements The subsystems the command requires.
+     */
+    public FunctionalCommand(@NotNull Runnable onInit, @NotNull Runnable onExecute, @NotNull Supplier<Boolean> isFinished, @NotNull Consumer<Boolean> onEnd, @NotNull SubSystem... requirements) {
+        super(requirements);
+        this.onInit = onInit;
+        this.onExecute = onExecute;
+        this.isFinished = isFinished;
+        this.onEnd = onEnd;
+    }
+
+    @Override
+    public void init() {
+        onInit.run();
+    }
+
+    @Override
+    public void execute() {
+        onExecute.run();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return isFinished.get();
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        onEnd.accept(interrupted);
+    }
+}
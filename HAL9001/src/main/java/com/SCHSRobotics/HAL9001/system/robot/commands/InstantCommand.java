@@ -0,0 +1,41 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import com.SCHSRobotics.HAL9001.system.robot.SubSystem;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command that runs a function once and finishes immediately.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Command
+ * @since 1.1.8
+ */
+public class InstantCommand extends Command {
+    //The function to run.
+    private final Runnable action;
+
+    /**
+     * The constructor for InstantCommand.
+     *
+     * @param action       The function to run.
+     * @param requirements The subsystems the function requires.
+     */
+    public InstantCommand(@NotNull Runnable action, @NotNull SubSystem... requirements) {
+        super(requirements);
+        this.action = action;
+    }
+
+    @Override
+    public void init() {
+        action.run();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return true;
+    }
+}
@@ -0,0 +1,91 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import com.SCHSRobotics.HAL9001.system.robot.SubSystem;
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command that runs a list of commands at the same time, finishing when all of them finish.
+ * The commands may not share any required subsystems.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Command
+ * @see ParallelRaceGroup
+ * @since 1.1.8
+ */
+public class ParallelCommandGroup extends Command {
+    //The commands to run.
+    private final Command[] commands;
+    //Whether each command is still running. Indices match the commands array.
+    private final boolean[] running;
+
+    /**
+     * The constructor for ParallelCommandGroup.
+     *
+     * @param commands The commands to run at the same time.
+     */
+    public ParallelCommandGroup(@NotNull Command... commands) {
+        this.commands = commands.clone();
+        running = new boolean[commands.length];
+        addParallelRequirements(this, commands);
+    }
+
+    @Override
+    public void init() {
+        for (int i = 0; i < commands.length; i++) {
+            commands[i].init();
+            running[i] = true;
+        }
+    }
+
+    @Override
+    public void execute() {
+        for (int i = 0; i < commands.length; i++) {
+            if (!running[i]) continue;
+            commands[i].execute();
+            if (commands[i].isFinished()) {
+                commands[i].end(false);
+                running[i] = false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        for (boolean isRunning : running) {
+            if (isRunning) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        if (!interrupted) return;
+        for (int i = 0; i < commands.length; i++) {
+            if (running[i]) {
+                commands[i].end(true);
+                running[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Adds the requirements of commands that will run at the same time to a group, making sure no two of them share a subsystem.
+     *
+     * @param group    The group running the commands.
+     * @param commands The commands that will run at the same time.
+     */
+    static void addParallelRequirements(@NotNull Command group, @NotNull Command[] commands) {
+        for (int i = 0; i < commands.length; i++) {
+            for (int j = i + 1; j < commands.length; j++) {
+                ExceptionChecker.assertFalse(commands[i].sharesRequirements(commands[j]), new DumpsterFireException("Commands running in parallel cannot require the same subsystem."));
+            }
+            group.addRequirements(commands[i].getRequirements().toArray(new SubSystem[0]));
+        }
+    }
+}
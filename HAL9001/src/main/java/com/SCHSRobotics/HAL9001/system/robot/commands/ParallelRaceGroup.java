@@ -0,0 +1,65 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command that runs a list of commands at the same time, finishing as soon as any of them finishes. The rest are interrupted.
+ * The commands may not share any required subsystems.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Command
+ * @see ParallelCommandGroup
+ * @since 1.1.8
+ */
+public class ParallelRaceGroup extends Command {
+    //The commands to run.
+    private final Command[] commands;
+    //Whether each command has finished. Indices match the commands array.
+    private final boolean[] finished;
+    //Whether any command has finished.
+    private boolean anyFinished;
+
+    /**
+     * The constructor for ParallelRaceGroup.
+     *
+     * @param commands The commands to race.
+     */
+    public ParallelRaceGroup(@NotNull Command... commands) {
+        this.commands = commands.clone();
+        finished = new boolean[commands.length];
+        ParallelCommandGroup.addParallelRequirements(this, commands);
+    }
+
+    @Override
+    public void init() {
+        anyFinished = false;
+        for (int i = 0; i < commands.length; i++) {
+            finished[i] = false;
+            commands[i].init();
+        }
+    }
+
+    @Override
+    public void execute() {
+        for (int i = 0; i < commands.length; i++) {
+            commands[i].execute();
+            if (commands[i].isFinished()) {
+                finished[i] = true;
+                anyFinished = true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return anyFinished || commands.length == 0;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        for (int i = 0; i < commands.length; i++) commands[i].end(interrupted || !finished[i]);
+    }
+}
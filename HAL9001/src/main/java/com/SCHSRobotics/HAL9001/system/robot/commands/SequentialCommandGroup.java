@@ -0,0 +1,62 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import com.SCHSRobotics.HAL9001.system.robot.SubSystem;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command that runs a list of commands one after another, finishing when the last one finishes.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Command
+ * @see CommandScheduler
+ * @since 1.1.8
+ */
+public class SequentialCommandGroup extends Command {
+    //The commands to run, in order.
+    private final Command[] commands;
+    //The index of the command currently running.
+    private int currentIdx;
+
+    /**
+     * The constructor for SequentialCommandGroup.
+     *
+     * @param commands The commands to run, in order.
+     */
+    public SequentialCommandGroup(@NotNull Command... commands) {
+        this.commands = commands.clone();
+        for (Command command : commands) addRequirements(command.getRequirements().toArray(new SubSystem[0]));
+    }
+
+    @Override
+    public void init() {
+        currentIdx = 0;
+        if (commands.length > 0) commands[0].init();
+    }
+
+    @Override
+    public void execute() {
+        if (currentIdx >= commands.length) return;
+
+        Command current = commands[currentIdx];
+        current.execute();
+        if (current.isFinished()) {
+            current.end(false);
+            currentIdx++;
+            if (currentIdx < commands.length) commands[currentIdx].init();
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return currentIdx >= commands.length;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        if (interrupted && currentIdx < commands.length) commands[currentIdx].end(true);
+    }
+}
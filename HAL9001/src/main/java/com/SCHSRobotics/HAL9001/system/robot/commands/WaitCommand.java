@@ -0,0 +1,56 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.Timer;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command that does nothing for a set amount of time.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Command
+ * @see Timer
+ * @since 1.1.8
+ */
+public class WaitCommand extends Command {
+    //The timer used to track how long the command has been waiting.
+    private final Timer timer = new Timer();
+    //How long to wait.
+    private final double duration;
+    //The unit of the duration.
+    private final HALTimeUnit timeUnit;
+
+    /**
+     * The constructor for WaitCommand.
+     *
+     * @param duration How long to wait.
+     * @param timeUnit The unit of the duration.
+     */
+    public WaitCommand(double duration, @NotNull HALTimeUnit timeUnit) {
+        this.duration = duration;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * The constructor for WaitCommand.
+     *
+     * @param durationMs How long to wait in milliseconds.
+     */
+    public WaitCommand(long durationMs) {
+        this(durationMs, HALTimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void init() {
+        timer.start(duration, timeUnit);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return timer.requiredTimeElapsed();
+    }
+}
@@ -0,0 +1,33 @@
+package com.SCHSRobotics.HAL9001.system.robot.commands;
+
+import org.firstinspires.ftc.robotcore.external.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command that does nothing until a condition becomes true.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Command
+ * @since 1.1.8
+ */
+public class WaitUntilCommand extends Command {
+    //The condition that must become true for the command to finish.
+    private final Supplier<Boolean> condition;
+
+    /**
+     * The constructor for WaitUntilCommand.
+     *
+     * @param condition The condition that must become true for the command to finish.
+     */
+    public WaitUntilCommand(@NotNull Supplier<Boolean> condition) {
+        this.condition = condition;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return condition.get();
+    }
+}
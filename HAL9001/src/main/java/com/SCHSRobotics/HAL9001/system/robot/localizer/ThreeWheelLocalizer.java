@@ -66,9 +66,9 @@ public class ThreeWheelLocalizer extends ThreeTrackingWheelLocalizer {
         RIGHT_WHEEL = rightWheel;
         PERPENDICULAR_WHEEL = perpendicularWheel;
 
-        encoders.put(leftWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, leftWheel)));
-        encoders.put(rightWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, rightWheel)));
-        encoders.put(perpendicularWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, perpendicularWheel)));
+        encoders.put(leftWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, leftWheel), robot.getHardwareSnapshot()));
+        encoders.put(rightWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, rightWheel), robot.getHardwareSnapshot()));
+        encoders.put(perpendicularWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, perpendicularWheel), robot.getHardwareSnapshot()));
 
         this.trackingWheelConfig = trackingWheelConfig;
     }
@@ -72,8 +72,8 @@ public class TwoWheelLocalizer extends TwoTrackingWheelLocalizer {
         PERPENDICULAR_WHEEL = perpendicularWheel;
 
         this.imu = robot.hardwareMap.get(BNO055IMU.class, imu);
-        encoders.put(parallelWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, parallelWheel)));
-        encoders.put(perpendicularWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, perpendicularWheel)));
+        encoders.put(parallelWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, parallelWheel), robot.getHardwareSnapshot()));
+        encoders.put(perpendicularWheel, new Encoder(robot.hardwareMap.get(DcMotorEx.class, perpendicularWheel), robot.getHardwareSnapshot()));
 
         this.imu.initialize(imuParameters);
 
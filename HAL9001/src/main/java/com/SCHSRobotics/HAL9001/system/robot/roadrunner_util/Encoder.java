@@ -1,5 +1,7 @@
 package com.SCHSRobotics.HAL9001.system.robot.roadrunner_util;
 
+import com.SCHSRobotics.HAL9001.system.robot.HardwareSnapshot;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
 import com.acmerobotics.roadrunner.util.NanoClock;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.util.MovingStatistics;
@@ -23,6 +25,8 @@ public class Encoder {
     private final DcMotorEx motor;
     //A nanosecond clock to keep time.
     private final NanoClock clock;
+    //The hardware snapshot used to read the encoder. Null if the encoder reads the motor directly.
+    private final HardwareSnapshot snapshot;
     //The encoder's last velocity estimates.
     private final MovingStatistics velocityEstimates;
     //The direction of the encoder.
@@ -39,14 +43,7 @@ public class Encoder {
      * @param clock A nanosecond clock to keep time.
      */
     public Encoder(DcMotorEx motor, @NotNull NanoClock clock) {
-        this.motor = motor;
-        this.clock = clock;
-
-        this.direction = Direction.FORWARD;
-
-        this.lastPosition = 0;
-        this.velocityEstimates = new MovingStatistics(5);
-        this.lastUpdateTime = clock.seconds();
+        this(motor, clock, null);
     }
 
     /**
@@ -55,7 +52,36 @@ public class Encoder {
      * @param motor The motor object used to read encoder positions.
      */
     public Encoder(DcMotorEx motor) {
-        this(motor, NanoClock.system());
+        this(motor, new HALNanoClock());
+    }
+
+    /**
+     * The constructor for encoder. Reads the encoder through a hardware snapshot, so it shares one bulk read and timestamp per loop with the rest of the robot.
+     *
+     * @param motor    The motor object used to read encoder positions.
+     * @param snapshot The hardware snapshot used to read the encoder.
+     */
+    public Encoder(DcMotorEx motor, @NotNull HardwareSnapshot snapshot) {
+        this(motor, new HALNanoClock(), snapshot);
+    }
+
+    /**
+     * The constructor for encoder.
+     *
+     * @param motor    The motor object used to read encoder positions.
+     * @param clock    A nanosecond clock to keep time.
+     * @param snapshot The hardware snapshot used to read the encoder, or null to read the motor directly.
+     */
+    private Encoder(DcMotorEx motor, @NotNull NanoClock clock, HardwareSnapshot snapshot) {
+        this.motor = motor;
+        this.clock = clock;
+        this.snapshot = snapshot;
+
+        this.direction = Direction.FORWARD;
+
+        this.lastPosition = 0;
+        this.velocityEstimates = new MovingStatistics(5);
+        this.lastUpdateTime = clock.seconds();
     }
 
     /**
@@ -98,9 +124,9 @@ public class Encoder {
      */
     public int getCurrentPosition() {
         int multiplier = direction.getMultiplier();
-        int currentPosition = motor.getCurrentPosition() * multiplier;
+        int currentPosition = (snapshot == null ? motor.getCurrentPosition() : snapshot.getEncoderPosition(motor)) * multiplier;
         if (currentPosition != lastPosition) {
-            double currentTime = clock.seconds();
+            double currentTime = snapshot == null ? clock.seconds() : snapshot.getTimestamp(HALTimeUnit.SECONDS);
             double dt = currentTime - lastUpdateTime;
             velocityEstimates.add((currentPosition - lastPosition) / dt);
             lastPosition = currentPosition;
@@ -116,7 +142,7 @@ public class Encoder {
      */
     public double getRawVelocity() {
         int multiplier = direction.getMultiplier();
-        return motor.getVelocity() * multiplier;
+        return (snapshot == null ? motor.getVelocity() : snapshot.getVelocity(motor)) * multiplier;
     }
 
     /**
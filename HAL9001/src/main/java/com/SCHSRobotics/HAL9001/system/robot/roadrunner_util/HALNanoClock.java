@@ -0,0 +1,46 @@
+package com.SCHSRobotics.HAL9001.system.robot.roadrunner_util;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+import com.acmerobotics.roadrunner.util.NanoClock;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A roadrunner NanoClock backed by a HALClock, so roadrunner code keeps time with the same clock as the rest of HAL.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see HALClock
+ * @see Encoder
+ * @since 1.1.8
+ */
+public class HALNanoClock extends NanoClock {
+    //The clock used to keep time. Null if the global clock is used.
+    private final HALClock clock;
+
+    /**
+     * The constructor for HALNanoClock. Uses the global clock.
+     *
+     * @see HALClock#getGlobalClock()
+     */
+    public HALNanoClock() {
+        clock = null;
+    }
+
+    /**
+     * The constructor for HALNanoClock.
+     *
+     * @param clock The clock used to keep time.
+     */
+    public HALNanoClock(@NotNull HALClock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public double seconds() {
+        return (clock == null ? HALClock.getGlobalClock() : clock).getTime(HALTimeUnit.SECONDS);
+    }
+}
@@ -5,6 +5,7 @@ import android.util.Log;
 import com.SCHSRobotics.HAL9001.system.robot.Camera;
 import com.SCHSRobotics.HAL9001.system.robot.HALPipeline;
 import com.SCHSRobotics.HAL9001.system.robot.Robot;
+import com.SCHSRobotics.HAL9001.system.robot.VisionFrame;
 import com.SCHSRobotics.HAL9001.system.robot.VisionSubSystem;
 import com.SCHSRobotics.HAL9001.util.control.Button;
 import com.SCHSRobotics.HAL9001.util.control.CustomizableGamepad;
@@ -150,38 +151,52 @@ public class CameraCalib extends VisionSubSystem {
 
     @Camera(id = Robot.ALL_CAMERAS_ID)
     public class CameraCalibPipeline extends HALPipeline {
+        //The termination criteria used to refine the detected corners.
+        private final TermCriteria term = new TermCriteria(TermCriteria.EPS | TermCriteria.MAX_ITER, 40, 0.001);
+        //The window size and dead zone size used to refine the detected corners.
+        private final Size subPixWindow = new Size(5, 5), subPixDeadZone = new Size(-1, -1);
+        //The corners detected in the current frame. Reused every frame, and copied when captured.
+        private final MatOfPoint2f corners = new MatOfPoint2f();
+
         @Override
         public boolean useViewport() {
             return robot.isStarted();
         }
 
         @Override
-        public Mat processFrame(Mat input) {
-            Mat gray = new Mat();
+        public boolean mutatesFrame() {
+            return false;
+        }
 
-            Imgproc.cvtColor(input, gray, Imgproc.COLOR_RGBA2GRAY);
-            Imgproc.resize(gray, gray, new Size(width / 2, height / 2));
-            input.release();
+        @Override
+        public Mat processFrame(Mat input) {
+            //The half-size grayscale image is shared with the other pipelines on this frame, so it is only read from.
+            //Every other image is acquired from the frame's buffer pool and returned to it automatically once the frame is done.
+            VisionFrame frame = getVisionFrame();
+            width = input.cols();
+            height = input.rows();
+            Mat gray = frame.downscale(frame.getGray());
+            Mat display = gray;
 
             if (!calibrationBegun) {
-                MatOfPoint2f corners = new MatOfPoint2f();
                 boolean found = Calib3d.findChessboardCorners(gray, size, corners, Calib3d.CALIB_CB_ADAPTIVE_THRESH | Calib3d.CALIB_CB_NORMALIZE_IMAGE | Calib3d.CALIB_CB_FAST_CHECK);
                 if (found) {
-                    TermCriteria term = new TermCriteria(TermCriteria.EPS | TermCriteria.MAX_ITER, 40, 0.001);
+                    Imgproc.cornerSubPix(gray, corners, subPixWindow, subPixDeadZone, term);
 
-                    Imgproc.cornerSubPix(gray, corners, new Size(5, 5), new Size(-1, -1), term);
+                    display = frame.acquire(gray.rows(), gray.cols(), CvType.CV_8UC3);
+                    Imgproc.cvtColor(gray, display, Imgproc.COLOR_GRAY2RGB);
 
-                    Imgproc.cvtColor(gray, gray, Imgproc.COLOR_GRAY2RGB);
-
-                    Calib3d.drawChessboardCorners(gray, size, corners, true);
+                    Calib3d.drawChessboardCorners(display, size, corners, true);
 
                     if ((boolean) inputs.getInput(CAPTURE) && flag) {
+                        MatOfPoint2f capturedCorners = new MatOfPoint2f();
+                        corners.copyTo(capturedCorners);
                         refPoints.add(refCoords);
-                        capturePoints.add(corners);
+                        capturePoints.add(capturedCorners);
                         flag = false;
                     } else if ((boolean) inputs.getInput(DELETE_CAPTURE) && refPoints.size() > 0 && flag) {
                         refPoints.remove(refPoints.size() - 1);
-                        capturePoints.remove(capturePoints.size() - 1);
+                        capturePoints.remove(capturePoints.size() - 1).release();
                         flag = false;
                     } else if (!(boolean) inputs.getInput(CAPTURE) && !(boolean) inputs.getInput(DELETE_CAPTURE) && !flag) {
                         flag = true;
@@ -193,19 +208,15 @@ public class CameraCalib extends VisionSubSystem {
                 Log.wtf("done", intrinsic.dump());
                 Log.wtf("done", "" + reprojError);
 
-                Mat undistorted = new Mat();
-
-                Calib3d.undistort(gray, undistorted, intrinsic, distCoeffs);
-
-                Imgproc.resize(undistorted, undistorted, new Size(width, height));
-
-                return undistorted;
+                display = frame.acquireLike(gray);
 
+                Calib3d.undistort(gray, display, intrinsic, distCoeffs);
             }
 
-            Imgproc.resize(gray, gray, new Size(width, height));
+            Mat output = frame.acquire(height, width, display.type());
+            Imgproc.resize(display, output, output.size());
 
-            return gray;
+            return output;
         }
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ import com.SCHSRobotics.HAL9001.system.gui.menus.TelemetryMenu;
 import com.SCHSRobotics.HAL9001.system.robot.Camera;
 import com.SCHSRobotics.HAL9001.system.robot.HALPipeline;
 import com.SCHSRobotics.HAL9001.system.robot.Robot;
+import com.SCHSRobotics.HAL9001.system.robot.VisionFrame;
 import com.SCHSRobotics.HAL9001.system.robot.VisionSubSystem;
 import com.SCHSRobotics.HAL9001.util.control.Button;
 import com.SCHSRobotics.HAL9001.util.control.CustomizableGamepad;
@@ -21,6 +22,7 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.opencv.core.Core;
 import org.opencv.core.CvException;
+import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.core.Scalar;
 import org.opencv.imgproc.Imgproc;
@@ -280,45 +282,54 @@ public class ColorspaceCalib extends VisionSubSystem {
 
     /**
      * Converts an image from the RGB color space to a specified color space.
+     * Built-in color spaces are converted through the frame's derived image cache, so the result is shared and must not be written to or released.
+     * Custom conversions are not cached, so their result belongs to the caller.
      *
-     * @param src Source image that needs converting.
-     * @param dst Output of the image conversion.
+     * @param frame      The frame the source image was derived from.
+     * @param src        Source image that needs converting.
+     * @param colorSpace The color space to convert to.
+     * @return The converted image.
      */
-    private void convertImage(@NotNull Mat src, @NotNull Mat dst, @NotNull ColorSpace colorSpace) {
+    private Mat convertImage(@NotNull VisionFrame frame, @NotNull Mat src, @NotNull ColorSpace colorSpace) {
         switch (colorSpace) {
-            case HSV:
-                Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2HSV);
-                break;
-            case BGR:
-                Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2BGR);
-                break;
-            case HLS:
-                Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2HLS);
-                break;
-            case Lab:
-                Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2Lab);
-                break;
-            case LUV:
-                Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2Luv);
-                break;
-            case RGB:
-                src.copyTo(dst);
-                break; //Bruh
-            case XYZ:
-                Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2XYZ);
-                break;
-            case YUV:
-                Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2YUV);
-                break;
-            case YCrCb:
-                Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2YCrCb); break;
-            case HLS_FULL: Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2HLS_FULL); break;
-            case HSV_FULL: Imgproc.cvtColor(src, dst, Imgproc.COLOR_RGB2HSV_FULL); break;
-            case CUSTOM: converter.apply(src).copyTo(dst);
-            default: break;
+            case HSV: return frame.convertColor(src, Imgproc.COLOR_RGB2HSV);
+            case BGR: return frame.convertColor(src, Imgproc.COLOR_RGB2BGR);
+            case HLS: return frame.convertColor(src, Imgproc.COLOR_RGB2HLS);
+            case Lab: return frame.convertColor(src, Imgproc.COLOR_RGB2Lab);
+            case LUV: return frame.convertColor(src, Imgproc.COLOR_RGB2Luv);
+            case XYZ: return frame.convertColor(src, Imgproc.COLOR_RGB2XYZ);
+            case YUV: return frame.convertColor(src, Imgproc.COLOR_RGB2YUV);
+            case YCrCb: return frame.convertColor(src, Imgproc.COLOR_RGB2YCrCb);
+            case HLS_FULL: return frame.convertColor(src, Imgproc.COLOR_RGB2HLS_FULL);
+            case HSV_FULL: return frame.convertColor(src, Imgproc.COLOR_RGB2HSV_FULL);
+            case CUSTOM: return converter.apply(src);
+            default: return src; //RGB, Bruh
         }
     }
 
+    /**
+     * Extracts a single channel from a converted image.
+     *
+     * @param frame     The frame the converted image was derived from.
+     * @param converted The converted image.
+     * @return The channel. Shared if a built-in conversion is being used, or acquired from the frame's buffer pool if a custom conversion is being used.
+     */
+    private Mat extractChannel(@NotNull VisionFrame frame, @NotNull Mat converted) {
+        if (colorSpace != ColorSpace.CUSTOM) return frame.extractChannel(converted, channelIdx);
+
+        Mat chan = frame.acquire(converted.rows(), converted.cols(), CvType.makeType(converted.depth(), 1));
+        try {
+            Core.extractChannel(converted, chan, channelIdx);
+        } catch (CvException e) {
+            if (channelIdx < 0 || channelIdx > (converted.channels() - 1)) {
+                throw new ChannelDoesNotExistException("Error: Your channel index does not refer to an actual channel in the image.", e);
+            } else {
+                throw e;
+            }
+        }
+        return chan;
+    }
+
     /**
      * Set delay between each x, y, or z change.
      *
@@ -375,67 +386,47 @@ public class ColorspaceCalib extends VisionSubSystem {
 
     @Camera(id = Robot.ALL_CAMERAS_ID)
     public class ColorspaceCalibPipeline extends HALPipeline {
+        //The color of the pixels outside the mask.
+        private final Scalar background = new Scalar(0, 0, 0);
+
         @Override
         public boolean useViewport() {
             return robot.isStarted();
         }
 
         @Override
-        public Mat processFrame(Mat input) {
-            Mat converted = new Mat();
-            Mat rgb = new Mat();
-
-            Imgproc.cvtColor(input, rgb, Imgproc.COLOR_RGBA2RGB);
-
-            input.release();
-
-            if (imageType == ImageType.COLOR) {
-
-                convertImage(rgb, converted, colorSpace);
-
-                Mat binaryMask = new Mat();
-                Core.inRange(converted, new Scalar(x_lower, y_lower, z_lower), new Scalar(x_upper, y_upper, z_upper), binaryMask);
-
-                converted.release();
-
-                Imgproc.cvtColor(binaryMask, binaryMask, Imgproc.COLOR_GRAY2RGB);
-                Mat outputMask = new Mat();
-                Core.bitwise_and(binaryMask, rgb, outputMask);
-
-                rgb.release();
-                binaryMask.release();
-
-                System.gc();
+        public boolean mutatesFrame() {
+            return false;
+        }
 
-                return outputMask;
-            } else {
-                convertImage(rgb, converted, colorSpace);
-                Mat chan = new Mat();
-                try {
-                    Core.extractChannel(converted, chan, channelIdx);
-                } catch (CvException e) {
-                    if (channelIdx < 0 || channelIdx > (converted.channels() - 1)) {
-                        throw new ChannelDoesNotExistException("Error: Your channel index does not refer to an actual channel in the image.", e);
-                    } else {
-                        throw e;
-                    }
+        @Override
+        public Mat processFrame(Mat input) {
+            //The RGB and converted images come from the frame's derived image cache, so they are shared and only read from here.
+            //Every other image is acquired from the frame's buffer pool and returned to it automatically once the frame is done.
+            VisionFrame frame = getVisionFrame();
+            Mat rgb = frame.convertColor(input, Imgproc.COLOR_RGBA2RGB);
+            Mat converted = convertImage(frame, rgb, colorSpace);
+
+            Mat binaryMask;
+            try {
+                if (imageType == ImageType.COLOR) {
+                    binaryMask = frame.acquire(converted.rows(), converted.cols(), CvType.CV_8UC1);
+                    Core.inRange(converted, new Scalar(x_lower, y_lower, z_lower), new Scalar(x_upper, y_upper, z_upper), binaryMask);
+                } else {
+                    Mat chan = extractChannel(frame, converted);
+                    binaryMask = frame.acquireLike(chan);
+                    Imgproc.threshold(chan, binaryMask, z_lower, 255, Imgproc.THRESH_BINARY);
                 }
+            } finally {
+                //Custom conversions are not cached, so their output belongs to this pipeline.
+                if (colorSpace == ColorSpace.CUSTOM && converted != rgb) converted.release();
+            }
 
-                converted.release();
-
-                Mat binaryMask = new Mat();
-                Imgproc.threshold(chan, binaryMask, z_lower, 255, Imgproc.THRESH_BINARY);
-
-                chan.release();
-
-                Mat outputMask = new Mat();
-                Imgproc.cvtColor(binaryMask, binaryMask, Imgproc.COLOR_GRAY2RGB);
-                Core.bitwise_and(binaryMask, rgb, outputMask);
-                binaryMask.release();
-                rgb.release();
+            Mat outputMask = frame.acquireLike(rgb);
+            outputMask.setTo(background);
+            rgb.copyTo(outputMask, binaryMask);
 
-                return outputMask;
-            }
+            return outputMask;
         }
     }
 }
@@ -1,7 +1,10 @@
 package com.SCHSRobotics.HAL9001.system.robot.subsystems.drivetrain;
 
+import com.SCHSRobotics.HAL9001.system.robot.MotorWriteBuffer;
 import com.SCHSRobotics.HAL9001.system.robot.Robot;
 import com.SCHSRobotics.HAL9001.system.robot.SubSystem;
+import com.SCHSRobotics.HAL9001.system.robot.commands.Command;
+import com.SCHSRobotics.HAL9001.system.robot.commands.FunctionalCommand;
 import com.SCHSRobotics.HAL9001.system.robot.roadrunner_util.CoordinateMode;
 import com.SCHSRobotics.HAL9001.util.math.geometry.Vector2D;
 import com.SCHSRobotics.HAL9001.util.math.units.HALAngleUnit;
@@ -18,7 +21,6 @@ import com.qualcomm.robotcore.hardware.VoltageSensor;
 import com.qualcomm.robotcore.util.Range;
 
 import org.firstinspires.ftc.robotcore.external.Consumer;
-import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
@@ -119,32 +121,46 @@ public abstract class Drivetrain extends SubSystem {
 
     /**
      * Gets an array of all the drivetrain motors.
+     * Like getMotor(), this makes the robot's motor write buffer forget what it last sent to the motors, since they may be written to directly.
      *
      * @return An array of all the drivetrain motors.
+     *
+     * @see MotorWriteBuffer#invalidate(DcMotorEx)
      */
     @NotNull
     public final DcMotorEx[] getMotors() {
+        MotorWriteBuffer writeBuffer = robot.getMotorWriteBuffer();
+        for (DcMotorEx motor : motors.values()) writeBuffer.invalidate(motor);
         return motors.values().toArray(new DcMotorEx[0]);
     }
 
     /**
      * Gets a specific motor object by its config name.
+     * Writes made directly to the motor bypass the robot's motor write buffer, so the buffer forgets what it last sent to the motor when this is called.
+     * If you keep the motor and write to it later, call robot.getMotorWriteBuffer().invalidate(motor) after each direct write.
      *
      * @param motorName The name of the motor to return.
      * @return The motor associated with that name.
+     *
+     * @see MotorWriteBuffer#invalidate(DcMotorEx)
      */
     public final DcMotorEx getMotor(String motorName) {
-        return motors.get(motorName);
+        DcMotorEx motor = motors.get(motorName);
+        if (motor != null) robot.getMotorWriteBuffer().invalidate(motor);
+        return motor;
     }
 
     /**
      * Resets all drivetrain motor encoders to 0.
      */
     public final void resetMotorEncoders() {
+        MotorWriteBuffer writeBuffer = robot.getMotorWriteBuffer();
+        writeBuffer.flush();
         for (DcMotorEx motor : motors.values()) {
             DcMotor.RunMode runMode = motor.getMode();
             motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
             motor.setMode(runMode);
+            writeBuffer.invalidate(motor);
         }
     }
 
@@ -152,8 +168,9 @@ public abstract class Drivetrain extends SubSystem {
      * Stops all drivetrain motors.
      */
     public final void stopAllMotors() {
+        MotorWriteBuffer writeBuffer = robot.getMotorWriteBuffer();
         for (DcMotorEx motor : motors.values()) {
-            motor.setPower(0);
+            writeBuffer.setPower(motor, 0);
         }
     }
 
@@ -174,8 +191,9 @@ public abstract class Drivetrain extends SubSystem {
      * @param runMode The runmode of all drivetrain motors.
      */
     public final void setAllMotorModes(DcMotor.RunMode runMode) {
+        MotorWriteBuffer writeBuffer = robot.getMotorWriteBuffer();
         for (DcMotorEx motor : motors.values()) {
-            motor.setMode(runMode);
+            writeBuffer.setMode(motor, runMode);
         }
     }
 
@@ -190,8 +208,9 @@ public abstract class Drivetrain extends SubSystem {
                 pidfCoefficients.p, pidfCoefficients.i, pidfCoefficients.d,
                 pidfCoefficients.f * 12 / batteryVoltageSensor.getVoltage()
         );
+        MotorWriteBuffer writeBuffer = robot.getMotorWriteBuffer();
         for (DcMotorEx motor : motors.values()) {
-            motor.setPIDFCoefficients(runMode, compensatedCoefficients);
+            writeBuffer.setPIDFCoefficients(motor, runMode, compensatedCoefficients);
         }
     }
 
@@ -202,7 +221,7 @@ public abstract class Drivetrain extends SubSystem {
      * @param motorPower The power to set the motor to run at.
      */
     public final void setMotorPower(String motorName, double motorPower) {
-        getMotor(motorName).setPower(motorPower);
+        robot.getMotorWriteBuffer().setPower(motors.get(motorName), motorPower);
     }
 
     /**
@@ -212,7 +231,7 @@ public abstract class Drivetrain extends SubSystem {
      * @param mode      The mode to set the motor to.
      */
     public final void setMotorMode(String motorName, DcMotor.RunMode mode) {
-        getMotor(motorName).setMode(mode);
+        robot.getMotorWriteBuffer().setMode(motors.get(motorName), mode);
     }
 
     /**
@@ -246,35 +265,38 @@ public abstract class Drivetrain extends SubSystem {
     }
 
     /**
-     * Gets the motor encoder positon of a specific motor. Note that this can be overriden in extended classes if needed.
+     * Gets the motor encoder positon of a specific motor from the robot's hardware snapshot. Note that this can be overriden in extended classes if needed.
      *
      * @param motorName The name of the motor.
      * @return That motor's encoder position.
+     * @see com.SCHSRobotics.HAL9001.system.robot.HardwareSnapshot
      */
     public double getMotorEncoderPosition(String motorName) {
-        return getMotor(motorName).getCurrentPosition();
+        return robot.getHardwareSnapshot().getEncoderPosition(motors.get(motorName));
     }
 
     /**
-     * Gets the velocity of a specific motor. Note that this can be overriden in extended classes if needed.
+     * Gets the velocity of a specific motor from the robot's hardware snapshot. Note that this can be overriden in extended classes if needed.
      *
      * @param motorName The name of the motor.
      * @param angleUnit The angle unit of the motor velocity.
      * @return That motor's velocity.
+     * @see com.SCHSRobotics.HAL9001.system.robot.HardwareSnapshot
      */
     public double getMotorVelocity(String motorName, HALAngleUnit angleUnit) {
-        return getMotor(motorName).getVelocity(angleUnit == HALAngleUnit.RADIANS ? AngleUnit.RADIANS : AngleUnit.DEGREES);
+        return robot.getHardwareSnapshot().getVelocity(motors.get(motorName), angleUnit);
     }
 
     /**
-     * Gets the velocity of a specific motor. Note that this can be overriden in extended classes if needed.
+     * Gets the velocity of a specific motor from the robot's hardware snapshot. Note that this can be overriden in extended classes if needed.
      * The angle unit of the velocity defaults to radians.
      *
      * @param motorName The name of the motor.
      * @return That motor's velocity.
+     * @see com.SCHSRobotics.HAL9001.system.robot.HardwareSnapshot
      */
     public double getMotorVelocity(String motorName) {
-        return getMotor(motorName).getVelocity();
+        return robot.getHardwareSnapshot().getVelocity(motors.get(motorName));
     }
 
     /**
@@ -382,12 +404,15 @@ public abstract class Drivetrain extends SubSystem {
         angleTolerance = toleranceUnit.convertTo(HALAngleUnit.RADIANS).apply(abs(angleTolerance));
 
         while (robot.opModeIsActive() && abs(turnController.getLastError()) > angleTolerance) {
+            robot.refreshHardwareSnapshot();
             localizer.update();
             double correction = turnController.update(localizer.getPoseEstimate().getHeading());
             if (correction == 0) break;
             turnPowerInternal(correction);
+            robot.flushMotorWrites();
         }
         stopAllMotors();
+        robot.flushMotorWrites();
     }
 
     /**
@@ -432,6 +457,137 @@ public abstract class Drivetrain extends SubSystem {
         turnPID(targetAngleRadians, HALAngleUnit.RADIANS);
     }
 
+    /**
+     * Creates a command that turns the drivetrain for a certain period of time. Non-blocking equivalent of turnTime().
+     *
+     * @param power    The power to turn at.
+     * @param duration How long to turn for.
+     * @param timeUnit The units of the duration parameter.
+     * @return A command that turns the drivetrain for a certain period of time.
+     * @see Command
+     */
+    @NotNull
+    public final Command turnTimeCommand(double power, double duration, HALTimeUnit timeUnit) {
+        return new FunctionalCommand(
+                () -> turnPower(power),
+                () -> localizer.update(),
+                () -> false,
+                (interrupted) -> stopAllMotors(),
+                this
+        ).withTimeout(duration, timeUnit);
+    }
+
+    /**
+     * Creates a command that turns the drivetrain by a specific amount. Non-blocking equivalent of turnSimple().
+     * <p>
+     * Counterclockwise is positive, clockwise is negative.
+     *
+     * @param power        The power to turn at.
+     * @param angleRadians The angle to turn by in radians.
+     * @return A command that turns the drivetrain by a specific amount.
+     * @see Command
+     */
+    @NotNull
+    public final Command turnSimpleCommand(double power, double angleRadians) {
+        return new Command(this) {
+            //The heading of the drivetrain when the command started.
+            private double initialHeading;
+
+            @Override
+            public void init() {
+                initialHeading = localizer.getPoseEstimate().getHeading();
+                if (power != 0) turnPower(angleRadians < 0 ? -power : power);
+            }
+
+            @Override
+            public void execute() {
+                localizer.update();
+            }
+
+            @Override
+            public boolean isFinished() {
+                return power == 0 || abs(localizer.getPoseEstimate().getHeading() - initialHeading) >= abs(angleRadians);
+            }
+
+            @Override
+            public void end(boolean interrupted) {
+                if (power != 0) stopAllMotors();
+            }
+        };
+    }
+
+    /**
+     * Creates a command that turns the drivetrain by a specific angle. Non-blocking equivalent of turnSimple().
+     *
+     * @param power     The power to turn at.
+     * @param angle     The angle to turn (Counterclockwise is positive, clockwise is negative).
+     * @param angleUnit The units of the angle parameter.
+     * @return A command that turns the drivetrain by a specific angle.
+     * @see Command
+     */
+    @NotNull
+    public final Command turnSimpleCommand(double power, double angle, @NotNull HALAngleUnit angleUnit) {
+        return turnSimpleCommand(power, angleUnit.convertTo(HALAngleUnit.RADIANS).apply(angle));
+    }
+
+    /**
+     * Creates a command that turns the drivetrain to a specific angle using the turn-to-angle PID controller. Non-blocking equivalent of turnPID().
+     *
+     * @param targetAngle    The target angle to turn to (counterclockwise is positive, clockwise is negative).
+     * @param angleUnit      The unit of the target angle.
+     * @param angleTolerance The tolerance value of the target angle.
+     * @param toleranceUnit  The units of the angleTolerance parameter.
+     * @return A command that turns the drivetrain to a specific angle.
+     * @see Command
+     */
+    @NotNull
+    public final Command turnPIDCommand(double targetAngle, @NotNull HALAngleUnit angleUnit, double angleTolerance, @NotNull HALAngleUnit toleranceUnit) {
+        double targetAngleRadians = angleUnit.convertTo(HALAngleUnit.RADIANS).apply(targetAngle);
+        double angleToleranceRadians = toleranceUnit.convertTo(HALAngleUnit.RADIANS).apply(abs(angleTolerance));
+        return new Command(this) {
+            //Whether the PID controller stopped correcting.
+            private boolean settled;
+
+            @Override
+            public void init() {
+                settled = false;
+                turnController.setTargetPosition(targetAngleRadians);
+                turnController.update(localizer.getPoseEstimate().getHeading());
+            }
+
+            @Override
+            public void execute() {
+                localizer.update();
+                double correction = turnController.update(localizer.getPoseEstimate().getHeading());
+                if (correction == 0) settled = true;
+                else turnPowerInternal(correction);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return settled || abs(turnController.getLastError()) <= angleToleranceRadians;
+            }
+
+            @Override
+            public void end(boolean interrupted) {
+                stopAllMotors();
+            }
+        };
+    }
+
+    /**
+     * Creates a command that turns the drivetrain to a specific angle using the turn-to-angle PID controller. Non-blocking equivalent of turnPID().
+     *
+     * @param targetAngleRadians    The target angle to turn to in radians (counterclockwise is positive, clockwise is negative).
+     * @param angleToleranceRadians The tolerance value of the target angle in radians.
+     * @return A command that turns the drivetrain to a specific angle.
+     * @see Command
+     */
+    @NotNull
+    public final Command turnPIDCommand(double targetAngleRadians, double angleToleranceRadians) {
+        return turnPIDCommand(targetAngleRadians, HALAngleUnit.RADIANS, angleToleranceRadians, HALAngleUnit.RADIANS);
+    }
+
     /**
      * Sets the coefficients of the turn-to-angle pid controller.
      *
@@ -605,10 +761,13 @@ public abstract class Drivetrain extends SubSystem {
     }
 
     /**
-     * Updates the localizer.
+     * Updates the localizer and signals the robot that its state has changed.
+     *
+     * @see Robot#signalStateChange()
      */
     public final void updateLocalizer() {
         localizer.update();
+        robot.signalStateChange();
     }
 
     /**
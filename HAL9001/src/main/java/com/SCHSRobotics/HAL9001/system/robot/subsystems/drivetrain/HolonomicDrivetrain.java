@@ -1,6 +1,8 @@
 package com.SCHSRobotics.HAL9001.system.robot.subsystems.drivetrain;
 
 import com.SCHSRobotics.HAL9001.system.robot.Robot;
+import com.SCHSRobotics.HAL9001.system.robot.commands.Command;
+import com.SCHSRobotics.HAL9001.system.robot.commands.FunctionalCommand;
 import com.SCHSRobotics.HAL9001.system.robot.roadrunner_util.CoordinateMode;
 import com.SCHSRobotics.HAL9001.util.math.geometry.Vector2D;
 import com.SCHSRobotics.HAL9001.util.math.units.HALAngleUnit;
@@ -207,6 +209,115 @@ public abstract class HolonomicDrivetrain extends Drivetrain {
         moveSimple(displacement, HALDistanceUnit.INCHES, power);
     }
 
+    /**
+     * Creates a command that moves the drivetrain for a specified amount of time. Non-blocking equivalent of moveTime().
+     *
+     * @param xPower   The power to move at in the x direction.
+     * @param yPower   The power to move at in the y direction.
+     * @param duration How long to move for.
+     * @param timeUnit The units of the duration parameter.
+     * @return A command that moves the drivetrain for a specified amount of time.
+     * @see Command
+     */
+    @NotNull
+    public final Command moveTimeCommand(double xPower, double yPower, long duration, HALTimeUnit timeUnit) {
+        return new FunctionalCommand(
+                () -> movePower(xPower, yPower),
+                () -> localizer.update(),
+                () -> false,
+                (interrupted) -> stopAllMotors(),
+                this
+        ).withTimeout(duration, timeUnit);
+    }
+
+    /**
+     * Creates a command that moves the drivetrain for a specified amount of time. Non-blocking equivalent of moveTime().
+     *
+     * @param power    The power to move at.
+     * @param duration How long to move for.
+     * @param timeUnit The units of the duration parameter.
+     * @return A command that moves the drivetrain for a specified amount of time.
+     * @see Command
+     */
+    @NotNull
+    public final Command moveTimeCommand(@NotNull Vector2D power, long duration, HALTimeUnit timeUnit) {
+        return moveTimeCommand(power.getX(), power.getY(), duration, timeUnit);
+    }
+
+    /**
+     * Creates a command that moves the drivetrain by a specific amount. Non-blocking equivalent of moveSimple().
+     * Note: This is affected by field centric vs robot-centric coordinates and HAL vs roadrunner coordinates.
+     *
+     * @param xDisplacement The drivetrain's desired x displacement.
+     * @param yDisplacement The drivetrain's desired y displacement.
+     * @param distanceUnit  The units of the displacement.
+     * @param power         The power to move at.
+     * @return A command that moves the drivetrain by a specific amount.
+     * @see Command
+     */
+    @NotNull
+    public final Command moveSimpleCommand(double xDisplacement, double yDisplacement, HALDistanceUnit distanceUnit, double power) {
+        return new Command(this) {
+            //The pose of the drivetrain when the command started.
+            private Pose2d initialPose;
+            //The displacement to move by, in inches.
+            private Vector2D displacement;
+
+            @Override
+            public void init() {
+                initialPose = localizerCoordinateMode.convertTo(coordinateMode).apply(localizer.getPoseEstimate());
+
+                //Convert from given distance unit to inches.
+                displacement = coordinateMode.convertVectorTo(CoordinateMode.HAL).apply(
+                        new Vector2D(
+                                HALDistanceUnit.convert(xDisplacement, distanceUnit, HALDistanceUnit.INCHES),
+                                HALDistanceUnit.convert(yDisplacement, distanceUnit, HALDistanceUnit.INCHES)
+                        )
+                );
+
+                Vector2D velocity = displacement.clone().normalize().multiply(Range.clip(power, -1, 1));
+
+                //Change the displacement vector to robot-centric mode if needed.
+                if (driveMode != DriveMode.FIELD_CENTRIC) {
+                    displacement.rotate(localizer.getPoseEstimate().getHeading());
+                }
+
+                movePower(velocity);
+            }
+
+            @Override
+            public void execute() {
+                localizer.update();
+            }
+
+            @Override
+            public boolean isFinished() {
+                Pose2d currentPose = localizerCoordinateMode.convertTo(coordinateMode).apply(localizer.getPoseEstimate());
+                return abs(currentPose.getX() - initialPose.getX()) >= abs(displacement.getX()) && abs(currentPose.getY() - initialPose.getY()) >= abs(displacement.getY());
+            }
+
+            @Override
+            public void end(boolean interrupted) {
+                stopAllMotors();
+            }
+        };
+    }
+
+    /**
+     * Creates a command that moves the drivetrain by a specific amount. Non-blocking equivalent of moveSimple().
+     * Note: This is affected by field centric vs robot-centric coordinates and HAL vs roadrunner coordinates.
+     *
+     * @param displacement The drivetrain's desired displacement vector.
+     * @param distanceUnit The units of the displacement vector.
+     * @param power        The power to move at.
+     * @return A command that moves the drivetrain by a specific amount.
+     * @see Command
+     */
+    @NotNull
+    public final Command moveSimpleCommand(@NotNull Vector2D displacement, HALDistanceUnit distanceUnit, double power) {
+        return moveSimpleCommand(displacement.getX(), displacement.getY(), distanceUnit, power);
+    }
+
 
     /**
      * Sets the drivetrain's driving mode.
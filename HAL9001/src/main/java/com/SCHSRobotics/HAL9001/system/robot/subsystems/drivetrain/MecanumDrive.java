@@ -4,7 +4,10 @@ import com.SCHSRobotics.HAL9001.system.config.AutonomousConfig;
 import com.SCHSRobotics.HAL9001.system.config.ConfigParam;
 import com.SCHSRobotics.HAL9001.system.config.TeleopConfig;
 import com.SCHSRobotics.HAL9001.system.robot.Robot;
+import com.SCHSRobotics.HAL9001.system.robot.commands.Command;
+import com.SCHSRobotics.HAL9001.system.robot.commands.FunctionalCommand;
 import com.SCHSRobotics.HAL9001.system.robot.roadrunner_util.CoordinateMode;
+import com.SCHSRobotics.HAL9001.system.robot.roadrunner_util.HALNanoClock;
 import com.SCHSRobotics.HAL9001.system.robot.roadrunner_util.HALTrajectory;
 import com.SCHSRobotics.HAL9001.system.robot.roadrunner_util.HALTrajectoryBuilder;
 import com.SCHSRobotics.HAL9001.system.robot.roadrunner_util.LynxModuleUtil;
@@ -29,7 +32,6 @@ import com.acmerobotics.roadrunner.trajectory.constraints.ProfileAccelerationCon
 import com.acmerobotics.roadrunner.trajectory.constraints.TrajectoryAccelerationConstraint;
 import com.acmerobotics.roadrunner.trajectory.constraints.TrajectoryVelocityConstraint;
 import com.acmerobotics.roadrunner.util.NanoClock;
-import com.qualcomm.hardware.lynx.LynxModule;
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
@@ -192,6 +194,59 @@ public class MecanumDrive extends MecanumDriveSimple {
         rrInterface.followTrajectory(trajectory.toRoadrunner());
     }
 
+    /**
+     * Creates a command that uses roadrunner to follow a trajectory. Non-blocking equivalent of followTrajectory().
+     *
+     * @param trajectory The trajectory to follow.
+     * @return A command that follows the trajectory.
+     * @see Command
+     */
+    @NotNull
+    public Command followTrajectoryCommand(@NotNull HALTrajectory trajectory) {
+        return new FunctionalCommand(
+                () -> rrInterface.followTrajectoryAsync(trajectory.toRoadrunner()),
+                () -> rrInterface.update(),
+                () -> !rrInterface.isBusy(),
+                (interrupted) -> {
+                    if (interrupted) rrInterface.cancel();
+                },
+                this
+        );
+    }
+
+    /**
+     * Creates a command that uses roadrunner to turn to an angle. Non-blocking equivalent of turn().
+     *
+     * @param angle The angle to turn to in radians.
+     * @return A command that turns the drivetrain.
+     * @see Command
+     */
+    @NotNull
+    public Command turnCommand(double angle) {
+        return new FunctionalCommand(
+                () -> rrInterface.turnAsync(angle),
+                () -> rrInterface.update(),
+                () -> !rrInterface.isBusy(),
+                (interrupted) -> {
+                    if (interrupted) rrInterface.cancel();
+                },
+                this
+        );
+    }
+
+    /**
+     * Creates a command that uses roadrunner to turn to an angle. Non-blocking equivalent of turn().
+     *
+     * @param angle     The angle to turn to.
+     * @param angleUnit The unit of the angle.
+     * @return A command that turns the drivetrain.
+     * @see Command
+     */
+    @NotNull
+    public Command turnCommand(double angle, @NotNull HALAngleUnit angleUnit) {
+        return turnCommand(angleUnit.convertTo(HALAngleUnit.RADIANS).apply(angle));
+    }
+
     /**
      * Generates a trajectory builder that is used to create trajectories.
      *
@@ -446,7 +501,7 @@ public class MecanumDrive extends MecanumDriveSimple {
         public SimpleMecanumDriveRoadrunnerController() {
             super(rrConfig.kV, rrConfig.kA, rrConfig.kStatic, rrConfig.TRACK_WIDTH, rrConfig.WHEEL_BASE, LATERAL_MULTIPLIER);
 
-            clock = NanoClock.system();
+            clock = new HALNanoClock();
 
             mode = Mode.IDLE;
 
@@ -460,12 +515,9 @@ public class MecanumDrive extends MecanumDriveSimple {
 
             poseHistory = new LinkedList<>();
 
+            //Bulk caching is managed by the robot's hardware snapshot.
             LynxModuleUtil.ensureMinimumFirmwareVersion(robot.hardwareMap);
 
-            for (LynxModule module : robot.hardwareMap.getAll(LynxModule.class)) {
-                module.setBulkCachingMode(LynxModule.BulkCachingMode.AUTO);
-            }
-
             for (DcMotorEx motor : motors.values()) {
                 MotorConfigurationType motorConfigurationType = motor.getMotorType().clone();
                 motorConfigurationType.setAchieveableMaxRPMFraction(1.0);
@@ -591,8 +643,11 @@ public class MecanumDrive extends MecanumDriveSimple {
          */
         public void waitForIdle() {
             while (!Thread.currentThread().isInterrupted() && isBusy()) {
+                robot.refreshHardwareSnapshot();
                 update();
+                robot.flushMotorWrites();
             }
+            robot.flushMotorWrites();
         }
 
         /**
@@ -604,6 +659,14 @@ public class MecanumDrive extends MecanumDriveSimple {
             return mode != Mode.IDLE;
         }
 
+        /**
+         * Stops the current turn or trajectory, leaving the drivetrain idle.
+         */
+        public void cancel() {
+            mode = Mode.IDLE;
+            setDriveSignal(new DriveSignal());
+        }
+
         @NotNull
         @Override
         public List<Double> getWheelPositions() {
@@ -1,6 +1,8 @@
 package com.SCHSRobotics.HAL9001.system.robot.subsystems.drivetrain;
 
 import com.SCHSRobotics.HAL9001.system.robot.Robot;
+import com.SCHSRobotics.HAL9001.system.robot.commands.Command;
+import com.SCHSRobotics.HAL9001.system.robot.commands.FunctionalCommand;
 import com.SCHSRobotics.HAL9001.util.math.geometry.Vector2D;
 import com.SCHSRobotics.HAL9001.util.math.units.HALDistanceUnit;
 import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
@@ -8,6 +10,8 @@ import com.acmerobotics.roadrunner.control.PIDCoefficients;
 import com.acmerobotics.roadrunner.control.PIDFController;
 import com.acmerobotics.roadrunner.geometry.Pose2d;
 
+import org.jetbrains.annotations.NotNull;
+
 import static java.lang.Math.hypot;
 
 /**
@@ -132,6 +136,66 @@ public abstract class NonHolonomicDrivetrain extends Drivetrain {
         moveSimple(distance, HALDistanceUnit.INCHES, power);
     }
 
+    /**
+     * Creates a command that moves the drivetrain for a specified amount of time. Non-blocking equivalent of moveTime().
+     *
+     * @param power    The power to move at.
+     * @param duration How long to move for.
+     * @param timeUnit The units of the duration parameter.
+     * @return A command that moves the drivetrain for a specified amount of time.
+     * @see Command
+     */
+    @NotNull
+    public final Command moveTimeCommand(double power, long duration, HALTimeUnit timeUnit) {
+        return new FunctionalCommand(
+                () -> movePower(power),
+                () -> localizer.update(),
+                () -> false,
+                (interrupted) -> stopAllMotors(),
+                this
+        ).withTimeout(duration, timeUnit);
+    }
+
+    /**
+     * Creates a command that moves the drivetrain by a specific amount. Non-blocking equivalent of moveSimple().
+     *
+     * @param distance     The desired distance to move.
+     * @param distanceUnit The units of the distance.
+     * @param power        The power to move at.
+     * @return A command that moves the drivetrain by a specific amount.
+     * @see Command
+     */
+    @NotNull
+    public final Command moveSimpleCommand(double distance, HALDistanceUnit distanceUnit, double power) {
+        double distanceInches = HALDistanceUnit.convert(distance, distanceUnit, HALDistanceUnit.INCHES);
+        return new Command(this) {
+            //The pose of the drivetrain when the command started.
+            private Pose2d initialPose;
+
+            @Override
+            public void init() {
+                initialPose = localizer.getPoseEstimate();
+                movePower(power);
+            }
+
+            @Override
+            public void execute() {
+                localizer.update();
+            }
+
+            @Override
+            public boolean isFinished() {
+                Pose2d currentPose = localizerCoordinateMode.convertTo(coordinateMode).apply(localizer.getPoseEstimate());
+                return hypot(currentPose.getX() - initialPose.getX(), currentPose.getY() - initialPose.getY()) >= distanceInches;
+            }
+
+            @Override
+            public void end(boolean interrupted) {
+                stopAllMotors();
+            }
+        };
+    }
+
     /**
      * Sets the drivetrain's driving mode.
      *
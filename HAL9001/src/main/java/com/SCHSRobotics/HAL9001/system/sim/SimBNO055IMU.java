@@ -0,0 +1,248 @@
+package com.SCHSRobotics.HAL9001.system.sim;
+
+import com.qualcomm.hardware.bosch.BNO055IMU;
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+
+import org.firstinspires.ftc.robotcore.external.navigation.Acceleration;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.AngularVelocity;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.MagneticFlux;
+import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
+import org.firstinspires.ftc.robotcore.external.navigation.Position;
+import org.firstinspires.ftc.robotcore.external.navigation.Quaternion;
+import org.firstinspires.ftc.robotcore.external.navigation.Temperature;
+import org.firstinspires.ftc.robotcore.external.navigation.TempUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Velocity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An in-memory BNO055IMU that simulates a robot rotating flat on the field.
+ * <p>
+ * The IMU's heading is integrated from its angular velocity every time the simulation advances.
+ * Tests can set the heading and angular velocity directly, or drive the angular velocity from a model of the robot's drivetrain.
+ * The IMU always reports itself as fully calibrated and running in fusion mode, and all register reads return zero.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimHardwareMap
+ * @see SimDevice
+ * @since 1.1.8
+ */
+public class SimBNO055IMU implements BNO055IMU, HardwareDevice, SimDevice {
+    //Standard gravity, in meters per second squared.
+    private static final double GRAVITY = 9.80665;
+    //The parameters the IMU was initialized with.
+    private Parameters parameters = new Parameters();
+    //The IMU's heading, in radians, normalized to (-pi, pi].
+    private double heading = 0;
+    //The IMU's angular velocity about the z axis, in radians per second.
+    private double angularVelocity = 0;
+    //The position and velocity reported by the IMU's acceleration integrator.
+    private Position position = new Position();
+    private Velocity velocity = new Velocity();
+
+    /**
+     * Sets the IMU's heading.
+     *
+     * @param heading   The heading.
+     * @param angleUnit The angle unit of the heading.
+     */
+    public synchronized void setHeading(double heading, @NotNull AngleUnit angleUnit) {
+        this.heading = AngleUnit.normalizeRadians(angleUnit.toRadians(heading));
+    }
+
+    /**
+     * Sets the IMU's angular velocity about the z axis. Counterclockwise is positive.
+     *
+     * @param angularVelocity The angular velocity, in angle units per second.
+     * @param angleUnit       The angle unit of the angular velocity.
+     */
+    public synchronized void setAngularVelocity(double angularVelocity, @NotNull AngleUnit angleUnit) {
+        this.angularVelocity = angleUnit.toRadians(angularVelocity);
+    }
+
+    @Override
+    public synchronized void update(double dtSeconds) {
+        heading = AngleUnit.normalizeRadians(heading + angularVelocity * dtSeconds);
+    }
+
+    @Override
+    public synchronized boolean initialize(@NotNull Parameters parameters) {
+        this.parameters = parameters;
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public synchronized Parameters getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public synchronized Orientation getAngularOrientation() {
+        return getAngularOrientation(AxesReference.INTRINSIC, AxesOrder.ZYX, parameters.angleUnit.toAngleUnit());
+    }
+
+    @Override
+    public synchronized Orientation getAngularOrientation(AxesReference reference, AxesOrder order, AngleUnit angleUnit) {
+        Orientation orientation = new Orientation(AxesReference.INTRINSIC, AxesOrder.ZYX, AngleUnit.RADIANS, (float) heading, 0, 0, System.nanoTime());
+        return orientation.toAxesReference(reference).toAxesOrder(order).toAngleUnit(angleUnit);
+    }
+
+    @Override
+    public synchronized Acceleration getOverallAcceleration() {
+        return getGravity();
+    }
+
+    @Override
+    public synchronized AngularVelocity getAngularVelocity() {
+        AngleUnit angleUnit = parameters.angleUnit.toAngleUnit();
+        return new AngularVelocity(angleUnit, 0, 0, (float) angleUnit.fromRadians(angularVelocity), System.nanoTime());
+    }
+
+    @Override
+    public Acceleration getLinearAcceleration() {
+        return new Acceleration(DistanceUnit.METER, 0, 0, 0, System.nanoTime());
+    }
+
+    @Override
+    public Acceleration getGravity() {
+        return new Acceleration(DistanceUnit.METER, 0, 0, GRAVITY, System.nanoTime());
+    }
+
+    @Override
+    public Temperature getTemperature() {
+        return new Temperature(TempUnit.CELSIUS, 25, System.nanoTime());
+    }
+
+    @Override
+    public MagneticFlux getMagneticFieldStrength() {
+        return new MagneticFlux(0, 0, 0, System.nanoTime());
+    }
+
+    @Override
+    public synchronized Quaternion getQuaternionOrientation() {
+        return new Quaternion((float) Math.cos(heading / 2), 0, 0, (float) Math.sin(heading / 2), System.nanoTime());
+    }
+
+    @Override
+    public synchronized Position getPosition() {
+        return position;
+    }
+
+    @Override
+    public synchronized Velocity getVelocity() {
+        return velocity;
+    }
+
+    @Override
+    public Acceleration getAcceleration() {
+        return getLinearAcceleration();
+    }
+
+    @Override
+    public synchronized void startAccelerationIntegration(Position initialPosition, Velocity initialVelocity, int msPollInterval) {
+        position = initialPosition == null ? new Position() : initialPosition;
+        velocity = initialVelocity == null ? new Velocity() : initialVelocity;
+    }
+
+    @Override
+    public void stopAccelerationIntegration() {
+    }
+
+    @Override
+    public SystemStatus getSystemStatus() {
+        return SystemStatus.RUNNING_FUSION;
+    }
+
+    @Override
+    public SystemError getSystemError() {
+        return SystemError.NO_ERROR;
+    }
+
+    @Override
+    public CalibrationStatus getCalibrationStatus() {
+        return new CalibrationStatus(0xFF);
+    }
+
+    @Override
+    public boolean isSystemCalibrated() {
+        return true;
+    }
+
+    @Override
+    public boolean isGyroCalibrated() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccelerometerCalibrated() {
+        return true;
+    }
+
+    @Override
+    public boolean isMagnetometerCalibrated() {
+        return true;
+    }
+
+    @Override
+    public CalibrationData readCalibrationData() {
+        return new CalibrationData();
+    }
+
+    @Override
+    public void writeCalibrationData(CalibrationData data) {
+    }
+
+    @Override
+    public byte read8(Register register) {
+        return 0;
+    }
+
+    @Override
+    public byte[] read(Register register, int cb) {
+        return new byte[cb];
+    }
+
+    @Override
+    public void write8(Register register, int bVal) {
+    }
+
+    @Override
+    public void write(Register register, byte[] data) {
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated BNO055 IMU";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "sim";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public synchronized void resetDeviceConfigurationForOpMode() {
+        angularVelocity = 0;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,43 @@
+package com.SCHSRobotics.HAL9001.system.sim;
+
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A clock that reads the simulated time of a SimHardwareMap. The robot uses it as the source of its loop clock when running in the simulator,
+ * so timers, controllers and encoder velocities see simulated time instead of real time.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimHardwareMap
+ * @see HALClock
+ * @since 1.1.8
+ */
+public final class SimClock extends HALClock {
+    //The simulated hardwaremap whose time is read.
+    private final SimHardwareMap hardwareMap;
+
+    /**
+     * The constructor for SimClock.
+     *
+     * @param hardwareMap The simulated hardwaremap whose time is read.
+     */
+    SimClock(@NotNull SimHardwareMap hardwareMap) {
+        this.hardwareMap = hardwareMap;
+    }
+
+    @Override
+    public long nanoTime() {
+        return hardwareMap.getTimeNanos();
+    }
+
+    @Override
+    @Contract(pure = true)
+    public boolean isRealTime() {
+        return false;
+    }
+}
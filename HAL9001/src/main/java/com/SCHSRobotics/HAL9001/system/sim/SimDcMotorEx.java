@@ -0,0 +1,359 @@
+package com.SCHSRobotics.HAL9001.system.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.MotorControlAlgorithm;
+import com.qualcomm.robotcore.hardware.PIDCoefficients;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An in-memory DcMotorEx with a first-order motor model.
+ * <p>
+ * The motor's velocity approaches the velocity commanded by its power, runmode and target position with a configurable time constant,
+ * and its encoder position is integrated from that velocity. Reversing the motor's direction flips the sign of its power and encoder readings, like a real motor.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimHardwareMap
+ * @see SimDevice
+ * @since 1.1.8
+ */
+public class SimDcMotorEx implements DcMotorEx, SimDevice {
+    //The default time constant of the motor's velocity response, in seconds.
+    private static final double DEFAULT_TIME_CONSTANT = 0.1;
+    //How much slower the motor comes to a stop when floating instead of braking.
+    private static final double FLOAT_SLOWDOWN = 5;
+    //The proportional gain used to slow down when approaching the target position in RUN_TO_POSITION mode, in 1/s.
+    private static final double RUN_TO_POSITION_GAIN = 5;
+    //The current drawn by the motor at stall, in amps.
+    private static final double STALL_CURRENT_AMPS = 9.2;
+    //The port number of the motor.
+    private final int portNumber;
+    //The PIDF coefficients for each runmode.
+    private final Map<RunMode, PIDFCoefficients> pidfCoefficients = new EnumMap<>(RunMode.class);
+    //The motor's type, which determines its ticks per revolution and max RPM.
+    private MotorConfigurationType motorType;
+    //The motor's direction.
+    private Direction direction = Direction.FORWARD;
+    //The motor's runmode.
+    private RunMode mode = RunMode.RUN_WITHOUT_ENCODER;
+    //The motor's zero power behavior.
+    private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+    //The motor's power, in the motor's direction.
+    private double power = 0;
+    //The motor's encoder position and velocity, in ticks and ticks per second, in the motor's direction.
+    private double position = 0, velocity = 0;
+    //The motor's target position, in ticks.
+    private int targetPosition = 0;
+    //How close the motor has to be to its target position to count as there, in ticks.
+    private int targetPositionTolerance = 5;
+    //Whether the motor is enabled.
+    private boolean enabled = true;
+    //The current above which the motor counts as over current, in amps.
+    private double currentAlertAmps = 5;
+    //The time constant of the motor's velocity response, in seconds.
+    private double timeConstant = DEFAULT_TIME_CONSTANT;
+
+    /**
+     * The constructor for SimDcMotorEx.
+     *
+     * @param motorType  The motor's type, which determines its ticks per revolution and max RPM.
+     * @param portNumber The port number of the motor.
+     */
+    public SimDcMotorEx(@NotNull MotorConfigurationType motorType, int portNumber) {
+        this.motorType = motorType;
+        this.portNumber = portNumber;
+        pidfCoefficients.put(RunMode.RUN_USING_ENCODER, new PIDFCoefficients(10, 3, 0, 0, MotorControlAlgorithm.PIDF));
+        pidfCoefficients.put(RunMode.RUN_TO_POSITION, new PIDFCoefficients(10, 0, 0, 0, MotorControlAlgorithm.PIDF));
+    }
+
+    /**
+     * Sets the time constant of the motor's velocity response. Larger values make the motor accelerate and decelerate more slowly.
+     *
+     * @param timeConstant The time constant, in seconds.
+     */
+    public synchronized void setTimeConstant(double timeConstant) {
+        this.timeConstant = Math.max(timeConstant, 1e-6);
+    }
+
+    /**
+     * Gets the motor's top speed.
+     *
+     * @return The motor's top speed, in ticks per second.
+     */
+    public synchronized double getMaxTicksPerSecond() {
+        return motorType.getMaxRPM() / 60 * motorType.getTicksPerRev();
+    }
+
+    @Override
+    public synchronized void update(double dtSeconds) {
+        double maxTicksPerSecond = getMaxTicksPerSecond();
+
+        double commandedVelocity;
+        double responseTimeConstant = timeConstant;
+        if (!enabled || mode == RunMode.STOP_AND_RESET_ENCODER) commandedVelocity = 0;
+        else if (mode == RunMode.RUN_TO_POSITION) {
+            double error = targetPosition - position;
+            double maxSpeed = Math.abs(power) * maxTicksPerSecond;
+            commandedVelocity = Math.abs(error) <= targetPositionTolerance ? 0 : Math.max(-maxSpeed, Math.min(maxSpeed, error * RUN_TO_POSITION_GAIN));
+        }
+        else {
+            commandedVelocity = power * maxTicksPerSecond;
+            if (power == 0 && zeroPowerBehavior == ZeroPowerBehavior.FLOAT) responseTimeConstant *= FLOAT_SLOWDOWN;
+        }
+
+        double lastVelocity = velocity;
+        velocity += (commandedVelocity - velocity) * (1 - Math.exp(-dtSeconds / responseTimeConstant));
+        position += (lastVelocity + velocity) / 2 * dtSeconds;
+    }
+
+    @Override
+    public synchronized MotorConfigurationType getMotorType() {
+        return motorType;
+    }
+
+    @Override
+    public synchronized void setMotorType(MotorConfigurationType motorType) {
+        this.motorType = motorType;
+    }
+
+    @Override
+    public DcMotorController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return portNumber;
+    }
+
+    @Override
+    public synchronized void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        this.zeroPowerBehavior = zeroPowerBehavior;
+    }
+
+    @Override
+    public synchronized ZeroPowerBehavior getZeroPowerBehavior() {
+        return zeroPowerBehavior;
+    }
+
+    @Override
+    @Deprecated
+    public synchronized void setPowerFloat() {
+        setZeroPowerBehavior(ZeroPowerBehavior.FLOAT);
+        setPower(0);
+    }
+
+    @Override
+    public synchronized boolean getPowerFloat() {
+        return zeroPowerBehavior == ZeroPowerBehavior.FLOAT && power == 0;
+    }
+
+    @Override
+    public synchronized void setTargetPosition(int position) {
+        targetPosition = position;
+    }
+
+    @Override
+    public synchronized int getTargetPosition() {
+        return targetPosition;
+    }
+
+    @Override
+    public synchronized boolean isBusy() {
+        return mode == RunMode.RUN_TO_POSITION && Math.abs(targetPosition - position) > targetPositionTolerance;
+    }
+
+    @Override
+    public synchronized int getCurrentPosition() {
+        return (int) Math.round(position);
+    }
+
+    @Override
+    public synchronized void setMode(RunMode mode) {
+        this.mode = mode;
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) {
+            power = 0;
+            position = 0;
+            velocity = 0;
+        }
+    }
+
+    @Override
+    public synchronized RunMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public synchronized void setDirection(Direction direction) {
+        if (direction != this.direction) {
+            position = -position;
+            velocity = -velocity;
+            targetPosition = -targetPosition;
+        }
+        this.direction = direction;
+    }
+
+    @Override
+    public synchronized Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public synchronized void setPower(double power) {
+        this.power = Math.max(-1, Math.min(1, power));
+    }
+
+    @Override
+    public synchronized double getPower() {
+        return power;
+    }
+
+    @Override
+    public synchronized void setMotorEnable() {
+        enabled = true;
+    }
+
+    @Override
+    public synchronized void setMotorDisable() {
+        enabled = false;
+    }
+
+    @Override
+    public synchronized boolean isMotorEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void setVelocity(double angularRate) {
+        double maxTicksPerSecond = getMaxTicksPerSecond();
+        setPower(maxTicksPerSecond == 0 ? 0 : angularRate / maxTicksPerSecond);
+    }
+
+    @Override
+    public synchronized void setVelocity(double angularRate, AngleUnit unit) {
+        double revolutionsPerSecond = unit.toRadians(angularRate) / (2 * Math.PI);
+        setVelocity(revolutionsPerSecond * motorType.getTicksPerRev());
+    }
+
+    @Override
+    public synchronized double getVelocity() {
+        return velocity;
+    }
+
+    @Override
+    public synchronized double getVelocity(AngleUnit unit) {
+        double radiansPerSecond = 2 * Math.PI * velocity / motorType.getTicksPerRev();
+        return unit.fromRadians(radiansPerSecond);
+    }
+
+    @Override
+    @Deprecated
+    public synchronized void setPIDCoefficients(RunMode mode, PIDCoefficients pidCoefficients) {
+        setPIDFCoefficients(mode, new PIDFCoefficients(pidCoefficients.p, pidCoefficients.i, pidCoefficients.d, 0));
+    }
+
+    @Override
+    public synchronized void setPIDFCoefficients(RunMode mode, PIDFCoefficients pidfCoefficients) {
+        this.pidfCoefficients.put(mode, new PIDFCoefficients(pidfCoefficients));
+    }
+
+    @Override
+    public synchronized void setVelocityPIDFCoefficients(double p, double i, double d, double f) {
+        setPIDFCoefficients(RunMode.RUN_USING_ENCODER, new PIDFCoefficients(p, i, d, f, MotorControlAlgorithm.PIDF));
+    }
+
+    @Override
+    public synchronized void setPositionPIDFCoefficients(double p) {
+        setPIDFCoefficients(RunMode.RUN_TO_POSITION, new PIDFCoefficients(p, 0, 0, 0, MotorControlAlgorithm.PIDF));
+    }
+
+    @Override
+    @Deprecated
+    public synchronized PIDCoefficients getPIDCoefficients(RunMode mode) {
+        PIDFCoefficients coefficients = getPIDFCoefficients(mode);
+        return new PIDCoefficients(coefficients.p, coefficients.i, coefficients.d);
+    }
+
+    @Override
+    public synchronized PIDFCoefficients getPIDFCoefficients(RunMode mode) {
+        PIDFCoefficients coefficients = pidfCoefficients.get(mode);
+        return coefficients == null ? new PIDFCoefficients() : new PIDFCoefficients(coefficients);
+    }
+
+    @Override
+    public synchronized void setTargetPositionTolerance(int tolerance) {
+        targetPositionTolerance = tolerance;
+    }
+
+    @Override
+    public synchronized int getTargetPositionTolerance() {
+        return targetPositionTolerance;
+    }
+
+    @Override
+    public synchronized double getCurrent(CurrentUnit unit) {
+        double maxTicksPerSecond = getMaxTicksPerSecond();
+        double backEmf = maxTicksPerSecond == 0 ? 0 : Math.min(1, Math.abs(velocity) / maxTicksPerSecond);
+        double amps = enabled ? STALL_CURRENT_AMPS * Math.abs(power) * (1 - backEmf) : 0;
+        return unit == CurrentUnit.MILLIAMPS ? amps * 1000 : amps;
+    }
+
+    @Override
+    public synchronized double getCurrentAlert(CurrentUnit unit) {
+        return unit == CurrentUnit.MILLIAMPS ? currentAlertAmps * 1000 : currentAlertAmps;
+    }
+
+    @Override
+    public synchronized void setCurrentAlert(double current, CurrentUnit unit) {
+        currentAlertAmps = unit == CurrentUnit.MILLIAMPS ? current / 1000 : current;
+    }
+
+    @Override
+    public synchronized boolean isOverCurrent() {
+        return getCurrent(CurrentUnit.AMPS) > currentAlertAmps;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated Motor";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "sim; port " + portNumber;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public synchronized void resetDeviceConfigurationForOpMode() {
+        setDirection(Direction.FORWARD);
+        mode = RunMode.RUN_WITHOUT_ENCODER;
+        zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+        power = 0;
+        enabled = true;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,21 @@
+package com.SCHSRobotics.HAL9001.system.sim;
+
+/**
+ * A simulated device whose state evolves over time. Every simulated device added to a SimHardwareMap is stepped forward each time the simulation advances.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimHardwareMap
+ * @since 1.1.8
+ */
+public interface SimDevice {
+
+    /**
+     * Advances the device's state forward in time.
+     *
+     * @param dtSeconds The amount of simulated time that has passed, in seconds.
+     */
+    void update(double dtSeconds);
+}
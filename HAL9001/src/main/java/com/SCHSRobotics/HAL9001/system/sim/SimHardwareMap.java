@@ -0,0 +1,261 @@
+package com.SCHSRobotics.HAL9001.system.sim;
+
+import android.content.Context;
+
+import com.SCHSRobotics.HAL9001.system.robot.SimulationStepper;
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.WaitSignal;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.VoltageSensor;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An in-memory hardwaremap for running HAL programs on a plain JVM, without a Robot Controller.
+ * <p>
+ * Simulated devices are added by name, just like devices in a robot configuration, and programs get them from the hardwaremap as usual.
+ * Simulated time advances in fixed steps. In lockstep mode (the default), the robot advances the simulation one step every time it refreshes its hardware snapshot,
+ * which happens once per robot loop, so simulations are deterministic and run as fast as the program can loop.
+ * <p>
+ * Programs running against a simulated hardwaremap see simulated time through HAL's clocks. See getClock().
+ * <p>
+ * There is no app context, so programs using cameras or other Android-only features cannot be simulated.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimDevice
+ * @see SimOpModeRunner
+ * @see com.SCHSRobotics.HAL9001.system.robot.HardwareSnapshot
+ * @see SimulationStepper
+ * @since 1.1.8
+ */
+public class SimHardwareMap extends HardwareMap implements SimulationStepper {
+    //The default name of the simulated battery voltage sensor.
+    public static final String DEFAULT_VOLTAGE_SENSOR_NAME = "Control Hub";
+    //The default amount of simulated time that passes each step, in nanoseconds.
+    private static final long DEFAULT_STEP_NANOS = 10_000_000;
+    //The default ticks per revolution and max RPM of simulated motors. Matches a 19.2:1 goBILDA Yellow Jacket motor.
+    private static final double DEFAULT_TICKS_PER_REV = 537.6, DEFAULT_MAX_RPM = 312;
+    //The simulated devices that are stepped forward every time the simulation advances.
+    private final List<SimDevice> simDevices = new ArrayList<>();
+    //The signal used to wake up threads waiting for the simulation to advance.
+    private final WaitSignal stepSignal = new WaitSignal();
+    //The battery voltage sensor.
+    private final SimVoltageSensor batteryVoltageSensor;
+    //The clock that reads the simulated time.
+    private final SimClock clock = new SimClock(this);
+    //The amount of simulated time that passes each step, in nanoseconds.
+    private long stepNanos = DEFAULT_STEP_NANOS;
+    //The current simulated time, in nanoseconds.
+    private long timeNanos = 0;
+    //Whether the robot advances the simulation every time it refreshes its hardware snapshot.
+    private boolean lockstep = true;
+    //The next port number to assign to a simulated motor.
+    private int nextMotorPort = 0;
+
+    /**
+     * The constructor for SimHardwareMap. Adds a simulated 12 volt battery voltage sensor.
+     */
+    public SimHardwareMap() {
+        super((Context) null);
+        batteryVoltageSensor = addVoltageSensor(DEFAULT_VOLTAGE_SENSOR_NAME, 12);
+    }
+
+    /**
+     * Adds a simulated motor with the default ticks per revolution and max RPM.
+     *
+     * @param name The motor's name in the hardwaremap.
+     * @return The simulated motor.
+     */
+    public SimDcMotorEx addMotor(@NotNull String name) {
+        return addMotor(name, DEFAULT_TICKS_PER_REV, DEFAULT_MAX_RPM);
+    }
+
+    /**
+     * Adds a simulated motor.
+     *
+     * @param name        The motor's name in the hardwaremap.
+     * @param ticksPerRev The number of encoder ticks per revolution of the motor's output shaft.
+     * @param maxRPM      The max RPM of the motor's output shaft.
+     * @return The simulated motor.
+     */
+    public SimDcMotorEx addMotor(@NotNull String name, double ticksPerRev, double maxRPM) {
+        ExceptionChecker.assertTrue(ticksPerRev > 0 && maxRPM > 0, new DumpsterFireException("Ticks per revolution and max RPM must be positive."));
+
+        MotorConfigurationType motorType = MotorConfigurationType.getUnspecifiedMotorType().clone();
+        motorType.setTicksPerRev(ticksPerRev);
+        motorType.setMaxRPM(maxRPM);
+
+        SimDcMotorEx motor = new SimDcMotorEx(motorType, nextMotorPort++);
+        dcMotor.put(name, motor);
+        addDevice(name, motor);
+        return motor;
+    }
+
+    /**
+     * Adds a simulated BNO055 IMU.
+     *
+     * @param name The IMU's name in the hardwaremap.
+     * @return The simulated IMU.
+     */
+    public SimBNO055IMU addIMU(@NotNull String name) {
+        SimBNO055IMU imu = new SimBNO055IMU();
+        addDevice(name, imu);
+        return imu;
+    }
+
+    /**
+     * Adds a simulated voltage sensor.
+     *
+     * @param name    The voltage sensor's name in the hardwaremap.
+     * @param voltage The voltage reported by the sensor, in volts.
+     * @return The simulated voltage sensor.
+     */
+    public SimVoltageSensor addVoltageSensor(@NotNull String name, double voltage) {
+        SimVoltageSensor sensor = new SimVoltageSensor(voltage);
+        voltageSensor.put(name, sensor);
+        addDevice(name, sensor);
+        return sensor;
+    }
+
+    /**
+     * Adds a device to the hardwaremap. If the device is a SimDevice, it will be stepped forward every time the simulation advances.
+     * Use this to add custom simulated devices, or simulated models (such as a drivetrain) that tie other devices together.
+     *
+     * @param name   The device's name in the hardwaremap.
+     * @param device The device.
+     */
+    public synchronized void addDevice(@NotNull String name, @NotNull HardwareDevice device) {
+        put(name, device);
+        if (device instanceof SimDevice) simDevices.add((SimDevice) device);
+    }
+
+    /**
+     * Adds a simulated model that is not itself a hardware device. It will be stepped forward every time the simulation advances, after all devices added before it.
+     *
+     * @param model The simulated model.
+     */
+    public synchronized void addModel(@NotNull SimDevice model) {
+        simDevices.add(model);
+    }
+
+    /**
+     * Gets the simulated battery voltage sensor.
+     *
+     * @return The simulated battery voltage sensor.
+     */
+    @Contract(pure = true)
+    public SimVoltageSensor getBatteryVoltageSensor() {
+        return batteryVoltageSensor;
+    }
+
+    /**
+     * Sets the amount of simulated time that passes each step.
+     *
+     * @param stepSize The amount of time that passes each step.
+     * @param timeUnit The unit of the step size.
+     */
+    public synchronized void setStepSize(double stepSize, @NotNull HALTimeUnit timeUnit) {
+        long stepNanos = (long) HALTimeUnit.convert(stepSize, timeUnit, HALTimeUnit.NANOSECONDS);
+        ExceptionChecker.assertTrue(stepNanos > 0, new DumpsterFireException("Simulation step size must be positive."));
+        this.stepNanos = stepNanos;
+    }
+
+    /**
+     * Sets whether the robot advances the simulation one step every time it refreshes its hardware snapshot. If disabled, the simulation only advances when step() is called.
+     *
+     * @param lockstep Whether the robot advances the simulation every time it refreshes its hardware snapshot.
+     */
+    public synchronized void setLockstep(boolean lockstep) {
+        this.lockstep = lockstep;
+    }
+
+    /**
+     * Called by the robot every time it refreshes its hardware snapshot. Advances the simulation one step if lockstep mode is enabled.
+     */
+    @Override
+    public void onHardwareRefresh() {
+        if (lockstep) step();
+    }
+
+    /**
+     * Advances the simulation one step.
+     */
+    public void step() {
+        long stepNanos;
+        synchronized (this) {
+            stepNanos = this.stepNanos;
+        }
+        step(stepNanos, HALTimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Advances the simulation by a given amount of time.
+     *
+     * @param time     The amount of simulated time that passes.
+     * @param timeUnit The unit of time.
+     */
+    public void step(double time, @NotNull HALTimeUnit timeUnit) {
+        long dtNanos = (long) HALTimeUnit.convert(time, timeUnit, HALTimeUnit.NANOSECONDS);
+        ExceptionChecker.assertTrue(dtNanos >= 0, new DumpsterFireException("Simulated time cannot go backwards."));
+
+        synchronized (this) {
+            double dtSeconds = HALTimeUnit.convert(dtNanos, HALTimeUnit.NANOSECONDS, HALTimeUnit.SECONDS);
+            for (SimDevice device : simDevices) device.update(dtSeconds);
+            timeNanos += dtNanos;
+        }
+        stepSignal.signal();
+    }
+
+    /**
+     * Gets the current simulated time.
+     *
+     * @param timeUnit The unit of the returned time.
+     * @return The amount of simulated time that has passed since the hardwaremap was created.
+     */
+    public synchronized double getTime(@NotNull HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(timeNanos, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Gets a clock that reads the current simulated time. Robots created with this hardwaremap use it as the source of their loop clock.
+     *
+     * @return The simulated clock.
+     */
+    @Override
+    @Contract(pure = true)
+    @NotNull
+    public SimClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the current simulated time in nanoseconds. Used by the simulated clock.
+     *
+     * @return The amount of simulated time that has passed since the hardwaremap was created, in nanoseconds.
+     */
+    synchronized long getTimeNanos() {
+        return timeNanos;
+    }
+
+    /**
+     * Gets the signal that is signalled every time the simulation advances.
+     *
+     * @return The simulation's step signal.
+     */
+    @Contract(pure = true)
+    public WaitSignal getStepSignal() {
+        return stepSignal;
+    }
+}
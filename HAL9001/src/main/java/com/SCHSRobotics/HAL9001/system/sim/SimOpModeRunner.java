@@ -0,0 +1,175 @@
+package com.SCHSRobotics.HAL9001.system.sim;
+
+import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.WaitSignal;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.eventloop.opmode.OpModeServices;
+import com.qualcomm.robotcore.robocol.TelemetryMessage;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs an opmode against a SimHardwareMap on a plain JVM, playing the part of the Robot Controller's opmode manager.
+ * <p>
+ * The runner calls the opmode's init(), init_loop(), start(), loop() and stop() methods in order, for a given amount of simulated time in each phase.
+ * For HAL programs (and other linear opmodes), the runner waits for the program's thread to advance the simulation before moving on,
+ * so the program runs in lockstep with simulated time and as fast as it can loop. For iterative opmodes, the runner advances the simulation itself.
+ * <p>
+ * If a linear opmode stops advancing the simulation for longer than the stall timeout (for example, because it has finished or is stuck in an error loop),
+ * the runner stops it and reports the run as stalled.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimHardwareMap
+ * @see com.SCHSRobotics.HAL9001.system.robot.BaseTeleop
+ * @see com.SCHSRobotics.HAL9001.system.robot.BaseAutonomous
+ * @since 1.1.8
+ */
+public class SimOpModeRunner {
+    //The default amount of real time a linear opmode can go without advancing the simulation before it is stopped, in milliseconds.
+    private static final long DEFAULT_STALL_TIMEOUT_MILLIS = 5000;
+    //The opmode being run.
+    private final OpMode opMode;
+    //The simulated hardwaremap the opmode runs against.
+    private final SimHardwareMap hardwareMap;
+    //Whether the opmode has requested to stop.
+    private volatile boolean stopRequested = false;
+    //Whether the last run was stopped because the opmode stopped advancing the simulation.
+    private boolean stalled = false;
+    //The amount of real time a linear opmode can go without advancing the simulation before it is stopped, in nanoseconds.
+    private long stallTimeoutNanos = (long) HALTimeUnit.convert(DEFAULT_STALL_TIMEOUT_MILLIS, HALTimeUnit.MILLISECONDS, HALTimeUnit.NANOSECONDS);
+
+    /**
+     * The constructor for SimOpModeRunner. Gives the opmode the simulated hardwaremap. This must be done before the opmode is run, since HAL programs create their robot in runOpMode().
+     *
+     * @param opMode      The opmode to run.
+     * @param hardwareMap The simulated hardwaremap the opmode runs against.
+     */
+    public SimOpModeRunner(@NotNull OpMode opMode, @NotNull SimHardwareMap hardwareMap) {
+        this.opMode = opMode;
+        this.hardwareMap = hardwareMap;
+
+        opMode.hardwareMap = hardwareMap;
+        opMode.internalOpModeServices = new SimOpModeServices();
+    }
+
+    /**
+     * Sets the amount of real time a linear opmode can go without advancing the simulation before it is stopped.
+     *
+     * @param stallTimeout The stall timeout.
+     * @param timeUnit     The unit of the stall timeout.
+     */
+    public void setStallTimeout(double stallTimeout, @NotNull HALTimeUnit timeUnit) {
+        ExceptionChecker.assertTrue(stallTimeout > 0, new DumpsterFireException("Stall timeout must be positive."));
+        stallTimeoutNanos = (long) HALTimeUnit.convert(stallTimeout, timeUnit, HALTimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs the opmode through its full lifecycle: init, init_loop for the given init time, start, loop for the given run time, and stop.
+     * Any exception thrown by the opmode is rethrown after it is stopped.
+     *
+     * @param initTime The amount of simulated time to spend in init_loop().
+     * @param runTime  The amount of simulated time to spend in loop() after the opmode is started.
+     * @param timeUnit The unit of the init and run times.
+     */
+    public void run(double initTime, double runTime, @NotNull HALTimeUnit timeUnit) {
+        stalled = false;
+        stopRequested = false;
+
+        try {
+            opMode.init();
+            runPhase(initTime, timeUnit, true);
+            if (!stopRequested && !stalled) {
+                opMode.start();
+                runPhase(runTime, timeUnit, false);
+            }
+        } finally {
+            opMode.stop();
+        }
+    }
+
+    /**
+     * Gets whether the last run was stopped because the opmode stopped advancing the simulation.
+     *
+     * @return Whether the last run stalled.
+     */
+    @Contract(pure = true)
+    public boolean stalled() {
+        return stalled;
+    }
+
+    /**
+     * Gets whether the opmode requested to stop during the last run, such as by calling requestOpModeStop() or returning from runOpMode().
+     *
+     * @return Whether the opmode requested to stop.
+     */
+    @Contract(pure = true)
+    public boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    /**
+     * Repeatedly calls init_loop() or loop() until the given amount of simulated time has passed or the opmode stops.
+     *
+     * @param duration The amount of simulated time to run the phase for.
+     * @param timeUnit The unit of the duration.
+     * @param isInit   Whether to call init_loop() instead of loop().
+     */
+    private void runPhase(double duration, @NotNull HALTimeUnit timeUnit, boolean isInit) {
+        WaitSignal stepSignal = hardwareMap.getStepSignal();
+        double endTime = hardwareMap.getTime(timeUnit) + duration;
+
+        while (!stopRequested && hardwareMap.getTime(timeUnit) < endTime) {
+            long seenVersion = stepSignal.getVersion();
+
+            if (isInit) opMode.init_loop();
+            else opMode.loop();
+
+            if (!(opMode instanceof LinearOpMode)) {
+                if (stepSignal.getVersion() == seenVersion) hardwareMap.step();
+            }
+            else if (!awaitStep(stepSignal, seenVersion)) {
+                stalled = !stopRequested;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits for the opmode's thread to advance the simulation.
+     *
+     * @param stepSignal  The simulation's step signal.
+     * @param seenVersion The version of the step signal seen before the opmode's loop method was called.
+     * @return Whether the simulation advanced before the stall timeout passed or the opmode requested to stop.
+     */
+    private boolean awaitStep(@NotNull WaitSignal stepSignal, long seenVersion) {
+        long deadline = System.nanoTime() + stallTimeoutNanos;
+        while (stepSignal.getVersion() == seenVersion) {
+            long now = System.nanoTime();
+            if (stopRequested || now >= deadline || Thread.currentThread().isInterrupted()) return false;
+            //Wake up periodically to notice stop requests, which are not signalled.
+            stepSignal.awaitChange(seenVersion, Math.min(deadline, now + 10_000_000));
+        }
+        return true;
+    }
+
+    /**
+     * The services the opmode uses to talk to the opmode manager. Telemetry is discarded, and stop requests end the run.
+     */
+    private final class SimOpModeServices implements OpModeServices {
+        @Override
+        public void refreshUserTelemetry(TelemetryMessage telemetry, double sInterval) {
+        }
+
+        @Override
+        public void requestOpModeStop(OpMode opModeToStopIfActive) {
+            if (opModeToStopIfActive == opMode) stopRequested = true;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.SCHSRobotics.HAL9001.system.sim;
+
+import com.qualcomm.robotcore.hardware.VoltageSensor;
+
+/**
+ * An in-memory VoltageSensor reporting a settable battery voltage.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimHardwareMap
+ * @since 1.1.8
+ */
+public class SimVoltageSensor implements VoltageSensor {
+    //The voltage reported by the sensor, in volts.
+    private volatile double voltage;
+
+    /**
+     * The constructor for SimVoltageSensor.
+     *
+     * @param voltage The voltage reported by the sensor, in volts.
+     */
+    public SimVoltageSensor(double voltage) {
+        this.voltage = voltage;
+    }
+
+    /**
+     * Sets the voltage reported by the sensor.
+     *
+     * @param voltage The voltage reported by the sensor, in volts.
+     */
+    public void setVoltage(double voltage) {
+        this.voltage = voltage;
+    }
+
+    @Override
+    public double getVoltage() {
+        return voltage;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated Voltage Sensor";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "sim";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
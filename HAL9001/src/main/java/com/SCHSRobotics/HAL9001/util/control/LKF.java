@@ -1,5 +1,8 @@
 package com.SCHSRobotics.HAL9001.util.control;
 
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.core.Point;
@@ -77,7 +80,7 @@ public class LKF {
         id2 = id2.mul(id2,1e-2);
         kf.set_errorCovPost(id2);
 
-        creationTime = System.currentTimeMillis();
+        creationTime = (long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS);
 
         lastUpdateTimer = 0;
         trustworthyness = 0;
@@ -105,14 +108,14 @@ public class LKF {
         } else {
             measurement.put(0, 0, p.x);
             measurement.put(1, 0, p.y);
-            creationTime = System.currentTimeMillis();
+            creationTime = (long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS);
 
             correctTimes++;
 
             trustworthyness = 1.0*correctTimes/totalUpdates;
         }
 
-        lastUpdateTimer = System.currentTimeMillis() - creationTime;
+        lastUpdateTimer = (long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS) - creationTime;
 
         // Correction
         Mat estimated = kf.correct(measurement); //updates predicted state from the measurement
@@ -1,6 +1,8 @@
 package com.SCHSRobotics.HAL9001.util.control;
 
 import com.SCHSRobotics.HAL9001.util.functional_interfaces.BiFunction;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
 import com.qualcomm.robotcore.util.Range;
 
 import org.jetbrains.annotations.NotNull;
@@ -32,9 +34,18 @@ public class PIDController {
     //Ranges for clamping components of the PID controller.
     private double iClampLower,clampLower,iClampUpper,clampUpper,pClampLower, pClampUpper;
 
-    //The system time in milliseconds that the last update to the PID controller occurred at.
+    //The clock time in nanoseconds that the last update to the PID controller occurred at.
     private long lastUpdate;
 
+    //Whether the PID controller has been updated since it was created.
+    private boolean hasUpdated = false;
+
+    //The clock used to measure time between updates. Null if the controller uses the global clock.
+    private HALClock clock;
+
+    //The clock captured at the first update after the controller was initialized or enabled, so changing the global clock later does not break the timing of a running controller.
+    private HALClock activeClock;
+
     //A boolean specifying if the controller is currently active.
     private boolean active;
 
@@ -187,6 +198,7 @@ public class PIDController {
         this.setpoint = setpoint;
         this.lastState = initialState;
         lastUpdate = 0;
+        activeClock = null;
         iClampLower = -Double.MAX_VALUE;
         clampLower = -Double.MAX_VALUE;
         pClampLower = -Double.MAX_VALUE;
@@ -208,7 +220,9 @@ public class PIDController {
     public void enable(double current) {
         I = 0;
         lastState = current;
-        lastUpdate = System.currentTimeMillis();
+        activeClock = null;
+        lastUpdate = now();
+        hasUpdated = true;
         active = true;
     }
 
@@ -283,6 +297,17 @@ public class PIDController {
         this.deadband = Math.abs(deadband);
     }
 
+    /**
+     * Sets the clock used to measure the time between updates.
+     *
+     * @param clock The clock used to measure time, or null to use the global clock at the time of the next update.
+     * @see HALClock
+     */
+    public void setClock(HALClock clock) {
+        this.clock = clock;
+        activeClock = null;
+    }
+
     /**
      * Gets the correction value based on the controller calculations.
      *
@@ -295,7 +320,8 @@ public class PIDController {
             return 0;
         }
 
-        double dT = lastUpdate == 0 ? 0 : (System.currentTimeMillis() - lastUpdate) / 1000.0; //because I like seconds
+        long now = now();
+        double dT = hasUpdated ? HALTimeUnit.convert(now - lastUpdate, HALTimeUnit.NANOSECONDS, HALTimeUnit.SECONDS) : 0; //because I like seconds
         double error = getError(current);
 
         switch(type) {
@@ -305,7 +331,8 @@ public class PIDController {
                 D = dT <= 0.0001 ? 0 : -kd * (current - lastState) / dT;
                 F = kf*setpoint;
                 lastState = current;
-                lastUpdate = System.currentTimeMillis();
+                lastUpdate = now;
+                hasUpdated = true;
 
                 return Math.abs(error) > deadband ? Range.clip(P + I + D + F,clampLower,clampUpper) : 0;
             case P_ON_M:
@@ -313,7 +340,8 @@ public class PIDController {
                 I = Range.clip(I + ki * error * dT, iClampLower, iClampUpper);
                 D = dT <= 0.0001 ? 0 : -kd * (current - lastState) / dT;
                 lastState = current;
-                lastUpdate = System.currentTimeMillis();
+                lastUpdate = now;
+                hasUpdated = true;
 
                 return Math.abs(error) > deadband ? Range.clip(P + I + D,clampLower,clampUpper) : 0;
             default:
@@ -321,7 +349,8 @@ public class PIDController {
                 I = Range.clip(I + ki * error * dT, iClampLower, iClampUpper);
                 D = dT <= 0.0001 ? 0 : -kd * (current - lastState) / dT;
                 lastState = current;
-                lastUpdate = System.currentTimeMillis();
+                lastUpdate = now;
+                hasUpdated = true;
 
                 return Math.abs(error) > deadband ? Range.clip(P + I + D, clampLower, clampUpper) : 0;
         }
@@ -390,4 +419,14 @@ public class PIDController {
     public double getLastOutput() {
         return lastOutput;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the current time of the controller's clock, capturing the global clock if the controller has no clock of its own.
+     *
+     * @return The current time in nanoseconds.
+     */
+    private long now() {
+        if (activeClock == null) activeClock = clock == null ? HALClock.getGlobalClock() : clock;
+        return activeClock.nanoTime();
+    }
+}
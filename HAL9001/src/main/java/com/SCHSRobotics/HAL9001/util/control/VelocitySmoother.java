@@ -9,6 +9,8 @@ package com.SCHSRobotics.HAL9001.util.control;
 
 import com.SCHSRobotics.HAL9001.util.exceptions.NotAnAlchemistException;
 import com.SCHSRobotics.HAL9001.util.functional_interfaces.BiFunction;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
 
 import org.firstinspires.ftc.robotcore.external.Function;
 
@@ -41,12 +43,12 @@ public class VelocitySmoother {
     }
 
     public double getVelocity() {
-        return velocityProfile.apply((System.currentTimeMillis()-lastGenerationTime)/1000.0);
+        return velocityProfile.apply(((long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS)-lastGenerationTime)/1000.0);
     }
 
     public void update(double current_velocity, double target_velocity) {
 
-        double tk = (System.currentTimeMillis()-lastGenerationTime)/1000.0;
+        double tk = ((long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS)-lastGenerationTime)/1000.0;
 
         double currentAcceleration = accelerationProfile.apply(tk);
 
@@ -2,6 +2,8 @@ package com.SCHSRobotics.HAL9001.util.misc;
 
 import android.os.Environment;
 
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+
 import org.opencv.core.Core;
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
@@ -101,7 +103,7 @@ public class Grapher {
     public Mat getNextFrame(double nextY) {
 
         if(!firstLoop) {
-            timeStep = (System.currentTimeMillis()-lastUpdate)/1000.0;
+            timeStep = ((long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS)-lastUpdate)/1000.0;
         }
         else {
             firstLoop = false;
@@ -160,7 +162,7 @@ public class Grapher {
         plotter.clear();
 
         lastTimeStep = timeStep;
-        lastUpdate = System.currentTimeMillis();
+        lastUpdate = (long) HALClock.getGlobalClock().getTime(HALTimeUnit.MILLISECONDS);
 
         System.gc();
 
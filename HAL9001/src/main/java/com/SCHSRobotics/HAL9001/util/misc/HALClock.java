@@ -0,0 +1,79 @@
+package com.SCHSRobotics.HAL9001.util.misc;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A monotonic clock used by HAL's timing code, such as timers, controllers, encoders and the GUI.
+ * <p>
+ * Classes that are not given a clock use the global clock, which the robot sets to its loop clock when it is created.
+ * Timers and PID controllers capture the global clock when they start, so they keep measuring time on the same clock even after the robot resets the global clock.
+ * The loop clock also keeps the timestamp of the current loop's hardware snapshot, and is backed by a simulated clock when running in the simulator.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see LoopClock
+ * @see Timer
+ * @since 1.1.8
+ */
+public abstract class HALClock {
+    //A clock backed by System.nanoTime().
+    public static final HALClock SYSTEM = new HALClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    };
+    //The clock used by classes that are not given a clock.
+    private static volatile HALClock globalClock = SYSTEM;
+
+    /**
+     * Gets the current time of the clock. Only differences between two times are meaningful.
+     *
+     * @return The current time in nanoseconds.
+     */
+    public abstract long nanoTime();
+
+    /**
+     * Gets the current time of the clock in a given unit. Only differences between two times are meaningful.
+     *
+     * @param timeUnit The unit of the returned time.
+     * @return The current time.
+     */
+    public final double getTime(@NotNull HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(nanoTime(), HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Gets whether the clock advances in real time. Code waiting on a clock that does not advance in real time should not sleep.
+     *
+     * @return Whether the clock advances in real time.
+     */
+    @Contract(pure = true)
+    public boolean isRealTime() {
+        return true;
+    }
+
+    /**
+     * Gets the clock used by classes that are not given a clock.
+     *
+     * @return The global clock.
+     */
+    @Contract(pure = true)
+    public static HALClock getGlobalClock() {
+        return globalClock;
+    }
+
+    /**
+     * Sets the clock used by classes that are not given a clock. The robot sets this to its loop clock when it is created and resets it to the system clock when it stops.
+     *
+     * @param clock The new global clock.
+     */
+    public static void setGlobalClock(@NotNull HALClock clock) {
+        globalClock = clock;
+    }
+}
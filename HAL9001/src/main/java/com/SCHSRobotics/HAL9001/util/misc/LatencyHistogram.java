@@ -0,0 +1,147 @@
+package com.SCHSRobotics.HAL9001.util.misc;
+
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * A fixed-bucket histogram used for recording latencies. Buckets are log-linear, so every recorded value is kept to within about 6% of its true value.
+ * Recording a value never allocates, so the histogram can be used on hot paths.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see HALTimeUnit
+ * @since 1.1.8
+ */
+public class LatencyHistogram {
+    //The number of bits of precision kept for each power of two, and the resulting number of buckets per power of two.
+    private static final int SUB_BUCKET_BITS = 4, SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    //The largest power of two (in nanoseconds) the histogram can store. Larger values are clamped. 2^40 ns is a little over 18 minutes.
+    private static final int MAX_EXPONENT = 40;
+    //The total number of buckets in the histogram.
+    private static final int NUM_BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    //The number of values recorded in each bucket.
+    private final long[] counts = new long[NUM_BUCKETS];
+    //The total number of values recorded.
+    private long totalCount;
+    //The sum of all recorded values in nanoseconds.
+    private long totalNanos;
+    //The largest recorded value in nanoseconds.
+    private long maxNanos;
+
+    /**
+     * Records a latency value.
+     *
+     * @param nanos The latency to record in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[bucketIndex(nanos)]++;
+        totalCount++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) counts[i] = 0;
+        totalCount = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return The number of values recorded.
+     */
+    @Contract(pure = true)
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Gets the value at a given percentile.
+     *
+     * @param percentile The percentile to get, from 0 to 100.
+     * @param timeUnit   The unit of time to return.
+     * @return The value at the given percentile, or 0 if nothing has been recorded.
+     * @see HALTimeUnit
+     */
+    public double getPercentile(double percentile, HALTimeUnit timeUnit) {
+        if (totalCount == 0) return 0;
+
+        long target = (long) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100 * totalCount);
+        if (target < 1) target = 1;
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return HALTimeUnit.convert(Math.min(bucketMidpoint(i), maxNanos), HALTimeUnit.NANOSECONDS, timeUnit);
+            }
+        }
+        return HALTimeUnit.convert(maxNanos, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Gets the mean of all recorded values.
+     *
+     * @param timeUnit The unit of time to return.
+     * @return The mean of all recorded values, or 0 if nothing has been recorded.
+     * @see HALTimeUnit
+     */
+    public double getMean(HALTimeUnit timeUnit) {
+        if (totalCount == 0) return 0;
+        return HALTimeUnit.convert((double) totalNanos / totalCount, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @param timeUnit The unit of time to return.
+     * @return The largest recorded value, or 0 if nothing has been recorded.
+     * @see HALTimeUnit
+     */
+    public double getMax(HALTimeUnit timeUnit) {
+        return HALTimeUnit.convert(maxNanos, HALTimeUnit.NANOSECONDS, timeUnit);
+    }
+
+    /**
+     * Gets the index of the bucket a value falls into.
+     *
+     * @param nanos The value in nanoseconds.
+     * @return The index of the bucket the value falls into.
+     */
+    @Contract(pure = true)
+    private static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) return NUM_BUCKETS - 1;
+
+        int topBits = (int) (nanos >>> (exponent - SUB_BUCKET_BITS));
+        return (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + topBits;
+    }
+
+    /**
+     * Gets the value in the middle of a bucket.
+     *
+     * @param index The index of the bucket.
+     * @return The value in the middle of the bucket in nanoseconds.
+     */
+    @Contract(pure = true)
+    private static long bucketMidpoint(int index) {
+        if (index < 2 * SUB_BUCKETS) return index;
+
+        int shift = index / SUB_BUCKETS - 1;
+        long topBits = index % SUB_BUCKETS + SUB_BUCKETS;
+        long lower = topBits << shift;
+        return lower + (1L << shift) / 2;
+    }
+}
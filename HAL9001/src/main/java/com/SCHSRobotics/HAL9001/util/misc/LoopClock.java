@@ -0,0 +1,73 @@
+package com.SCHSRobotics.HAL9001.util.misc;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A clock that latches the time of another clock once per loop, so code that wants a single timestamp for the whole loop can read the same one.
+ * <p>
+ * nanoTime() always reads the source clock, so timers, controllers and blocking waits keep seeing time pass even inside a loop.
+ * The robot latches its loop clock every time it refreshes its hardware snapshot, and the latched time, read with getLatchedTime(),
+ * lines up with the encoder readings of that loop.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see HALClock
+ * @see com.SCHSRobotics.HAL9001.system.robot.HardwareSnapshot
+ * @since 1.1.8
+ */
+public final class LoopClock extends HALClock {
+    //The clock that is latched.
+    private final HALClock source;
+    //The latched time, in nanoseconds.
+    private volatile long latchedTime;
+
+    /**
+     * The constructor for LoopClock.
+     *
+     * @param source The clock to latch.
+     */
+    public LoopClock(@NotNull HALClock source) {
+        this.source = source;
+        latchedTime = source.nanoTime();
+    }
+
+    /**
+     * Latches the source clock's current time.
+     */
+    public void latch() {
+        latchedTime = source.nanoTime();
+    }
+
+    /**
+     * Gets the time latched by the last call to latch().
+     *
+     * @return The latched time in nanoseconds.
+     */
+    @Contract(pure = true)
+    public long getLatchedTime() {
+        return latchedTime;
+    }
+
+    /**
+     * Gets the clock that is latched.
+     *
+     * @return The source clock.
+     */
+    @Contract(pure = true)
+    public HALClock getSource() {
+        return source;
+    }
+
+    @Override
+    public long nanoTime() {
+        return source.nanoTime();
+    }
+
+    @Override
+    public boolean isRealTime() {
+        return source.isRealTime();
+    }
+}
@@ -1,19 +1,24 @@
 package com.SCHSRobotics.HAL9001.util.misc;
 
 import com.SCHSRobotics.HAL9001.util.exceptions.DumpsterFireException;
+import com.SCHSRobotics.HAL9001.util.exceptions.ExceptionChecker;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.opencv.core.Rect;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * A class used to perform non-max suppression on a list of bounding boxes.
  * The algorithm is essentially a port of the Malisiewicz et al. method described in http://www.computervisionblog.com/2011/08/blazing-fast-nmsm-from-exemplar-svm.html.
  * <p>
+ * Boxes are sorted once by score (or by bottom y coordinate if no scores are given), then each kept box suppresses every remaining box it overlaps too much.
+ * Boxes can optionally be given class ids, in which case boxes only suppress boxes of the same class, and the number of kept boxes can be capped.
+ * All work is done on primitive arrays, and scratch buffers are kept between calls, so suppression does not allocate once the suppressor has warmed up.
+ * Because of the scratch buffers, a NonMaxSuppressor must not be used by more than one thread at a time.
+ * <p>
  * Creation Date: 1/15/19
  *
  * @author Cole Savage, Level Up
@@ -22,9 +27,20 @@ import java.util.List;
  */
 @SuppressWarnings("unused")
 public class NonMaxSuppressor {
-    //Todo move helper functions to FakeNumpy
+    //The number of values used to store each box in a packed box array.
+    private static final int BOX_SIZE = 4;
     //The area overlap threshold.
     private double thresh;
+    //The packed corners of the boxes being suppressed. Only used when suppressing Rects.
+    private double[] boxBuffer = new double[0];
+    //The area of each box.
+    private double[] areas = new double[0];
+    //The indexes of the boxes, sorted by ascending score.
+    private int[] order = new int[0];
+    //Whether each box has been suppressed.
+    private boolean[] suppressed = new boolean[0];
+    //The indexes of the kept boxes. Only used when suppressing Rects.
+    private int[] keptBuffer = new int[0];
 
     /**
      * Constructor for NonMaxSuppressor.
@@ -37,244 +53,180 @@ public class NonMaxSuppressor {
     }
 
     /**
-     * Performs non-max suppression.
+     * Performs non-max suppression. Boxes with a lower bottom edge are preferred.
      *
      * @param boxes A list of bounding boxes.
      * @return A list of merged bounding boxes.
      */
     public List<Rect> suppressNonMax(@NotNull List<Rect> boxes) {
-        if(boxes.size() == 0) {
-            return boxes;
-        }
-
-        List<Integer> selectedIdxes = new ArrayList<>();
-
-        List<Double> x1 = new ArrayList<>(); //top left x values.
-        List<Double> y1 = new ArrayList<>(); //top left y values.
-        List<Double> x2 = new ArrayList<>(); //bottom right x values.
-        List<Double> y2 = new ArrayList<>(); //bottom right y values.
-
-        List<Double> areas = new ArrayList<>();
-
-        for(Rect box : boxes) {
-
-            //Adds box corners to their respective lists.
-            x1.add((double) box.x);
-            y1.add((double) box.y);
-            x2.add((double) box.x+box.width);
-            y2.add((double) box.y+box.height);
-
-            //Calculates area of the bounding box. the + 1 is included so that a bounding box with 0 area can't exist.
-            areas.add((x2.get(boxes.indexOf(box))-x1.get(boxes.indexOf(box))+1)*(y2.get(boxes.indexOf(box))-y1.get(boxes.indexOf(box))+1));
-        }
-
-        //Sort the boxes by bottom right y coordinate and store their indexes.
-        List<Integer> idxes = argsort(y2);
-
-        while(idxes.size() > 0) {
-
-            int last = idxes.size() - 1;
-            int i = idxes.get(last);
-
-            selectedIdxes.add(i);
-
-            //Get the largest x and y coordinates for the start of the bounding boxes, and the smallest x and y coordinates for the end of the bounding boxes.
-            List<Double> xx1 = listMax(x1.get(i),x1,idxes.subList(0,last));
-            List<Double> yy1 = listMax(y1.get(i),y1,idxes.subList(0,last));
-            List<Double> xx2 = listMin(x2.get(i),x2,idxes.subList(0,last));
-            List<Double> yy2 = listMin(y2.get(i),y2,idxes.subList(0,last));
-
-            //Get the width and height of the bounding boxes
-            List<Double> w = listMax(0,addListConstant(subtractLists(xx2,xx1),1));
-            List<Double> h = listMax(0,addListConstant(subtractLists(yy2,yy1),1));
-
-            //Calculate the area overlap ratio of the bounding boxes
-            List<Double> overlap = divideLists(multiplyLists(w,h),areas,idxes.subList(0,last));
-
-            idxes.remove(last);
-
-            //Delete all indexes when the area overlap ratio > threshold.
-            deleteBadIndexes(idxes,overlap);
-
-        }
-
-        //Return a list of the best detected bounding boxes.
-        return populateList(boxes,selectedIdxes);
+        return suppressNonMax(boxes, null, null, boxes.size());
     }
 
     /**
-     * Adds all boxes that have references in idxes to a list, and returns that list
+     * Performs non-max suppression.
      *
-     * @param boxes The original list of bounding boxes.
-     * @param idxes The indexes of the bounding boxes to use to populate the list.
-     * @return A list containing all the bounding boxes referenced by idxes.
+     * @param boxes    A list of bounding boxes.
+     * @param scores   The score of each bounding box. Boxes with higher scores are preferred. If null, boxes with a lower bottom edge are preferred.
+     * @param classIds The class id of each bounding box. Boxes only suppress boxes of the same class. If null, every box is in the same class.
+     * @param maxKept  The maximum number of bounding boxes to keep.
+     * @return A list of the kept bounding boxes, in order of preference.
      */
-    @NotNull
-    private List<Rect> populateList(@NotNull List<Rect> boxes, @NotNull List<Integer> idxes) {
-        List<Rect> output = new ArrayList<>();
-        for(int idx : idxes) {
-            output.add(boxes.get(idx));
+    public List<Rect> suppressNonMax(@NotNull List<Rect> boxes, double[] scores, int[] classIds, int maxKept) {
+        if (boxes.size() == 0) {
+            return boxes;
         }
-        return output;
-    }
 
-    /**
-     * Adds a constant value to every value in a list.
-     *
-     * @param lst The list to add a constant to.
-     * @param x The constant to add.
-     * @return The original list where every value has a constant added.
-     */
-    @NotNull
-    @SuppressWarnings("SameParameterValue")
-    private List<Double> addListConstant(@NotNull List<Double> lst, double x) {
-        List<Double> output = new ArrayList<>();
-        for(double val : lst) {
-            output.add(val+x);
+        int numBoxes = boxes.size();
+        boxBuffer = ensureCapacity(boxBuffer, numBoxes * BOX_SIZE);
+        keptBuffer = ensureCapacity(keptBuffer, numBoxes);
+        for (int i = 0; i < numBoxes; i++) {
+            Rect box = boxes.get(i);
+            boxBuffer[i * BOX_SIZE] = box.x;
+            boxBuffer[i * BOX_SIZE + 1] = box.y;
+            boxBuffer[i * BOX_SIZE + 2] = box.x + box.width;
+            boxBuffer[i * BOX_SIZE + 3] = box.y + box.height;
         }
-        return output;
-    }
 
-    /**
-     * Subtract the elements of two lists.
-     *
-     * @param lst1 The first list.
-     * @param lst2 The second list.
-     * @return list1 list2.
-     */
-    @NotNull
-    private List<Double> subtractLists(@NotNull List<Double> lst1, @NotNull List<Double> lst2) {
-        if(lst1.size() != lst2.size()) {
-            throw new DumpsterFireException("Lists not the same size!");
-        }
-        List<Double> output = new ArrayList<>();
-        for (int i = 0; i < lst1.size(); i++) {
-            output.add(lst1.get(i)-lst2.get(i));
-        }
-        return output;
-    }
+        int numKept = suppressNonMax(boxBuffer, scores, classIds, numBoxes, maxKept, keptBuffer);
 
-    /**
-     * Divide the elements of two lists.
-     *
-     * @param lst1 The first list.
-     * @param lst2 The second list.
-     * @param mask The indexes that should be divided.
-     * @return list1/list2 for the indexes in mask.
-     */
-    @NotNull
-    private List<Double> divideLists(@NotNull List<Double> lst1, @NotNull List<Double> lst2, @NotNull List<Integer> mask) {
-        List<Double> output = new ArrayList<>();
-        for (int i = 0; i < mask.size(); i++) {
-            output.add(lst1.get(i)/lst2.get(mask.get(i)));
+        //Return a list of the best detected bounding boxes.
+        List<Rect> output = new ArrayList<>(numKept);
+        for (int i = 0; i < numKept; i++) {
+            output.add(boxes.get(keptBuffer[i]));
         }
         return output;
     }
 
     /**
-     * Multiply the elements of two lists.
+     * Performs non-max suppression on packed primitive arrays. Allocates nothing once the suppressor's scratch buffers are large enough.
      *
-     * @param lst1 The first list.
-     * @param lst2 The second list.
-     * @return list1 * list2.
+     * @param boxes     The corners of the bounding boxes, packed as left x, top y, right x, bottom y for each box.
+     * @param scores    The score of each bounding box. Boxes with higher scores are preferred. If null, boxes with a lower bottom edge are preferred.
+     * @param classIds  The class id of each bounding box. Boxes only suppress boxes of the same class. If null, every box is in the same class.
+     * @param numBoxes  The number of bounding boxes. The arrays may be longer than needed.
+     * @param maxKept   The maximum number of bounding boxes to keep.
+     * @param keptIdxes The array the indexes of the kept bounding boxes are written to, in order of preference. Must hold at least min(numBoxes, maxKept) values.
+     * @return The number of kept bounding boxes.
      */
-    @NotNull
-    private List<Double> multiplyLists(@NotNull List<Double> lst1, @NotNull List<Double> lst2) {
-        if(lst1.size() != lst2.size()) {
-            throw new DumpsterFireException("Lists not the same size!");
+    public int suppressNonMax(@NotNull double[] boxes, double[] scores, int[] classIds, int numBoxes, int maxKept, @NotNull int[] keptIdxes) {
+        ExceptionChecker.assertTrue(numBoxes >= 0 && boxes.length >= numBoxes * BOX_SIZE, new DumpsterFireException("Box array is too short for the number of boxes."));
+        ExceptionChecker.assertTrue(scores == null || scores.length >= numBoxes, new DumpsterFireException("Score array is too short for the number of boxes."));
+        ExceptionChecker.assertTrue(classIds == null || classIds.length >= numBoxes, new DumpsterFireException("Class id array is too short for the number of boxes."));
+        ExceptionChecker.assertTrue(keptIdxes.length >= Math.min(numBoxes, maxKept), new DumpsterFireException("Kept index array is too short."));
+
+        areas = ensureCapacity(areas, numBoxes);
+        order = ensureCapacity(order, numBoxes);
+        if (suppressed.length < numBoxes) suppressed = new boolean[Math.max(numBoxes, suppressed.length * 2)];
+
+        for (int i = 0; i < numBoxes; i++) {
+            //Calculates area of the bounding box. the + 1 is included so that a bounding box with 0 area can't exist.
+            areas[i] = (boxes[i * BOX_SIZE + 2] - boxes[i * BOX_SIZE] + 1) * (boxes[i * BOX_SIZE + 3] - boxes[i * BOX_SIZE + 1] + 1);
+            order[i] = i;
+            suppressed[i] = false;
         }
 
-        List<Double> output = new ArrayList<>();
-        for (int i = 0; i < lst1.size(); i++) {
-            output.add(lst1.get(i)*lst2.get(i));
+        //Sort the boxes by score (or bottom right y coordinate) and store their indexes.
+        heapSort(order, numBoxes, boxes, scores);
+
+        int numKept = 0;
+        for (int last = numBoxes - 1; last >= 0 && numKept < maxKept; last--) {
+            int i = order[last];
+            if (suppressed[i]) continue;
+            keptIdxes[numKept++] = i;
+
+            double x1 = boxes[i * BOX_SIZE], y1 = boxes[i * BOX_SIZE + 1], x2 = boxes[i * BOX_SIZE + 2], y2 = boxes[i * BOX_SIZE + 3];
+
+            //Suppress every remaining box of the same class whose area overlap ratio > threshold.
+            for (int k = last - 1; k >= 0; k--) {
+                int j = order[k];
+                if (suppressed[j] || (classIds != null && classIds[j] != classIds[i])) continue;
+
+                //Get the width and height of the intersection of the bounding boxes.
+                double w = Math.max(0, Math.min(x2, boxes[j * BOX_SIZE + 2]) - Math.max(x1, boxes[j * BOX_SIZE]) + 1);
+                double h = Math.max(0, Math.min(y2, boxes[j * BOX_SIZE + 3]) - Math.max(y1, boxes[j * BOX_SIZE + 1]) + 1);
+
+                if (w * h / areas[j] > thresh) suppressed[j] = true;
+            }
         }
-        return output;
+        return numKept;
     }
 
     /**
-     * Deletes all indexes where the corresponding overlap is greater than the overlap threshold.
+     * Sorts box indexes by ascending score in place. Ties are broken by index, so the result does not depend on the input order.
      *
-     * @param idxes The list of indexes of the bounding boxes.
-     * @param overlaps The list of area overlap ratios for the bounding boxes.
+     * @param idxes    The indexes to sort.
+     * @param numIdxes The number of indexes to sort.
+     * @param boxes    The packed corners of the bounding boxes.
+     * @param scores   The score of each bounding box, or null to sort by bottom y coordinate.
      */
-    private void deleteBadIndexes(@NotNull List<Integer> idxes, @NotNull List<Double> overlaps) {
-        for(int i = 0; i < overlaps.size(); i++) {
-            if(overlaps.get(i) > thresh ) {
-                idxes.remove(i);
-                break;
-            }
+    private static void heapSort(@NotNull int[] idxes, int numIdxes, @NotNull double[] boxes, double[] scores) {
+        for (int start = numIdxes / 2 - 1; start >= 0; start--) {
+            siftDown(idxes, start, numIdxes, boxes, scores);
+        }
+        for (int end = numIdxes - 1; end > 0; end--) {
+            int tmp = idxes[0];
+            idxes[0] = idxes[end];
+            idxes[end] = tmp;
+            siftDown(idxes, 0, end, boxes, scores);
         }
     }
 
     /**
-     * Performs Math.max() on every element in the given list with a given constant.
+     * Moves an index down a max heap of box indexes until the heap property is restored.
      *
-     * @param x The value being compared with every element in the list.
-     * @param lst The list.
-     * @param mask A list of valid indexes for the max() operation to take place.
-     * @return A list where all elements < x are replaced with x.
+     * @param heap   The heap.
+     * @param root   The position of the index to move down.
+     * @param size   The size of the heap.
+     * @param boxes  The packed corners of the bounding boxes.
+     * @param scores The score of each bounding box, or null to sort by bottom y coordinate.
      */
-    @NotNull
-    private List<Double> listMax(double x, @NotNull List<Double> lst, @NotNull List<Integer> mask) {
-        List<Double> output = new ArrayList<>();
-        for(int idx : mask) {
-            output.add(Math.max(x,lst.get(idx)));
+    private static void siftDown(@NotNull int[] heap, int root, int size, @NotNull double[] boxes, double[] scores) {
+        int value = heap[root];
+        for (int child = 2 * root + 1; child < size; child = 2 * root + 1) {
+            if (child + 1 < size && isLess(heap[child], heap[child + 1], boxes, scores)) child++;
+            if (!isLess(value, heap[child], boxes, scores)) break;
+            heap[root] = heap[child];
+            root = child;
         }
-        return output;
+        heap[root] = value;
     }
 
     /**
-     * Performs Math.max() on every element in the given list with a given constant.
+     * Compares two boxes by score, breaking ties by index.
      *
-     * @param x The value being compared with every element in the list.
-     * @param lst The list.
-     * @return A list where all elements < x are replaced with x.
+     * @param a      The index of the first box.
+     * @param b      The index of the second box.
+     * @param boxes  The packed corners of the bounding boxes.
+     * @param scores The score of each bounding box, or null to compare by bottom y coordinate.
+     * @return Whether the first box sorts before the second box.
      */
-    @NotNull
-    @SuppressWarnings("SameParameterValue")
-    private List<Double> listMax(double x, @NotNull List<Double> lst) {
-        List<Double> output = new ArrayList<>();
-        for(double val : lst) {
-            output.add(Math.max(x,val));
-        }
-        return output;
+    private static boolean isLess(int a, int b, @NotNull double[] boxes, double[] scores) {
+        double scoreA = scores == null ? boxes[a * BOX_SIZE + 3] : scores[a];
+        double scoreB = scores == null ? boxes[b * BOX_SIZE + 3] : scores[b];
+        return scoreA < scoreB || (scoreA == scoreB && a < b);
     }
 
     /**
-     * Performs Math.min() on every element in the given list with a given constant.
+     * Grows a scratch buffer if it is too small, at least doubling its size so repeated growth is amortized.
      *
-     * @param x The value being compared with every element in the list.
-     * @param lst The list.
-     * @param mask A list of valid indexes for the min() operation to take place.
-     * @return A list where all elements > x are replaced with x.
+     * @param buffer   The buffer.
+     * @param capacity The required capacity.
+     * @return The buffer if it was large enough, or a new, larger buffer.
      */
     @NotNull
-    private List<Double> listMin(double x, @NotNull List<Double> lst, @NotNull List<Integer> mask) {
-        List<Double> output = new ArrayList<>();
-        for(int idx : mask) {
-            output.add(Math.min(x,lst.get(idx)));
-        }
-        return output;
+    private static double[] ensureCapacity(@NotNull double[] buffer, int capacity) {
+        return buffer.length >= capacity ? buffer : new double[Math.max(capacity, buffer.length * 2)];
     }
 
     /**
-     * Sorts the input list and returns sorted list in the form of references to the input list.
+     * Grows a scratch buffer if it is too small, at least doubling its size so repeated growth is amortized.
      *
-     * @param input The input list.
-     * @return A list of the indexes of each of the elements in the sorted list (in the sorted order).
+     * @param buffer   The buffer.
+     * @param capacity The required capacity.
+     * @return The buffer if it was large enough, or a new, larger buffer.
      */
     @NotNull
-    private List<Integer> argsort(@NotNull List<Double> input) {
-        List<Integer> output = new ArrayList<>();
-        List<Double> cpy = new ArrayList<>(input);
-        List<Double> lstSorted = new ArrayList<>(input);
-
-        Collections.sort(lstSorted);
-
-        for (double val : lstSorted) {
-            output.add(cpy.indexOf(val));
-            cpy.set(cpy.indexOf(val),-1.0);
-        }
-        return output;
+    private static int[] ensureCapacity(@NotNull int[] buffer, int capacity) {
+        return buffer.length >= capacity ? buffer : new int[Math.max(capacity, buffer.length * 2)];
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.SCHSRobotics.HAL9001.util.misc;
 
 import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
 
+import org.jetbrains.annotations.NotNull;
+
 /**
  * A class used for keeping track of how much time has passed.
  * <p>
@@ -10,6 +12,7 @@ import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
  * @author Cole Savage, Level Up
  * @version 1.0.0
  * @see HALTimeUnit
+ * @see HALClock
  * @since 1.1.0
  */
 public class Timer {
@@ -18,6 +21,28 @@ public class Timer {
     private long startTime = 0;
     //The duration of the timer.
     private double duration = 0;
+    //The clock used to measure time. Null if the timer uses the global clock.
+    private final HALClock clock;
+    //The clock the timer was last started with. The global clock is captured when the timer starts, so changing it later does not break a running timer. Null if the timer has not been started.
+    private HALClock startClock;
+
+    /**
+     * The constructor for Timer. The timer uses the global clock at the time it is started.
+     *
+     * @see HALClock#getGlobalClock()
+     */
+    public Timer() {
+        clock = null;
+    }
+
+    /**
+     * The constructor for Timer.
+     *
+     * @param clock The clock used to measure time.
+     */
+    public Timer(@NotNull HALClock clock) {
+        this.clock = clock;
+    }
 
     /**
      * Gets the time passed since the timer was last started. If the timer was not started, returns the current timestamp.
@@ -27,7 +52,7 @@ public class Timer {
      * @see HALTimeUnit
      */
     public double getTimePassed(HALTimeUnit timeUnit) {
-        long timeNanos = System.nanoTime() - startTime;
+        long timeNanos = now() - startTime;
         return HALTimeUnit.convert(timeNanos, HALTimeUnit.NANOSECONDS, timeUnit);
     }
 
@@ -36,7 +61,7 @@ public class Timer {
      */
     public void start() {
         duration = 0;
-        startTime = System.nanoTime();
+        startTime = capture().nanoTime();
     }
 
     /**
@@ -48,7 +73,7 @@ public class Timer {
      */
     public void start(double duration, HALTimeUnit timeUnit) {
         this.duration = HALTimeUnit.convert(duration, timeUnit, HALTimeUnit.NANOSECONDS);
-        startTime = System.nanoTime();
+        startTime = capture().nanoTime();
     }
 
     /**
@@ -65,7 +90,7 @@ public class Timer {
      * Resets the timer's start time.
      */
     public void reset() {
-        startTime = System.nanoTime();
+        startTime = capture().nanoTime();
     }
 
     /**
@@ -76,4 +101,25 @@ public class Timer {
     public boolean requiredTimeElapsed() {
         return getTimePassed(HALTimeUnit.NANOSECONDS) > duration;
     }
+
+    /**
+     * Captures the clock the timer is being started with.
+     *
+     * @return The captured clock.
+     */
+    @NotNull
+    private HALClock capture() {
+        startClock = clock == null ? HALClock.getGlobalClock() : clock;
+        return startClock;
+    }
+
+    /**
+     * Gets the current time of the clock the timer was started with, or of the timer's clock if it has not been started.
+     *
+     * @return The current time in nanoseconds.
+     */
+    private long now() {
+        if (startClock != null) return startClock.nanoTime();
+        return (clock == null ? HALClock.getGlobalClock() : clock).nanoTime();
+    }
 }
@@ -0,0 +1,86 @@
+package com.SCHSRobotics.HAL9001.util.misc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A signal used to wake up threads that are waiting for some state to change. Every call to signal() increments a version number,
+ * and waiting threads park until the version changes or a deadline passes.
+ * Signalling is cheap when no thread is waiting, so it can be called every loop.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see Timer
+ * @since 1.1.8
+ */
+public final class WaitSignal {
+    //The lock and condition used to park and wake waiting threads.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    //The number of times this signal has been signalled.
+    private volatile long version = 0;
+    //The number of threads currently waiting on this signal.
+    private volatile int numWaiting = 0;
+
+    /**
+     * Signals that the state has changed, waking all waiting threads.
+     */
+    public void signal() {
+        lock.lock();
+        try {
+            version++;
+            if (numWaiting > 0) changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the current version of the signal. Read this before checking a condition, then pass it to awaitChange() so that no signal is missed.
+     *
+     * @return The number of times this signal has been signalled.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Parks the current thread until the signal's version differs from the given version or until the given deadline passes.
+     *
+     * @param seenVersion   The version that was seen before the caller last checked its condition.
+     * @param deadlineNanos The System.nanoTime() timestamp at which to stop waiting.
+     * @return False if the thread was interrupted while waiting, true otherwise.
+     */
+    public boolean awaitChange(long seenVersion, long deadlineNanos) {
+        lock.lock();
+        numWaiting++;
+        try {
+            long remaining = deadlineNanos - System.nanoTime();
+            while (version == seenVersion && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            numWaiting--;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parks the current thread until the signal's version differs from the given version or until the timeout passes.
+     *
+     * @param seenVersion The version that was seen before the caller last checked its condition.
+     * @param timeout     The maximum amount of time to wait.
+     * @param timeUnit    The unit of the timeout.
+     * @return False if the thread was interrupted while waiting, true otherwise.
+     */
+    public boolean awaitChange(long seenVersion, long timeout, TimeUnit timeUnit) {
+        return awaitChange(seenVersion, System.nanoTime() + timeUnit.toNanos(timeout));
+    }
+}
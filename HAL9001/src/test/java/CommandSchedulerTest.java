@@ -0,0 +1,331 @@
+import com.SCHSRobotics.HAL9001.system.robot.Robot;
+import com.SCHSRobotics.HAL9001.system.robot.SubSystem;
+import com.SCHSRobotics.HAL9001.system.robot.commands.Command;
+import com.SCHSRobotics.HAL9001.system.robot.commands.CommandScheduler;
+import com.SCHSRobotics.HAL9001.system.sim.SimHardwareMap;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.HALClock;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the command scheduler and the command groups.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see CommandScheduler
+ * @see Command
+ * @since 1.1.8
+ */
+public class CommandSchedulerTest {
+    //The subsystems commands can require.
+    private SubSystem subSystemA, subSystemB;
+    //The clock used by commands that measure time.
+    private ManualClock clock;
+
+    @Before
+    public void setup() {
+        OpMode opMode = new OpMode() {
+            @Override
+            public void init() {
+            }
+
+            @Override
+            public void loop() {
+            }
+        };
+        opMode.hardwareMap = new SimHardwareMap();
+        Robot robot = new TestRobot(opMode);
+        subSystemA = new TestSubSystem(robot);
+        subSystemB = new TestSubSystem(robot);
+
+        clock = new ManualClock();
+        HALClock.setGlobalClock(clock);
+    }
+
+    @After
+    public void teardown() {
+        HALClock.setGlobalClock(HALClock.SYSTEM);
+    }
+
+    @Test
+    public void validateFinishedCommandEnds() {
+        CommandScheduler scheduler = new CommandScheduler();
+        RecordingCommand command = new RecordingCommand(2);
+        scheduler.schedule(command);
+        Assert.assertEquals(1, command.inits);
+
+        scheduler.run();
+        Assert.assertTrue(scheduler.isScheduled(command));
+        scheduler.run();
+
+        Assert.assertTrue(scheduler.isIdle());
+        Assert.assertEquals(2, command.executes);
+        Assert.assertEquals(1, command.ends);
+        Assert.assertFalse(command.interrupted);
+    }
+
+    @Test
+    public void validateInterruptOnSharedRequirements() {
+        CommandScheduler scheduler = new CommandScheduler();
+        RecordingCommand first = new RecordingCommand(-1, subSystemA);
+        RecordingCommand second = new RecordingCommand(-1, subSystemA);
+        RecordingCommand other = new RecordingCommand(-1, subSystemB);
+
+        scheduler.schedule(first, other);
+        scheduler.schedule(second);
+
+        Assert.assertFalse(scheduler.isScheduled(first));
+        Assert.assertEquals(1, first.ends);
+        Assert.assertTrue(first.interrupted);
+
+        Assert.assertTrue(scheduler.isScheduled(second));
+        Assert.assertTrue(scheduler.isScheduled(other));
+        Assert.assertEquals(0, other.ends);
+    }
+
+    @Test
+    public void validateSequentialGroup() {
+        CommandScheduler scheduler = new CommandScheduler();
+        RecordingCommand first = new RecordingCommand(1);
+        RecordingCommand second = new RecordingCommand(1);
+        scheduler.schedule(first.andThen(second));
+
+        Assert.assertEquals(1, first.inits);
+        Assert.assertEquals(0, second.inits);
+
+        scheduler.run();
+        Assert.assertEquals(1, first.ends);
+        Assert.assertFalse(first.interrupted);
+        Assert.assertEquals(1, second.inits);
+
+        scheduler.run();
+        Assert.assertEquals(1, second.ends);
+        Assert.assertFalse(second.interrupted);
+        Assert.assertTrue(scheduler.isIdle());
+
+        //Interrupting the group interrupts only the running command, and later commands are never started.
+        RecordingCommand running = new RecordingCommand(-1);
+        RecordingCommand never = new RecordingCommand(1);
+        Command group = running.andThen(never);
+        scheduler.schedule(group);
+        scheduler.run();
+        scheduler.cancel(group);
+
+        Assert.assertEquals(1, running.ends);
+        Assert.assertTrue(running.interrupted);
+        Assert.assertEquals(0, never.inits);
+        Assert.assertEquals(0, never.ends);
+    }
+
+    @Test
+    public void validateParallelGroup() {
+        CommandScheduler scheduler = new CommandScheduler();
+        RecordingCommand fast = new RecordingCommand(1, subSystemA);
+        RecordingCommand slow = new RecordingCommand(-1, subSystemB);
+        Command group = fast.alongWith(slow);
+        scheduler.schedule(group);
+
+        scheduler.run();
+        Assert.assertEquals(1, fast.ends);
+        Assert.assertFalse(fast.interrupted);
+        Assert.assertTrue(scheduler.isScheduled(group));
+
+        scheduler.run();
+        Assert.assertEquals(1, fast.executes);
+
+        //Interrupting the group only interrupts the commands that are still running.
+        scheduler.cancel(group);
+        Assert.assertEquals(1, fast.ends);
+        Assert.assertEquals(1, slow.ends);
+        Assert.assertTrue(slow.interrupted);
+    }
+
+    @Test
+    public void validateRaceGroup() {
+        CommandScheduler scheduler = new CommandScheduler();
+        RecordingCommand winner = new RecordingCommand(1, subSystemA);
+        RecordingCommand loser = new RecordingCommand(-1, subSystemB);
+        scheduler.schedule(winner.raceWith(loser));
+
+        scheduler.run();
+
+        Assert.assertTrue(scheduler.isIdle());
+        Assert.assertEquals(1, winner.ends);
+        Assert.assertFalse(winner.interrupted);
+        Assert.assertEquals(1, loser.ends);
+        Assert.assertTrue(loser.interrupted);
+    }
+
+    @Test
+    public void validateWithTimeout() {
+        CommandScheduler scheduler = new CommandScheduler();
+        RecordingCommand command = new RecordingCommand(-1);
+        scheduler.schedule(command.withTimeout(1, HALTimeUnit.SECONDS));
+
+        scheduler.run();
+        clock.advance(0.5, HALTimeUnit.SECONDS);
+        scheduler.run();
+        Assert.assertFalse(scheduler.isIdle());
+        Assert.assertEquals(0, command.ends);
+
+        clock.advance(0.6, HALTimeUnit.SECONDS);
+        scheduler.run();
+        Assert.assertTrue(scheduler.isIdle());
+        Assert.assertEquals(1, command.ends);
+        Assert.assertTrue(command.interrupted);
+    }
+
+    @Test
+    public void validateCancelFromExecute() {
+        final CommandScheduler scheduler = new CommandScheduler();
+        final RecordingCommand victim = new RecordingCommand(-1);
+        final RecordingCommand self = new RecordingCommand(1);
+        RecordingCommand canceller = new RecordingCommand(-1);
+
+        canceller.onExecute = () -> scheduler.cancel(victim);
+        self.onExecute = () -> scheduler.cancel(self);
+        scheduler.schedule(canceller, victim, self);
+
+        scheduler.run();
+
+        //The victim was cancelled before its turn, so it never ran.
+        Assert.assertEquals(0, victim.executes);
+        Assert.assertEquals(1, victim.ends);
+        Assert.assertTrue(victim.interrupted);
+
+        //The command that cancelled itself is only ended once, even though it also finished.
+        Assert.assertEquals(1, self.executes);
+        Assert.assertEquals(1, self.ends);
+        Assert.assertTrue(self.interrupted);
+
+        Assert.assertTrue(scheduler.isScheduled(canceller));
+        scheduler.run();
+        Assert.assertEquals(2, canceller.executes);
+    }
+
+    /**
+     * A command that records how it was run and finishes after a set number of executions.
+     */
+    private static final class RecordingCommand extends Command {
+        //The number of executions after which the command finishes, or -1 if it never finishes.
+        private final int finishAfter;
+        //The number of times each method has been called.
+        private int inits, executes, ends;
+        //Whether the last call to end() was an interruption.
+        private boolean interrupted;
+        //Code to run every time the command executes. Null if none.
+        private Runnable onExecute;
+
+        /**
+         * The constructor for RecordingCommand.
+         *
+         * @param finishAfter  The number of executions after which the command finishes, or -1 if it never finishes.
+         * @param requirements The subsystems the command requires.
+         */
+        private RecordingCommand(int finishAfter, @NotNull SubSystem... requirements) {
+            super(requirements);
+            this.finishAfter = finishAfter;
+        }
+
+        @Override
+        public void init() {
+            inits++;
+        }
+
+        @Override
+        public void execute() {
+            executes++;
+            if (onExecute != null) onExecute.run();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finishAfter >= 0 && executes >= finishAfter;
+        }
+
+        @Override
+        public void end(boolean interrupted) {
+            ends++;
+            this.interrupted = interrupted;
+        }
+    }
+
+    /**
+     * A clock that only moves when it is told to.
+     */
+    private static final class ManualClock extends HALClock {
+        //The current time of the clock, in nanoseconds.
+        private long timeNanos = 0;
+
+        /**
+         * Moves the clock forward.
+         *
+         * @param time     The amount of time to move forward.
+         * @param timeUnit The unit of time.
+         */
+        private void advance(double time, @NotNull HALTimeUnit timeUnit) {
+            timeNanos += (long) HALTimeUnit.convert(time, timeUnit, HALTimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public long nanoTime() {
+            return timeNanos;
+        }
+    }
+
+    /**
+     * A subsystem that does nothing, used as a command requirement.
+     */
+    public static class TestSubSystem extends SubSystem {
+        /**
+         * Constructor for TestSubSystem.
+         *
+         * @param robot The robot using this subsystem.
+         */
+        public TestSubSystem(@NotNull Robot robot) {
+            super(robot);
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void init_loop() {
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void handle() {
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+
+    /**
+     * A robot with no subsystems of its own, used to create the test subsystems.
+     */
+    public static class TestRobot extends Robot {
+        /**
+         * Constructor for TestRobot.
+         *
+         * @param opMode The opmode the robot is running.
+         */
+        public TestRobot(@NotNull OpMode opMode) {
+            super(opMode);
+        }
+    }
+}
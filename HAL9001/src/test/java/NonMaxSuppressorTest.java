@@ -0,0 +1,84 @@
+import com.SCHSRobotics.HAL9001.util.misc.NonMaxSuppressor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opencv.core.Rect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the NonMaxSuppressor util class.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see NonMaxSuppressor
+ * @since 1.1.8
+ */
+public class NonMaxSuppressorTest {
+
+    @Test
+    public void validateOverlapSuppression() {
+        double[] boxes = new double[] {0, 0, 10, 10, 1, 1, 11, 11, 50, 50, 60, 60};
+        double[] scores = new double[] {0.9, 0.8, 0.7};
+        int[] kept = new int[3];
+
+        int numKept = new NonMaxSuppressor(0.3).suppressNonMax(boxes, scores, null, 3, 3, kept);
+        Assert.assertEquals(2, numKept);
+        Assert.assertEquals(0, kept[0]);
+        Assert.assertEquals(2, kept[1]);
+    }
+
+    @Test
+    public void validateClassSeparation() {
+        double[] boxes = new double[] {0, 0, 10, 10, 1, 1, 11, 11};
+        double[] scores = new double[] {0.9, 0.8};
+        int[] classIds = new int[] {0, 1};
+        int[] kept = new int[2];
+
+        int numKept = new NonMaxSuppressor(0.3).suppressNonMax(boxes, scores, classIds, 2, 2, kept);
+        Assert.assertEquals(2, numKept);
+        Assert.assertEquals(0, kept[0]);
+        Assert.assertEquals(1, kept[1]);
+    }
+
+    @Test
+    public void validateTopKTruncation() {
+        double[] boxes = new double[] {0, 0, 10, 10, 20, 20, 30, 30, 40, 40, 50, 50};
+        double[] scores = new double[] {0.2, 0.9, 0.5};
+        int[] kept = new int[2];
+
+        int numKept = new NonMaxSuppressor(0.3).suppressNonMax(boxes, scores, null, 3, 2, kept);
+        Assert.assertEquals(2, numKept);
+        Assert.assertEquals(1, kept[0]);
+        Assert.assertEquals(2, kept[1]);
+    }
+
+    @Test
+    public void validateScoreOrdering() {
+        double[] boxes = new double[] {0, 0, 10, 10, 20, 20, 30, 30, 40, 40, 50, 50, 60, 60, 70, 70};
+        double[] scores = new double[] {0.1, 0.7, 0.4, 0.7};
+        int[] kept = new int[4];
+
+        int numKept = new NonMaxSuppressor(0.3).suppressNonMax(boxes, scores, null, 4, 4, kept);
+        Assert.assertEquals(4, numKept);
+        //Ties are broken by index, with the higher index preferred.
+        Assert.assertArrayEquals(new int[] {3, 1, 2, 0}, kept);
+    }
+
+    @Test
+    public void validateRectsWithoutScores() {
+        List<Rect> boxes = new ArrayList<>();
+        boxes.add(new Rect(0, 0, 10, 10));
+        boxes.add(new Rect(1, 5, 10, 10));
+        boxes.add(new Rect(50, 20, 10, 10));
+
+        List<Rect> kept = new NonMaxSuppressor(0.3).suppressNonMax(boxes);
+        Assert.assertEquals(2, kept.size());
+        //Without scores, boxes with a lower bottom edge are preferred.
+        Assert.assertSame(boxes.get(2), kept.get(0));
+        Assert.assertSame(boxes.get(1), kept.get(1));
+    }
+}
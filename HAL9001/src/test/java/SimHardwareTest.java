@@ -0,0 +1,112 @@
+import com.SCHSRobotics.HAL9001.system.sim.SimBNO055IMU;
+import com.SCHSRobotics.HAL9001.system.sim.SimDcMotorEx;
+import com.SCHSRobotics.HAL9001.system.sim.SimHardwareMap;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.SCHSRobotics.HAL9001.util.misc.LoopClock;
+import com.SCHSRobotics.HAL9001.util.misc.Timer;
+import com.qualcomm.hardware.bosch.BNO055IMU;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the simulated hardware used to run HAL programs on a plain JVM.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimHardwareMap
+ * @since 1.1.8
+ */
+public class SimHardwareTest {
+
+    @Test
+    public void validateMotorReachesTopSpeed() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        SimDcMotorEx motor = hardwareMap.addMotor("motor");
+        motor.setPower(1);
+
+        for (int i = 0; i < 100; i++) hardwareMap.step();
+
+        Assert.assertEquals(1, hardwareMap.getTime(HALTimeUnit.SECONDS), 1e-9);
+        Assert.assertEquals(motor.getMaxTicksPerSecond(), motor.getVelocity(), motor.getMaxTicksPerSecond() * 0.01);
+        Assert.assertTrue(motor.getCurrentPosition() > 0);
+    }
+
+    @Test
+    public void validateRunToPosition() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        hardwareMap.addMotor("motor");
+        DcMotorEx motor = hardwareMap.get(DcMotorEx.class, "motor");
+
+        motor.setTargetPosition(1000);
+        motor.setMode(DcMotor.RunMode.RUN_TO_POSITION);
+        motor.setPower(1);
+        Assert.assertTrue(motor.isBusy());
+
+        for (int i = 0; i < 300; i++) hardwareMap.step();
+
+        Assert.assertFalse(motor.isBusy());
+        Assert.assertEquals(1000, motor.getCurrentPosition(), motor.getTargetPositionTolerance());
+    }
+
+    @Test
+    public void validateReversedMotor() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        SimDcMotorEx motor = hardwareMap.addMotor("motor");
+        motor.setDirection(DcMotorSimple.Direction.REVERSE);
+        motor.setPower(0.5);
+
+        for (int i = 0; i < 50; i++) hardwareMap.step();
+        int position = motor.getCurrentPosition();
+        Assert.assertTrue(position > 0);
+
+        motor.setDirection(DcMotorSimple.Direction.FORWARD);
+        Assert.assertEquals(-position, motor.getCurrentPosition());
+
+        motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        Assert.assertEquals(0, motor.getCurrentPosition());
+    }
+
+    @Test
+    public void validateIMUHeading() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        SimBNO055IMU simImu = hardwareMap.addIMU("imu");
+        BNO055IMU imu = hardwareMap.get(BNO055IMU.class, "imu");
+        imu.initialize(new BNO055IMU.Parameters());
+
+        simImu.setAngularVelocity(90, AngleUnit.DEGREES);
+        for (int i = 0; i < 100; i++) hardwareMap.step();
+
+        Assert.assertEquals(Math.PI / 2, imu.getAngularOrientation().firstAngle, 1e-4);
+        Assert.assertEquals(90, imu.getAngularOrientation(AxesReference.INTRINSIC, AxesOrder.ZYX, AngleUnit.DEGREES).firstAngle, 1e-2);
+        Assert.assertEquals(Math.PI / 2, imu.getAngularVelocity().zRotationRate, 1e-4);
+    }
+
+    @Test
+    public void validateLatchedSimClock() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        LoopClock clock = new LoopClock(hardwareMap.getClock());
+        Timer timer = new Timer(clock);
+        timer.start(0.5, HALTimeUnit.SECONDS);
+
+        clock.latch();
+        long latchedTime = clock.getLatchedTime();
+        for (int i = 0; i < 51; i++) hardwareMap.step();
+        Assert.assertEquals(latchedTime, clock.getLatchedTime());
+        Assert.assertTrue(timer.requiredTimeElapsed());
+        Assert.assertEquals(0.51, timer.getTimePassed(HALTimeUnit.SECONDS), 1e-9);
+
+        clock.latch();
+        Assert.assertEquals(clock.nanoTime(), clock.getLatchedTime());
+        hardwareMap.step();
+        Assert.assertEquals(0.52, timer.getTimePassed(HALTimeUnit.SECONDS), 1e-9);
+    }
+}
@@ -0,0 +1,205 @@
+import com.SCHSRobotics.HAL9001.system.robot.BaseAutonomous;
+import com.SCHSRobotics.HAL9001.system.robot.BaseTeleop;
+import com.SCHSRobotics.HAL9001.system.robot.Robot;
+import com.SCHSRobotics.HAL9001.system.robot.SubSystem;
+import com.SCHSRobotics.HAL9001.system.robot.commands.WaitCommand;
+import com.SCHSRobotics.HAL9001.system.sim.SimDcMotorEx;
+import com.SCHSRobotics.HAL9001.system.sim.SimHardwareMap;
+import com.SCHSRobotics.HAL9001.system.sim.SimOpModeRunner;
+import com.SCHSRobotics.HAL9001.util.math.units.HALTimeUnit;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests that run full HAL programs against simulated hardware, from init through stop.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see SimOpModeRunner
+ * @since 1.1.8
+ */
+public class SimOpModeTest {
+    //The encoder position the test autonomous drives its motor to.
+    private static final int ENCODER_TARGET = 1000;
+
+    @Test
+    public void validateTeleopLifecycle() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        SimDcMotorEx motor = hardwareMap.addMotor("motor");
+        TestTeleop teleop = new TestTeleop();
+
+        SimOpModeRunner runner = new SimOpModeRunner(teleop, hardwareMap);
+        runner.run(0.1, 0.5, HALTimeUnit.SECONDS);
+
+        Assert.assertFalse(runner.stalled());
+        Assert.assertNotNull(teleop.robot);
+
+        CountingSubSystem subSystem = teleop.robot.subSystem;
+        Assert.assertEquals(1, subSystem.inits);
+        Assert.assertTrue(subSystem.initLoops > 0);
+        Assert.assertEquals(1, subSystem.starts);
+        Assert.assertTrue(subSystem.handles > 1);
+        Assert.assertEquals(1, subSystem.stops);
+        Assert.assertTrue(teleop.updates > 1);
+
+        //The motor was driven while the program ran, and stopped when the subsystem stopped.
+        Assert.assertTrue(motor.getCurrentPosition() > 0);
+        Assert.assertEquals(0, motor.getPower(), 1e-9);
+    }
+
+    @Test
+    public void validateAutonomousLifecycle() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        SimDcMotorEx motor = hardwareMap.addMotor("motor");
+        TestAutonomous autonomous = new TestAutonomous();
+
+        SimOpModeRunner runner = new SimOpModeRunner(autonomous, hardwareMap);
+        runner.run(0.1, 5, HALTimeUnit.SECONDS);
+
+        Assert.assertFalse(runner.stalled());
+        Assert.assertTrue(runner.isStopRequested());
+        Assert.assertTrue(autonomous.finished);
+
+        CountingSubSystem subSystem = autonomous.robot.subSystem;
+        Assert.assertEquals(1, subSystem.inits);
+        Assert.assertTrue(subSystem.initLoops > 0);
+        Assert.assertEquals(1, subSystem.starts);
+        Assert.assertEquals(0, subSystem.handles);
+        Assert.assertEquals(1, subSystem.stops);
+
+        //The motor moved during the timed drive, reached the encoder target, and kept moving while the commands ran.
+        Assert.assertTrue(autonomous.positionAfterTimedDrive > 0);
+        Assert.assertTrue(autonomous.positionAfterEncoderDrive >= ENCODER_TARGET);
+        Assert.assertTrue(autonomous.positionAfterCommands > autonomous.positionAfterEncoderDrive);
+        Assert.assertEquals(0, motor.getPower(), 1e-9);
+    }
+
+    /**
+     * A subsystem that drives a motor at half power and counts how many times each of its lifecycle methods is called.
+     */
+    public static class CountingSubSystem extends SubSystem {
+        //The number of times each lifecycle method has been called.
+        private volatile int inits, initLoops, starts, handles, stops;
+        //The motor driven by the subsystem.
+        private DcMotorEx motor;
+
+        /**
+         * Constructor for CountingSubSystem.
+         *
+         * @param robot The robot using this subsystem.
+         */
+        public CountingSubSystem(@NotNull Robot robot) {
+            super(robot);
+        }
+
+        @Override
+        public void init() {
+            inits++;
+            motor = robot.hardwareMap.get(DcMotorEx.class, "motor");
+        }
+
+        @Override
+        public void init_loop() {
+            initLoops++;
+        }
+
+        @Override
+        public void start() {
+            starts++;
+        }
+
+        @Override
+        public void handle() {
+            handles++;
+            motor.setPower(0.5);
+        }
+
+        @Override
+        public void stop() {
+            stops++;
+            motor.setPower(0);
+        }
+    }
+
+    /**
+     * A robot with a single counting subsystem.
+     */
+    public static class TestRobot extends Robot {
+        //The robot's only subsystem.
+        public final CountingSubSystem subSystem;
+
+        /**
+         * Constructor for TestRobot.
+         *
+         * @param opMode The opmode the robot is running.
+         */
+        public TestRobot(@NotNull OpMode opMode) {
+            super(opMode);
+            subSystem = new CountingSubSystem(this);
+        }
+    }
+
+    /**
+     * A teleop that runs the test robot and counts its update loops.
+     */
+    public static class TestTeleop extends BaseTeleop {
+        //The robot built for the teleop.
+        private volatile TestRobot robot;
+        //The number of times onUpdate() has been called.
+        private volatile int updates;
+
+        @Override
+        protected Robot buildRobot() {
+            robot = new TestRobot(this);
+            return robot;
+        }
+
+        @Override
+        protected void onUpdate() {
+            updates++;
+        }
+    }
+
+    /**
+     * An autonomous that drives the test robot's motor for a fixed time, then to an encoder position, then while running a command, and then stops itself.
+     */
+    public static class TestAutonomous extends BaseAutonomous {
+        //The robot built for the autonomous.
+        private volatile TestRobot robot;
+        //The motor's encoder position after each part of the autonomous.
+        private volatile int positionAfterTimedDrive, positionAfterEncoderDrive, positionAfterCommands;
+        //Whether main() ran to completion.
+        private volatile boolean finished = false;
+
+        @Override
+        protected Robot buildRobot() {
+            robot = new TestRobot(this);
+            return robot;
+        }
+
+        @Override
+        public void main() {
+            final DcMotorEx motor = robot.hardwareMap.get(DcMotorEx.class, "motor");
+            motor.setPower(0.5);
+
+            waitTime(200);
+            positionAfterTimedDrive = motor.getCurrentPosition();
+
+            waitUntil(() -> motor.getCurrentPosition() >= ENCODER_TARGET);
+            positionAfterEncoderDrive = motor.getCurrentPosition();
+
+            runCommands(new WaitCommand(100));
+            positionAfterCommands = motor.getCurrentPosition();
+
+            motor.setPower(0);
+            finished = true;
+            requestOpModeStop();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.SCHSRobotics.HAL9001.system.robot;
+
+import com.SCHSRobotics.HAL9001.system.sim.SimDcMotorEx;
+import com.SCHSRobotics.HAL9001.system.sim.SimHardwareMap;
+import com.qualcomm.robotcore.hardware.DcMotor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the motor write buffer, run against simulated motors.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @see MotorWriteBuffer
+ * @since 1.1.8
+ */
+public class MotorWriteBufferTest {
+
+    @Test
+    public void validateEncoderResetIsNotCoalesced() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        SimDcMotorEx motor = hardwareMap.addMotor("motor");
+        MotorWriteBuffer writeBuffer = new MotorWriteBuffer();
+
+        writeBuffer.setPower(motor, 1);
+        for (int i = 0; i < 10; i++) hardwareMap.step();
+        Assert.assertTrue(motor.getCurrentPosition() > 0);
+
+        writeBuffer.beginLoop();
+        writeBuffer.setMode(motor, DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        writeBuffer.setMode(motor, DcMotor.RunMode.RUN_USING_ENCODER);
+        writeBuffer.endLoop();
+
+        Assert.assertEquals(0, motor.getCurrentPosition());
+        Assert.assertEquals(DcMotor.RunMode.RUN_USING_ENCODER, motor.getMode());
+    }
+
+    @Test
+    public void validateRepeatedEncoderReset() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        SimDcMotorEx motor = hardwareMap.addMotor("motor");
+        MotorWriteBuffer writeBuffer = new MotorWriteBuffer();
+
+        for (int reset = 0; reset < 2; reset++) {
+            writeBuffer.setMode(motor, DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+            writeBuffer.setPower(motor, 1);
+            for (int i = 0; i < 10; i++) hardwareMap.step();
+            Assert.assertTrue(motor.getCurrentPosition() > 0);
+
+            writeBuffer.setMode(motor, DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+            Assert.assertEquals(0, motor.getCurrentPosition());
+        }
+    }
+
+    @Test
+    public void validateInvalidateAfterDirectWrite() {
+        SimHardwareMap hardwareMap = new SimHardwareMap();
+        SimDcMotorEx motor = hardwareMap.addMotor("motor");
+        MotorWriteBuffer writeBuffer = new MotorWriteBuffer();
+
+        writeBuffer.setMode(motor, DcMotor.RunMode.RUN_USING_ENCODER);
+        writeBuffer.setPower(motor, 0.5);
+
+        //Write to the motor behind the buffer's back.
+        motor.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+        motor.setPower(0);
+        writeBuffer.invalidate(motor);
+
+        writeBuffer.setMode(motor, DcMotor.RunMode.RUN_USING_ENCODER);
+        writeBuffer.setPower(motor, 0.5);
+
+        Assert.assertEquals(DcMotor.RunMode.RUN_USING_ENCODER, motor.getMode());
+        Assert.assertEquals(0.5, motor.getPower(), 1e-9);
+    }
+}
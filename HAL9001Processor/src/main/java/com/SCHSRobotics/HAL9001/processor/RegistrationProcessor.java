@@ -0,0 +1,418 @@
+package com.SCHSRobotics.HAL9001.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * An annotation processor that generates a registration class for every robot and HAL program, so that HAL can find cameras, subsystems and
+ * main robots at startup without reflection. Classes that cannot be registered without reflection (for example, ones with private subsystem
+ * fields) are skipped, and HAL falls back to its reflection-based registration for them at runtime.
+ * <p>
+ * Annotation and class names are referenced as strings, since HAL itself is an Android library and cannot be on the processor's classpath.
+ * <p>
+ * Creation Date: 10/18/26
+ *
+ * @author agent
+ * @version 1.0.0
+ * @since 1.1.8
+ */
+@SupportedAnnotationTypes("*")
+public final class RegistrationProcessor extends AbstractProcessor {
+    //The suffix added to the binary name of a robot or program class to get the name of its generated registration class. Must match RegistrationLoader.
+    private static final String GENERATED_CLASS_SUFFIX = "_HALRegistration";
+    //The names of the HAL and SDK classes used by the processor.
+    private static final String
+            ROBOT_PACKAGE = "com.SCHSRobotics.HAL9001.system.robot",
+            ROBOT = ROBOT_PACKAGE + ".Robot",
+            HAL_PROGRAM = ROBOT_PACKAGE + ".HALProgram",
+            SUBSYSTEM = ROBOT_PACKAGE + ".SubSystem",
+            ROBOT_REGISTRATION = ROBOT_PACKAGE + ".RobotRegistration",
+            PROGRAM_REGISTRATION = ROBOT_PACKAGE + ".ProgramRegistration",
+            ROBOT_REGISTRAR = ROBOT_PACKAGE + ".RobotRegistrar",
+            INTERNAL_CAMERA = ROBOT_PACKAGE + ".InternalCamera",
+            EXTERNAL_CAMERA = ROBOT_PACKAGE + ".ExternalCamera",
+            MAIN_ROBOT = ROBOT_PACKAGE + ".MainRobot",
+            UPDATE_RATE = ROBOT_PACKAGE + ".UpdateRate",
+            NON_CRITICAL = ROBOT_PACKAGE + ".NonCritical",
+            DEPENDENCIES = ROBOT_PACKAGE + ".Dependencies",
+            CONFIG_LABEL = "com.SCHSRobotics.HAL9001.system.config.ConfigLabel",
+            DISABLE_SUBSYSTEM = "com.SCHSRobotics.HAL9001.system.config.DisableSubSystem",
+            OPEN_CV_CAMERA = "org.openftc.easyopencv.OpenCvCamera",
+            OPEN_CV_INTERNAL_CAMERA_2 = "org.openftc.easyopencv.OpenCvInternalCamera2",
+            OP_MODE = "com.qualcomm.robotcore.eventloop.opmode.OpMode";
+
+    //The names of all registration classes generated so far. Used to avoid generating the same class twice across rounds.
+    private final Set<String> generatedClasses = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement robotType = processingEnv.getElementUtils().getTypeElement(ROBOT);
+        TypeElement programType = processingEnv.getElementUtils().getTypeElement(HAL_PROGRAM);
+        if (robotType == null && programType == null) return false;
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(type, robotType, programType);
+        }
+
+        //Never claims annotations, so other processors still see them.
+        return false;
+    }
+
+    /**
+     * Generates a registration class for a type and all of its member types if they are robots or HAL programs.
+     *
+     * @param type        The type to process.
+     * @param robotType   The HAL Robot type, or null if it is not on the classpath.
+     * @param programType The HAL HALProgram type, or null if it is not on the classpath.
+     */
+    private void processType(TypeElement type, TypeElement robotType, TypeElement programType) {
+        for (TypeElement memberType : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(memberType, robotType, programType);
+        }
+
+        if (!isRegistrable(type)) return;
+
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror erasure = types.erasure(type.asType());
+        if (robotType != null && types.isSubtype(erasure, types.erasure(robotType.asType())) && !type.equals(robotType)) {
+            String source = generateRobotRegistration(type);
+            if (source != null) write(type, source);
+        } else if (programType != null && types.isSubtype(erasure, types.erasure(programType.asType())) && !type.equals(programType)) {
+            String source = generateProgramRegistration(type);
+            if (source != null) write(type, source);
+        }
+    }
+
+    /**
+     * Gets whether a type is a concrete class that generated code in its package can access.
+     *
+     * @param type The type to check.
+     * @return Whether a registration class can be generated for the type.
+     */
+    private static boolean isRegistrable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS) return false;
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || type.getModifiers().contains(Modifier.PRIVATE)) return false;
+
+        //Inner (non-static) and local classes cannot be constructed by HAL, so they are never registered.
+        Element current = type;
+        while (current instanceof TypeElement && ((TypeElement) current).getNestingKind() != NestingKind.TOP_LEVEL) {
+            if (((TypeElement) current).getNestingKind() != NestingKind.MEMBER) return false;
+            if (!current.getModifiers().contains(Modifier.STATIC) || current.getModifiers().contains(Modifier.PRIVATE)) return false;
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Generates the source code of a robot's registration class.
+     *
+     * @param robot The robot class.
+     * @return The generated source code, or null if the robot can only be registered using reflection.
+     */
+    private String generateRobotRegistration(TypeElement robot) {
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror cameraType = erasure(OPEN_CV_CAMERA);
+        TypeMirror camera2Type = erasure(OPEN_CV_INTERNAL_CAMERA_2);
+        TypeMirror subSystemType = erasure(SUBSYSTEM);
+
+        String robotName = robot.getQualifiedName().toString();
+        StringBuilder cameras = new StringBuilder();
+        StringBuilder subSystems = new StringBuilder();
+
+        for (VariableElement field : ElementFilter.fieldsIn(robot.getEnclosedElements())) {
+            TypeMirror fieldType = types.erasure(field.asType());
+
+            if (cameraType != null && types.isAssignable(fieldType, cameraType)) {
+                AnnotationMirror internalCamera = getAnnotation(field, INTERNAL_CAMERA);
+                AnnotationMirror externalCamera = getAnnotation(field, EXTERNAL_CAMERA);
+                if (internalCamera != null) {
+                    Map<String, AnnotationValue> values = getValues(internalCamera);
+                    boolean isCamera2 = camera2Type != null && types.isAssignable(fieldType, camera2Type);
+                    VariableElement direction = (VariableElement) values.get("direction").getValue();
+                    cameras.append("        registrar.addInternalCamera(")
+                            .append(isCamera2).append(", ")
+                            .append(values.get("resWidth").getValue()).append(", ")
+                            .append(values.get("resHeight").getValue()).append(", ")
+                            .append(((TypeElement) direction.getEnclosingElement()).getQualifiedName()).append('.').append(direction.getSimpleName()).append(", ")
+                            .append(values.get("usesViewport").getValue()).append(");\n");
+                } else if (externalCamera != null) {
+                    Map<String, AnnotationValue> values = getValues(externalCamera);
+                    cameras.append("        registrar.addExternalCamera(")
+                            .append(values.get("resWidth").getValue()).append(", ")
+                            .append(values.get("resHeight").getValue()).append(", ")
+                            .append(constant(values.get("configName").getValue())).append(", ")
+                            .append(constant(values.get("uniqueId").getValue())).append(", ")
+                            .append(values.get("usesViewport").getValue()).append(");\n");
+                }
+            }
+
+            if (subSystemType != null && types.isAssignable(fieldType, subSystemType) && getAnnotation(field, DISABLE_SUBSYSTEM) == null) {
+                if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Subsystem fields must not be private. HAL will fall back to reflection for " + robotName + ".", field);
+                    return null;
+                }
+
+                AnnotationMirror configLabel = getAnnotation(field, CONFIG_LABEL);
+                AnnotationMirror updateRate = getAnnotation(field, UPDATE_RATE);
+                AnnotationMirror nonCritical = getAnnotation(field, NON_CRITICAL);
+                AnnotationMirror dependencies = getAnnotation(field, DEPENDENCIES);
+
+                String owner = field.getModifiers().contains(Modifier.STATIC) ? robotName : "r";
+                subSystems.append("        registrar.addSubSystem(")
+                        .append(owner).append('.').append(field.getSimpleName()).append(", ")
+                        .append(configLabel == null ? "null" : constant(getValues(configLabel).get("label").getValue())).append(", ")
+                        .append(updateRate == null ? "Double.NaN" : constant(getValues(updateRate).get("hz").getValue())).append(", ")
+                        .append(nonCritical == null ? "Double.NaN" : constant(getValues(nonCritical).get("degradedHz").getValue())).append(", ")
+                        .append(dependencies == null ? "null" : stringArray(getValues(dependencies).get("reads"))).append(", ")
+                        .append(dependencies == null ? "null" : stringArray(getValues(dependencies).get("writes"))).append(");\n");
+            }
+        }
+
+        StringBuilder body = new StringBuilder();
+        body.append("    @Override\n")
+                .append("    public void registerCameras(").append(ROBOT_REGISTRAR).append(" registrar) {\n")
+                .append(cameras)
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void registerSubSystems(").append(ROBOT).append(" robot, ").append(ROBOT_REGISTRAR).append(" registrar) {\n");
+        if (subSystems.length() > 0) body.append("        ").append(robotName).append(" r = (").append(robotName).append(") robot;\n");
+        body.append(subSystems)
+                .append("    }\n");
+
+        return generateClass(robot, ROBOT_REGISTRATION, body.toString());
+    }
+
+    /**
+     * Generates the source code of a HAL program's registration class.
+     *
+     * @param program The HAL program class.
+     * @return The generated source code, or null if the program can only be registered using reflection.
+     */
+    private String generateProgramRegistration(TypeElement program) {
+        Types types = processingEnv.getTypeUtils();
+        String programName = program.getQualifiedName().toString();
+
+        StringBuilder body = new StringBuilder();
+        body.append("    @Override\n")
+                .append("    public ").append(ROBOT).append(" buildRobot(").append(HAL_PROGRAM).append(" program) {\n");
+
+        //A buildRobot() method declared in the program takes priority over @MainRobot fields.
+        for (ExecutableElement method : ElementFilter.methodsIn(program.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals("buildRobot") && method.getParameters().isEmpty()) {
+                body.append("        return ((").append(programName).append(") program).buildRobot();\n")
+                        .append("    }\n");
+                return generateClass(program, PROGRAM_REGISTRATION, body.toString());
+            }
+        }
+
+        TypeMirror robotType = erasure(ROBOT);
+        TypeMirror opModeType = erasure(OP_MODE);
+        body.append("        ").append(programName).append(" p = (").append(programName).append(") program;\n")
+                .append("        ").append(ROBOT).append(" robot = null;\n");
+
+        for (VariableElement field : ElementFilter.fieldsIn(program.getEnclosedElements())) {
+            TypeMirror fieldType = types.erasure(field.asType());
+            if (getAnnotation(field, MAIN_ROBOT) == null || robotType == null || !types.isAssignable(fieldType, robotType)) continue;
+
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) return null;
+            if (opModeType == null || !hasPublicOpModeConstructor((TypeElement) types.asElement(fieldType), opModeType)) return null;
+            if (!isAccessibleFrom((TypeElement) types.asElement(fieldType), program)) return null;
+
+            body.append("        p.").append(field.getSimpleName()).append(" = new ").append(fieldType).append("(p);\n")
+                    .append("        robot = p.").append(field.getSimpleName()).append(";\n");
+        }
+
+        body.append("        return robot;\n")
+                .append("    }\n");
+        return generateClass(program, PROGRAM_REGISTRATION, body.toString());
+    }
+
+    /**
+     * Wraps a generated class body in a class declaration.
+     *
+     * @param type          The class the registration is being generated for.
+     * @param interfaceName The registration interface the generated class implements.
+     * @param body          The body of the generated class.
+     * @return The source code of the generated class.
+     */
+    private String generateClass(TypeElement type, String interfaceName, String body) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        StringBuilder sb = new StringBuilder();
+        if (!pkg.isUnnamed()) sb.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+        sb.append("/**\n")
+                .append(" * HAL registration for ").append(type.getQualifiedName()).append(". Generated by HAL's annotation processor, do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(generatedSimpleName(type)).append(" implements ").append(interfaceName).append(" {\n")
+                .append(body)
+                .append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Writes a generated registration class to the filer.
+     *
+     * @param type   The class the registration was generated for.
+     * @param source The source code of the generated class.
+     */
+    private void write(TypeElement type, String source) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String name = (pkg.isUnnamed() ? "" : pkg.getQualifiedName() + ".") + generatedSimpleName(type);
+        if (!generatedClasses.add(name)) return;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write HAL registration class " + name + ": " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * Gets the simple name of a class's generated registration class. Uses the binary name so that the runtime lookup can find it from Class.getName().
+     *
+     * @param type The class the registration is being generated for.
+     * @return The simple name of the generated registration class.
+     */
+    private String generatedSimpleName(TypeElement type) {
+        Elements elements = processingEnv.getElementUtils();
+        String binaryName = elements.getBinaryName(type).toString();
+        PackageElement pkg = elements.getPackageOf(type);
+        if (!pkg.isUnnamed()) binaryName = binaryName.substring(pkg.getQualifiedName().length() + 1);
+        return binaryName + GENERATED_CLASS_SUFFIX;
+    }
+
+    /**
+     * Gets whether a class has a public constructor taking only an OpMode, matching what reflection-based registration looks for.
+     *
+     * @param type       The class to check.
+     * @param opModeType The OpMode type.
+     * @return Whether the class has a public constructor taking only an OpMode.
+     */
+    private boolean hasPublicOpModeConstructor(TypeElement type, TypeMirror opModeType) {
+        if (type == null || type.getModifiers().contains(Modifier.ABSTRACT)) return false;
+
+        Types types = processingEnv.getTypeUtils();
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && parameters.size() == 1 && types.isSameType(types.erasure(parameters.get(0).asType()), opModeType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets whether a class can be referenced from generated code in another class's package.
+     *
+     * @param type The class being referenced.
+     * @param from The class whose package the generated code is in.
+     * @return Whether the class can be referenced.
+     */
+    private boolean isAccessibleFrom(TypeElement type, TypeElement from) {
+        Elements elements = processingEnv.getElementUtils();
+        boolean samePackage = elements.getPackageOf(type).equals(elements.getPackageOf(from));
+        Element current = type;
+        while (current instanceof TypeElement) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) return false;
+            if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) return false;
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the erasure of a type by name.
+     *
+     * @param name The fully qualified name of the type.
+     * @return The erasure of the type, or null if it is not on the classpath.
+     */
+    private TypeMirror erasure(String name) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(name);
+        return type == null ? null : processingEnv.getTypeUtils().erasure(type.asType());
+    }
+
+    /**
+     * Gets an annotation directly present on an element by name.
+     *
+     * @param element        The annotated element.
+     * @param annotationName The fully qualified name of the annotation.
+     * @return The annotation, or null if it is not present.
+     */
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) return annotation;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the values of an annotation, including default values, by element name.
+     *
+     * @param annotation The annotation.
+     * @return A map relating annotation element names to their values.
+     */
+    private Map<String, AnnotationValue> getValues(AnnotationMirror annotation) {
+        Map<String, AnnotationValue> values = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Converts a constant value to a Java source code literal.
+     *
+     * @param value The constant value.
+     * @return The Java source code literal.
+     */
+    private String constant(Object value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    /**
+     * Converts an annotation string array to a Java source code array literal.
+     *
+     * @param value The annotation value containing the array.
+     * @return The Java source code array literal.
+     */
+    private String stringArray(AnnotationValue value) {
+        StringBuilder sb = new StringBuilder("new String[]{");
+        List<?> elements = (List<?>) value.getValue();
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(constant(((AnnotationValue) elements.get(i)).getValue()));
+        }
+        return sb.append('}').toString();
+    }
+}